@@ -1,12 +1,16 @@
 package com.rendaxx.labs.controller;
 
 import com.rendaxx.labs.api.v1.api.DriversApi;
+import com.rendaxx.labs.api.v1.model.CountStrategyApiDto;
 import com.rendaxx.labs.api.v1.model.DriverApiDto;
 import com.rendaxx.labs.api.v1.model.PageDriverApiDto;
 import com.rendaxx.labs.api.v1.model.SaveDriverApiDto;
+import com.rendaxx.labs.controller.support.EntityTags;
 import com.rendaxx.labs.controller.support.FilterParameterMapper;
 import com.rendaxx.labs.controller.support.PageRequestFactory;
 import com.rendaxx.labs.dtos.DriverDto;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
 import com.rendaxx.labs.dtos.SaveDriverDto;
 import com.rendaxx.labs.mappers.api.DriverApiMapper;
 import com.rendaxx.labs.service.DriverService;
@@ -17,8 +21,6 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.jspecify.annotations.Nullable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -34,6 +36,7 @@ public class DriverController implements DriversApi {
     DriverService driverService;
     DriverApiMapper driverApiMapper;
     PageRequestFactory pageRequestFactory;
+    EntityTags entityTags;
     FilterParameterMapper filterParameterMapper;
 
     @Override
@@ -44,8 +47,9 @@ public class DriverController implements DriversApi {
     }
 
     @Override
-    public ResponseEntity<DriverApiDto> getDriver(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(driverApiMapper.toApi(driverService.getById(id)));
+    public ResponseEntity<DriverApiDto> getDriver(@PathVariable("id") Long id, @Nullable String ifNoneMatch) {
+        DriverDto driver = driverService.getById(id);
+        return entityTags.respond(ifNoneMatch, entityTags.strong(driver), driver, driverApiMapper::toApi);
     }
 
     @Override
@@ -53,20 +57,27 @@ public class DriverController implements DriversApi {
             @Nullable Integer page,
             @Nullable Integer size,
             @Nullable List<String> sort,
-            @Nullable Map<String, String> filter) {
-        Pageable pageable = pageRequestFactory.build(page, size, sort);
+            @Nullable String cursor,
+            @Nullable CountStrategyApiDto countStrategy,
+            @Nullable Map<String, String> filter,
+            @Nullable String ifNoneMatch) {
+        PageQueryDto pageQuery = pageRequestFactory.build(page, size, sort, cursor, countStrategy);
         Map<String, String> filters = filterParameterMapper.toFilters(filter != null ? filter : Map.of());
-        Page<DriverDto> result = driverService.getAll(pageable, filters);
-        PageDriverApiDto response = driverApiMapper.toDriverPage(result);
-        return ResponseEntity.ok(response);
+        PageDto<DriverDto> result = driverService.getAll(pageQuery, filters);
+        return entityTags.respond(
+                ifNoneMatch, entityTags.weak(result, entityTags::strong), result, driverApiMapper::toDriverPage);
     }
 
     @Override
     public ResponseEntity<DriverApiDto> updateDriver(
-            @PathVariable("id") Long id, @Valid SaveDriverApiDto saveDriverApiDto) {
+            @PathVariable("id") Long id, @Valid SaveDriverApiDto saveDriverApiDto, @Nullable String ifMatch) {
         SaveDriverDto command = driverApiMapper.toDto(saveDriverApiDto);
-        DriverDto updated = driverService.update(id, command);
-        return ResponseEntity.ok(driverApiMapper.toApi(updated));
+        @Nullable DriverDto current =
+                entityTags.checkIfMatch(ifMatch, () -> driverService.getById(id), entityTags::strong);
+        DriverDto updated = driverService.update(id, command, current == null ? null : current.getVersion());
+        return ResponseEntity.ok()
+                .eTag(entityTags.strong(updated).formattedTag())
+                .body(driverApiMapper.toApi(updated));
     }
 
     @Override
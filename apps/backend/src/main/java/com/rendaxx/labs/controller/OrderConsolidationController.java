@@ -0,0 +1,33 @@
+package com.rendaxx.labs.controller;
+
+import com.rendaxx.labs.api.v1.api.OrderConsolidationApi;
+import com.rendaxx.labs.api.v1.model.OrderConsolidationApiDto;
+import com.rendaxx.labs.api.v1.model.OrderConsolidationRequestApiDto;
+import com.rendaxx.labs.dtos.OrderConsolidationDto;
+import com.rendaxx.labs.mappers.api.OrderConsolidationApiMapper;
+import com.rendaxx.labs.service.OrderConsolidationService;
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Validated
+public class OrderConsolidationController implements OrderConsolidationApi {
+
+    OrderConsolidationService orderConsolidationService;
+    OrderConsolidationApiMapper orderConsolidationApiMapper;
+
+    @Override
+    public ResponseEntity<OrderConsolidationApiDto> consolidateOrders(
+            @Valid OrderConsolidationRequestApiDto orderConsolidationRequestApiDto) {
+        OrderConsolidationDto consolidation = orderConsolidationService.consolidate(
+                orderConsolidationApiMapper.toDto(orderConsolidationRequestApiDto));
+        return ResponseEntity.ok(orderConsolidationApiMapper.toApi(consolidation));
+    }
+}
@@ -1,12 +1,16 @@
 package com.rendaxx.labs.controller;
 
 import com.rendaxx.labs.api.v1.api.OrdersApi;
+import com.rendaxx.labs.api.v1.model.CountStrategyApiDto;
 import com.rendaxx.labs.api.v1.model.OrderApiDto;
 import com.rendaxx.labs.api.v1.model.PageOrderApiDto;
 import com.rendaxx.labs.api.v1.model.SaveOrderApiDto;
+import com.rendaxx.labs.controller.support.EntityTags;
 import com.rendaxx.labs.controller.support.FilterParameterMapper;
 import com.rendaxx.labs.controller.support.PageRequestFactory;
 import com.rendaxx.labs.dtos.OrderDto;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
 import com.rendaxx.labs.dtos.SaveOrderDto;
 import com.rendaxx.labs.mappers.api.OrderApiMapper;
 import com.rendaxx.labs.service.OrderService;
@@ -17,8 +21,6 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.jspecify.annotations.Nullable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -34,6 +36,7 @@ public class OrderController implements OrdersApi {
     OrderService orderService;
     OrderApiMapper orderApiMapper;
     PageRequestFactory pageRequestFactory;
+    EntityTags entityTags;
     FilterParameterMapper filterParameterMapper;
 
     @Override
@@ -45,9 +48,9 @@ public class OrderController implements OrdersApi {
     }
 
     @Override
-    public ResponseEntity<OrderApiDto> getOrder(@PathVariable("id") Long id) {
-        OrderDto dto = orderService.getById(id);
-        return ResponseEntity.ok(orderApiMapper.toApi(dto));
+    public ResponseEntity<OrderApiDto> getOrder(@PathVariable("id") Long id, @Nullable String ifNoneMatch) {
+        OrderDto order = orderService.getById(id);
+        return entityTags.respond(ifNoneMatch, entityTags.strong(order), order, orderApiMapper::toApi);
     }
 
     @Override
@@ -55,20 +58,27 @@ public class OrderController implements OrdersApi {
             @Nullable Integer page,
             @Nullable Integer size,
             @Nullable List<String> sort,
-            @Nullable Map<String, String> filter) {
-        Pageable pageable = pageRequestFactory.build(page, size, sort);
+            @Nullable String cursor,
+            @Nullable CountStrategyApiDto countStrategy,
+            @Nullable Map<String, String> filter,
+            @Nullable String ifNoneMatch) {
+        PageQueryDto pageQuery = pageRequestFactory.build(page, size, sort, cursor, countStrategy);
         Map<String, String> filters = filterParameterMapper.toFilters(filter != null ? filter : Map.of());
-        Page<OrderDto> result = orderService.getAll(pageable, filters);
-        PageOrderApiDto response = orderApiMapper.toOrderPage(result);
-        return ResponseEntity.ok(response);
+        PageDto<OrderDto> result = orderService.getAll(pageQuery, filters);
+        return entityTags.respond(
+                ifNoneMatch, entityTags.weak(result, entityTags::strong), result, orderApiMapper::toOrderPage);
     }
 
     @Override
     public ResponseEntity<OrderApiDto> updateOrder(
-            @PathVariable("id") Long id, @Valid SaveOrderApiDto saveOrderApiDto) {
+            @PathVariable("id") Long id, @Valid SaveOrderApiDto saveOrderApiDto, @Nullable String ifMatch) {
         SaveOrderDto command = orderApiMapper.toDto(saveOrderApiDto);
-        OrderDto updated = orderService.update(id, command);
-        return ResponseEntity.ok(orderApiMapper.toApi(updated));
+        @Nullable OrderDto current =
+                entityTags.checkIfMatch(ifMatch, () -> orderService.getById(id), entityTags::strong);
+        OrderDto updated = orderService.update(id, command, current == null ? null : current.getVersion());
+        return ResponseEntity.ok()
+                .eTag(entityTags.strong(updated).formattedTag())
+                .body(orderApiMapper.toApi(updated));
     }
 
     @Override
@@ -1,14 +1,22 @@
 package com.rendaxx.labs.controller;
 
 import com.rendaxx.labs.api.v1.api.RetailPointsApi;
+import com.rendaxx.labs.api.v1.model.CountStrategyApiDto;
+import com.rendaxx.labs.api.v1.model.GeoJsonPolygonApiDto;
+import com.rendaxx.labs.api.v1.model.NearestRetailPointApiDto;
 import com.rendaxx.labs.api.v1.model.PageRetailPointApiDto;
 import com.rendaxx.labs.api.v1.model.RetailPointApiDto;
 import com.rendaxx.labs.api.v1.model.SaveRetailPointApiDto;
+import com.rendaxx.labs.controller.support.EntityTags;
 import com.rendaxx.labs.controller.support.FilterParameterMapper;
 import com.rendaxx.labs.controller.support.PageRequestFactory;
+import com.rendaxx.labs.dtos.NearestRetailPointDto;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
 import com.rendaxx.labs.dtos.RetailPointDto;
 import com.rendaxx.labs.dtos.SaveRetailPointDto;
 import com.rendaxx.labs.mappers.api.RetailPointApiMapper;
+import com.rendaxx.labs.mappers.api.support.PolygonGeometryMapper;
 import com.rendaxx.labs.service.RetailPointService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -17,8 +25,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.jspecify.annotations.Nullable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.locationtech.jts.geom.Polygon;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -35,7 +42,9 @@ public class RetailPointController implements RetailPointsApi {
     RetailPointService retailPointService;
     RetailPointApiMapper retailPointApiMapper;
     PageRequestFactory pageRequestFactory;
+    EntityTags entityTags;
     FilterParameterMapper filterParameterMapper;
+    PolygonGeometryMapper polygonGeometryMapper;
 
     @Override
     public ResponseEntity<RetailPointApiDto> createRetailPoint(@Valid SaveRetailPointApiDto saveRetailPointApiDto) {
@@ -45,8 +54,10 @@ public class RetailPointController implements RetailPointsApi {
     }
 
     @Override
-    public ResponseEntity<RetailPointApiDto> getRetailPoint(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(retailPointApiMapper.toApi(retailPointService.getById(id)));
+    public ResponseEntity<RetailPointApiDto> getRetailPoint(@PathVariable("id") Long id, @Nullable String ifNoneMatch) {
+        RetailPointDto retailPoint = retailPointService.getById(id);
+        return entityTags.respond(
+                ifNoneMatch, entityTags.strong(retailPoint), retailPoint, retailPointApiMapper::toApi);
     }
 
     @Override
@@ -54,20 +65,79 @@ public class RetailPointController implements RetailPointsApi {
             @Nullable Integer page,
             @Nullable Integer size,
             @Nullable List<String> sort,
+            @Nullable String cursor,
+            @Nullable CountStrategyApiDto countStrategy,
+            @Nullable Map<String, String> filter,
+            @Nullable String ifNoneMatch) {
+        PageQueryDto pageQuery = pageRequestFactory.build(page, size, sort, cursor, countStrategy);
+        PageDto<RetailPointDto> result = retailPointService.getAll(pageQuery, toFilters(filter));
+        return entityTags.respond(
+                ifNoneMatch,
+                entityTags.weak(result, entityTags::strong),
+                result,
+                retailPointApiMapper::toRetailPointPage);
+    }
+
+    @Override
+    public ResponseEntity<PageRetailPointApiDto> listRetailPointsWithinBox(
+            Double west,
+            Double south,
+            Double east,
+            Double north,
+            @Nullable Integer page,
+            @Nullable Integer size,
+            @Nullable List<String> sort,
+            @Nullable String cursor,
+            @Nullable CountStrategyApiDto countStrategy,
+            @Nullable Map<String, String> filter) {
+        PageQueryDto pageQuery = pageRequestFactory.build(page, size, sort, cursor, countStrategy);
+        PageDto<RetailPointDto> result =
+                retailPointService.getWithinBox(west, south, east, north, pageQuery, toFilters(filter));
+        return ResponseEntity.ok(retailPointApiMapper.toRetailPointPage(result));
+    }
+
+    @Override
+    public ResponseEntity<PageRetailPointApiDto> listRetailPointsWithinPolygon(
+            @Valid GeoJsonPolygonApiDto geoJsonPolygonApiDto,
+            @Nullable Integer page,
+            @Nullable Integer size,
+            @Nullable List<String> sort,
+            @Nullable String cursor,
+            @Nullable CountStrategyApiDto countStrategy,
             @Nullable Map<String, String> filter) {
-        Pageable pageable = pageRequestFactory.build(page, size, sort);
-        Map<String, String> filters = filterParameterMapper.toFilters(filter != null ? filter : Map.of());
-        Page<RetailPointDto> result = retailPointService.getAll(pageable, filters);
-        PageRetailPointApiDto response = retailPointApiMapper.toRetailPointPage(result);
-        return ResponseEntity.ok(response);
+        PageQueryDto pageQuery = pageRequestFactory.build(page, size, sort, cursor, countStrategy);
+        Polygon polygon = polygonGeometryMapper.toPolygon(geoJsonPolygonApiDto);
+        PageDto<RetailPointDto> result = retailPointService.getWithinPolygon(polygon, pageQuery, toFilters(filter));
+        return ResponseEntity.ok(retailPointApiMapper.toRetailPointPage(result));
+    }
+
+    @Override
+    public ResponseEntity<PageRetailPointApiDto> listRetailPointsWithinRadius(
+            Double longitude,
+            Double latitude,
+            Double radiusMeters,
+            @Nullable Integer page,
+            @Nullable Integer size,
+            @Nullable List<String> sort,
+            @Nullable String cursor,
+            @Nullable CountStrategyApiDto countStrategy,
+            @Nullable Map<String, String> filter) {
+        PageQueryDto pageQuery = pageRequestFactory.build(page, size, sort, cursor, countStrategy);
+        PageDto<RetailPointDto> result = retailPointService.getWithinRadius(
+                longitude, latitude, radiusMeters, pageQuery, toFilters(filter));
+        return ResponseEntity.ok(retailPointApiMapper.toRetailPointPage(result));
     }
 
     @Override
     public ResponseEntity<RetailPointApiDto> updateRetailPoint(
-            @PathVariable("id") Long id, @Valid SaveRetailPointApiDto saveRetailPointApiDto) {
+            @PathVariable("id") Long id, @Valid SaveRetailPointApiDto saveRetailPointApiDto, @Nullable String ifMatch) {
         SaveRetailPointDto command = retailPointApiMapper.toDto(saveRetailPointApiDto);
-        RetailPointDto updated = retailPointService.update(id, command);
-        return ResponseEntity.ok(retailPointApiMapper.toApi(updated));
+        @Nullable RetailPointDto current =
+                entityTags.checkIfMatch(ifMatch, () -> retailPointService.getById(id), entityTags::strong);
+        RetailPointDto updated = retailPointService.update(id, command, current == null ? null : current.getVersion());
+        return ResponseEntity.ok()
+                .eTag(entityTags.strong(updated).formattedTag())
+                .body(retailPointApiMapper.toApi(updated));
     }
 
     @Override
@@ -77,9 +147,17 @@ public class RetailPointController implements RetailPointsApi {
     }
 
     @Override
-    public ResponseEntity<List<RetailPointApiDto>> getNearestRetailPoints(
-            @PathVariable("id") Long id, @RequestParam("limit") Integer limit) {
-        List<RetailPointDto> nearest = retailPointService.getNearestRetailPoints(id, limit);
-        return ResponseEntity.ok(retailPointApiMapper.toApi(nearest));
+    public ResponseEntity<List<NearestRetailPointApiDto>> getNearestRetailPoints(
+            @PathVariable("id") Long id,
+            @RequestParam("limit") Integer limit,
+            @Nullable Double maxDistanceMeters,
+            @Nullable Boolean rerank) {
+        List<NearestRetailPointDto> nearest =
+                retailPointService.getNearestRetailPoints(id, limit, maxDistanceMeters, Boolean.TRUE.equals(rerank));
+        return ResponseEntity.ok(retailPointApiMapper.toNearestApi(nearest));
+    }
+
+    private Map<String, String> toFilters(@Nullable Map<String, String> filter) {
+        return filterParameterMapper.toFilters(filter != null ? filter : Map.of());
     }
 }
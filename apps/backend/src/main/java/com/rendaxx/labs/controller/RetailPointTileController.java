@@ -0,0 +1,33 @@
+package com.rendaxx.labs.controller;
+
+import com.rendaxx.labs.dtos.VectorTileDto;
+import com.rendaxx.labs.service.RetailPointTileService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Declared by hand: the generated RetailPointTilesApi cannot map the {@code .mvt} suffix and binary body. */
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RetailPointTileController {
+
+    public static final String MEDIA_TYPE = "application/vnd.mapbox-vector-tile";
+
+    RetailPointTileService retailPointTileService;
+
+    @GetMapping(value = "/api/tiles/retail-points/{z}/{x}/{y}.mvt", produces = MEDIA_TYPE)
+    public ResponseEntity<byte[]> getRetailPointTile(
+            @PathVariable("z") int z, @PathVariable("x") int x, @PathVariable("y") int y) {
+        VectorTileDto tile = retailPointTileService.getTile(z, x, y);
+        return ResponseEntity.ok()
+                .eTag(tile.getEtag())
+                .cacheControl(CacheControl.maxAge(retailPointTileService.getMaxAge()).mustRevalidate())
+                .body(tile.getData());
+    }
+}
@@ -1,17 +1,35 @@
 package com.rendaxx.labs.controller;
 
 import com.rendaxx.labs.api.v1.api.RoutesApi;
+import com.rendaxx.labs.api.v1.model.CountStrategyApiDto;
 import com.rendaxx.labs.api.v1.model.PageRouteApiDto;
+import com.rendaxx.labs.api.v1.model.PeriodModeApiDto;
 import com.rendaxx.labs.api.v1.model.RouteApiDto;
+import com.rendaxx.labs.api.v1.model.RouteBatchResultApiDto;
+import com.rendaxx.labs.api.v1.model.RoutePatchApiDto;
+import com.rendaxx.labs.api.v1.model.RouteSequenceOptimizationApiDto;
+import com.rendaxx.labs.api.v1.model.RouteTemperatureApiDto;
 import com.rendaxx.labs.api.v1.model.SaveRouteApiDto;
+import com.rendaxx.labs.api.v1.model.VehicleBookingConflictApiDto;
+import com.rendaxx.labs.controller.support.EntityTags;
 import com.rendaxx.labs.controller.support.FilterParameterMapper;
 import com.rendaxx.labs.controller.support.PageRequestFactory;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
+import com.rendaxx.labs.dtos.PatchRouteDto;
+import com.rendaxx.labs.dtos.PeriodMode;
+import com.rendaxx.labs.dtos.RouteBatchResultDto;
 import com.rendaxx.labs.dtos.RouteDto;
+import com.rendaxx.labs.dtos.RouteSequenceOptimizationDto;
 import com.rendaxx.labs.dtos.SaveRouteDto;
 import com.rendaxx.labs.mappers.api.RouteApiMapper;
+import com.rendaxx.labs.service.RouteBatchService;
 import com.rendaxx.labs.service.RouteService;
+import com.rendaxx.labs.service.RouteTemperatureService;
+import com.rendaxx.labs.service.VehicleBookingService;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -19,8 +37,6 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.jspecify.annotations.Nullable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -35,8 +51,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class RouteController implements RoutesApi {
 
     RouteService routeService;
+    RouteBatchService routeBatchService;
+    RouteTemperatureService routeTemperatureService;
+    VehicleBookingService vehicleBookingService;
     RouteApiMapper routeApiMapper;
     PageRequestFactory pageRequestFactory;
+    EntityTags entityTags;
     FilterParameterMapper filterParameterMapper;
 
     @Override
@@ -47,8 +67,16 @@ public class RouteController implements RoutesApi {
     }
 
     @Override
-    public ResponseEntity<RouteApiDto> getRoute(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(routeApiMapper.toApi(routeService.getById(id)));
+    public ResponseEntity<RouteBatchResultApiDto> createRoutesBatch(@Valid List<SaveRouteApiDto> saveRouteApiDto) {
+        List<SaveRouteDto> commands = routeApiMapper.toDto(saveRouteApiDto);
+        RouteBatchResultDto result = routeBatchService.create(commands);
+        return ResponseEntity.ok(routeApiMapper.toApi(result));
+    }
+
+    @Override
+    public ResponseEntity<RouteApiDto> getRoute(@PathVariable("id") Long id, @Nullable String ifNoneMatch) {
+        RouteDto route = routeService.getById(id);
+        return entityTags.respond(ifNoneMatch, entityTags.strong(route), route, routeApiMapper::toApi);
     }
 
     @Override
@@ -56,20 +84,65 @@ public class RouteController implements RoutesApi {
             @Nullable Integer page,
             @Nullable Integer size,
             @Nullable List<String> sort,
-            @Nullable Map<String, String> filter) {
-        Pageable pageable = pageRequestFactory.build(page, size, sort);
+            @Nullable String cursor,
+            @Nullable CountStrategyApiDto countStrategy,
+            @Nullable Map<String, String> filter,
+            @Nullable String ifNoneMatch) {
+        PageQueryDto pageQuery = pageRequestFactory.build(page, size, sort, cursor, countStrategy);
         Map<String, String> filters = filterParameterMapper.toFilters(filter != null ? filter : Map.of());
-        Page<RouteDto> result = routeService.getAll(pageable, filters);
-        PageRouteApiDto response = routeApiMapper.toRoutePage(result);
-        return ResponseEntity.ok(response);
+        PageDto<RouteDto> result = routeService.getAll(pageQuery, filters);
+        return entityTags.respond(
+                ifNoneMatch, entityTags.weak(result, entityTags::strong), result, routeApiMapper::toRoutePage);
     }
 
     @Override
     public ResponseEntity<RouteApiDto> updateRoute(
-            @PathVariable("id") Long id, @Valid SaveRouteApiDto saveRouteApiDto) {
+            @PathVariable("id") Long id, @Valid SaveRouteApiDto saveRouteApiDto, @Nullable String ifMatch) {
         SaveRouteDto command = routeApiMapper.toDto(saveRouteApiDto);
-        RouteDto updated = routeService.update(id, command);
-        return ResponseEntity.ok(routeApiMapper.toApi(updated));
+        @Nullable RouteDto current =
+                entityTags.checkIfMatch(ifMatch, () -> routeService.getById(id), entityTags::strong);
+        RouteDto updated = routeService.update(id, command, current == null ? null : current.getVersion());
+        return ResponseEntity.ok()
+                .eTag(entityTags.strong(updated).formattedTag())
+                .body(routeApiMapper.toApi(updated));
+    }
+
+    @Override
+    public ResponseEntity<RouteApiDto> patchRoute(
+            @PathVariable("id") Long id, @Valid RoutePatchApiDto routePatchApiDto, @Nullable String ifMatch) {
+        PatchRouteDto patch = routeApiMapper.toDto(routePatchApiDto);
+        @Nullable RouteDto current =
+                entityTags.checkIfMatch(ifMatch, () -> routeService.getById(id), entityTags::strong);
+        RouteDto patched = routeService.patch(id, patch, current == null ? null : current.getVersion());
+        return ResponseEntity.ok()
+                .eTag(entityTags.strong(patched).formattedTag())
+                .body(routeApiMapper.toApi(patched));
+    }
+
+    @Override
+    public ResponseEntity<RouteSequenceOptimizationApiDto> optimizeRouteSequence(
+            @PathVariable("id") Long id, @Nullable Boolean persist) {
+        RouteSequenceOptimizationDto result = routeService.optimizeSequence(id, Boolean.TRUE.equals(persist));
+        return ResponseEntity.ok(routeApiMapper.toApi(result));
+    }
+
+    @Override
+    public ResponseEntity<RouteTemperatureApiDto> getRouteTemperature(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(routeApiMapper.toApi(routeTemperatureService.getByRouteId(id)));
+    }
+
+    @Override
+    public ResponseEntity<List<RouteTemperatureApiDto>> getRouteTemperatureConflicts(
+            @Nullable LocalDate from, @Nullable LocalDate to) {
+        return ResponseEntity.ok(routeApiMapper.toTemperatureApi(routeTemperatureService.findConflicts(from, to)));
+    }
+
+    @Override
+    public ResponseEntity<List<VehicleBookingConflictApiDto>> getVehicleBookingConflicts(
+            @RequestParam("periodStart") LocalDateTime periodStart,
+            @RequestParam("periodEnd") LocalDateTime periodEnd) {
+        return ResponseEntity.ok(
+                routeApiMapper.toBookingConflictApi(vehicleBookingService.findConflicts(periodStart, periodEnd)));
     }
 
     @Override
@@ -87,8 +160,10 @@ public class RouteController implements RoutesApi {
     @Override
     public ResponseEntity<List<RouteApiDto>> getRoutesWithinPeriod(
             @RequestParam("periodStart") LocalDateTime periodStart,
-            @RequestParam("periodEnd") LocalDateTime periodEnd) {
-        List<RouteDto> routes = routeService.getWithinPeriod(periodStart, periodEnd);
+            @RequestParam("periodEnd") LocalDateTime periodEnd,
+            @Nullable PeriodModeApiDto mode) {
+        List<RouteDto> routes = routeService.getWithinPeriod(
+                mode == null ? PeriodMode.CONTAINED : routeApiMapper.toDomain(mode), periodStart, periodEnd);
         return ResponseEntity.ok(routeApiMapper.toApi(routes));
     }
 
@@ -0,0 +1,43 @@
+package com.rendaxx.labs.controller;
+
+import com.rendaxx.labs.controller.support.NdjsonWriter;
+import com.rendaxx.labs.dtos.PeriodMode;
+import com.rendaxx.labs.mappers.api.RouteApiMapper;
+import com.rendaxx.labs.service.RouteExportService;
+import com.rendaxx.labs.service.RouteService;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/** Declared by hand: the generated RouteExportApi signature cannot return a streaming body. */
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RouteExportController {
+
+    RouteService routeService;
+    RouteExportService routeExportService;
+    RouteApiMapper routeApiMapper;
+    NdjsonWriter ndjsonWriter;
+
+    @GetMapping(value = "/api/routes/within-period/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRoutesWithinPeriod(
+            @RequestParam("periodStart") LocalDateTime periodStart,
+            @RequestParam("periodEnd") LocalDateTime periodEnd,
+            @RequestParam(value = "mode", defaultValue = "CONTAINED") PeriodMode mode) {
+        routeService.validatePeriod(periodStart, periodEnd);
+        StreamingResponseBody body = outputStream -> routeExportService.streamWithinPeriod(
+                mode,
+                periodStart,
+                periodEnd,
+                route -> ndjsonWriter.writeLine(routeApiMapper.toApi(route), outputStream));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
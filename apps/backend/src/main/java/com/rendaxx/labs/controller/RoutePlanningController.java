@@ -0,0 +1,31 @@
+package com.rendaxx.labs.controller;
+
+import com.rendaxx.labs.api.v1.api.RoutePlanningApi;
+import com.rendaxx.labs.api.v1.model.RoutePlanApiDto;
+import com.rendaxx.labs.api.v1.model.RoutePlanRequestApiDto;
+import com.rendaxx.labs.dtos.RoutePlanDto;
+import com.rendaxx.labs.mappers.api.RoutePlanningApiMapper;
+import com.rendaxx.labs.service.RoutePlanningService;
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Validated
+public class RoutePlanningController implements RoutePlanningApi {
+
+    RoutePlanningService routePlanningService;
+    RoutePlanningApiMapper routePlanningApiMapper;
+
+    @Override
+    public ResponseEntity<RoutePlanApiDto> planRoutes(@Valid RoutePlanRequestApiDto routePlanRequestApiDto) {
+        RoutePlanDto plan = routePlanningService.plan(routePlanningApiMapper.toDto(routePlanRequestApiDto));
+        return ResponseEntity.ok(routePlanningApiMapper.toApi(plan));
+    }
+}
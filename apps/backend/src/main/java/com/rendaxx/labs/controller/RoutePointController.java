@@ -1,27 +1,40 @@
 package com.rendaxx.labs.controller;
 
 import com.rendaxx.labs.api.v1.api.RoutePointsApi;
+import com.rendaxx.labs.api.v1.model.CountStrategyApiDto;
+import com.rendaxx.labs.api.v1.model.GridShapeApiDto;
+import com.rendaxx.labs.api.v1.model.OperationTypeApiDto;
 import com.rendaxx.labs.api.v1.model.PageRoutePointApiDto;
+import com.rendaxx.labs.api.v1.model.PeriodModeApiDto;
 import com.rendaxx.labs.api.v1.model.RetailPointApiDto;
 import com.rendaxx.labs.api.v1.model.RoutePointApiDto;
+import com.rendaxx.labs.api.v1.model.RoutePointPatchApiDto;
 import com.rendaxx.labs.api.v1.model.SaveRoutePointApiDto;
+import com.rendaxx.labs.api.v1.model.VisitDensityGridApiDto;
+import com.rendaxx.labs.controller.support.EntityTags;
 import com.rendaxx.labs.controller.support.FilterParameterMapper;
 import com.rendaxx.labs.controller.support.PageRequestFactory;
+import com.rendaxx.labs.dtos.GridShape;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
+import com.rendaxx.labs.dtos.PatchRoutePointDto;
+import com.rendaxx.labs.dtos.PeriodMode;
 import com.rendaxx.labs.dtos.RetailPointDto;
 import com.rendaxx.labs.dtos.RoutePointDto;
 import com.rendaxx.labs.dtos.SaveRoutePointDto;
+import com.rendaxx.labs.dtos.VisitDensityGridDto;
 import com.rendaxx.labs.mappers.api.RetailPointApiMapper;
 import com.rendaxx.labs.mappers.api.RoutePointApiMapper;
 import com.rendaxx.labs.service.RoutePointService;
+import com.rendaxx.labs.service.VisitDensityService;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.jspecify.annotations.Nullable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -36,9 +49,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class RoutePointController implements RoutePointsApi {
 
     RoutePointService routePointService;
+    VisitDensityService visitDensityService;
     RoutePointApiMapper routePointApiMapper;
     RetailPointApiMapper retailPointApiMapper;
     PageRequestFactory pageRequestFactory;
+    EntityTags entityTags;
     FilterParameterMapper filterParameterMapper;
 
     @Override
@@ -49,8 +64,9 @@ public class RoutePointController implements RoutePointsApi {
     }
 
     @Override
-    public ResponseEntity<RoutePointApiDto> getRoutePoint(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(routePointApiMapper.toApi(routePointService.getById(id)));
+    public ResponseEntity<RoutePointApiDto> getRoutePoint(@PathVariable("id") Long id, @Nullable String ifNoneMatch) {
+        RoutePointDto routePoint = routePointService.getById(id);
+        return entityTags.respond(ifNoneMatch, entityTags.strong(routePoint), routePoint, routePointApiMapper::toApi);
     }
 
     @Override
@@ -58,20 +74,52 @@ public class RoutePointController implements RoutePointsApi {
             @Nullable Integer page,
             @Nullable Integer size,
             @Nullable List<String> sort,
-            @Nullable Map<String, String> filter) {
-        Pageable pageable = pageRequestFactory.build(page, size, sort);
+            @Nullable String cursor,
+            @Nullable CountStrategyApiDto countStrategy,
+            @Nullable Map<String, String> filter,
+            @Nullable String ifNoneMatch) {
+        PageQueryDto pageQuery = pageRequestFactory.build(page, size, sort, cursor, countStrategy);
         Map<String, String> filters = filterParameterMapper.toFilters(filter != null ? filter : Map.of());
-        Page<RoutePointDto> result = routePointService.getAll(pageable, filters);
-        PageRoutePointApiDto response = routePointApiMapper.toRoutePointPage(result);
-        return ResponseEntity.ok(response);
+        PageDto<RoutePointDto> result = routePointService.getAll(pageQuery, filters);
+        return entityTags.respond(
+                ifNoneMatch,
+                entityTags.weak(result, entityTags::strong),
+                result,
+                routePointApiMapper::toRoutePointPage);
+    }
+
+    @Override
+    public ResponseEntity<List<RoutePointApiDto>> getRoutePointsWithinPeriod(
+            @RequestParam("periodStart") LocalDateTime periodStart,
+            @RequestParam("periodEnd") LocalDateTime periodEnd,
+            @Nullable PeriodModeApiDto mode) {
+        List<RoutePointDto> routePoints = routePointService.getWithinPeriod(
+                mode == null ? PeriodMode.CONTAINED : routePointApiMapper.toDomain(mode), periodStart, periodEnd);
+        return ResponseEntity.ok(routePointApiMapper.toApi(routePoints));
     }
 
     @Override
     public ResponseEntity<RoutePointApiDto> updateRoutePoint(
-            @PathVariable("id") Long id, @Valid SaveRoutePointApiDto saveRoutePointApiDto) {
+            @PathVariable("id") Long id, @Valid SaveRoutePointApiDto saveRoutePointApiDto, @Nullable String ifMatch) {
         SaveRoutePointDto command = routePointApiMapper.toDto(saveRoutePointApiDto);
-        RoutePointDto updated = routePointService.update(id, command);
-        return ResponseEntity.ok(routePointApiMapper.toApi(updated));
+        @Nullable RoutePointDto current =
+                entityTags.checkIfMatch(ifMatch, () -> routePointService.getById(id), entityTags::strong);
+        RoutePointDto updated = routePointService.update(id, command, current == null ? null : current.getVersion());
+        return ResponseEntity.ok()
+                .eTag(entityTags.strong(updated).formattedTag())
+                .body(routePointApiMapper.toApi(updated));
+    }
+
+    @Override
+    public ResponseEntity<RoutePointApiDto> patchRoutePoint(
+            @PathVariable("id") Long id, @Valid RoutePointPatchApiDto routePointPatchApiDto, @Nullable String ifMatch) {
+        PatchRoutePointDto patch = routePointApiMapper.toDto(routePointPatchApiDto);
+        @Nullable RoutePointDto current =
+                entityTags.checkIfMatch(ifMatch, () -> routePointService.getById(id), entityTags::strong);
+        RoutePointDto patched = routePointService.patch(id, patch, current == null ? null : current.getVersion());
+        return ResponseEntity.ok()
+                .eTag(entityTags.strong(patched).formattedTag())
+                .body(routePointApiMapper.toApi(patched));
     }
 
     @Override
@@ -85,4 +133,20 @@ public class RoutePointController implements RoutePointsApi {
         List<RetailPointDto> topRetailPoints = routePointService.getTopRetailPoints(limit);
         return ResponseEntity.ok(retailPointApiMapper.toApi(topRetailPoints));
     }
+
+    @Override
+    public ResponseEntity<VisitDensityGridApiDto> getRoutePointVisitDensity(
+            Integer cellSizeMeters,
+            @Nullable GridShapeApiDto shape,
+            @Nullable LocalDateTime from,
+            @Nullable LocalDateTime to,
+            @Nullable OperationTypeApiDto operationType) {
+        VisitDensityGridDto grid = visitDensityService.getGrid(
+                shape == null ? GridShape.HEXAGON : routePointApiMapper.toDomain(shape),
+                cellSizeMeters,
+                from,
+                to,
+                operationType == null ? null : routePointApiMapper.toDomain(operationType));
+        return ResponseEntity.ok(routePointApiMapper.toApi(grid));
+    }
 }
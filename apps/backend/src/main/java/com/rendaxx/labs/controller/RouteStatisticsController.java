@@ -0,0 +1,63 @@
+package com.rendaxx.labs.controller;
+
+import com.rendaxx.labs.api.v1.api.RouteStatisticsApi;
+import com.rendaxx.labs.api.v1.model.DailyRouteMileageStatsApiDto;
+import com.rendaxx.labs.api.v1.model.RouteMileageRecomputeJobApiDto;
+import com.rendaxx.labs.api.v1.model.RouteMileageStatsApiDto;
+import com.rendaxx.labs.api.v1.model.RouteMileageStatsCheckApiDto;
+import com.rendaxx.labs.api.v1.model.VehicleRouteMileageStatsApiDto;
+import com.rendaxx.labs.mappers.api.RouteMileageStatsApiMapper;
+import com.rendaxx.labs.service.RouteMileageService;
+import com.rendaxx.labs.service.RouteMileageStatsService;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Validated
+public class RouteStatisticsController implements RouteStatisticsApi {
+
+    RouteMileageStatsService routeMileageStatsService;
+    RouteMileageService routeMileageService;
+    RouteMileageStatsApiMapper routeMileageStatsApiMapper;
+
+    @Override
+    public ResponseEntity<RouteMileageStatsApiDto> getRouteMileageStats() {
+        return ResponseEntity.ok(routeMileageStatsApiMapper.toApi(routeMileageStatsService.getTotals()));
+    }
+
+    @Override
+    public ResponseEntity<List<VehicleRouteMileageStatsApiDto>> getRouteMileageStatsByVehicle() {
+        return ResponseEntity.ok(routeMileageStatsApiMapper.toVehicleApi(routeMileageStatsService.getByVehicle()));
+    }
+
+    @Override
+    public ResponseEntity<List<DailyRouteMileageStatsApiDto>> getRouteMileageStatsByDay(
+            @Nullable LocalDate from, @Nullable LocalDate to) {
+        return ResponseEntity.ok(routeMileageStatsApiMapper.toDailyApi(routeMileageStatsService.getByDay(from, to)));
+    }
+
+    @Override
+    public ResponseEntity<RouteMileageStatsCheckApiDto> rebuildRouteMileageStats() {
+        return ResponseEntity.ok(routeMileageStatsApiMapper.toApi(routeMileageStatsService.verifyAndRebuild()));
+    }
+
+    @Override
+    public ResponseEntity<RouteMileageRecomputeJobApiDto> startRouteMileageRecompute() {
+        return ResponseEntity.accepted()
+                .body(routeMileageStatsApiMapper.toApi(routeMileageService.startRecompute()));
+    }
+
+    @Override
+    public ResponseEntity<RouteMileageRecomputeJobApiDto> getRouteMileageRecompute() {
+        return ResponseEntity.ok(routeMileageStatsApiMapper.toApi(routeMileageService.getLatestRecompute()));
+    }
+}
@@ -1,11 +1,15 @@
 package com.rendaxx.labs.controller;
 
 import com.rendaxx.labs.api.v1.api.VehiclesApi;
+import com.rendaxx.labs.api.v1.model.CountStrategyApiDto;
 import com.rendaxx.labs.api.v1.model.PageVehicleApiDto;
 import com.rendaxx.labs.api.v1.model.SaveVehicleApiDto;
 import com.rendaxx.labs.api.v1.model.VehicleApiDto;
+import com.rendaxx.labs.controller.support.EntityTags;
 import com.rendaxx.labs.controller.support.FilterParameterMapper;
 import com.rendaxx.labs.controller.support.PageRequestFactory;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
 import com.rendaxx.labs.dtos.SaveVehicleDto;
 import com.rendaxx.labs.dtos.VehicleDto;
 import com.rendaxx.labs.mappers.api.VehicleApiMapper;
@@ -17,8 +21,6 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.jspecify.annotations.Nullable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -34,6 +36,7 @@ public class VehicleController implements VehiclesApi {
     VehicleService vehicleService;
     VehicleApiMapper vehicleApiMapper;
     PageRequestFactory pageRequestFactory;
+    EntityTags entityTags;
     FilterParameterMapper filterParameterMapper;
 
     @Override
@@ -44,8 +47,9 @@ public class VehicleController implements VehiclesApi {
     }
 
     @Override
-    public ResponseEntity<VehicleApiDto> getVehicle(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(vehicleApiMapper.toApi(vehicleService.getById(id)));
+    public ResponseEntity<VehicleApiDto> getVehicle(@PathVariable("id") Long id, @Nullable String ifNoneMatch) {
+        VehicleDto vehicle = vehicleService.getById(id);
+        return entityTags.respond(ifNoneMatch, entityTags.strong(vehicle), vehicle, vehicleApiMapper::toApi);
     }
 
     @Override
@@ -53,20 +57,27 @@ public class VehicleController implements VehiclesApi {
             @Nullable Integer page,
             @Nullable Integer size,
             @Nullable List<String> sort,
-            @Nullable Map<String, String> filter) {
-        Pageable pageable = pageRequestFactory.build(page, size, sort);
+            @Nullable String cursor,
+            @Nullable CountStrategyApiDto countStrategy,
+            @Nullable Map<String, String> filter,
+            @Nullable String ifNoneMatch) {
+        PageQueryDto pageQuery = pageRequestFactory.build(page, size, sort, cursor, countStrategy);
         Map<String, String> filters = filterParameterMapper.toFilters(filter != null ? filter : Map.of());
-        Page<VehicleDto> result = vehicleService.getAll(pageable, filters);
-        PageVehicleApiDto response = vehicleApiMapper.toVehiclePage(result);
-        return ResponseEntity.ok(response);
+        PageDto<VehicleDto> result = vehicleService.getAll(pageQuery, filters);
+        return entityTags.respond(
+                ifNoneMatch, entityTags.weak(result, entityTags::strong), result, vehicleApiMapper::toVehiclePage);
     }
 
     @Override
     public ResponseEntity<VehicleApiDto> updateVehicle(
-            @PathVariable("id") Long id, @Valid SaveVehicleApiDto saveVehicleApiDto) {
+            @PathVariable("id") Long id, @Valid SaveVehicleApiDto saveVehicleApiDto, @Nullable String ifMatch) {
         SaveVehicleDto command = vehicleApiMapper.toDto(saveVehicleApiDto);
-        VehicleDto updated = vehicleService.update(id, command);
-        return ResponseEntity.ok(vehicleApiMapper.toApi(updated));
+        @Nullable VehicleDto current =
+                entityTags.checkIfMatch(ifMatch, () -> vehicleService.getById(id), entityTags::strong);
+        VehicleDto updated = vehicleService.update(id, command, current == null ? null : current.getVersion());
+        return ResponseEntity.ok()
+                .eTag(entityTags.strong(updated).formattedTag())
+                .body(vehicleApiMapper.toApi(updated));
     }
 
     @Override
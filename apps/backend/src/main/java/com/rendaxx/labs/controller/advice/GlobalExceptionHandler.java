@@ -1,10 +1,12 @@
 package com.rendaxx.labs.controller.advice;
 
 import com.rendaxx.labs.exceptions.BusinessException;
+import com.rendaxx.labs.exceptions.ConflictException;
 import jakarta.validation.ConstraintViolationException;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import org.jspecify.annotations.Nullable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -28,6 +30,11 @@ public class GlobalExceptionHandler {
         return plainText(status, exception.getMessage());
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException exception) {
+        return handleBusinessException(new ConflictException(exception));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<String> handleBindingErrors(MethodArgumentNotValidException exception) {
         String message = exception.getBindingResult().getFieldErrors().stream()
@@ -0,0 +1,166 @@
+package com.rendaxx.labs.controller.support;
+
+import com.rendaxx.labs.dtos.DriverDto;
+import com.rendaxx.labs.dtos.OrderDto;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.RetailPointDto;
+import com.rendaxx.labs.dtos.RouteDto;
+import com.rendaxx.labs.dtos.RoutePointDto;
+import com.rendaxx.labs.dtos.VehicleDto;
+import com.rendaxx.labs.exceptions.PreconditionFailedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/** Tags built from the ids and versions of embedded entities, so 304s need no mapping or serialization. */
+@Component
+public class EntityTags {
+
+    private static final int TAG_BYTES = 16;
+    private static final long ABSENT = 0L;
+
+    public ETag strong(DriverDto driver) {
+        return new ETag(new Fingerprint().driver(driver).value(), false);
+    }
+
+    public ETag strong(VehicleDto vehicle) {
+        return new ETag(new Fingerprint().vehicle(vehicle).value(), false);
+    }
+
+    public ETag strong(RetailPointDto retailPoint) {
+        return new ETag(new Fingerprint().retailPoint(retailPoint).value(), false);
+    }
+
+    public ETag strong(OrderDto order) {
+        return new ETag(new Fingerprint().order(order).value(), false);
+    }
+
+    public ETag strong(RoutePointDto routePoint) {
+        return new ETag(new Fingerprint().routePoint(routePoint).value(), false);
+    }
+
+    public ETag strong(RouteDto route) {
+        Fingerprint fingerprint = new Fingerprint().entity(route.getId(), route.getVersion());
+        @Nullable VehicleDto vehicle = route.getVehicle();
+        if (vehicle == null) {
+            fingerprint.add(ABSENT);
+        } else {
+            fingerprint.vehicle(vehicle);
+        }
+        fingerprint.add(route.getRoutePoints().size());
+        route.getRoutePoints().forEach(fingerprint::routePoint);
+        return new ETag(fingerprint.value(), false);
+    }
+
+    /** Weak tag of a page, built from the strong tags of its items. */
+    public <T> ETag weak(PageDto<T> page, Function<T, ETag> itemTag) {
+        Fingerprint fingerprint = new Fingerprint()
+                .add(page.getNumber())
+                .add(page.getSize())
+                .add(page.isHasNext() ? 1 : 0)
+                .add(page.getNextCursor())
+                .add(page.getContent().size());
+        page.getContent().forEach(item -> fingerprint.add(itemTag.apply(item).tag()));
+        return new ETag(fingerprint.value(), true);
+    }
+
+    public <T, R> ResponseEntity<R> respond(@Nullable String ifNoneMatch, ETag tag, T dto, Function<T, R> toApi) {
+        if (ifNoneMatch != null && matches(ifNoneMatch, tag, false)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.formattedTag()).build();
+        }
+        return ResponseEntity.ok().eTag(tag.formattedTag()).body(toApi.apply(dto));
+    }
+
+    /** Returns the representation the precondition was checked against, or null without one. */
+    public <T> @Nullable T checkIfMatch(@Nullable String ifMatch, Supplier<T> current, Function<T, ETag> tag) {
+        if (ifMatch == null) {
+            return null;
+        }
+        T dto = current.get();
+        if (!matches(ifMatch, tag.apply(dto), true)) {
+            throw new PreconditionFailedException("If-Match does not match the current entity tag");
+        }
+        return dto;
+    }
+
+    private static boolean matches(String header, ETag tag, boolean strong) {
+        return ETag.parse(header).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(tag, strong));
+    }
+
+    /** SHA-256 over the ids, versions and counts describing a representation, truncated to 128 bits. */
+    private static final class Fingerprint {
+
+        private final MessageDigest digest;
+        private final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+
+        private Fingerprint() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private Fingerprint add(long value) {
+            buffer.clear();
+            digest.update(buffer.putLong(value).array());
+            return this;
+        }
+
+        private Fingerprint add(@Nullable String value) {
+            if (value == null) {
+                return add(ABSENT);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            add(bytes.length);
+            digest.update(bytes);
+            return this;
+        }
+
+        private Fingerprint entity(Long id, Long version) {
+            return add(id).add(version);
+        }
+
+        private Fingerprint driver(DriverDto driver) {
+            return entity(driver.getId(), driver.getVersion());
+        }
+
+        private Fingerprint vehicle(VehicleDto vehicle) {
+            entity(vehicle.getId(), vehicle.getVersion());
+            @Nullable DriverDto driver = vehicle.getDriver();
+            return driver == null ? add(ABSENT) : driver(driver);
+        }
+
+        private Fingerprint retailPoint(RetailPointDto retailPoint) {
+            return entity(retailPoint.getId(), retailPoint.getVersion());
+        }
+
+        private Fingerprint order(OrderDto order) {
+            return entity(order.getId(), order.getVersion());
+        }
+
+        private Fingerprint routePoint(RoutePointDto routePoint) {
+            entity(routePoint.getId(), routePoint.getVersion()).retailPoint(routePoint.getRetailPoint());
+            Collection<OrderDto> orders = routePoint.getOrders();
+            add(orders.size());
+            orders.stream().sorted(Comparator.comparing(OrderDto::getId)).forEach(this::order);
+            return this;
+        }
+
+        private String value() {
+            return HexFormat.of().formatHex(digest.digest(), 0, TAG_BYTES);
+        }
+    }
+}
@@ -12,7 +12,7 @@ import org.springframework.util.StringUtils;
 @Component
 public class FilterParameterMapper {
 
-    private static final Set<String> RESERVED = Set.of("page", "size", "sort");
+    private static final Set<String> RESERVED = Set.of("page", "size", "sort", "cursor", "countStrategy");
 
     public Map<String, String> toFilters(Map<String, String> raw) {
         return raw.entrySet().stream()
@@ -0,0 +1,64 @@
+package com.rendaxx.labs.controller.support;
+
+import com.rendaxx.labs.exceptions.InternalServerException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/** Writes newline-delimited JSON with the message converters MVC uses for regular responses. */
+@Component
+public class NdjsonWriter {
+
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final RequestMappingHandlerAdapter handlerAdapter;
+
+    public NdjsonWriter(RequestMappingHandlerAdapter handlerAdapter) {
+        this.handlerAdapter = handlerAdapter;
+    }
+
+    public void writeLine(Object value, OutputStream outputStream) {
+        try {
+            resolveConverter(value.getClass())
+                    .write(value, MediaType.APPLICATION_JSON, new StreamOutputMessage(outputStream));
+            outputStream.write(LINE_SEPARATOR);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpMessageConverter<Object> resolveConverter(Class<?> type) {
+        return handlerAdapter.getMessageConverters().stream()
+                .filter(converter -> converter.canWrite(type, MediaType.APPLICATION_JSON))
+                .map(converter -> (HttpMessageConverter<Object>) converter)
+                .findFirst()
+                .orElseThrow(() -> new InternalServerException("No JSON converter for " + type.getSimpleName()));
+    }
+
+    private static final class StreamOutputMessage implements HttpOutputMessage {
+
+        private final OutputStream body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private StreamOutputMessage(OutputStream body) {
+            this.body = body;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.rendaxx.labs.controller.support;
 
+import com.rendaxx.labs.api.v1.model.CountStrategyApiDto;
+import com.rendaxx.labs.dtos.CountStrategy;
+import com.rendaxx.labs.dtos.PageQueryDto;
 import jakarta.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,6 +12,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 @Component
 public class PageRequestFactory {
@@ -26,15 +30,26 @@ public class PageRequestFactory {
     }
 
     public Pageable build(@Nullable Integer page, @Nullable Integer size, @Nullable List<String> sortValues) {
-        int resolvedSize = size != null && size > 0 ? size : defaultSize;
-        long requestedPage = page != null && page >= 0 ? page.longValue() : defaultPage;
-        int resolvedPage = Math.toIntExact(Math.min(requestedPage, maxSize));
+        int resolvedSize = Math.min(size != null && size > 0 ? size : defaultSize, maxSize);
+        int resolvedPage = page != null && page >= 0 ? page : defaultPage;
         Sort sort = resolveSort(sortValues);
         return sort.isUnsorted()
                 ? PageRequest.of(resolvedPage, resolvedSize)
                 : PageRequest.of(resolvedPage, resolvedSize, sort);
     }
 
+    public PageQueryDto build(
+            @Nullable Integer page,
+            @Nullable Integer size,
+            @Nullable List<String> sortValues,
+            @Nullable String cursor,
+            @Nullable CountStrategyApiDto countStrategy) {
+        return new PageQueryDto(
+                build(page, size, sortValues),
+                StringUtils.hasText(cursor) ? cursor.trim() : null,
+                countStrategy != null ? CountStrategy.valueOf(countStrategy.name()) : CountStrategy.EXACT);
+    }
+
     private static boolean isDir(String s) {
         return "asc".equalsIgnoreCase(s) || "desc".equalsIgnoreCase(s);
     }
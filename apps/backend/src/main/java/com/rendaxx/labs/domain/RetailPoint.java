@@ -9,6 +9,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AccessLevel;
@@ -35,6 +36,9 @@ public class RetailPoint {
     @EqualsAndHashCode.Include
     private @Nullable Long id;
 
+    @Version
+    private @Nullable Long version;
+
     @NotBlank
     private String name;
 
@@ -0,0 +1,34 @@
+package com.rendaxx.labs.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/** Maintained by triggers on {@code route_points}; the application only reads it. */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Immutable
+@Table(name = "retail_point_visit_counts")
+public class RetailPointVisitCount {
+
+    @Id
+    private Long retailPointId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "retail_point_id")
+    private RetailPoint retailPoint;
+
+    @Column(nullable = false)
+    private long visitCount;
+}
@@ -11,10 +11,10 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -41,6 +41,9 @@ public class Route {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private @Nullable Long id;
 
+    @Version
+    private @Nullable Long version;
+
     @Valid
     @Builder.Default
     @OneToMany(mappedBy = "route", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -61,8 +64,7 @@ public class Route {
     private LocalDateTime plannedEndTime;
 
     @NotNull
-    @Positive
-    @DecimalMin(value = "0.001")
+    @PositiveOrZero
     @Column(precision = 12, scale = 3)
     private BigDecimal mileageInKm;
 }
@@ -14,6 +14,7 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -44,6 +45,9 @@ public class RoutePoint {
     @EqualsAndHashCode.Include
     private Long id;
 
+    @Version
+    private @Nullable Long version;
+
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Route route;
@@ -0,0 +1,17 @@
+package com.rendaxx.labs.dtos;
+
+import java.time.LocalDate;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DailyRouteMileageStatsDto {
+    LocalDate day;
+    RouteMileageStatsDto stats;
+}
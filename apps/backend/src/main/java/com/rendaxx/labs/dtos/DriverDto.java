@@ -9,6 +9,7 @@ import org.jspecify.annotations.Nullable;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class DriverDto {
     Long id;
+    Long version;
     String firstName;
 
     @Nullable
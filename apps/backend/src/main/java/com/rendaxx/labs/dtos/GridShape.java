@@ -0,0 +1,6 @@
+package com.rendaxx.labs.dtos;
+
+public enum GridShape {
+    HEXAGON,
+    SQUARE
+}
@@ -0,0 +1,21 @@
+package com.rendaxx.labs.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderConsolidationRequestDto {
+    @NotNull
+    List<Long> orderIds;
+
+    @NotNull
+    List<Long> vehicleIds;
+
+    @Nullable
+    Long timeBudgetMillis;
+}
@@ -9,6 +9,7 @@ import lombok.experimental.FieldDefaults;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class OrderDto {
     Long id;
+    Long version;
     String goodsType;
     Integer minTemperature;
     Integer maxTemperature;
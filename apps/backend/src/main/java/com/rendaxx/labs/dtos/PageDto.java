@@ -0,0 +1,53 @@
+package com.rendaxx.labs.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PageDto<T> {
+    List<T> content = new ArrayList<>();
+    int number;
+    int size;
+    Sort sort = Sort.unsorted();
+
+    @Nullable Long totalElements;
+
+    @Nullable Integer totalPages;
+
+    boolean first;
+    boolean last;
+    boolean empty;
+    boolean hasNext;
+
+    @Nullable String nextCursor;
+
+    CountStrategy countStrategy = CountStrategy.EXACT;
+
+    public <R> PageDto<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new PageDto<>(
+                mapped,
+                number,
+                size,
+                sort,
+                totalElements,
+                totalPages,
+                first,
+                last,
+                empty,
+                hasNext,
+                nextCursor,
+                countStrategy);
+    }
+}
@@ -0,0 +1,21 @@
+package com.rendaxx.labs.dtos;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Pageable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PageQueryDto {
+    Pageable pageable;
+
+    @Nullable String cursor;
+
+    CountStrategy countStrategy = CountStrategy.EXACT;
+}
@@ -0,0 +1,18 @@
+package com.rendaxx.labs.dtos;
+
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.openapitools.jackson.nullable.JsonNullable;
+
+/** Merge patch of a route: undefined properties keep their values. */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PatchRouteDto {
+    JsonNullable<Long> vehicleId = JsonNullable.undefined();
+
+    JsonNullable<LocalDateTime> plannedStartTime = JsonNullable.undefined();
+
+    JsonNullable<LocalDateTime> plannedEndTime = JsonNullable.undefined();
+}
@@ -0,0 +1,26 @@
+package com.rendaxx.labs.dtos;
+
+import com.rendaxx.labs.domain.OperationType;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.openapitools.jackson.nullable.JsonNullable;
+
+/** Merge patch of a route point: undefined properties keep their values. */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PatchRoutePointDto {
+    JsonNullable<Long> retailPointId = JsonNullable.undefined();
+
+    JsonNullable<OperationType> operationType = JsonNullable.undefined();
+
+    JsonNullable<List<Long>> orderIds = JsonNullable.undefined();
+
+    JsonNullable<LocalDateTime> plannedStartTime = JsonNullable.undefined();
+
+    JsonNullable<LocalDateTime> plannedEndTime = JsonNullable.undefined();
+
+    JsonNullable<Integer> orderNumber = JsonNullable.undefined();
+}
@@ -0,0 +1,7 @@
+package com.rendaxx.labs.dtos;
+
+public enum PeriodMode {
+    CONTAINED,
+    OVERLAPPING,
+    STARTING
+}
@@ -0,0 +1,22 @@
+package com.rendaxx.labs.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PlannedRouteDto {
+    Long vehicleId;
+    LocalDateTime plannedStartTime;
+    LocalDateTime plannedEndTime;
+    BigDecimal mileageInKm;
+    List<SaveRoutePointDto> routePoints;
+}
@@ -0,0 +1,33 @@
+package com.rendaxx.labs.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PlanningOrderDto {
+    @NotNull
+    Long orderId;
+
+    @NotNull
+    Long pickupRetailPointId;
+
+    @NotNull
+    Long dropRetailPointId;
+
+    @Nullable
+    LocalDateTime pickupFrom;
+
+    @Nullable
+    LocalDateTime pickupTo;
+
+    @Nullable
+    LocalDateTime dropFrom;
+
+    @Nullable
+    LocalDateTime dropTo;
+}
@@ -9,6 +9,7 @@ import lombok.experimental.FieldDefaults;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class RetailPointDto {
     Long id;
+    Long version;
     String name;
     String address;
     PointDto location;
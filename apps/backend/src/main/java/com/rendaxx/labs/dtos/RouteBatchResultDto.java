@@ -0,0 +1,14 @@
+package com.rendaxx.labs.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RouteBatchResultDto {
+    List<RouteBatchCreatedDto> created = new ArrayList<>();
+    List<RouteBatchErrorDto> errors = new ArrayList<>();
+}
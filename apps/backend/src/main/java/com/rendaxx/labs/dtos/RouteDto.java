@@ -12,6 +12,7 @@ import org.jspecify.annotations.Nullable;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class RouteDto {
     Long id;
+    Long version;
     List<RoutePointDto> routePoints;
 
     @Nullable
@@ -0,0 +1,24 @@
+package com.rendaxx.labs.dtos;
+
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RouteMileageRecomputeJobDto {
+    long id;
+    RouteMileageRecomputeStatus status;
+    LocalDateTime startedAt;
+    @Nullable LocalDateTime finishedAt;
+    long lastRouteId;
+    long maxRouteId;
+    long processedRoutes;
+    long updatedRoutes;
+}
@@ -0,0 +1,16 @@
+package com.rendaxx.labs.dtos;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RouteMileageStatsCheckDto {
+    boolean consistent;
+    long mismatchedRows;
+}
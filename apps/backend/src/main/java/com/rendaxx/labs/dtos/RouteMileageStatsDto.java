@@ -0,0 +1,26 @@
+package com.rendaxx.labs.dtos;
+
+import java.math.BigDecimal;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RouteMileageStatsDto {
+    Long routeCount;
+    BigDecimal totalMileageInKm;
+
+    @Nullable
+    BigDecimal minMileageInKm;
+
+    @Nullable
+    BigDecimal maxMileageInKm;
+
+    BigDecimal averageMileageInKm;
+}
@@ -0,0 +1,29 @@
+package com.rendaxx.labs.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RoutePlanRequestDto {
+    @NotNull
+    List<Long> vehicleIds;
+
+    @NotNull
+    List<@Valid PlanningOrderDto> orders;
+
+    @NotNull
+    LocalDateTime planningStart;
+
+    @NotNull
+    LocalDateTime planningEnd;
+
+    @Nullable
+    Long timeBudgetMillis;
+}
@@ -12,6 +12,7 @@ import org.jspecify.annotations.Nullable;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class RoutePointDto {
     Long id;
+    Long version;
 
     @Nullable
     Long routeId;
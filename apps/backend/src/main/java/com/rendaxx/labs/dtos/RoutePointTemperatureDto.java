@@ -0,0 +1,25 @@
+package com.rendaxx.labs.dtos;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RoutePointTemperatureDto {
+    Long routePointId;
+    Integer orderNumber;
+
+    @Nullable
+    Integer minTemperature;
+
+    @Nullable
+    Integer maxTemperature;
+
+    Boolean compatible;
+}
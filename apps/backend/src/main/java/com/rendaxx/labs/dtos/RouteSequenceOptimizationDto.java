@@ -0,0 +1,22 @@
+package com.rendaxx.labs.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RouteSequenceOptimizationDto {
+    Long routeId;
+    List<Long> routePointIds;
+    BigDecimal originalMileageInKm;
+    BigDecimal optimizedMileageInKm;
+    BigDecimal savedKm;
+    Boolean persisted;
+}
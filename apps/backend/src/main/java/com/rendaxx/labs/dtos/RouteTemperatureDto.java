@@ -0,0 +1,26 @@
+package com.rendaxx.labs.dtos;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RouteTemperatureDto {
+    Long routeId;
+
+    @Nullable
+    Integer minTemperature;
+
+    @Nullable
+    Integer maxTemperature;
+
+    Boolean compatible;
+    List<RoutePointTemperatureDto> routePoints;
+}
@@ -1,8 +1,7 @@
 package com.rendaxx.labs.dtos;
 
-import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AccessLevel;
@@ -13,7 +12,7 @@ import lombok.experimental.FieldDefaults;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class SaveRouteDto {
     @NotNull
-    List<SaveRoutePointDto> routePoints;
+    List<@Valid SaveRoutePointDto> routePoints;
 
     @NotNull
     Long vehicleId;
@@ -26,8 +25,4 @@ public class SaveRouteDto {
 
     @NotNull
     LocalDateTime plannedEndTime;
-
-    @NotNull
-    @DecimalMin(value = "0.001")
-    BigDecimal mileageInKm;
 }
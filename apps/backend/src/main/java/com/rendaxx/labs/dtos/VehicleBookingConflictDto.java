@@ -0,0 +1,20 @@
+package com.rendaxx.labs.dtos;
+
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class VehicleBookingConflictDto {
+    Long vehicleId;
+    Long routeId;
+    Long conflictingRouteId;
+    LocalDateTime overlapStart;
+    LocalDateTime overlapEnd;
+}
@@ -10,6 +10,7 @@ import org.jspecify.annotations.Nullable;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class VehicleDto {
     Long id;
+    Long version;
 
     @Nullable
     DriverDto driver;
@@ -0,0 +1,20 @@
+package com.rendaxx.labs.dtos;
+
+import java.math.BigDecimal;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class VisitDensityCellDto {
+    long column;
+    long row;
+    BigDecimal longitude;
+    BigDecimal latitude;
+    long visitCount;
+}
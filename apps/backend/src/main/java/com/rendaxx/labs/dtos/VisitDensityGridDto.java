@@ -0,0 +1,18 @@
+package com.rendaxx.labs.dtos;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class VisitDensityGridDto {
+    GridShape shape;
+    int cellSizeMeters;
+    List<VisitDensityCellDto> cells;
+}
@@ -0,0 +1,8 @@
+package com.rendaxx.labs.exceptions;
+
+public class ConflictException extends BusinessException {
+
+    public ConflictException(Throwable cause) {
+        super(BusinessErrorCode.CONFLICT, "Resource was modified concurrently, retry the request", cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.rendaxx.labs.exceptions;
+
+public class PreconditionFailedException extends BusinessException {
+
+    public PreconditionFailedException(String message) {
+        super(BusinessErrorCode.PRECONDITION_FAILED, message);
+    }
+
+    public PreconditionFailedException(Class<?> entityClass, Object id) {
+        this(String.format("%s with id '%s' has changed since it was read", entityClass.getSimpleName(), id));
+    }
+}
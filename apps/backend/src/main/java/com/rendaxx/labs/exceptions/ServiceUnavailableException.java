@@ -0,0 +1,8 @@
+package com.rendaxx.labs.exceptions;
+
+public class ServiceUnavailableException extends BusinessException {
+
+    public ServiceUnavailableException(String message) {
+        super(BusinessErrorCode.SERVICE_UNAVAILABLE, message);
+    }
+}
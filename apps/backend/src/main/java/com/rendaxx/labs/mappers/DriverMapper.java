@@ -13,9 +13,12 @@ import org.mapstruct.MappingTarget;
 public abstract class DriverMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     public abstract void update(@MappingTarget Driver driver, SaveDriverDto dto);
 
     public abstract DriverDto toDto(DriverView driver);
 
+    public abstract DriverDto toDto(Driver driver);
+
     public abstract List<DriverDto> toDtoFromView(List<DriverView> drivers);
 }
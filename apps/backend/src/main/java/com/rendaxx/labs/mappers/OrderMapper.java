@@ -13,9 +13,12 @@ import org.mapstruct.MappingTarget;
 public abstract class OrderMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     public abstract void update(@MappingTarget Order order, SaveOrderDto dto);
 
     public abstract OrderDto toDto(OrderView order);
 
+    public abstract OrderDto toDto(Order order);
+
     public abstract List<OrderDto> toDtoFromView(List<OrderView> orders);
 }
@@ -15,10 +15,13 @@ import org.mapstruct.MappingTarget;
 public abstract class RetailPointMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     public abstract void update(@MappingTarget RetailPoint retailPoint, SaveRetailPointDto dto);
 
     public abstract RetailPointDto toDto(RetailPointView retailPoint);
 
+    public abstract RetailPointDto toDto(RetailPoint retailPoint);
+
     public abstract List<RetailPointDto> toDtoFromView(List<RetailPointView> retailPoints);
 
     protected PointDto map(Point location) {
@@ -1,7 +1,6 @@
 package com.rendaxx.labs.mappers;
 
 import com.rendaxx.labs.domain.Route;
-import com.rendaxx.labs.domain.RoutePoint;
 import com.rendaxx.labs.domain.Vehicle;
 import com.rendaxx.labs.dtos.RouteDto;
 import com.rendaxx.labs.dtos.SaveRouteDto;
@@ -15,12 +14,17 @@ import org.mapstruct.MappingTarget;
 public abstract class RouteMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "creationTime", ignore = true)
-    @Mapping(target = "routePoints", source = "routePoints")
-    public abstract void update(
-            @MappingTarget Route route, SaveRouteDto dto, List<RoutePoint> routePoints, Vehicle vehicle);
+    @Mapping(target = "mileageInKm", ignore = true)
+    @Mapping(target = "routePoints", ignore = true)
+    public abstract void update(@MappingTarget Route route, SaveRouteDto dto, Vehicle vehicle);
 
     public abstract RouteDto toDto(RouteView route);
 
+    public abstract RouteDto toDto(Route route);
+
+    public abstract List<RouteDto> toDto(List<Route> routes);
+
     public abstract List<RouteDto> toDtoFromView(List<RouteView> routes);
 }
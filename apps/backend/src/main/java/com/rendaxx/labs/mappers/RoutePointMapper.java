@@ -17,6 +17,7 @@ import org.mapstruct.MappingTarget;
 public abstract class RoutePointMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "plannedStartTime", source = "dto.plannedStartTime")
     @Mapping(target = "plannedEndTime", source = "dto.plannedEndTime")
     public abstract void update(
@@ -29,5 +30,8 @@ public abstract class RoutePointMapper {
     @Mapping(target = "routeId", source = "routeId")
     public abstract RoutePointDto toDto(RoutePointView routePoint);
 
+    @Mapping(target = "routeId", source = "route.id")
+    public abstract RoutePointDto toDto(RoutePoint routePoint);
+
     public abstract List<RoutePointDto> toDtoFromView(List<RoutePointView> routePoints);
 }
@@ -14,9 +14,12 @@ import org.mapstruct.MappingTarget;
 public abstract class VehicleMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     public abstract void update(@MappingTarget Vehicle vehicle, SaveVehicleDto dto, Driver driver);
 
     public abstract VehicleDto toDto(VehicleView vehicle);
 
+    public abstract VehicleDto toDto(Vehicle vehicle);
+
     public abstract List<VehicleDto> toDtoFromView(List<VehicleView> vehicles);
 }
@@ -0,0 +1,15 @@
+package com.rendaxx.labs.mappers.api;
+
+import com.rendaxx.labs.api.v1.model.OrderConsolidationApiDto;
+import com.rendaxx.labs.api.v1.model.OrderConsolidationRequestApiDto;
+import com.rendaxx.labs.dtos.OrderConsolidationDto;
+import com.rendaxx.labs.dtos.OrderConsolidationRequestDto;
+import org.mapstruct.Mapper;
+
+@Mapper
+public interface OrderConsolidationApiMapper {
+
+    OrderConsolidationRequestDto toDto(OrderConsolidationRequestApiDto dto);
+
+    OrderConsolidationApiDto toApi(OrderConsolidationDto dto);
+}
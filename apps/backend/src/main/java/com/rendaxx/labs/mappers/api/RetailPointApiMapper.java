@@ -1,8 +1,11 @@
 package com.rendaxx.labs.mappers.api;
 
+import com.rendaxx.labs.api.v1.model.NearestRetailPointApiDto;
 import com.rendaxx.labs.api.v1.model.PageRetailPointApiDto;
 import com.rendaxx.labs.api.v1.model.RetailPointApiDto;
 import com.rendaxx.labs.api.v1.model.SaveRetailPointApiDto;
+import com.rendaxx.labs.dtos.NearestRetailPointDto;
+import com.rendaxx.labs.dtos.PageDto;
 import com.rendaxx.labs.dtos.RetailPointDto;
 import com.rendaxx.labs.dtos.SaveRetailPointDto;
 import com.rendaxx.labs.mappers.api.support.PageSortMapper;
@@ -10,7 +13,6 @@ import com.rendaxx.labs.mappers.api.support.PointGeometryMapper;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
 
 @Mapper(uses = {PointApiMapper.class, PointGeometryMapper.class})
 public interface RetailPointApiMapper extends PageSortMapper {
@@ -21,6 +23,11 @@ public interface RetailPointApiMapper extends PageSortMapper {
 
     SaveRetailPointDto toDto(SaveRetailPointApiDto dto);
 
+    @Mapping(target = ".", source = "retailPoint")
+    NearestRetailPointApiDto toApi(NearestRetailPointDto dto);
+
+    List<NearestRetailPointApiDto> toNearestApi(List<NearestRetailPointDto> dto);
+
     @Mapping(target = "page", source = "number")
-    PageRetailPointApiDto toRetailPointPage(Page<RetailPointDto> page);
+    PageRetailPointApiDto toRetailPointPage(PageDto<RetailPointDto> page);
 }
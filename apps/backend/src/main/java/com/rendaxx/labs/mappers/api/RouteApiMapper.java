@@ -1,15 +1,27 @@
 package com.rendaxx.labs.mappers.api;
 
 import com.rendaxx.labs.api.v1.model.PageRouteApiDto;
+import com.rendaxx.labs.api.v1.model.PeriodModeApiDto;
 import com.rendaxx.labs.api.v1.model.RouteApiDto;
+import com.rendaxx.labs.api.v1.model.RouteBatchResultApiDto;
+import com.rendaxx.labs.api.v1.model.RoutePatchApiDto;
+import com.rendaxx.labs.api.v1.model.RouteSequenceOptimizationApiDto;
+import com.rendaxx.labs.api.v1.model.RouteTemperatureApiDto;
 import com.rendaxx.labs.api.v1.model.SaveRouteApiDto;
+import com.rendaxx.labs.api.v1.model.VehicleBookingConflictApiDto;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PatchRouteDto;
+import com.rendaxx.labs.dtos.PeriodMode;
+import com.rendaxx.labs.dtos.RouteBatchResultDto;
 import com.rendaxx.labs.dtos.RouteDto;
+import com.rendaxx.labs.dtos.RouteSequenceOptimizationDto;
+import com.rendaxx.labs.dtos.RouteTemperatureDto;
 import com.rendaxx.labs.dtos.SaveRouteDto;
+import com.rendaxx.labs.dtos.VehicleBookingConflictDto;
 import com.rendaxx.labs.mappers.api.support.PageSortMapper;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
 
 @Mapper(uses = {RoutePointApiMapper.class, VehicleApiMapper.class})
 public interface RouteApiMapper extends PageSortMapper {
@@ -20,7 +32,23 @@ public interface RouteApiMapper extends PageSortMapper {
 
     SaveRouteDto toDto(SaveRouteApiDto dto);
 
+    List<SaveRouteDto> toDto(List<SaveRouteApiDto> dto);
+
+    PatchRouteDto toDto(RoutePatchApiDto dto);
+
+    RouteBatchResultApiDto toApi(RouteBatchResultDto dto);
+
+    RouteSequenceOptimizationApiDto toApi(RouteSequenceOptimizationDto dto);
+
+    RouteTemperatureApiDto toApi(RouteTemperatureDto dto);
+
+    List<RouteTemperatureApiDto> toTemperatureApi(List<RouteTemperatureDto> dto);
+
+    List<VehicleBookingConflictApiDto> toBookingConflictApi(List<VehicleBookingConflictDto> dto);
+
+    PeriodMode toDomain(PeriodModeApiDto dto);
+
     @Mapping(target = "page", source = "number")
     @Mapping(target = "sort", expression = "java(toSortStrings(page.getSort()))")
-    PageRouteApiDto toRoutePage(Page<RouteDto> page);
+    PageRouteApiDto toRoutePage(PageDto<RouteDto> page);
 }
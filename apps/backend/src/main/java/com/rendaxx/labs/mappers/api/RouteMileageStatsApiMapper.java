@@ -0,0 +1,32 @@
+package com.rendaxx.labs.mappers.api;
+
+import com.rendaxx.labs.api.v1.model.DailyRouteMileageStatsApiDto;
+import com.rendaxx.labs.api.v1.model.RouteMileageRecomputeJobApiDto;
+import com.rendaxx.labs.api.v1.model.RouteMileageStatsApiDto;
+import com.rendaxx.labs.api.v1.model.RouteMileageStatsCheckApiDto;
+import com.rendaxx.labs.api.v1.model.VehicleRouteMileageStatsApiDto;
+import com.rendaxx.labs.dtos.DailyRouteMileageStatsDto;
+import com.rendaxx.labs.dtos.RouteMileageRecomputeJobDto;
+import com.rendaxx.labs.dtos.RouteMileageStatsCheckDto;
+import com.rendaxx.labs.dtos.RouteMileageStatsDto;
+import com.rendaxx.labs.dtos.VehicleRouteMileageStatsDto;
+import java.util.List;
+import org.mapstruct.Mapper;
+
+@Mapper
+public interface RouteMileageStatsApiMapper {
+
+    RouteMileageStatsApiDto toApi(RouteMileageStatsDto dto);
+
+    VehicleRouteMileageStatsApiDto toApi(VehicleRouteMileageStatsDto dto);
+
+    List<VehicleRouteMileageStatsApiDto> toVehicleApi(List<VehicleRouteMileageStatsDto> dto);
+
+    DailyRouteMileageStatsApiDto toApi(DailyRouteMileageStatsDto dto);
+
+    List<DailyRouteMileageStatsApiDto> toDailyApi(List<DailyRouteMileageStatsDto> dto);
+
+    RouteMileageStatsCheckApiDto toApi(RouteMileageStatsCheckDto dto);
+
+    RouteMileageRecomputeJobApiDto toApi(RouteMileageRecomputeJobDto dto);
+}
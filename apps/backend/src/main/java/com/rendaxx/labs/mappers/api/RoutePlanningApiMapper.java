@@ -0,0 +1,15 @@
+package com.rendaxx.labs.mappers.api;
+
+import com.rendaxx.labs.api.v1.model.RoutePlanApiDto;
+import com.rendaxx.labs.api.v1.model.RoutePlanRequestApiDto;
+import com.rendaxx.labs.dtos.RoutePlanDto;
+import com.rendaxx.labs.dtos.RoutePlanRequestDto;
+import org.mapstruct.Mapper;
+
+@Mapper
+public interface RoutePlanningApiMapper {
+
+    RoutePlanRequestDto toDto(RoutePlanRequestApiDto dto);
+
+    RoutePlanApiDto toApi(RoutePlanDto dto);
+}
@@ -1,16 +1,27 @@
 package com.rendaxx.labs.mappers.api;
 
+import com.rendaxx.labs.api.v1.model.GridShapeApiDto;
+import com.rendaxx.labs.api.v1.model.OperationTypeApiDto;
 import com.rendaxx.labs.api.v1.model.PageRoutePointApiDto;
+import com.rendaxx.labs.api.v1.model.PeriodModeApiDto;
 import com.rendaxx.labs.api.v1.model.RoutePointApiDto;
+import com.rendaxx.labs.api.v1.model.RoutePointPatchApiDto;
 import com.rendaxx.labs.api.v1.model.SaveRoutePointApiDto;
+import com.rendaxx.labs.api.v1.model.VisitDensityGridApiDto;
+import com.rendaxx.labs.domain.OperationType;
+import com.rendaxx.labs.dtos.GridShape;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PatchRoutePointDto;
+import com.rendaxx.labs.dtos.PeriodMode;
 import com.rendaxx.labs.dtos.RoutePointDto;
 import com.rendaxx.labs.dtos.SaveRoutePointDto;
+import com.rendaxx.labs.dtos.VisitDensityGridDto;
 import com.rendaxx.labs.mappers.api.support.JsonNullableMapper;
 import com.rendaxx.labs.mappers.api.support.PageSortMapper;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
+import org.openapitools.jackson.nullable.JsonNullable;
 
 @Mapper(uses = {RetailPointApiMapper.class, OrderApiMapper.class})
 public interface RoutePointApiMapper extends JsonNullableMapper, PageSortMapper {
@@ -21,7 +32,21 @@ public interface RoutePointApiMapper extends JsonNullableMapper, PageSortMapper
 
     SaveRoutePointDto toDto(SaveRoutePointApiDto dto);
 
+    PatchRoutePointDto toDto(RoutePointPatchApiDto dto);
+
+    VisitDensityGridApiDto toApi(VisitDensityGridDto dto);
+
+    GridShape toDomain(GridShapeApiDto dto);
+
+    OperationType toDomain(OperationTypeApiDto dto);
+
+    default JsonNullable<OperationType> toDomain(JsonNullable<OperationTypeApiDto> dto) {
+        return mapNullable(dto, this::toDomain);
+    }
+
+    PeriodMode toDomain(PeriodModeApiDto dto);
+
     @Mapping(target = "page", source = "number")
     @Mapping(target = "sort", expression = "java(toSortStrings(page.getSort()))")
-    PageRoutePointApiDto toRoutePointPage(Page<RoutePointDto> page);
+    PageRoutePointApiDto toRoutePointPage(PageDto<RoutePointDto> page);
 }
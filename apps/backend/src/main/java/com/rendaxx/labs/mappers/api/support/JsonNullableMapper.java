@@ -1,5 +1,6 @@
 package com.rendaxx.labs.mappers.api.support;
 
+import java.util.function.Function;
 import org.jspecify.annotations.Nullable;
 import org.openapitools.jackson.nullable.JsonNullable;
 
@@ -18,4 +19,13 @@ public interface JsonNullableMapper {
         }
         return value.get();
     }
+
+    /** Maps a defined value, keeping undefined values undefined and nulls null. */
+    default <S, T> JsonNullable<T> mapNullable(JsonNullable<S> value, Function<S, T> mapper) {
+        if (!value.isPresent()) {
+            return JsonNullable.undefined();
+        }
+        S present = value.get();
+        return JsonNullable.of(present == null ? null : mapper.apply(present));
+    }
 }
@@ -0,0 +1,45 @@
+package com.rendaxx.labs.mappers.api.support;
+
+import com.rendaxx.labs.api.v1.model.GeoJsonPolygonApiDto;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import java.util.List;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PolygonGeometryMapper {
+
+    private static final int SRID = 4326;
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), SRID);
+
+    /** Checks only the ring structure; topological validity is left to the caller. */
+    public Polygon toPolygon(GeoJsonPolygonApiDto dto) {
+        List<List<List<Double>>> rings = dto.getCoordinates();
+        if (rings == null || rings.isEmpty()) {
+            throw new BadRequestException("Polygon must have an exterior ring");
+        }
+        LinearRing shell = toRing(rings.getFirst());
+        LinearRing[] holes = rings.stream().skip(1).map(this::toRing).toArray(LinearRing[]::new);
+        return GEOMETRY_FACTORY.createPolygon(shell, holes);
+    }
+
+    private LinearRing toRing(List<List<Double>> positions) {
+        Coordinate[] coordinates = new Coordinate[positions.size()];
+        for (int i = 0; i < coordinates.length; i++) {
+            List<Double> position = positions.get(i);
+            if (position.size() < 2 || position.get(0) == null || position.get(1) == null) {
+                throw new BadRequestException("Polygon positions must have a longitude and a latitude");
+            }
+            coordinates[i] = new Coordinate(position.get(0), position.get(1));
+        }
+        try {
+            return GEOMETRY_FACTORY.createLinearRing(coordinates);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Polygon rings must be closed and have at least four positions", ex);
+        }
+    }
+}
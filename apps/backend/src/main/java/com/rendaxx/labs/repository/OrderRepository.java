@@ -2,13 +2,23 @@ package com.rendaxx.labs.repository;
 
 import com.rendaxx.labs.domain.Order;
 import com.rendaxx.labs.repository.view.OrderView;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
 
     Optional<OrderView> findViewById(Long id);
+
+    @Query(
+            """
+            select o from Order o
+            where not exists (select 1 from RoutePoint rp join rp.orders ro where ro = o)
+            order by o.id
+            """)
+    List<Order> findAllNotOnRoute();
 }
@@ -0,0 +1,22 @@
+package com.rendaxx.labs.repository;
+
+import com.rendaxx.labs.dtos.PeriodMode;
+import java.time.LocalDateTime;
+
+/** Period condition on {@code planned_period}, both ends included, that every mode answers from the GiST index. */
+record PlannedPeriodCondition(String sql, Object[] parameters) {
+
+    private static final String PERIOD = "tsrange(?::timestamp, ?::timestamp, '[]')";
+
+    static PlannedPeriodCondition of(PeriodMode mode, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        return switch (mode) {
+            case CONTAINED -> new PlannedPeriodCondition(
+                    "planned_period <@ " + PERIOD, new Object[] {periodStart, periodEnd});
+            case OVERLAPPING -> new PlannedPeriodCondition(
+                    "planned_period && " + PERIOD, new Object[] {periodStart, periodEnd});
+            case STARTING -> new PlannedPeriodCondition(
+                    "planned_period && " + PERIOD + " and planned_period &> " + PERIOD,
+                    new Object[] {periodStart, periodEnd, periodStart, periodEnd});
+        };
+    }
+}
@@ -1,10 +1,11 @@
 package com.rendaxx.labs.repository;
 
 import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.repository.view.RetailPointDistanceView;
 import com.rendaxx.labs.repository.view.RetailPointView;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Pageable;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -16,12 +17,36 @@ public interface RetailPointRepository extends JpaRepository<RetailPoint, Long>,
 
     Optional<RetailPointView> findViewById(@Param("id") Long id);
 
+    /** KNN candidates on the sphere, optionally re-ranked on the spheroid; distances rounded to millimetres. */
     @Query(
-            """
-            select rp from RetailPoint rp
-            where rp.id <> :retailPointId
-            order by function('st_distance', (select origin.location from RetailPoint origin
-            where origin.id = :retailPointId), rp.location), rp.id
-            """)
-    List<RetailPointView> findNearestRetailPointsView(@Param("retailPointId") Long retailPointId, Pageable pageable);
+            value =
+                    """
+                    select c.id as "id",
+                        round(cast(st_distance(c.geog, o.geog, :spheroid) as numeric), 3) as "distanceMeters"
+                    from (
+                        select rp.id, rp.location::geography as geog
+                        from retail_points rp
+                        where rp.id <> :retailPointId
+                          and (cast(:maxDistanceMeters as double precision) is null
+                              or st_dwithin(
+                                  rp.location::geography,
+                                  (select origin.location::geography from retail_points origin
+                                  where origin.id = :retailPointId),
+                                  cast(:maxDistanceMeters as double precision),
+                                  :spheroid))
+                        order by rp.location::geography <-> (select origin.location::geography
+                            from retail_points origin where origin.id = :retailPointId), rp.id
+                        limit :candidateLimit
+                    ) c
+                    cross join (select location::geography as geog from retail_points where id = :retailPointId) o
+                    order by "distanceMeters", c.id
+                    limit :limit
+                    """,
+            nativeQuery = true)
+    List<RetailPointDistanceView> findNearestRetailPointDistances(
+            @Param("retailPointId") Long retailPointId,
+            @Param("maxDistanceMeters") @Nullable Double maxDistanceMeters,
+            @Param("spheroid") boolean spheroid,
+            @Param("candidateLimit") int candidateLimit,
+            @Param("limit") int limit);
 }
@@ -0,0 +1,71 @@
+package com.rendaxx.labs.repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Selects points within the envelope grown by the buffer, so symbols near an edge show on both tiles. */
+@Repository
+public class RetailPointTileJdbcRepository {
+
+    public static final String LAYER = "retail_points";
+    public static final int EXTENT = 4096;
+    public static final int BUFFER = 64;
+
+    private static final String RENDER_TILE_SQL =
+            """
+            with bounds as (
+                select st_tileenvelope(?, ?, ?) as tile, st_tileenvelope(?, ?, ?, margin => ?) as query
+            ),
+            features as (
+                select st_asmvtgeom(st_transform(r.location, 3857), b.tile, ?, ?, true) as geom,
+                    r.id as feature_id, r.id, r.name, r.type
+                from retail_points r
+                cross join bounds b
+                where r.location && st_transform(b.query, 4326)
+            )
+            select coalesce(st_asmvt(f.*, ?, ?, 'geom', 'feature_id'), ''::bytea) as tile,
+                coalesce(array_agg(f.id order by f.id), '{}') as ids
+            from features f
+            where f.geom is not null
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RetailPointTileJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public RenderedTile renderTile(int z, int x, int y) {
+        RenderedTile tile = jdbcTemplate.queryForObject(
+                RENDER_TILE_SQL,
+                (rs, rowNum) -> new RenderedTile(rs.getBytes("tile"), ids(rs)),
+                z,
+                x,
+                y,
+                z,
+                x,
+                y,
+                (double) BUFFER / EXTENT,
+                EXTENT,
+                BUFFER,
+                LAYER,
+                EXTENT);
+        return Objects.requireNonNull(tile);
+    }
+
+    private static long[] ids(ResultSet rs) throws SQLException {
+        Array array = rs.getArray("ids");
+        Long[] ids = (Long[]) array.getArray();
+        long[] result = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = ids[i];
+        }
+        return result;
+    }
+
+    public record RenderedTile(byte[] data, long[] retailPointIds) {}
+}
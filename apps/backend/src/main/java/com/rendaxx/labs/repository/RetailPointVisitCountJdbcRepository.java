@@ -0,0 +1,46 @@
+package com.rendaxx.labs.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Writes the visit counters that triggers on {@code route_points} otherwise keep current. */
+@Repository
+public class RetailPointVisitCountJdbcRepository {
+
+    private static final String LOCK_ROUTE_POINTS_SQL = "lock table route_points in share mode";
+
+    private static final String RECONCILE_SQL =
+            """
+            with expected as (
+                select retail_point_id, count(*) as visit_count
+                from route_points
+                group by retail_point_id
+            ),
+            upserted as (
+                insert into retail_point_visit_counts as c (retail_point_id, visit_count)
+                select retail_point_id, visit_count from expected
+                on conflict (retail_point_id) do update set visit_count = excluded.visit_count
+                where c.visit_count <> excluded.visit_count
+                returning 1
+            ),
+            removed as (
+                delete from retail_point_visit_counts c
+                where not exists (select 1 from expected e where e.retail_point_id = c.retail_point_id)
+                returning 1
+            )
+            select (select count(*) from upserted) + (select count(*) from removed)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RetailPointVisitCountJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Corrects every drifted counter while holding route point writes; returns the rows changed. */
+    public long reconcile() {
+        jdbcTemplate.execute(LOCK_ROUTE_POINTS_SQL);
+        Long corrected = jdbcTemplate.queryForObject(RECONCILE_SQL, Long.class);
+        return corrected == null ? 0 : corrected;
+    }
+}
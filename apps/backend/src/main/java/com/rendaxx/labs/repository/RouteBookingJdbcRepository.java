@@ -0,0 +1,120 @@
+package com.rendaxx.labs.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+/** Windows are half-open; the closed stored {@code planned_period} is matched against open ranges. */
+@Repository
+public class RouteBookingJdbcRepository {
+
+    private static final String LOCK_VEHICLES_SQL =
+            "select id from vehicles where id = any(?) order by id for no key update";
+
+    private static final String SELECT_OVERLAPPING_SQL =
+            """
+            select c.position, o.id, o.vehicle_id, o.planned_start_time, o.planned_end_time
+            from unnest(?::bigint[], ?::bigint[], ?::timestamp[], ?::timestamp[]) with ordinality
+                as c(vehicle_id, route_id, planned_start_time, planned_end_time, position)
+            cross join lateral (
+                select r.id, r.vehicle_id, r.planned_start_time, r.planned_end_time
+                from routes r
+                where r.planned_period && tsrange(c.planned_start_time, c.planned_end_time, '()')
+                    and r.vehicle_id = c.vehicle_id
+                    and r.planned_start_time < r.planned_end_time
+                    and r.id is distinct from c.route_id
+                order by r.planned_start_time, r.id
+                limit 1
+            ) o
+            """;
+
+    private static final String SELECT_WITHIN_PERIOD_SQL =
+            """
+            select id, vehicle_id, planned_start_time, planned_end_time
+            from routes
+            where planned_period && tsrange(?::timestamp, ?::timestamp, '()')
+                and vehicle_id is not null
+                and planned_start_time < planned_end_time
+            order by vehicle_id, planned_start_time, id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RouteBookingJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Locks in id order, so concurrent bookings of a vehicle are checked one after another without deadlocks. */
+    public void lockVehicles(Collection<Long> vehicleIds) {
+        PreparedStatementSetter parameters =
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", vehicleIds.toArray()));
+        jdbcTemplate.query(LOCK_VEHICLES_SQL, parameters, rs -> {});
+    }
+
+    /** Keyed by candidate position; a candidate's own route is never reported against it. */
+    public Map<Integer, RouteBooking> findOverlapping(List<RouteBooking> candidates) {
+        Map<Integer, RouteBooking> overlapping = new HashMap<>();
+        if (candidates.isEmpty()) {
+            return overlapping;
+        }
+        PreparedStatementSetter parameters = ps -> {
+            Object[] vehicleIds = new Object[candidates.size()];
+            Object[] routeIds = new Object[candidates.size()];
+            Object[] starts = new Object[candidates.size()];
+            Object[] ends = new Object[candidates.size()];
+            for (int i = 0; i < candidates.size(); i++) {
+                RouteBooking candidate = candidates.get(i);
+                vehicleIds[i] = candidate.vehicleId();
+                routeIds[i] = candidate.routeId();
+                starts[i] = Timestamp.valueOf(candidate.plannedStartTime());
+                ends[i] = Timestamp.valueOf(candidate.plannedEndTime());
+            }
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", vehicleIds));
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", routeIds));
+            ps.setArray(3, ps.getConnection().createArrayOf("timestamp", starts));
+            ps.setArray(4, ps.getConnection().createArrayOf("timestamp", ends));
+        };
+        jdbcTemplate.query(SELECT_OVERLAPPING_SQL, parameters, rs -> {
+            overlapping.put(rs.getInt("position") - 1, booking(rs));
+        });
+        return overlapping;
+    }
+
+    public void forEachBookingWithin(
+            LocalDateTime periodStart, LocalDateTime periodEnd, BookingConsumer consumer) {
+        jdbcTemplate.query(
+                SELECT_WITHIN_PERIOD_SQL,
+                rs -> {
+                    consumer.accept(booking(rs));
+                },
+                periodStart,
+                periodEnd);
+    }
+
+    private static RouteBooking booking(ResultSet rs) throws SQLException {
+        return new RouteBooking(
+                rs.getLong("id"),
+                rs.getLong("vehicle_id"),
+                rs.getObject("planned_start_time", LocalDateTime.class),
+                rs.getObject("planned_end_time", LocalDateTime.class));
+    }
+
+    @FunctionalInterface
+    public interface BookingConsumer {
+
+        void accept(RouteBooking booking);
+    }
+
+    /** Planned window of a vehicle on a route; the route id is absent for routes not saved yet. */
+    public record RouteBooking(
+            @Nullable Long routeId, long vehicleId, LocalDateTime plannedStartTime, LocalDateTime plannedEndTime) {}
+}
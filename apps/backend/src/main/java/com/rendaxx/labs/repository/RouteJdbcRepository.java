@@ -0,0 +1,148 @@
+package com.rendaxx.labs.repository;
+
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.RoutePoint;
+import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.dtos.PeriodMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class RouteJdbcRepository {
+
+    private static final String NEXT_IDS_SQL =
+            "select nextval(pg_get_serial_sequence(?, 'id')) from generate_series(1, ?)";
+
+    private static final String INSERT_ROUTE_SQL =
+            """
+            insert into routes (id, vehicle_id, creation_time, planned_start_time, planned_end_time, mileage_in_km)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ROUTE_POINT_SQL =
+            """
+            insert into route_points (id, route_id, retail_point_id, operation_type,
+                planned_start_time, planned_end_time, order_number)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ROUTE_POINT_ORDER_SQL =
+            "insert into route_point_orders (route_point_id, order_id) values (?, ?)";
+
+    private static final String SELECT_IDS_WITHIN_PERIOD_SQL =
+            """
+            select id from routes
+            where %s
+            order by id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int fetchSize;
+
+    public RouteJdbcRepository(
+            JdbcTemplate jdbcTemplate,
+            @Value("${labs.routes.batch.jdbc-batch-size:500}") int batchSize,
+            @Value("${labs.routes.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+    }
+
+    /** Returns the ids, in ascending order, of the routes whose planned window matches the period. */
+    public List<Long> findIdsWithinPeriod(PeriodMode mode, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        PlannedPeriodCondition condition = PlannedPeriodCondition.of(mode, periodStart, periodEnd);
+        return jdbcTemplate.queryForList(
+                SELECT_IDS_WITHIN_PERIOD_SQL.formatted(condition.sql()), Long.class, condition.parameters());
+    }
+
+    /** Streams ids through a server-side cursor; needs a transaction and must be closed. */
+    public Stream<Long> streamIdsWithinPeriod(PeriodMode mode, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        PlannedPeriodCondition condition = PlannedPeriodCondition.of(mode, periodStart, periodEnd);
+        return jdbcTemplate.queryForStream(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            SELECT_IDS_WITHIN_PERIOD_SQL.formatted(condition.sql()),
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    for (int i = 0; i < condition.parameters().length; i++) {
+                        statement.setObject(i + 1, condition.parameters()[i]);
+                    }
+                    return statement;
+                },
+                (rs, rowNum) -> rs.getLong(1));
+    }
+
+    public void insertAll(Collection<Route> routes) {
+        if (routes.isEmpty()) {
+            return;
+        }
+        List<RoutePoint> routePoints = new ArrayList<>();
+        routes.forEach(route -> routePoints.addAll(route.getRoutePoints()));
+        assignIds(routes, routePoints);
+
+        jdbcTemplate.batchUpdate(INSERT_ROUTE_SQL, routes, batchSize, (ps, route) -> {
+            Vehicle vehicle = route.getVehicle();
+            ps.setLong(1, Objects.requireNonNull(route.getId()));
+            if (vehicle != null) {
+                ps.setLong(2, Objects.requireNonNull(vehicle.getId()));
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setObject(3, route.getCreationTime());
+            ps.setObject(4, route.getPlannedStartTime());
+            ps.setObject(5, route.getPlannedEndTime());
+            ps.setBigDecimal(6, route.getMileageInKm());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_ROUTE_POINT_SQL, routePoints, batchSize, (ps, routePoint) -> {
+            ps.setLong(1, Objects.requireNonNull(routePoint.getId()));
+            ps.setLong(2, Objects.requireNonNull(routePoint.getRoute().getId()));
+            ps.setLong(3, Objects.requireNonNull(routePoint.getRetailPoint().getId()));
+            ps.setString(4, routePoint.getOperationType().name());
+            ps.setObject(5, routePoint.getPlannedStartTime());
+            ps.setObject(6, routePoint.getPlannedEndTime());
+            ps.setInt(7, routePoint.getOrderNumber());
+        });
+
+        List<long[]> routePointOrders = new ArrayList<>();
+        for (RoutePoint routePoint : routePoints) {
+            for (Order order : routePoint.getOrders()) {
+                routePointOrders.add(new long[] {
+                    Objects.requireNonNull(routePoint.getId()), Objects.requireNonNull(order.getId())
+                });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ROUTE_POINT_ORDER_SQL, routePointOrders, batchSize, (ps, link) -> {
+            ps.setLong(1, link[0]);
+            ps.setLong(2, link[1]);
+        });
+    }
+
+    private void assignIds(Collection<Route> routes, List<RoutePoint> routePoints) {
+        Iterator<Long> routeIds = nextIds("routes", routes.size()).iterator();
+        routes.forEach(route -> route.setId(routeIds.next()));
+        if (routePoints.isEmpty()) {
+            return;
+        }
+        Iterator<Long> routePointIds = nextIds("route_points", routePoints.size()).iterator();
+        routePoints.forEach(routePoint -> routePoint.setId(routePointIds.next()));
+    }
+
+    private List<Long> nextIds(String table, int count) {
+        return jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, table, count);
+    }
+}
@@ -0,0 +1,236 @@
+package com.rendaxx.labs.repository;
+
+import com.rendaxx.labs.dtos.RouteMileageRecomputeJobDto;
+import com.rendaxx.labs.dtos.RouteMileageRecomputeStatus;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class RouteMileageJdbcRepository {
+
+    private static final String SELECT_PATHS_SQL =
+            """
+            select r.id, r.mileage_in_km, st_x(p.location) as longitude, st_y(p.location) as latitude
+            from routes r
+            left join route_points rp on rp.route_id = r.id
+            left join retail_points p on p.id = rp.retail_point_id
+            """;
+
+    private static final String PATH_ORDER = " order by r.id, rp.order_number";
+
+    private static final String SELECT_PATHS_IN_RANGE_SQL =
+            SELECT_PATHS_SQL + "where r.id > ? and r.id <= ?" + PATH_ORDER;
+
+    private static final String SELECT_PATHS_BY_IDS_SQL = SELECT_PATHS_SQL + "where r.id = any(?)" + PATH_ORDER;
+
+    private static final String LOCK_ROUTES_IN_RANGE_SQL =
+            "select id from routes where id > ? and id <= ? order by id for no key update";
+
+    private static final String LOCK_ROUTES_BY_IDS_SQL =
+            "select id from routes where id = any(?) order by id for no key update";
+
+    private static final String SELECT_ROUTE_IDS_BY_RETAIL_POINT_SQL =
+            "select distinct route_id from route_points where retail_point_id = ?";
+
+    private static final String UPDATE_MILEAGE_SQL = "update routes set mileage_in_km = ? where id = ?";
+
+    private static final String UPDATE_MILEAGE_AND_VERSION_SQL =
+            "update routes set mileage_in_km = ?, version = version + 1 where id = ?";
+
+    private static final String DEFER_STATS_SQL = "select set_config('labs.defer_route_mileage_stats', 'on', true)";
+
+    private static final String SELECT_MAX_ROUTE_ID_SQL = "select coalesce(max(id), 0) from routes";
+
+    private static final String SELECT_CHUNK_UPPER_BOUND_SQL =
+            "select coalesce((select id from routes where id > ? and id <= ? order by id offset ? limit 1), ?)";
+
+    private static final String JOB_COLUMNS =
+            "id, status, started_at, finished_at, last_route_id, max_route_id, processed_routes, updated_routes";
+
+    private static final String SELECT_LATEST_JOB_SQL =
+            "select " + JOB_COLUMNS + " from route_mileage_recompute_jobs order by id desc limit 1";
+
+    private static final String INSERT_JOB_SQL = "insert into route_mileage_recompute_jobs"
+            + " (status, started_at, max_route_id) values ('RUNNING', ?, ?) returning " + JOB_COLUMNS;
+
+    private static final String RESUME_JOB_SQL = "update route_mileage_recompute_jobs set status = 'RUNNING'"
+            + " where id = ? returning " + JOB_COLUMNS;
+
+    private static final String UPDATE_JOB_PROGRESS_SQL =
+            """
+            update route_mileage_recompute_jobs
+            set last_route_id = ?, processed_routes = processed_routes + ?, updated_routes = updated_routes + ?
+            where id = ?
+            """;
+
+    private static final String FINISH_JOB_SQL =
+            "update route_mileage_recompute_jobs set status = ?, finished_at = ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public RouteMileageJdbcRepository(
+            JdbcTemplate jdbcTemplate, @Value("${labs.routes.batch.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /** Locks the routes before a later statement reads their paths, so committed route point changes are seen. */
+    public void forEachPathInRange(long afterId, long upToId, PathConsumer consumer) {
+        jdbcTemplate.queryForList(LOCK_ROUTES_IN_RANGE_SQL, Long.class, afterId, upToId);
+        PathReader reader = new PathReader(consumer);
+        jdbcTemplate.query(SELECT_PATHS_IN_RANGE_SQL, reader, afterId, upToId);
+        reader.finish();
+    }
+
+    /** Passes the given routes to the consumer, locking them first like {@link #forEachPathInRange}. */
+    public void forEachPath(Collection<Long> routeIds, PathConsumer consumer) {
+        PreparedStatementSetter parameters = ps -> {
+            Array ids = ps.getConnection().createArrayOf("bigint", routeIds.toArray());
+            ps.setArray(1, ids);
+        };
+        jdbcTemplate.query(LOCK_ROUTES_BY_IDS_SQL, parameters, (RowCallbackHandler) rs -> {});
+        PathReader reader = new PathReader(consumer);
+        jdbcTemplate.query(SELECT_PATHS_BY_IDS_SQL, parameters, reader);
+        reader.finish();
+    }
+
+    public List<Long> findRouteIdsByRetailPointId(long retailPointId) {
+        return jdbcTemplate.queryForList(SELECT_ROUTE_IDS_BY_RETAIL_POINT_SQL, Long.class, retailPointId);
+    }
+
+    /** For changes that already version the route, whose entity may still be managed. */
+    public void updateMileage(List<MileageChange> changes) {
+        batchUpdateMileage(UPDATE_MILEAGE_SQL, changes);
+    }
+
+    /** Stores recomputed mileages that no other change accounts for, incrementing the route versions. */
+    public void updateMileageAndVersion(List<MileageChange> changes) {
+        batchUpdateMileage(UPDATE_MILEAGE_AND_VERSION_SQL, changes);
+    }
+
+    private void batchUpdateMileage(String sql, List<MileageChange> changes) {
+        jdbcTemplate.batchUpdate(sql, changes, batchSize, (ps, change) -> {
+            ps.setBigDecimal(1, change.mileageInKm());
+            ps.setLong(2, change.routeId());
+        });
+    }
+
+    /** Skips summary-table triggers for the rest of the transaction; the caller must rebuild the tables. */
+    public void deferStatsMaintenance() {
+        jdbcTemplate.queryForObject(DEFER_STATS_SQL, String.class);
+    }
+
+    public long findMaxRouteId() {
+        Long maxRouteId = jdbcTemplate.queryForObject(SELECT_MAX_ROUTE_ID_SQL, Long.class);
+        return maxRouteId == null ? 0 : maxRouteId;
+    }
+
+    /** Chunk bound counted in routes, so chunks stay even however sparse the ids are. */
+    public long findChunkUpperBound(long afterId, long maxRouteId, int chunkSize) {
+        Long upperBound = jdbcTemplate.queryForObject(
+                SELECT_CHUNK_UPPER_BOUND_SQL, Long.class, afterId, maxRouteId, chunkSize - 1, maxRouteId);
+        return upperBound == null ? maxRouteId : upperBound;
+    }
+
+    public Optional<RouteMileageRecomputeJobDto> findLatestJob() {
+        return jdbcTemplate.query(SELECT_LATEST_JOB_SQL, (rs, rowNum) -> job(rs)).stream().findFirst();
+    }
+
+    public RouteMileageRecomputeJobDto insertJob(LocalDateTime startedAt, long maxRouteId) {
+        return Objects.requireNonNull(
+                jdbcTemplate.queryForObject(INSERT_JOB_SQL, (rs, rowNum) -> job(rs), startedAt, maxRouteId));
+    }
+
+    public RouteMileageRecomputeJobDto resumeJob(long jobId) {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject(RESUME_JOB_SQL, (rs, rowNum) -> job(rs), jobId));
+    }
+
+    public void updateJobProgress(long jobId, long lastRouteId, long processedRoutes, long updatedRoutes) {
+        jdbcTemplate.update(UPDATE_JOB_PROGRESS_SQL, lastRouteId, processedRoutes, updatedRoutes, jobId);
+    }
+
+    public void finishJob(long jobId, RouteMileageRecomputeStatus status, LocalDateTime finishedAt) {
+        jdbcTemplate.update(FINISH_JOB_SQL, status.name(), finishedAt, jobId);
+    }
+
+    private static RouteMileageRecomputeJobDto job(ResultSet rs) throws SQLException {
+        return new RouteMileageRecomputeJobDto(
+                rs.getLong("id"),
+                RouteMileageRecomputeStatus.valueOf(rs.getString("status")),
+                rs.getObject("started_at", LocalDateTime.class),
+                rs.getObject("finished_at", LocalDateTime.class),
+                rs.getLong("last_route_id"),
+                rs.getLong("max_route_id"),
+                rs.getLong("processed_routes"),
+                rs.getLong("updated_routes"));
+    }
+
+    @FunctionalInterface
+    public interface PathConsumer {
+
+        /** The arrays are reused across routes and only their first {@code count} entries are valid. */
+        void accept(long routeId, BigDecimal mileageInKm, double[] longitudes, double[] latitudes, int count);
+    }
+
+    public record MileageChange(long routeId, BigDecimal mileageInKm) {}
+
+    /** Groups the rows of a path query, which arrive ordered by route, into one call per route. */
+    private static final class PathReader implements RowCallbackHandler {
+
+        private final PathConsumer consumer;
+        private double[] longitudes = new double[16];
+        private double[] latitudes = new double[16];
+        private int count;
+        private long routeId;
+        private BigDecimal mileageInKm = BigDecimal.ZERO;
+        private boolean started;
+
+        private PathReader(PathConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowRouteId = rs.getLong("id");
+            if (!started || rowRouteId != routeId) {
+                finish();
+                started = true;
+                routeId = rowRouteId;
+                mileageInKm = rs.getBigDecimal("mileage_in_km");
+                count = 0;
+            }
+            double longitude = rs.getDouble("longitude");
+            if (rs.wasNull()) {
+                return;
+            }
+            if (count == longitudes.length) {
+                longitudes = Arrays.copyOf(longitudes, count * 2);
+                latitudes = Arrays.copyOf(latitudes, count * 2);
+            }
+            longitudes[count] = longitude;
+            latitudes[count] = rs.getDouble("latitude");
+            count++;
+        }
+
+        private void finish() {
+            if (started) {
+                consumer.accept(routeId, mileageInKm, longitudes, latitudes, count);
+                started = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.rendaxx.labs.repository;
+
+import com.rendaxx.labs.dtos.DailyRouteMileageStatsDto;
+import com.rendaxx.labs.dtos.RouteMileageStatsDto;
+import com.rendaxx.labs.dtos.VehicleRouteMileageStatsDto;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Summary tables kept by triggers on {@code routes}; totals are summed over the by-day rows. */
+@Repository
+public class RouteMileageStatsJdbcRepository {
+
+    private static final String STATS_COLUMNS =
+            """
+            route_count, mileage_sum_in_km, mileage_min_in_km, mileage_max_in_km,
+            case when route_count = 0 then 0 else round(mileage_sum_in_km / route_count, 3) end as mileage_avg_in_km
+            """;
+
+    private static final String SELECT_TOTALS_SQL = "select " + STATS_COLUMNS + " from ("
+            + "select coalesce(sum(route_count), 0) as route_count,"
+            + " coalesce(sum(mileage_sum_in_km), 0::numeric(20, 3)) as mileage_sum_in_km,"
+            + " min(mileage_min_in_km) as mileage_min_in_km, max(mileage_max_in_km) as mileage_max_in_km"
+            + " from route_mileage_by_day_current) totals";
+
+    private static final String SELECT_BY_VEHICLE_SQL =
+            "select vehicle_id, " + STATS_COLUMNS + " from route_mileage_by_vehicle_current order by vehicle_id";
+
+    private static final String SELECT_BY_DAY_SQL = "select day, " + STATS_COLUMNS
+            + " from route_mileage_by_day_current where day >= coalesce(?::date, '-infinity'::date)"
+            + " and day <= coalesce(?::date, 'infinity'::date) order by day";
+
+    private static final String LOCK_STALE_BY_VEHICLE_SQL =
+            "select vehicle_id from route_mileage_by_vehicle where extremes_stale order by vehicle_id for update";
+
+    private static final String REFRESH_BY_VEHICLE_SQL =
+            """
+            update route_mileage_by_vehicle s
+            set (mileage_min_in_km, mileage_max_in_km) =
+                    (select min(mileage_in_km), max(mileage_in_km) from routes r where r.vehicle_id = s.vehicle_id),
+                extremes_stale = false
+            where s.vehicle_id = any(?)
+            """;
+
+    private static final String LOCK_STALE_BY_DAY_SQL =
+            "select day from route_mileage_by_day where extremes_stale order by day for update";
+
+    private static final String REFRESH_BY_DAY_SQL =
+            """
+            update route_mileage_by_day s
+            set (mileage_min_in_km, mileage_max_in_km) = (
+                    select min(mileage_in_km), max(mileage_in_km) from routes r
+                    where r.planned_start_time >= s.day and r.planned_start_time < s.day + 1),
+                extremes_stale = false
+            where s.day = any(?)
+            """;
+
+    private static final String LOCK_ROUTES_SQL = "lock table routes in share mode";
+
+    private static final String EXPECTED_BY_VEHICLE =
+            """
+            select vehicle_id, count(*) as route_count, sum(mileage_in_km) as mileage_sum_in_km,
+                min(mileage_in_km) as mileage_min_in_km, max(mileage_in_km) as mileage_max_in_km
+            from routes
+            where vehicle_id is not null
+            group by vehicle_id
+            """;
+
+    private static final String EXPECTED_BY_DAY =
+            """
+            select planned_start_time::date as day, count(*) as route_count, sum(mileage_in_km) as mileage_sum_in_km,
+                min(mileage_in_km) as mileage_min_in_km, max(mileage_in_km) as mileage_max_in_km
+            from routes
+            group by planned_start_time::date
+            """;
+
+    private static final String STATS_DIFFER =
+            """
+            where (s.route_count, s.mileage_sum_in_km, s.mileage_min_in_km, s.mileage_max_in_km)
+                is distinct from (e.route_count, e.mileage_sum_in_km, e.mileage_min_in_km, e.mileage_max_in_km)
+            """;
+
+    private static final String COUNT_MISMATCHES_SQL = "select"
+            + " (select count(*) from route_mileage_by_vehicle_current s full join (" + EXPECTED_BY_VEHICLE + ") e"
+            + " on e.vehicle_id = s.vehicle_id " + STATS_DIFFER + ")"
+            + " + (select count(*) from route_mileage_by_day_current s full join (" + EXPECTED_BY_DAY + ") e"
+            + " on e.day = s.day " + STATS_DIFFER + ")";
+
+    private static final String STATS_INSERT_COLUMNS =
+            "route_count, mileage_sum_in_km, mileage_min_in_km, mileage_max_in_km";
+
+    private static final List<String> REBUILD_SQL = List.of(
+            "delete from route_mileage_by_vehicle",
+            "insert into route_mileage_by_vehicle (vehicle_id, " + STATS_INSERT_COLUMNS + ") " + EXPECTED_BY_VEHICLE,
+            "delete from route_mileage_by_day",
+            "insert into route_mileage_by_day (day, " + STATS_INSERT_COLUMNS + ") " + EXPECTED_BY_DAY);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RouteMileageStatsJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public RouteMileageStatsDto findTotals() {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject(SELECT_TOTALS_SQL, (rs, rowNum) -> stats(rs)));
+    }
+
+    public List<VehicleRouteMileageStatsDto> findByVehicle() {
+        return jdbcTemplate.query(
+                SELECT_BY_VEHICLE_SQL,
+                (rs, rowNum) -> new VehicleRouteMileageStatsDto(rs.getLong("vehicle_id"), stats(rs)));
+    }
+
+    public List<DailyRouteMileageStatsDto> findByDay(@Nullable LocalDate from, @Nullable LocalDate to) {
+        return jdbcTemplate.query(
+                SELECT_BY_DAY_SQL,
+                (rs, rowNum) -> new DailyRouteMileageStatsDto(rs.getObject("day", LocalDate.class), stats(rs)),
+                from,
+                to);
+    }
+
+    /** Blocks route writes until the transaction ends, so a check and its rebuild see the same routes. */
+    public void lockRoutes() {
+        jdbcTemplate.execute(LOCK_ROUTES_SQL);
+    }
+
+    public long countMismatches() {
+        Long mismatches = jdbcTemplate.queryForObject(COUNT_MISMATCHES_SQL, Long.class);
+        return mismatches == null ? 0 : mismatches;
+    }
+
+    public void rebuild() {
+        REBUILD_SQL.forEach(jdbcTemplate::execute);
+    }
+
+    /** Locks the stale rows first, so the recomputing statement sees every write that touched them. */
+    public void refreshStaleExtremes() {
+        List<Long> vehicleIds = jdbcTemplate.queryForList(LOCK_STALE_BY_VEHICLE_SQL, Long.class);
+        if (!vehicleIds.isEmpty()) {
+            jdbcTemplate.update(REFRESH_BY_VEHICLE_SQL, ps -> ps.setArray(
+                    1, ps.getConnection().createArrayOf("bigint", vehicleIds.toArray())));
+        }
+        List<Date> days = jdbcTemplate.queryForList(LOCK_STALE_BY_DAY_SQL, Date.class);
+        if (!days.isEmpty()) {
+            jdbcTemplate.update(
+                    REFRESH_BY_DAY_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("date", days.toArray())));
+        }
+    }
+
+    private static RouteMileageStatsDto stats(ResultSet rs) throws SQLException {
+        return new RouteMileageStatsDto(
+                rs.getLong("route_count"),
+                rs.getBigDecimal("mileage_sum_in_km"),
+                rs.getBigDecimal("mileage_min_in_km"),
+                rs.getBigDecimal("mileage_max_in_km"),
+                rs.getBigDecimal("mileage_avg_in_km"));
+    }
+}
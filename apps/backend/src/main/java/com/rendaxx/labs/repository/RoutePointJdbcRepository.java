@@ -0,0 +1,45 @@
+package com.rendaxx.labs.repository;
+
+import com.rendaxx.labs.dtos.PeriodMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class RoutePointJdbcRepository {
+
+    private static final String SELECT_IDS_WITHIN_PERIOD_SQL =
+            """
+            select id from route_points
+            where %s
+            order by id
+            """;
+
+    private static final String DEFER_ORDER_NUMBERS_SQL = "set constraints uk_route_points_route_order deferred";
+
+    private static final String CHECK_ORDER_NUMBERS_SQL = "set constraints uk_route_points_route_order immediate";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RoutePointJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Returns the ids, in ascending order, of the route points whose planned window matches the period. */
+    public List<Long> findIdsWithinPeriod(PeriodMode mode, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        PlannedPeriodCondition condition = PlannedPeriodCondition.of(mode, periodStart, periodEnd);
+        return jdbcTemplate.queryForList(
+                SELECT_IDS_WITHIN_PERIOD_SQL.formatted(condition.sql()), Long.class, condition.parameters());
+    }
+
+    /** Defers the distinct order number check, so points can trade positions in one pass of updates. */
+    public void deferOrderNumberCheck() {
+        jdbcTemplate.execute(DEFER_ORDER_NUMBERS_SQL);
+    }
+
+    /** Checks the order numbers written since {@link #deferOrderNumberCheck()} and checks later writes at once. */
+    public void checkOrderNumbers() {
+        jdbcTemplate.execute(CHECK_ORDER_NUMBERS_SQL);
+    }
+}
@@ -3,6 +3,7 @@ package com.rendaxx.labs.repository;
 import com.rendaxx.labs.domain.RoutePoint;
 import com.rendaxx.labs.repository.view.RetailPointView;
 import com.rendaxx.labs.repository.view.RoutePointView;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Pageable;
@@ -26,9 +27,26 @@ public interface RoutePointRepository extends JpaRepository<RoutePoint, Long>, J
 
     @Query(
             """
-            select ret from RetailPoint ret
-            join RoutePoint rp on rp.retailPoint = ret
-            group by ret.id
-            order by count(rp.id) desc, ret.id asc""")
+            select rp from RoutePoint rp
+            left join fetch rp.retailPoint
+            left join fetch rp.orders
+            where rp.id in :ids
+            order by rp.id
+            """)
+    List<RoutePoint> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+            """
+            select rp from RoutePoint rp
+            left join fetch rp.orders
+            where rp.route.id in :routeIds
+            """)
+    List<RoutePoint> findAllWithOrdersByRouteIdIn(@Param("routeIds") Collection<Long> routeIds);
+
+    @Query(
+            """
+            select ret from RetailPointVisitCount c
+            join c.retailPoint ret
+            order by c.visitCount desc, c.retailPointId asc""")
     List<RetailPointView> findMostVisitedRetailPointsView(Pageable pageable);
 }
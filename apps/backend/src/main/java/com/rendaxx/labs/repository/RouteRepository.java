@@ -2,12 +2,14 @@ package com.rendaxx.labs.repository;
 
 import com.rendaxx.labs.domain.Route;
 import com.rendaxx.labs.repository.view.RouteView;
+import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -27,33 +29,37 @@ public interface RouteRepository extends JpaRepository<Route, Long>, JpaSpecific
             """)
     Optional<RouteView> findViewById(@Param("id") Long id);
 
-    @Query(value = "select avg(r.mileage_in_km) from routes r", nativeQuery = true)
-    Optional<BigDecimal> findAverageMileageInKm();
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Route r where r.id = :id")
+    Optional<Route> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("select r from Route r where r.id = :id")
+    Optional<Route> findByIdForVersionIncrement(@Param("id") Long id);
 
     @Query(
             """
-            select distinct r from Route r
+            select r from Route r
             left join fetch r.routePoints rp
             left join fetch rp.retailPoint
-            left join fetch rp.orders
             left join fetch r.vehicle v
             left join fetch v.driver
-            where r.plannedStartTime >= :periodStart and r.plannedEndTime <= :periodEnd
+            where r.id in :ids
             """)
-    List<RouteView> findWithinPeriodWithDetailsView(
-            @Param("periodStart") LocalDateTime periodStart, @Param("periodEnd") LocalDateTime periodEnd);
+    List<Route> findAllWithRoutePointsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+            value = "select sum(mileage_sum_in_km) / nullif(sum(route_count), 0) from route_mileage_by_day",
+            nativeQuery = true)
+    Optional<BigDecimal> findAverageMileageInKm();
 
     @Query(
             """
-            select distinct r from Route r
-            left join fetch r.routePoints rp
-            left join fetch rp.retailPoint
-            left join fetch rp.orders
-            left join fetch r.vehicle v
-            left join fetch v.driver
+            select r from Route r
             where exists (
-                select 1 from RoutePoint rp2 where rp2.route = r and rp2.retailPoint.id = :retailPointId
+                select 1 from RoutePoint rp where rp.route = r and rp.retailPoint.id = :retailPointId
             )
+            order by r.id
             """)
-    List<RouteView> findAllByRetailPointIdView(@Param("retailPointId") Long retailPointId);
+    List<Route> findAllByRetailPointId(@Param("retailPointId") Long retailPointId);
 }
@@ -0,0 +1,106 @@
+package com.rendaxx.labs.repository;
+
+import com.rendaxx.labs.dtos.RoutePointTemperatureDto;
+import com.rendaxx.labs.dtos.RouteTemperatureDto;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/** Same on-board rules as the check on save, applied to many routes in one statement. */
+@Repository
+public class RouteTemperatureJdbcRepository {
+
+    private static final String SELECT_CONFLICTS_SQL =
+            """
+            with points as (
+                select rp.id, rp.route_id, rp.order_number, rp.operation_type
+                from route_points rp
+                join routes r on r.id = rp.route_id
+                where r.planned_start_time >= coalesce(?::date, '-infinity'::date)
+                    and r.planned_start_time < coalesce(?::date + 1, 'infinity'::date)
+            ),
+            bounds as (
+                select route_id, min(order_number) as first_number, max(order_number) as last_number
+                from points
+                group by route_id
+            ),
+            runs as (
+                select p.route_id, o.min_temperature, o.max_temperature,
+                    coalesce(min(p.order_number) filter (where p.operation_type = 'LOAD'), b.first_number)
+                        as loaded_at,
+                    coalesce(max(p.order_number) filter (where p.operation_type = 'UNLOAD'), b.last_number)
+                        as unloaded_at
+                from points p
+                join bounds b on b.route_id = p.route_id
+                join route_point_orders rpo on rpo.route_point_id = p.id
+                join orders o on o.id = rpo.order_id
+                where p.operation_type <> 'VISIT'
+                    and (o.min_temperature is not null or o.max_temperature is not null)
+                group by p.route_id, o.id, b.first_number, b.last_number
+            ),
+            point_ranges as (
+                select p.route_id, p.id as route_point_id, p.order_number,
+                    max(r.min_temperature) as min_temperature, min(r.max_temperature) as max_temperature
+                from points p
+                join runs r on r.route_id = p.route_id
+                    and case when r.loaded_at <= r.unloaded_at
+                        then p.order_number between r.loaded_at and r.unloaded_at
+                        else p.order_number <= r.unloaded_at or p.order_number >= r.loaded_at end
+                group by p.route_id, p.id, p.order_number
+            ),
+            route_ranges as (
+                select route_id, max(min_temperature) as min_temperature, min(max_temperature) as max_temperature
+                from runs
+                group by route_id
+            )
+            select pr.route_id, rr.min_temperature as route_min_temperature,
+                rr.max_temperature as route_max_temperature, pr.route_point_id, pr.order_number,
+                pr.min_temperature, pr.max_temperature
+            from point_ranges pr
+            join route_ranges rr on rr.route_id = pr.route_id
+            where pr.min_temperature > pr.max_temperature
+            order by pr.route_id, pr.order_number
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RouteTemperatureJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<RouteTemperatureDto> findConflicts(@Nullable LocalDate from, @Nullable LocalDate to) {
+        List<RouteTemperatureDto> conflicts = new ArrayList<>();
+        RowCallbackHandler handler = rs -> {
+            long routeId = rs.getLong("route_id");
+            if (conflicts.isEmpty() || conflicts.getLast().getRouteId() != routeId) {
+                conflicts.add(new RouteTemperatureDto(
+                        routeId,
+                        nullableInt(rs, "route_min_temperature"),
+                        nullableInt(rs, "route_max_temperature"),
+                        false,
+                        new ArrayList<>()));
+            }
+            conflicts
+                    .getLast()
+                    .getRoutePoints()
+                    .add(new RoutePointTemperatureDto(
+                            rs.getLong("route_point_id"),
+                            rs.getInt("order_number"),
+                            nullableInt(rs, "min_temperature"),
+                            nullableInt(rs, "max_temperature"),
+                            false));
+        };
+        jdbcTemplate.query(SELECT_CONFLICTS_SQL, handler, from, to);
+        return conflicts;
+    }
+
+    private static @Nullable Integer nullableInt(ResultSet rs, String column) throws SQLException {
+        return rs.getObject(column, Integer.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.rendaxx.labs.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Reads row count estimates from PostgreSQL planner statistics instead of counting rows. */
+@Repository
+public class StatisticsJdbcRepository {
+
+    private static final String RELTUPLES_SQL = "select reltuples::bigint from pg_class where oid = to_regclass(?)";
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatisticsJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public OptionalLong estimateRowCount(String table) {
+        List<Long> estimates = jdbcTemplate.queryForList(RELTUPLES_SQL, Long.class, table);
+        if (estimates.isEmpty() || estimates.getFirst() == null || estimates.getFirst() < 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(estimates.getFirst());
+    }
+
+    /** Planner estimate for equality conditions, under a savepoint so a rejected value spares the transaction. */
+    public OptionalLong estimateRowCount(String table, Map<String, String> columnValues) {
+        String sql = "explain (format json) select 1 from " + table + " where "
+                + columnValues.keySet().stream().map(column -> column + " = ?").collect(Collectors.joining(" and "));
+        List<String> values = List.copyOf(columnValues.values());
+        return jdbcTemplate.execute((ConnectionCallback<OptionalLong>) connection -> {
+            @Nullable Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < values.size(); i++) {
+                    statement.setObject(i + 1, values.get(i), Types.OTHER);
+                }
+                OptionalLong estimate = readPlanRows(statement);
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+                return estimate;
+            } catch (SQLException ex) {
+                if (savepoint != null) {
+                    connection.rollback(savepoint);
+                }
+                return OptionalLong.empty();
+            }
+        });
+    }
+
+    private static OptionalLong readPlanRows(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            if (!resultSet.next()) {
+                return OptionalLong.empty();
+            }
+            Matcher matcher = PLAN_ROWS.matcher(resultSet.getString(1));
+            return matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+        }
+    }
+}
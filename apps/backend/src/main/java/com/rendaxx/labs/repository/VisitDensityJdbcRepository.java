@@ -0,0 +1,79 @@
+package com.rendaxx.labs.repository;
+
+import com.rendaxx.labs.domain.OperationType;
+import com.rendaxx.labs.dtos.GridShape;
+import com.rendaxx.labs.dtos.VisitDensityCellDto;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Counts visits per retail point before bucketing, so the cell lookup runs once per location. */
+@Repository
+public class VisitDensityJdbcRepository {
+
+    private static final String SELECT_CELLS_SQL =
+            """
+            with visits as (
+                select rp.retail_point_id, count(*) as visit_count
+                from route_points rp
+                where rp.planned_start_time >= coalesce(?::timestamp, '-infinity'::timestamp)
+                    and rp.planned_start_time < coalesce(?::timestamp, 'infinity'::timestamp)
+                    and (?::text is null or rp.operation_type = ?::text)
+                group by rp.retail_point_id
+            ),
+            located as (
+                select v.visit_count,
+                    st_transform(st_setsrid(st_makepoint(
+                        st_x(r.location), greatest(-85.0511, least(85.0511, st_y(r.location)))), 4326), 3857) as geom
+                from visits v
+                join retail_points r on r.id = v.retail_point_id
+            )
+            select c.i, c.j,
+                round(min(st_x(c.center))::numeric, 6) as longitude,
+                round(min(st_y(c.center))::numeric, 6) as latitude,
+                sum(l.visit_count) as visit_count
+            from located l
+            cross join lateral (
+                select g.i, g.j, st_transform(st_centroid(g.geom), 4326) as center
+                from %s(?, l.geom) g
+                where st_intersects(g.geom, l.geom)
+                order by g.i, g.j
+                limit 1
+            ) c
+            group by c.i, c.j
+            order by c.i, c.j
+            """;
+
+    private static final String SELECT_HEXAGON_CELLS_SQL = SELECT_CELLS_SQL.formatted("st_hexagongrid");
+    private static final String SELECT_SQUARE_CELLS_SQL = SELECT_CELLS_SQL.formatted("st_squaregrid");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VisitDensityJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<VisitDensityCellDto> findCells(
+            GridShape shape,
+            int cellSizeMeters,
+            @Nullable LocalDateTime from,
+            @Nullable LocalDateTime to,
+            @Nullable OperationType operationType) {
+        String operation = operationType == null ? null : operationType.name();
+        return jdbcTemplate.query(
+                shape == GridShape.HEXAGON ? SELECT_HEXAGON_CELLS_SQL : SELECT_SQUARE_CELLS_SQL,
+                (rs, rowNum) -> new VisitDensityCellDto(
+                        rs.getLong("i"),
+                        rs.getLong("j"),
+                        rs.getBigDecimal("longitude"),
+                        rs.getBigDecimal("latitude"),
+                        rs.getLong("visit_count")),
+                from,
+                to,
+                operation,
+                operation,
+                (double) cellSizeMeters);
+    }
+}
@@ -1,6 +1,7 @@
 package com.rendaxx.labs.repository.support;
 
 import com.rendaxx.labs.exceptions.BadRequestException;
+import com.rendaxx.labs.exceptions.ConflictException;
 import com.rendaxx.labs.exceptions.InternalServerException;
 import jakarta.validation.ConstraintViolationException;
 import java.util.Objects;
@@ -9,6 +10,7 @@ import java.util.stream.Collectors;
 import org.jspecify.annotations.Nullable;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.core.PropertyReferenceException;
 import org.springframework.stereotype.Component;
 
@@ -29,6 +31,8 @@ public class RepositoryGuard {
             throw new BadRequestException(buildPropertyReferenceMessage(ex), ex);
         } catch (DataIntegrityViolationException ex) {
             throw new BadRequestException(extractMessage(ex), ex);
+        } catch (OptimisticLockingFailureException ex) {
+            throw new ConflictException(ex);
         } catch (DataAccessException ex) {
             throw new InternalServerException(ex);
         }
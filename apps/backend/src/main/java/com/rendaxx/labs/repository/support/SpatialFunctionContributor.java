@@ -0,0 +1,31 @@
+package com.rendaxx.labs.repository.support;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/** PostGIS predicates rendered so they match the GiST and geography indexes on {@code location}. */
+public class SpatialFunctionContributor implements FunctionContributor {
+
+    public static final String LOCATION_IN_ENVELOPE = "location_in_envelope";
+    public static final String LOCATION_IN_GEOMETRY = "location_in_geometry";
+    public static final String LOCATION_WITHIN_METERS = "location_within_meters";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions
+                .getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        registry.registerPattern(
+                LOCATION_IN_ENVELOPE, "(?1 && st_makeenvelope(?2, ?3, ?4, ?5, 4326))", booleanType);
+        registry.registerPattern(LOCATION_IN_GEOMETRY, "st_intersects(?1, st_geomfromtext(?2, 4326))", booleanType);
+        registry.registerPattern(
+                LOCATION_WITHIN_METERS,
+                "st_dwithin(?1::geography, st_setsrid(st_makepoint(?2, ?3), 4326)::geography, ?4, false)",
+                booleanType);
+    }
+}
@@ -3,6 +3,8 @@ package com.rendaxx.labs.repository.view;
 public interface DriverView {
     Long getId();
 
+    Long getVersion();
+
     String getFirstName();
 
     String getMiddleName();
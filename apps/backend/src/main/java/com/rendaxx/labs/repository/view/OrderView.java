@@ -5,6 +5,8 @@ import java.math.BigDecimal;
 public interface OrderView {
     Long getId();
 
+    Long getVersion();
+
     String getGoodsType();
 
     Integer getMinTemperature();
@@ -0,0 +1,9 @@
+package com.rendaxx.labs.repository.view;
+
+import java.math.BigDecimal;
+
+public interface RetailPointDistanceView {
+    Long getId();
+
+    BigDecimal getDistanceMeters();
+}
@@ -6,6 +6,8 @@ import org.locationtech.jts.geom.Point;
 public interface RetailPointView {
     Long getId();
 
+    Long getVersion();
+
     String getName();
 
     String getAddress();
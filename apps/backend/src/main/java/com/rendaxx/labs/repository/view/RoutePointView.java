@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Value;
 public interface RoutePointView {
     Long getId();
 
+    Long getVersion();
+
     @Value("#{target.route.id}")
     Long getRouteId();
 
@@ -7,6 +7,8 @@ import java.util.List;
 public interface RouteView {
     Long getId();
 
+    Long getVersion();
+
     List<RoutePointView> getRoutePoints();
 
     VehicleView getVehicle();
@@ -5,6 +5,8 @@ import java.math.BigDecimal;
 public interface VehicleView {
     Long getId();
 
+    Long getVersion();
+
     DriverView getDriver();
 
     String getGosNumber();
@@ -2,24 +2,25 @@ package com.rendaxx.labs.service;
 
 import com.rendaxx.labs.domain.Driver;
 import com.rendaxx.labs.dtos.DriverDto;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
 import com.rendaxx.labs.dtos.SaveDriverDto;
 import com.rendaxx.labs.events.EntityChangePublisher;
 import com.rendaxx.labs.events.EntityChangeType;
 import com.rendaxx.labs.exceptions.NotFoundException;
+import com.rendaxx.labs.exceptions.PreconditionFailedException;
 import com.rendaxx.labs.mappers.DriverMapper;
 import com.rendaxx.labs.repository.DriverRepository;
 import com.rendaxx.labs.repository.support.RepositoryGuard;
-import com.rendaxx.labs.repository.view.DriverView;
-import com.rendaxx.labs.service.specification.EqualitySpecificationBuilder;
+import com.rendaxx.labs.service.paging.SpecificationPager;
 import java.util.Map;
 import java.util.Objects;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -31,10 +32,11 @@ public class DriverService {
     DriverMapper mapper;
     DriverRepository repository;
     EntityChangePublisher changePublisher;
-    EqualitySpecificationBuilder specificationBuilder;
+    SpecificationPager pager;
     RepositoryGuard repositoryGuard;
+    EntityDtoCache dtoCache;
 
-    private static final String DESTINATION = "/topic/drivers";
+    public static final String DESTINATION = "/topic/drivers";
 
     public DriverDto create(SaveDriverDto command) {
         Driver driver = save(command, new Driver());
@@ -46,25 +48,30 @@ public class DriverService {
         return dto;
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public DriverDto getById(Long id) {
-        return repositoryGuard.execute(() -> repository
-                .findViewById(id)
-                .map(mapper::toDto)
-                .orElseThrow(() -> new NotFoundException(Driver.class, id)));
+        return dtoCache.get(
+                DESTINATION,
+                id,
+                () -> repositoryGuard.execute(() -> repository
+                        .findViewById(id)
+                        .map(mapper::toDto)
+                        .orElseThrow(() -> new NotFoundException(Driver.class, id))));
     }
 
     @Transactional(readOnly = true)
-    public Page<DriverDto> getAll(Pageable pageable, Map<String, String> filters) {
-        Specification<Driver> specification = specificationBuilder.build(filters);
-        Page<DriverView> drivers = repositoryGuard.execute(() ->
-                repository.findBy(specification, q -> q.as(DriverView.class).page(pageable)));
-        return drivers.map(mapper::toDto);
+    public PageDto<DriverDto> getAll(PageQueryDto pageQuery, Map<String, String> filters) {
+        PageDto<Driver> result =
+                repositoryGuard.execute(() -> pager.find(Driver.class, filters, pageQuery));
+        return result.map(mapper::toDto);
     }
 
-    public DriverDto update(Long id, SaveDriverDto command) {
+    public DriverDto update(Long id, SaveDriverDto command, @Nullable Long expectedVersion) {
         Driver driver = repositoryGuard.execute(
                 () -> repository.findById(id).orElseThrow(() -> new NotFoundException(Driver.class, id)));
+        if (expectedVersion != null && !expectedVersion.equals(driver.getVersion())) {
+            throw new PreconditionFailedException(Driver.class, id);
+        }
         Driver savedDriver = save(command, driver);
         DriverDto dto = repositoryGuard.execute(() -> repository
                 .findViewById(id)
@@ -0,0 +1,204 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.dtos.RoutePointDto;
+import com.rendaxx.labs.events.EntityChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Bounded, expiring DTO cache; committed changes evict an entity and every cached DTO embedding it. */
+@Component
+public class EntityDtoCache {
+
+    private static final String METRIC_PREFIX = "labs.entity-cache.";
+
+    private final Clock clock;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Entry> cache;
+    private final Map<Key, Set<Key>> dependents = new HashMap<>();
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+    private long generation;
+
+    public EntityDtoCache(
+            Clock clock,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${labs.entity-cache.max-entries:10000}") int maxEntries,
+            @Value("${labs.entity-cache.ttl:PT5M}") Duration ttl) {
+        this.clock = clock;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttl = ttl;
+        this.meterRegistry = meterRegistry;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= maxEntries) {
+                    return false;
+                }
+                unlink(eldest.getKey(), eldest.getValue());
+                meters(eldest.getKey().destination()).evictedBySize().increment();
+                return true;
+            }
+        };
+        Gauge.builder(METRIC_PREFIX + "size", this, EntityDtoCache::size)
+                .description("Entity DTOs currently cached")
+                .register(meterRegistry);
+    }
+
+    /** Returns the cached DTO of the entity, loading and caching it on a miss. */
+    public <T> T get(String destination, Long id, Supplier<T> loader) {
+        return get(destination, id, loader, dto -> List.of());
+    }
+
+    /** Bypassed inside read-write transactions, whose DTOs could reflect changes never committed. */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String destination, Long id, Supplier<T> loader, Function<T, Collection<Key>> dependencies) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+        Key key = new Key(destination, id);
+        Meters keyMeters = meters(destination);
+        Instant now = clock.instant();
+        long loadedAt;
+        synchronized (cache) {
+            @Nullable Entry cached = cache.get(key);
+            if (cached != null && now.isBefore(cached.expiresAt())) {
+                keyMeters.hits().increment();
+                return (T) cached.dto();
+            }
+            if (cached != null) {
+                remove(key);
+                keyMeters.expired().increment();
+            }
+            loadedAt = generation;
+        }
+        keyMeters.misses().increment();
+        T dto = Objects.requireNonNull(readOnlyTransaction.execute(status -> loader.get()));
+        Set<Key> embedded = Set.copyOf(dependencies.apply(dto));
+        synchronized (cache) {
+            if (generation == loadedAt) {
+                remove(key);
+                embedded.forEach(dependency -> dependents.computeIfAbsent(dependency, k -> new HashSet<>()).add(key));
+                cache.put(key, new Entry(dto, embedded, now.plus(ttl)));
+            }
+        }
+        return dto;
+    }
+
+    /** Evicts the entity and every cached DTO that embeds it. */
+    public void evict(String destination, Long id) {
+        Key key = new Key(destination, id);
+        synchronized (cache) {
+            generation++;
+            evictInvalidated(key);
+            @Nullable Set<Key> embedding = dependents.get(key);
+            if (embedding != null) {
+                List.copyOf(embedding).forEach(this::evictInvalidated);
+            }
+        }
+    }
+
+    public void evictAll() {
+        synchronized (cache) {
+            generation++;
+            cache.keySet().forEach(key -> meters(key.destination()).invalidated().increment());
+            cache.clear();
+            dependents.clear();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEntityChanged(EntityChangedEvent<?> event) {
+        evict(event.destination(), event.entityId());
+        if (event.payload() instanceof RoutePointDto routePoint && routePoint.getRouteId() != null) {
+            evict(RouteService.DESTINATION, routePoint.getRouteId());
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private void evictInvalidated(Key key) {
+        if (remove(key)) {
+            meters(key.destination()).invalidated().increment();
+        }
+    }
+
+    private boolean remove(Key key) {
+        @Nullable Entry removed = cache.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        unlink(key, removed);
+        return true;
+    }
+
+    private void unlink(Key key, Entry entry) {
+        for (Key dependency : entry.dependencies()) {
+            @Nullable Set<Key> embedding = dependents.get(dependency);
+            if (embedding != null) {
+                embedding.remove(key);
+                if (embedding.isEmpty()) {
+                    dependents.remove(dependency);
+                }
+            }
+        }
+    }
+
+    private Meters meters(String destination) {
+        return meters.computeIfAbsent(destination, this::registerMeters);
+    }
+
+    private Meters registerMeters(String destination) {
+        String entity = destination.substring(destination.lastIndexOf('/') + 1);
+        return new Meters(
+                counter("gets", entity, "result", "hit"),
+                counter("gets", entity, "result", "miss"),
+                counter("evictions", entity, "cause", "size"),
+                counter("evictions", entity, "cause", "expired"),
+                counter("evictions", entity, "cause", "invalidated"));
+    }
+
+    private Counter counter(String name, String entity, String tag, String value) {
+        return Counter.builder(METRIC_PREFIX + name)
+                .tag("entity", entity)
+                .tag(tag, value)
+                .register(meterRegistry);
+    }
+
+    /** Cached entity: the destination its changes are published to and its id. */
+    public record Key(String destination, Long id) {}
+
+    private record Entry(Object dto, Set<Key> dependencies, Instant expiresAt) {}
+
+    private record Meters(Counter hits, Counter misses, Counter evictedBySize, Counter expired, Counter invalidated) {}
+}
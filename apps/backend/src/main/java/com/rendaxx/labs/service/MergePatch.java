@@ -0,0 +1,23 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.exceptions.BadRequestException;
+import org.jspecify.annotations.Nullable;
+import org.openapitools.jackson.nullable.JsonNullable;
+
+/** Absent properties keep their value; nulls, which would remove them, are rejected for required ones. */
+final class MergePatch {
+
+    private MergePatch() {}
+
+    /** Returns the new value of a required property, or {@code null} when the patch leaves it out. */
+    static <T> @Nullable T required(JsonNullable<T> property, String name) {
+        if (!property.isPresent()) {
+            return null;
+        }
+        T value = property.get();
+        if (value == null) {
+            throw new BadRequestException(name + " must not be null");
+        }
+        return value;
+    }
+}
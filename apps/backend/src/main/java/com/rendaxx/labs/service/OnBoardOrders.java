@@ -0,0 +1,98 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.OperationType;
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RoutePoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/** An order is on board from its first loading to its last unloading; unmatched ends run to the route ends. */
+final class OnBoardOrders {
+
+    private final List<RoutePoint> routePoints;
+    private final List<Order> orders;
+    private final int[] loadedAt;
+    private final int[] unloadedAt;
+
+    private OnBoardOrders(List<RoutePoint> routePoints, List<Order> orders, int[] loadedAt, int[] unloadedAt) {
+        this.routePoints = routePoints;
+        this.orders = orders;
+        this.loadedAt = loadedAt;
+        this.unloadedAt = unloadedAt;
+    }
+
+    static OnBoardOrders of(Collection<RoutePoint> routePoints) {
+        return inVisitingOrder(routePoints.stream()
+                .sorted(Comparator.comparingInt(RoutePoint::getOrderNumber))
+                .toList());
+    }
+
+    private static OnBoardOrders inVisitingOrder(List<RoutePoint> ordered) {
+        Map<Long, Order> carried = new LinkedHashMap<>();
+        Map<Long, Integer> loaded = new HashMap<>();
+        Map<Long, Integer> unloaded = new HashMap<>();
+        for (int position = 0; position < ordered.size(); position++) {
+            RoutePoint routePoint = ordered.get(position);
+            if (routePoint.getOperationType() == OperationType.VISIT) {
+                continue;
+            }
+            for (Order order : routePoint.getOrders()) {
+                Long orderId = Objects.requireNonNull(order.getId());
+                if (routePoint.getOperationType() == OperationType.LOAD) {
+                    loaded.putIfAbsent(orderId, position);
+                } else {
+                    unloaded.put(orderId, position);
+                }
+                carried.put(orderId, order);
+            }
+        }
+
+        List<Order> orders = new ArrayList<>(carried.values());
+        int[] loadedAt = new int[orders.size()];
+        int[] unloadedAt = new int[orders.size()];
+        for (int index = 0; index < orders.size(); index++) {
+            Long orderId = orders.get(index).getId();
+            loadedAt[index] = loaded.getOrDefault(orderId, 0);
+            unloadedAt[index] = unloaded.getOrDefault(orderId, ordered.size() - 1);
+        }
+        return new OnBoardOrders(ordered, orders, loadedAt, unloadedAt);
+    }
+
+    /** Route points in the visiting order. */
+    List<RoutePoint> routePoints() {
+        return routePoints;
+    }
+
+    int orderCount() {
+        return orders.size();
+    }
+
+    Order order(int index) {
+        return orders.get(index);
+    }
+
+    /** Two runs when the order is unloaded before it is loaded, one otherwise. */
+    void forEachRun(int index, RunConsumer consumer) {
+        int from = loadedAt[index];
+        int to = unloadedAt[index];
+        if (from <= to) {
+            consumer.accept(from, to);
+        } else {
+            consumer.accept(0, to);
+            consumer.accept(from, routePoints.size() - 1);
+        }
+    }
+
+    @FunctionalInterface
+    interface RunConsumer {
+
+        /** Accepts the positions of the first and the last route point of a run, both included. */
+        void accept(int from, int to);
+    }
+}
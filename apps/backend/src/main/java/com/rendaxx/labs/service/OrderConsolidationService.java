@@ -0,0 +1,172 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.dtos.OrderConsolidationDto;
+import com.rendaxx.labs.dtos.OrderConsolidationRequestDto;
+import com.rendaxx.labs.dtos.VehicleLoadDto;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import com.rendaxx.labs.repository.OrderRepository;
+import com.rendaxx.labs.repository.VehicleRepository;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import com.rendaxx.labs.service.packing.PackingProblem;
+import com.rendaxx.labs.service.packing.PackingSolution;
+import com.rendaxx.labs.service.packing.VehiclePacker;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+/** Without ids, consolidates every order not on a route into the whole fleet; loads are not saved. */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderConsolidationService {
+
+    private static final long SEARCH_SEED = 20_251_117L;
+
+    RouteReferenceResolver referenceResolver;
+    OrderRepository orderRepository;
+    VehicleRepository vehicleRepository;
+    RepositoryGuard repositoryGuard;
+
+    Duration defaultTimeBudget;
+    Duration maxTimeBudget;
+    int maxOrders;
+    int parallelism;
+
+    public OrderConsolidationService(
+            RouteReferenceResolver referenceResolver,
+            OrderRepository orderRepository,
+            VehicleRepository vehicleRepository,
+            RepositoryGuard repositoryGuard,
+            @Value("${labs.orders.consolidation.time-budget:PT2S}") Duration defaultTimeBudget,
+            @Value("${labs.orders.consolidation.max-time-budget:PT1M}") Duration maxTimeBudget,
+            @Value("${labs.orders.consolidation.max-orders:100000}") int maxOrders,
+            @Value("${labs.orders.consolidation.parallelism:0}") int parallelism) {
+        this.referenceResolver = referenceResolver;
+        this.orderRepository = orderRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.repositoryGuard = repositoryGuard;
+        this.defaultTimeBudget = defaultTimeBudget;
+        this.maxTimeBudget = maxTimeBudget;
+        this.maxOrders = maxOrders;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public OrderConsolidationDto consolidate(OrderConsolidationRequestDto request) {
+        Duration timeBudget = validate(request);
+        RouteReferences references = referenceResolver.resolveIds(
+                Set.copyOf(request.getVehicleIds()), Set.of(), Set.copyOf(request.getOrderIds()));
+        List<Order> orders = request.getOrderIds().isEmpty()
+                ? repositoryGuard.execute(orderRepository::findAllNotOnRoute)
+                : request.getOrderIds().stream().map(references::order).toList();
+        List<Vehicle> vehicles = request.getVehicleIds().isEmpty()
+                ? repositoryGuard.execute(() -> vehicleRepository.findAll(Sort.by("id")))
+                : request.getVehicleIds().stream().map(references::vehicle).toList();
+        if (orders.size() > maxOrders) {
+            throw new BadRequestException(
+                    String.format("Consolidation must not contain more than %d orders", maxOrders));
+        }
+        if (vehicles.isEmpty()) {
+            throw new BadRequestException("There are no vehicles to load the orders into");
+        }
+
+        PackingSolution solution;
+        try (ExecutorService executor = Executors.newFixedThreadPool(
+                parallelism, Thread.ofPlatform().name("order-consolidation-", 0).factory())) {
+            solution = VehiclePacker.pack(toProblem(orders, vehicles), timeBudget, parallelism, executor, SEARCH_SEED);
+        }
+        return toConsolidation(orders, vehicles, solution);
+    }
+
+    private Duration validate(OrderConsolidationRequestDto request) {
+        requireDistinct(request.getOrderIds(), "Order");
+        requireDistinct(request.getVehicleIds(), "Vehicle");
+        Long timeBudgetMillis = request.getTimeBudgetMillis();
+        if (timeBudgetMillis == null) {
+            return defaultTimeBudget;
+        }
+        if (timeBudgetMillis <= 0 || timeBudgetMillis > maxTimeBudget.toMillis()) {
+            throw new BadRequestException(
+                    String.format("Time budget must be between 1 and %d ms", maxTimeBudget.toMillis()));
+        }
+        return Duration.ofMillis(timeBudgetMillis);
+    }
+
+    private static void requireDistinct(List<Long> ids, String kind) {
+        Set<Long> seen = new HashSet<>();
+        for (Long id : ids) {
+            if (!seen.add(id)) {
+                throw new BadRequestException(String.format("%s %d is listed more than once", kind, id));
+            }
+        }
+    }
+
+    private static PackingProblem toProblem(List<Order> orders, List<Vehicle> vehicles) {
+        long[] weights = new long[orders.size()];
+        long[] volumes = new long[orders.size()];
+        for (int index = 0; index < orders.size(); index++) {
+            weights[index] = VehicleCapacity.weightGrams(orders.get(index));
+            volumes[index] = VehicleCapacity.volumeLiters(orders.get(index));
+        }
+        long[] weightCapacities = new long[vehicles.size()];
+        long[] volumeCapacities = new long[vehicles.size()];
+        for (int index = 0; index < vehicles.size(); index++) {
+            weightCapacities[index] = VehicleCapacity.weightCapacityGrams(vehicles.get(index));
+            volumeCapacities[index] = VehicleCapacity.volumeCapacityLiters(vehicles.get(index));
+        }
+        return new PackingProblem(weights, volumes, weightCapacities, volumeCapacities);
+    }
+
+    private static OrderConsolidationDto toConsolidation(
+            List<Order> orders, List<Vehicle> vehicles, PackingSolution solution) {
+        List<List<Order>> loaded = new ArrayList<>(vehicles.size());
+        for (int index = 0; index < vehicles.size(); index++) {
+            loaded.add(new ArrayList<>());
+        }
+        List<Long> unassignedOrderIds = new ArrayList<>();
+        for (int index = 0; index < orders.size(); index++) {
+            int vehicle = solution.vehicleOfOrder()[index];
+            if (vehicle < 0) {
+                unassignedOrderIds.add(orders.get(index).getId());
+            } else {
+                loaded.get(vehicle).add(orders.get(index));
+            }
+        }
+        List<VehicleLoadDto> loads = new ArrayList<>();
+        for (int index = 0; index < vehicles.size(); index++) {
+            if (!loaded.get(index).isEmpty()) {
+                loads.add(toLoad(vehicles.get(index), loaded.get(index)));
+            }
+        }
+        return new OrderConsolidationDto(
+                loads, unassignedOrderIds, solution.vehicleCount(), solution.lowerBound(), solution.iterations());
+    }
+
+    private static VehicleLoadDto toLoad(Vehicle vehicle, List<Order> orders) {
+        long weight = 0;
+        long volume = 0;
+        List<Long> orderIds = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            weight += VehicleCapacity.weightGrams(order);
+            volume += VehicleCapacity.volumeLiters(order);
+            orderIds.add(Objects.requireNonNull(order.getId()));
+        }
+        return new VehicleLoadDto(
+                vehicle.getId(),
+                orderIds,
+                VehicleCapacity.kilograms(weight),
+                VehicleCapacity.cubicMeters(volume),
+                (double) weight / VehicleCapacity.weightCapacityGrams(vehicle),
+                (double) volume / VehicleCapacity.volumeCapacityLiters(vehicle));
+    }
+}
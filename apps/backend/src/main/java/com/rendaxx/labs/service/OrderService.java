@@ -2,24 +2,25 @@ package com.rendaxx.labs.service;
 
 import com.rendaxx.labs.domain.Order;
 import com.rendaxx.labs.dtos.OrderDto;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
 import com.rendaxx.labs.dtos.SaveOrderDto;
 import com.rendaxx.labs.events.EntityChangePublisher;
 import com.rendaxx.labs.events.EntityChangeType;
 import com.rendaxx.labs.exceptions.NotFoundException;
+import com.rendaxx.labs.exceptions.PreconditionFailedException;
 import com.rendaxx.labs.mappers.OrderMapper;
 import com.rendaxx.labs.repository.OrderRepository;
 import com.rendaxx.labs.repository.support.RepositoryGuard;
-import com.rendaxx.labs.repository.view.OrderView;
-import com.rendaxx.labs.service.specification.EqualitySpecificationBuilder;
+import com.rendaxx.labs.service.paging.SpecificationPager;
 import java.util.Map;
 import java.util.Objects;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -31,10 +32,11 @@ public class OrderService {
     OrderMapper mapper;
     OrderRepository repository;
     EntityChangePublisher changePublisher;
-    EqualitySpecificationBuilder specificationBuilder;
+    SpecificationPager pager;
     RepositoryGuard repositoryGuard;
+    EntityDtoCache dtoCache;
 
-    private static final String DESTINATION = "/topic/orders";
+    public static final String DESTINATION = "/topic/orders";
 
     public OrderDto create(SaveOrderDto command) {
         Order order = save(command, new Order());
@@ -46,25 +48,30 @@ public class OrderService {
         return dto;
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public OrderDto getById(Long id) {
-        return repositoryGuard.execute(() -> repository
-                .findViewById(id)
-                .map(mapper::toDto)
-                .orElseThrow(() -> new NotFoundException(Order.class, id)));
+        return dtoCache.get(
+                DESTINATION,
+                id,
+                () -> repositoryGuard.execute(() -> repository
+                        .findViewById(id)
+                        .map(mapper::toDto)
+                        .orElseThrow(() -> new NotFoundException(Order.class, id))));
     }
 
     @Transactional(readOnly = true)
-    public Page<OrderDto> getAll(Pageable pageable, Map<String, String> filters) {
-        Specification<Order> specification = specificationBuilder.build(filters);
-        Page<OrderView> result = repositoryGuard.execute(() ->
-                repository.findBy(specification, q -> q.as(OrderView.class).page(pageable)));
+    public PageDto<OrderDto> getAll(PageQueryDto pageQuery, Map<String, String> filters) {
+        PageDto<Order> result =
+                repositoryGuard.execute(() -> pager.find(Order.class, filters, pageQuery));
         return result.map(mapper::toDto);
     }
 
-    public OrderDto update(Long id, SaveOrderDto command) {
+    public OrderDto update(Long id, SaveOrderDto command, @Nullable Long expectedVersion) {
         Order order = repositoryGuard.execute(
                 () -> repository.findById(id).orElseThrow(() -> new NotFoundException(Order.class, id)));
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new PreconditionFailedException(Order.class, id);
+        }
         Order savedOrder = save(command, order);
         OrderDto dto = repositoryGuard.execute(() -> repository
                 .findViewById(id)
@@ -1,26 +1,38 @@
 package com.rendaxx.labs.service;
 
 import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.dtos.NearestRetailPointDto;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
 import com.rendaxx.labs.dtos.RetailPointDto;
 import com.rendaxx.labs.dtos.SaveRetailPointDto;
 import com.rendaxx.labs.events.EntityChangePublisher;
 import com.rendaxx.labs.events.EntityChangeType;
 import com.rendaxx.labs.exceptions.BadRequestException;
 import com.rendaxx.labs.exceptions.NotFoundException;
+import com.rendaxx.labs.exceptions.PreconditionFailedException;
 import com.rendaxx.labs.mappers.RetailPointMapper;
 import com.rendaxx.labs.repository.RetailPointRepository;
 import com.rendaxx.labs.repository.support.RepositoryGuard;
-import com.rendaxx.labs.repository.view.RetailPointView;
-import com.rendaxx.labs.service.specification.EqualitySpecificationBuilder;
+import com.rendaxx.labs.repository.view.RetailPointDistanceView;
+import com.rendaxx.labs.service.paging.SpecificationPager;
+import com.rendaxx.labs.service.spatial.RetailPointSpatialIndex;
+import com.rendaxx.labs.service.specification.SpatialSpecifications;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.operation.valid.IsValidOp;
+import org.locationtech.jts.operation.valid.TopologyValidationError;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -34,26 +46,39 @@ public class RetailPointService {
     RetailPointMapper mapper;
     RetailPointRepository repository;
     EntityChangePublisher changePublisher;
-    EqualitySpecificationBuilder specificationBuilder;
+    SpecificationPager pager;
     RepositoryGuard repositoryGuard;
+    ObjectProvider<RetailPointSpatialIndex> spatialIndex;
+    RouteMileageService routeMileageService;
+    EntityDtoCache dtoCache;
 
     int maxNearestRetailPointLimit;
+    int nearestRerankFactor;
 
-    private static final String DESTINATION = "/topic/retail-points";
+    public static final String DESTINATION = "/topic/retail-points";
+    private static final String LOCATION = "location";
 
     public RetailPointService(
             RetailPointMapper mapper,
             RetailPointRepository repository,
             EntityChangePublisher changePublisher,
-            EqualitySpecificationBuilder specificationBuilder,
+            SpecificationPager pager,
             RepositoryGuard repositoryGuard,
-            @Value("${labs.retail-points.max-nearest-limit:1000}") int maxNearestRetailPointLimit) {
+            ObjectProvider<RetailPointSpatialIndex> spatialIndex,
+            RouteMileageService routeMileageService,
+            EntityDtoCache dtoCache,
+            @Value("${labs.retail-points.max-nearest-limit:1000}") int maxNearestRetailPointLimit,
+            @Value("${labs.retail-points.nearest-rerank-factor:4}") int nearestRerankFactor) {
         this.mapper = mapper;
         this.repository = repository;
         this.changePublisher = changePublisher;
-        this.specificationBuilder = specificationBuilder;
+        this.pager = pager;
         this.repositoryGuard = repositoryGuard;
+        this.spatialIndex = spatialIndex;
+        this.routeMileageService = routeMileageService;
+        this.dtoCache = dtoCache;
         this.maxNearestRetailPointLimit = maxNearestRetailPointLimit;
+        this.nearestRerankFactor = nearestRerankFactor;
     }
 
     public RetailPointDto create(SaveRetailPointDto command) {
@@ -67,42 +92,124 @@ public class RetailPointService {
         return dto;
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public RetailPointDto getById(Long id) {
-        return repositoryGuard.execute(() -> repository
-                .findViewById(id)
-                .map(mapper::toDto)
-                .orElseThrow(() -> new NotFoundException(RetailPoint.class, id)));
+        return dtoCache.get(
+                DESTINATION,
+                id,
+                () -> repositoryGuard.execute(() -> repository
+                        .findViewById(id)
+                        .map(mapper::toDto)
+                        .orElseThrow(() -> new NotFoundException(RetailPoint.class, id))));
     }
 
     @Transactional(readOnly = true)
-    public Page<RetailPointDto> getAll(Pageable pageable, Map<String, String> filters) {
-        Specification<RetailPoint> specification = specificationBuilder.build(filters);
-        Page<RetailPointView> result = repositoryGuard.execute(() -> repository.findBy(
-                specification, q -> q.as(RetailPointView.class).page(pageable)));
+    public PageDto<RetailPointDto> getAll(PageQueryDto pageQuery, Map<String, String> filters) {
+        PageDto<RetailPoint> result =
+                repositoryGuard.execute(() -> pager.find(RetailPoint.class, filters, pageQuery));
         return result.map(mapper::toDto);
     }
 
-    @Transactional(readOnly = true, propagation = Propagation.REQUIRED)
-    public List<RetailPointDto> getNearestRetailPoints(Long retailPointId, int limit) {
+    /** A box with {@code west} greater than {@code east} crosses the antimeridian. */
+    @Transactional(readOnly = true)
+    public PageDto<RetailPointDto> getWithinBox(
+            double west,
+            double south,
+            double east,
+            double north,
+            PageQueryDto pageQuery,
+            Map<String, String> filters) {
+        requireCoordinate(west, south);
+        requireCoordinate(east, north);
+        if (south > north) {
+            throw new BadRequestException("Box south edge must not be north of its north edge");
+        }
+        return findWithin(SpatialSpecifications.withinBox(LOCATION, west, south, east, north), pageQuery, filters);
+    }
+
+    @Transactional(readOnly = true)
+    public PageDto<RetailPointDto> getWithinPolygon(
+            Polygon polygon, PageQueryDto pageQuery, Map<String, String> filters) {
+        for (Coordinate coordinate : polygon.getCoordinates()) {
+            requireCoordinate(coordinate.getX(), coordinate.getY());
+        }
+        TopologyValidationError error = new IsValidOp(polygon).getValidationError();
+        if (error != null) {
+            throw new BadRequestException("Polygon is not valid: " + error.getMessage());
+        }
+        return findWithin(SpatialSpecifications.withinGeometry(LOCATION, polygon), pageQuery, filters);
+    }
+
+    /** Unfiltered pages in id order are served from the in-memory index when it is loaded. */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public PageDto<RetailPointDto> getWithinRadius(
+            double longitude,
+            double latitude,
+            double radiusMeters,
+            PageQueryDto pageQuery,
+            Map<String, String> filters) {
+        requireCoordinate(longitude, latitude);
+        if (!(radiusMeters > 0)) {
+            throw new BadRequestException("Radius must be positive");
+        }
+        RetailPointSpatialIndex index = spatialIndex.getIfAvailable();
+        if (index != null && index.isReady() && pager.canPage(RetailPoint.class, filters, pageQuery)) {
+            return pager.page(index.withinRadius(longitude, latitude, radiusMeters), RetailPointDto::getId, pageQuery);
+        }
+        return findWithin(
+                SpatialSpecifications.withinRadius(LOCATION, longitude, latitude, radiusMeters), pageQuery, filters);
+    }
+
+    /** Spherical lookups are answered from the in-memory index when it is loaded. */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<NearestRetailPointDto> getNearestRetailPoints(
+            Long retailPointId, int limit, @Nullable Double maxDistanceMeters, boolean rerank) {
         if (limit <= 0) {
             throw new BadRequestException("Limit must be positive");
         }
+        if (maxDistanceMeters != null && !(maxDistanceMeters > 0)) {
+            throw new BadRequestException("Max distance must be positive");
+        }
         int effectiveLimit = Math.min(limit, maxNearestRetailPointLimit);
+        RetailPointSpatialIndex index = spatialIndex.getIfAvailable();
+        if (index != null && index.isReady() && !rerank) {
+            RetailPointDto origin = index.find(retailPointId);
+            if (origin == null) {
+                throw new NotFoundException(RetailPoint.class, retailPointId);
+            }
+            return index.nearest(origin, effectiveLimit, maxDistanceMeters);
+        }
+        int candidateLimit = rerank ? Math.multiplyExact(effectiveLimit, nearestRerankFactor) : effectiveLimit;
         RetailPoint origin = repositoryGuard.execute(() -> repository
                 .findById(retailPointId)
                 .orElseThrow(() -> new NotFoundException(RetailPoint.class, retailPointId)));
 
         Long originId = Objects.requireNonNull(origin.getId());
-        List<RetailPointView> nearest = repositoryGuard.execute(
-                () -> repository.findNearestRetailPointsView(originId, PageRequest.of(0, effectiveLimit)));
-        return mapper.toDtoFromView(nearest);
+        List<RetailPointDistanceView> nearest = repositoryGuard.execute(() -> repository
+                .findNearestRetailPointDistances(originId, maxDistanceMeters, rerank, candidateLimit, effectiveLimit));
+        List<Long> ids = nearest.stream().map(RetailPointDistanceView::getId).toList();
+        Map<Long, RetailPoint> retailPointsById = repositoryGuard.execute(() -> repository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(RetailPoint::getId, Function.identity()));
+        return nearest.stream()
+                .filter(candidate -> retailPointsById.containsKey(candidate.getId()))
+                .map(candidate -> new NearestRetailPointDto(
+                        mapper.toDto(Objects.requireNonNull(retailPointsById.get(candidate.getId()))),
+                        candidate.getDistanceMeters()))
+                .toList();
     }
 
-    public RetailPointDto update(Long id, SaveRetailPointDto command) {
+    public RetailPointDto update(Long id, SaveRetailPointDto command, @Nullable Long expectedVersion) {
         RetailPoint retailPoint = repositoryGuard.execute(
                 () -> repository.findById(id).orElseThrow(() -> new NotFoundException(RetailPoint.class, id)));
+        if (expectedVersion != null && !expectedVersion.equals(retailPoint.getVersion())) {
+            throw new PreconditionFailedException(RetailPoint.class, id);
+        }
+        Point previousLocation = retailPoint.getLocation();
         RetailPoint savedRetailPoint = save(command, retailPoint);
+        if (!previousLocation.equalsExact(savedRetailPoint.getLocation())) {
+            repositoryGuard.execute(repository::flush);
+            routeMileageService.recomputeForRetailPoint(id);
+        }
         RetailPointDto dto = repositoryGuard.execute(() -> repository
                 .findViewById(id)
                 .map(mapper::toDto)
@@ -119,6 +226,20 @@ public class RetailPointService {
         changePublisher.publish(DESTINATION, Objects.requireNonNull(retailPoint.getId()), EntityChangeType.DELETED);
     }
 
+    private PageDto<RetailPointDto> findWithin(
+            Specification<RetailPoint> area, PageQueryDto pageQuery, Map<String, String> filters) {
+        PageDto<RetailPoint> result =
+                repositoryGuard.execute(() -> pager.find(RetailPoint.class, area, filters, pageQuery));
+        return result.map(mapper::toDto);
+    }
+
+    private static void requireCoordinate(double longitude, double latitude) {
+        if (!(longitude >= -180 && longitude <= 180) || !(latitude >= -90 && latitude <= 90)) {
+            throw new BadRequestException(
+                    "Coordinate (" + longitude + ", " + latitude + ") is outside the WGS 84 range");
+        }
+    }
+
     private RetailPoint save(SaveRetailPointDto command, RetailPoint retailPoint) {
         mapper.update(retailPoint, command);
         return repositoryGuard.execute(() -> repository.save(retailPoint));
@@ -0,0 +1,149 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.dtos.RetailPointDto;
+import com.rendaxx.labs.dtos.VectorTileDto;
+import com.rendaxx.labs.events.EntityChangedEvent;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import com.rendaxx.labs.repository.RetailPointTileJdbcRepository;
+import com.rendaxx.labs.repository.RetailPointTileJdbcRepository.RenderedTile;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+
+/** Tile cache bounded by size; a retail point change evicts only the tiles it was or now is in. */
+@Service
+public class RetailPointTileService {
+
+    private static final double TILE_MARGIN =
+            (double) RetailPointTileJdbcRepository.BUFFER / RetailPointTileJdbcRepository.EXTENT;
+    private static final double MAX_MERCATOR_LATITUDE = 85.0511287798066;
+
+    private final RetailPointTileJdbcRepository repository;
+    private final RepositoryGuard repositoryGuard;
+    private final int maxZoom;
+    private final long maxCacheBytes;
+    private final Duration maxAge;
+
+    private final Map<TileKey, CachedTile> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private long generation;
+
+    public RetailPointTileService(
+            RetailPointTileJdbcRepository repository,
+            RepositoryGuard repositoryGuard,
+            @Value("${labs.tiles.retail-points.max-zoom:22}") int maxZoom,
+            @Value("${labs.tiles.retail-points.cache-size:64MB}") DataSize cacheSize,
+            @Value("${labs.tiles.retail-points.max-age:PT1M}") Duration maxAge) {
+        this.repository = repository;
+        this.repositoryGuard = repositoryGuard;
+        this.maxZoom = maxZoom;
+        this.maxCacheBytes = cacheSize.toBytes();
+        this.maxAge = maxAge;
+    }
+
+    /** How long clients may reuse a tile before revalidating it with its ETag. */
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    @Transactional(readOnly = true)
+    public VectorTileDto getTile(int z, int x, int y) {
+        if (z < 0 || z > maxZoom) {
+            throw new BadRequestException("Zoom must be between 0 and " + maxZoom);
+        }
+        long tilesPerAxis = 1L << z;
+        if (x < 0 || x >= tilesPerAxis || y < 0 || y >= tilesPerAxis) {
+            throw new BadRequestException("Tile " + z + "/" + x + "/" + y + " does not exist");
+        }
+        TileKey key = new TileKey(z, x, y);
+        long renderedAt;
+        synchronized (cache) {
+            CachedTile cached = cache.get(key);
+            if (cached != null) {
+                return cached.tile();
+            }
+            renderedAt = generation;
+        }
+        RenderedTile rendered = repositoryGuard.execute(() -> repository.renderTile(z, x, y));
+        VectorTileDto tile = new VectorTileDto(rendered.data(), DigestUtils.md5DigestAsHex(rendered.data()));
+        synchronized (cache) {
+            if (generation == renderedAt && rendered.data().length <= maxCacheBytes) {
+                CachedTile previous = cache.put(key, new CachedTile(tile, rendered.retailPointIds()));
+                if (previous != null) {
+                    cachedBytes -= previous.tile().getData().length;
+                }
+                cachedBytes += rendered.data().length;
+                evictOverflow();
+            }
+        }
+        return tile;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEntityChanged(EntityChangedEvent<?> event) {
+        if (!RetailPointService.DESTINATION.equals(event.destination())) {
+            return;
+        }
+        long id = event.entityId();
+        RetailPointDto retailPoint = event.payload() instanceof RetailPointDto dto ? dto : null;
+        synchronized (cache) {
+            generation++;
+            Iterator<Map.Entry<TileKey, CachedTile>> entries = cache.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<TileKey, CachedTile> entry = entries.next();
+                boolean contained = Arrays.binarySearch(entry.getValue().retailPointIds(), id) >= 0;
+                if (contained || (retailPoint != null && covers(entry.getKey(), retailPoint))) {
+                    cachedBytes -= entry.getValue().tile().getData().length;
+                    entries.remove();
+                }
+            }
+        }
+    }
+
+    public void evictAll() {
+        synchronized (cache) {
+            generation++;
+            cache.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<CachedTile> eldest = cache.values().iterator();
+        while (cachedBytes > maxCacheBytes && eldest.hasNext()) {
+            cachedBytes -= eldest.next().tile().getData().length;
+            eldest.remove();
+        }
+    }
+
+    /** Matches the buffered extent the tile query selects from. */
+    private static boolean covers(TileKey key, RetailPointDto retailPoint) {
+        double longitude = retailPoint.getLocation().getLongitude();
+        double latitude = retailPoint.getLocation().getLatitude();
+        if (Math.abs(latitude) > MAX_MERCATOR_LATITUDE) {
+            return false;
+        }
+        double tilesPerAxis = Math.scalb(1.0, key.z());
+        double tileX = (longitude + 180) / 360 * tilesPerAxis;
+        double sinLatitude = Math.sin(Math.toRadians(latitude));
+        double tileY = (0.5 - Math.log((1 + sinLatitude) / (1 - sinLatitude)) / (4 * Math.PI)) * tilesPerAxis;
+        return tileX >= key.x() - TILE_MARGIN
+                && tileX <= key.x() + 1 + TILE_MARGIN
+                && tileY >= key.y() - TILE_MARGIN
+                && tileY <= key.y() + 1 + TILE_MARGIN;
+    }
+
+    private record TileKey(int z, int x, int y) {}
+
+    private record CachedTile(VectorTileDto tile, long[] retailPointIds) {}
+}
@@ -0,0 +1,26 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.repository.RetailPointVisitCountJdbcRepository;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Converges counters drifted by manual SQL or restored backups back to {@code route_points}. */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Transactional
+public class RetailPointVisitCountReconciler {
+
+    RetailPointVisitCountJdbcRepository repository;
+    RepositoryGuard repositoryGuard;
+
+    @Scheduled(cron = "${labs.retail-points.visit-counts.reconcile-cron:0 0 3 * * *}")
+    public long reconcile() {
+        return repositoryGuard.execute(repository::reconcile);
+    }
+}
@@ -0,0 +1,168 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.RoutePoint;
+import com.rendaxx.labs.dtos.RouteBatchCreatedDto;
+import com.rendaxx.labs.dtos.RouteBatchErrorDto;
+import com.rendaxx.labs.dtos.RouteBatchResultDto;
+import com.rendaxx.labs.dtos.SaveRouteDto;
+import com.rendaxx.labs.dtos.SaveRoutePointDto;
+import com.rendaxx.labs.events.EntityChangePublisher;
+import com.rendaxx.labs.events.EntityChangeType;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import com.rendaxx.labs.exceptions.BusinessException;
+import com.rendaxx.labs.repository.RouteJdbcRepository;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Transactional
+public class RouteBatchService {
+
+    RouteReferenceResolver referenceResolver;
+    RouteJdbcRepository jdbcRepository;
+    VehicleBookingService vehicleBookingService;
+    EntityChangePublisher changePublisher;
+    RepositoryGuard repositoryGuard;
+    Validator validator;
+    Clock clock;
+
+    int maxBatchSize;
+
+    private static final String DESTINATION = "/topic/routes";
+
+    public RouteBatchService(
+            RouteReferenceResolver referenceResolver,
+            RouteJdbcRepository jdbcRepository,
+            VehicleBookingService vehicleBookingService,
+            EntityChangePublisher changePublisher,
+            RepositoryGuard repositoryGuard,
+            Validator validator,
+            Clock clock,
+            @Value("${labs.routes.batch.max-size:10000}") int maxBatchSize) {
+        this.referenceResolver = referenceResolver;
+        this.jdbcRepository = jdbcRepository;
+        this.vehicleBookingService = vehicleBookingService;
+        this.changePublisher = changePublisher;
+        this.repositoryGuard = repositoryGuard;
+        this.validator = validator;
+        this.clock = clock;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public RouteBatchResultDto create(List<SaveRouteDto> commands) {
+        if (commands.isEmpty()) {
+            throw new BadRequestException("Batch must contain at least one route");
+        }
+        if (commands.size() > maxBatchSize) {
+            throw new BadRequestException(
+                    String.format("Batch must not contain more than %d routes", maxBatchSize));
+        }
+
+        RouteBatchResultDto result = new RouteBatchResultDto();
+        Map<Integer, SaveRouteDto> validCommands = new LinkedHashMap<>();
+        for (int index = 0; index < commands.size(); index++) {
+            SaveRouteDto command = commands.get(index);
+            String violations = validate(command);
+            if (violations != null) {
+                result.getErrors().add(new RouteBatchErrorDto(index, violations));
+            } else {
+                validCommands.put(index, command);
+            }
+        }
+
+        RouteReferences references = referenceResolver.resolve(validCommands.values());
+        LocalDateTime creationTime = LocalDateTime.now(clock);
+        Map<Integer, Route> routes = new LinkedHashMap<>();
+        validCommands.forEach((index, command) -> {
+            try {
+                routes.put(index, toRoute(command, references, creationTime));
+            } catch (BusinessException ex) {
+                result.getErrors().add(new RouteBatchErrorDto(index, ex.getMessage()));
+            }
+        });
+
+        List<Integer> indexes = List.copyOf(routes.keySet());
+        vehicleBookingService.findDoubleBookings(List.copyOf(routes.values())).forEach((position, message) -> {
+            routes.remove(indexes.get(position));
+            result.getErrors().add(new RouteBatchErrorDto(indexes.get(position), message));
+        });
+
+        repositoryGuard.execute(() -> jdbcRepository.insertAll(routes.values()));
+        routes.forEach((index, route) -> {
+            Long id = Objects.requireNonNull(route.getId());
+            result.getCreated().add(new RouteBatchCreatedDto(index, id));
+            changePublisher.publish(DESTINATION, id, EntityChangeType.CREATED);
+        });
+        result.getErrors().sort(Comparator.comparing(RouteBatchErrorDto::getIndex));
+        return result;
+    }
+
+    private @Nullable String validate(SaveRouteDto command) {
+        Set<ConstraintViolation<SaveRouteDto>> violations = validator.validate(command);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(cv -> cv.getPropertyPath() + ": " + cv.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Route toRoute(SaveRouteDto command, RouteReferences references, LocalDateTime creationTime) {
+        ensureTimeWindow(command.getPlannedStartTime(), command.getPlannedEndTime());
+        Route route = Route.builder()
+                .vehicle(references.vehicle(command.getVehicleId()))
+                .creationTime(creationTime)
+                .plannedStartTime(command.getPlannedStartTime())
+                .plannedEndTime(command.getPlannedEndTime())
+                .build();
+
+        Set<Long> orderNumbers = new HashSet<>();
+        for (SaveRoutePointDto routePointDto : command.getRoutePoints()) {
+            if (!orderNumbers.add(routePointDto.getOrderNumber())) {
+                throw new BadRequestException(String.format(
+                        "Route point order number '%d' is used more than once", routePointDto.getOrderNumber()));
+            }
+            ensureTimeWindow(routePointDto.getPlannedStartTime(), routePointDto.getPlannedEndTime());
+            RoutePoint routePoint = RoutePoint.builder()
+                    .route(route)
+                    .retailPoint(references.retailPoint(routePointDto.getRetailPointId()))
+                    .operationType(routePointDto.getOperationType())
+                    .orders(references.orders(routePointDto.getOrderIds()))
+                    .plannedStartTime(routePointDto.getPlannedStartTime())
+                    .plannedEndTime(routePointDto.getPlannedEndTime())
+                    .orderNumber(Math.toIntExact(routePointDto.getOrderNumber()))
+                    .build();
+            route.getRoutePoints().add(routePoint);
+        }
+        VehicleCapacity.requireNotOverloaded(route.getVehicle(), route.getRoutePoints());
+        TemperatureRanges.requireCompatible(route.getRoutePoints());
+        route.setMileageInKm(RouteMileageCalculator.ofRoutePoints(route.getRoutePoints()));
+        return route;
+    }
+
+    private void ensureTimeWindow(LocalDateTime plannedStartTime, LocalDateTime plannedEndTime) {
+        if (plannedEndTime.isBefore(plannedStartTime)) {
+            throw new BadRequestException("Planned end time must not be before planned start time");
+        }
+    }
+}
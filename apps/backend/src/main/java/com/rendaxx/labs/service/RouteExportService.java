@@ -0,0 +1,71 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.dtos.PeriodMode;
+import com.rendaxx.labs.dtos.RouteDto;
+import com.rendaxx.labs.mappers.RouteMapper;
+import com.rendaxx.labs.repository.RouteJdbcRepository;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class RouteExportService {
+
+    private final RouteJdbcRepository routeJdbcRepository;
+    private final RouteGraphLoader routeGraphLoader;
+    private final RouteMapper mapper;
+    private final RepositoryGuard repositoryGuard;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public RouteExportService(
+            RouteJdbcRepository routeJdbcRepository,
+            RouteGraphLoader routeGraphLoader,
+            RouteMapper mapper,
+            RepositoryGuard repositoryGuard,
+            EntityManager entityManager,
+            @Value("${labs.routes.export.chunk-size:100}") int chunkSize) {
+        this.routeJdbcRepository = routeJdbcRepository;
+        this.routeGraphLoader = routeGraphLoader;
+        this.mapper = mapper;
+        this.repositoryGuard = repositoryGuard;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    /** Hands routes to the consumer a chunk at a time, clearing the persistence context after each chunk. */
+    @Transactional(readOnly = true)
+    public void streamWithinPeriod(
+            PeriodMode mode, LocalDateTime periodStart, LocalDateTime periodEnd, Consumer<RouteDto> consumer) {
+        try (Stream<Long> ids = repositoryGuard.execute(
+                () -> routeJdbcRepository.streamIdsWithinPeriod(mode, periodStart, periodEnd))) {
+            Iterator<Long> iterator = ids.iterator();
+            List<Long> chunk = new ArrayList<>(chunkSize);
+            while (repositoryGuard.execute(iterator::hasNext)) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, consumer);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, consumer);
+            }
+        }
+    }
+
+    private void writeChunk(List<Long> ids, Consumer<RouteDto> consumer) {
+        List<Route> routes = routeGraphLoader.loadGraphByIds(ids);
+        routes.forEach(route -> consumer.accept(mapper.toDto(route)));
+        entityManager.clear();
+    }
+}
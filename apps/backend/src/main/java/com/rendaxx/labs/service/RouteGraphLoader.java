@@ -0,0 +1,51 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.repository.RoutePointRepository;
+import com.rendaxx.labs.repository.RouteRepository;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RouteGraphLoader {
+
+    RouteRepository routeRepository;
+    RoutePointRepository routePointRepository;
+    RepositoryGuard repositoryGuard;
+
+    private static final int FETCH_CHUNK_SIZE = 1000;
+
+    public List<Route> loadGraph(List<Route> routes) {
+        List<Long> ids =
+                routes.stream().map(route -> Objects.requireNonNull(route.getId())).toList();
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+            fetch(ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size())));
+        }
+        return routes;
+    }
+
+    public List<Route> loadGraphByIds(List<Long> ids) {
+        Map<Long, Route> routesById = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+            fetch(ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size())))
+                    .forEach(route -> routesById.putIfAbsent(Objects.requireNonNull(route.getId()), route));
+        }
+        return ids.stream().map(routesById::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<Route> fetch(Collection<Long> ids) {
+        List<Route> routes = repositoryGuard.execute(() -> routeRepository.findAllWithRoutePointsByIdIn(ids));
+        repositoryGuard.execute(() -> routePointRepository.findAllWithOrdersByRouteIdIn(ids));
+        return routes;
+    }
+}
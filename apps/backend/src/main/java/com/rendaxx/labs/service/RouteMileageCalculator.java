@@ -0,0 +1,42 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.RoutePoint;
+import com.rendaxx.labs.service.spatial.Geodesic;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.locationtech.jts.geom.Point;
+
+/** Geodesic length through the retail points in visiting order, at the scale of {@code mileage_in_km}. */
+final class RouteMileageCalculator {
+
+    private static final int MILEAGE_SCALE = 3;
+    private static final BigDecimal METERS_PER_KILOMETER = BigDecimal.valueOf(1000);
+
+    private RouteMileageCalculator() {}
+
+    static BigDecimal ofRoutePoints(Collection<RoutePoint> routePoints) {
+        return ofOrderedRoutePoints(routePoints.stream()
+                .sorted(Comparator.comparingInt(RoutePoint::getOrderNumber))
+                .toList());
+    }
+
+    /** Mileage through the route points in the given order, whatever their order numbers. */
+    static BigDecimal ofOrderedRoutePoints(List<RoutePoint> ordered) {
+        double[] longitudes = new double[ordered.size()];
+        double[] latitudes = new double[ordered.size()];
+        for (int i = 0; i < ordered.size(); i++) {
+            Point location = ordered.get(i).getRetailPoint().getLocation();
+            longitudes[i] = location.getX();
+            latitudes[i] = location.getY();
+        }
+        return ofPath(longitudes, latitudes, ordered.size());
+    }
+
+    static BigDecimal ofPath(double[] longitudes, double[] latitudes, int count) {
+        return BigDecimal.valueOf(Geodesic.pathLengthMeters(longitudes, latitudes, count))
+                .divide(METERS_PER_KILOMETER, MILEAGE_SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,207 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.dtos.RouteMileageRecomputeJobDto;
+import com.rendaxx.labs.dtos.RouteMileageRecomputeStatus;
+import com.rendaxx.labs.exceptions.NotFoundException;
+import com.rendaxx.labs.repository.RouteMileageJdbcRepository;
+import com.rendaxx.labs.repository.RouteMileageJdbcRepository.MileageChange;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Progress only advances past a chunk once every earlier chunk has committed, so resuming skips nothing. */
+@Slf4j
+@Service
+public class RouteMileageService {
+
+    private final RouteMileageJdbcRepository repository;
+    private final RouteMileageStatsService statsService;
+    private final RepositoryGuard repositoryGuard;
+    private final EntityDtoCache dtoCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RouteMileageService(
+            RouteMileageJdbcRepository repository,
+            RouteMileageStatsService statsService,
+            RepositoryGuard repositoryGuard,
+            EntityDtoCache dtoCache,
+            PlatformTransactionManager transactionManager,
+            Clock clock,
+            @Value("${labs.routes.mileage.recompute.chunk-size:2000}") int chunkSize,
+            @Value("${labs.routes.mileage.recompute.parallelism:4}") int parallelism) {
+        this.repository = repository;
+        this.statsService = statsService;
+        this.repositoryGuard = repositoryGuard;
+        this.dtoCache = dtoCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /** Route points are read with plain SQL, so pending entity changes must have been flushed. */
+    @Transactional
+    public void recompute(Collection<Long> routeIds) {
+        if (routeIds.isEmpty()) {
+            return;
+        }
+        List<MileageChange> changes = new ArrayList<>();
+        repositoryGuard.execute(() -> repository.forEachPath(routeIds, collectChanges(changes)));
+        repositoryGuard.execute(() -> repository.updateMileage(changes));
+    }
+
+    /** Recomputes every route that visits the retail point, after its location has changed. */
+    @Transactional
+    public void recomputeForRetailPoint(Long retailPointId) {
+        recompute(repositoryGuard.execute(() -> repository.findRouteIdsByRetailPointId(retailPointId)));
+    }
+
+    public RouteMileageRecomputeJobDto startRecompute() {
+        if (!running.compareAndSet(false, true)) {
+            return getLatestRecompute();
+        }
+        RouteMileageRecomputeJobDto job;
+        try {
+            job = Objects.requireNonNull(transactionTemplate.execute(status -> repositoryGuard.execute(() -> repository
+                    .findLatestJob()
+                    .filter(latest -> latest.getStatus() != RouteMileageRecomputeStatus.COMPLETED)
+                    .map(latest -> repository.resumeJob(latest.getId()))
+                    .orElseGet(() -> repository.insertJob(LocalDateTime.now(clock), repository.findMaxRouteId())))));
+        } catch (RuntimeException ex) {
+            running.set(false);
+            throw ex;
+        }
+        RouteMileageRecomputeJobDto started = job;
+        Thread.ofVirtual().name("route-mileage-recompute-" + started.getId()).start(() -> run(started));
+        return started;
+    }
+
+    @Transactional(readOnly = true)
+    public RouteMileageRecomputeJobDto getLatestRecompute() {
+        return repositoryGuard.execute(() -> repository
+                .findLatestJob()
+                .orElseThrow(() -> new NotFoundException(RouteMileageRecomputeJobDto.class, null)));
+    }
+
+    /** Chunks of an unfinished job skipped summary-table maintenance. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildStatsAfterUnfinishedRecompute() {
+        boolean unfinished = Boolean.TRUE.equals(transactionTemplate.execute(status -> repositoryGuard.execute(
+                () -> repository
+                        .findLatestJob()
+                        .map(latest -> latest.getStatus() != RouteMileageRecomputeStatus.COMPLETED)
+                        .orElse(false))));
+        if (unfinished) {
+            rebuildStats();
+        }
+    }
+
+    private void run(RouteMileageRecomputeJobDto job) {
+        long jobId = job.getId();
+        boolean completed = false;
+        boolean interrupted = false;
+        try {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+                try {
+                    long afterId = job.getLastRouteId();
+                    while (afterId < job.getMaxRouteId() || !inFlight.isEmpty()) {
+                        if (afterId < job.getMaxRouteId() && inFlight.size() < parallelism) {
+                            long from = afterId;
+                            long upTo = repositoryGuard.execute(
+                                    () -> repository.findChunkUpperBound(from, job.getMaxRouteId(), chunkSize));
+                            inFlight.addLast(executor.submit(() -> processChunk(from, upTo)));
+                            afterId = upTo;
+                        } else {
+                            ChunkResult result = inFlight.removeFirst().get();
+                            transactionTemplate.executeWithoutResult(status -> repositoryGuard.execute(
+                                    () -> repository.updateJobProgress(
+                                            jobId, result.upToId(), result.processedRoutes(), result.updatedRoutes())));
+                        }
+                    }
+                    completed = true;
+                } catch (InterruptedException | ExecutionException | RuntimeException ex) {
+                    inFlight.forEach(future -> future.cancel(true));
+                    log.error("Route mileage recomputation {} failed", jobId, ex);
+                    interrupted = ex instanceof InterruptedException;
+                }
+            }
+            completed = rebuildStats() && completed;
+            finish(jobId, completed ? RouteMileageRecomputeStatus.COMPLETED : RouteMileageRecomputeStatus.FAILED);
+        } finally {
+            running.set(false);
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean rebuildStats() {
+        try {
+            statsService.verifyAndRebuild();
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("Route mileage statistics rebuild failed", ex);
+            return false;
+        }
+    }
+
+    private ChunkResult processChunk(long afterId, long upToId) {
+        List<MileageChange> changes = new ArrayList<>();
+        ChunkResult result = Objects.requireNonNull(transactionTemplate.execute(status -> {
+            long[] processed = new long[1];
+            RouteMileageJdbcRepository.PathConsumer collector = collectChanges(changes);
+            repositoryGuard.execute(repository::deferStatsMaintenance);
+            repositoryGuard.execute(() -> repository.forEachPathInRange(
+                    afterId, upToId, (routeId, mileageInKm, longitudes, latitudes, count) -> {
+                        processed[0]++;
+                        collector.accept(routeId, mileageInKm, longitudes, latitudes, count);
+                    }));
+            repositoryGuard.execute(() -> repository.updateMileageAndVersion(changes));
+            return new ChunkResult(upToId, processed[0], changes.size());
+        }));
+        changes.forEach(change -> dtoCache.evict(RouteService.DESTINATION, change.routeId()));
+        return result;
+    }
+
+    private void finish(long jobId, RouteMileageRecomputeStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> repositoryGuard.execute(
+                () -> repository.finishJob(jobId, status, LocalDateTime.now(clock))));
+    }
+
+    private static RouteMileageJdbcRepository.PathConsumer collectChanges(List<MileageChange> changes) {
+        return (routeId, mileageInKm, longitudes, latitudes, count) -> {
+            BigDecimal computed = RouteMileageCalculator.ofPath(longitudes, latitudes, count);
+            if (computed.compareTo(mileageInKm) != 0) {
+                changes.add(new MileageChange(routeId, computed));
+            }
+        };
+    }
+
+    private record ChunkResult(long upToId, long processedRoutes, long updatedRoutes) {}
+}
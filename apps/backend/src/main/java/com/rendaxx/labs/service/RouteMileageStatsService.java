@@ -0,0 +1,62 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.dtos.DailyRouteMileageStatsDto;
+import com.rendaxx.labs.dtos.RouteMileageStatsCheckDto;
+import com.rendaxx.labs.dtos.RouteMileageStatsDto;
+import com.rendaxx.labs.dtos.VehicleRouteMileageStatsDto;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import com.rendaxx.labs.repository.RouteMileageStatsJdbcRepository;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Transactional
+public class RouteMileageStatsService {
+
+    RouteMileageStatsJdbcRepository repository;
+    RepositoryGuard repositoryGuard;
+
+    @Transactional(readOnly = true)
+    public RouteMileageStatsDto getTotals() {
+        return repositoryGuard.execute(repository::findTotals);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VehicleRouteMileageStatsDto> getByVehicle() {
+        return repositoryGuard.execute(repository::findByVehicle);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyRouteMileageStatsDto> getByDay(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("Day range start must not be after its end");
+        }
+        return repositoryGuard.execute(() -> repository.findByDay(from, to));
+    }
+
+    public RouteMileageStatsCheckDto verifyAndRebuild() {
+        repositoryGuard.execute(repository::lockRoutes);
+        long mismatchedRows = repositoryGuard.execute(repository::countMismatches);
+        if (mismatchedRows > 0) {
+            repositoryGuard.execute(repository::rebuild);
+        }
+        return new RouteMileageStatsCheckDto(mismatchedRows == 0, mismatchedRows);
+    }
+
+    @Scheduled(
+            initialDelayString = "${labs.routes.mileage.stats.extremes-refresh-interval:PT1M}",
+            fixedDelayString = "${labs.routes.mileage.stats.extremes-refresh-interval:PT1M}")
+    public void refreshStaleExtremes() {
+        repositoryGuard.execute(repository::refreshStaleExtremes);
+    }
+}
@@ -0,0 +1,302 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.OperationType;
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.dtos.PlannedRouteDto;
+import com.rendaxx.labs.dtos.PlanningOrderDto;
+import com.rendaxx.labs.dtos.RoutePlanDto;
+import com.rendaxx.labs.dtos.RoutePlanRequestDto;
+import com.rendaxx.labs.dtos.SaveRoutePointDto;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import com.rendaxx.labs.exceptions.ServiceUnavailableException;
+import com.rendaxx.labs.service.planning.PlanningProblem;
+import com.rendaxx.labs.service.planning.PlanningSolution;
+import com.rendaxx.labs.service.planning.RoutePlanner;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/** Proposes unsaved routes for orders and vehicles; requests beyond max-concurrent-plans are rejected. */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RoutePlanningService {
+
+    private static final double KILOGRAMS_PER_TON = 1000;
+    private static final double METERS_PER_SECOND_PER_KMH = 1 / 3.6;
+    private static final long SEARCH_SEED = 20_251_103L;
+
+    RouteReferenceResolver referenceResolver;
+
+    double metersPerSecond;
+    Duration stopDuration;
+    Duration defaultTimeBudget;
+    Duration maxTimeBudget;
+    int maxOrders;
+    int parallelism;
+    Semaphore runningPlans;
+    ExecutorService executor;
+
+    public RoutePlanningService(
+            RouteReferenceResolver referenceResolver,
+            @Value("${labs.routes.planning.average-speed-kmh:40}") double averageSpeedKmh,
+            @Value("${labs.routes.planning.stop-duration:PT15M}") Duration stopDuration,
+            @Value("${labs.routes.planning.time-budget:PT5S}") Duration defaultTimeBudget,
+            @Value("${labs.routes.planning.max-time-budget:PT1M}") Duration maxTimeBudget,
+            @Value("${labs.routes.planning.max-orders:10000}") int maxOrders,
+            @Value("${labs.routes.planning.parallelism:0}") int parallelism,
+            @Value("${labs.routes.planning.max-concurrent-plans:1}") int maxConcurrentPlans) {
+        this.referenceResolver = referenceResolver;
+        this.metersPerSecond = averageSpeedKmh * METERS_PER_SECOND_PER_KMH;
+        this.stopDuration = stopDuration;
+        this.defaultTimeBudget = defaultTimeBudget;
+        this.maxTimeBudget = maxTimeBudget;
+        this.maxOrders = maxOrders;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.runningPlans = new Semaphore(maxConcurrentPlans);
+        this.executor = Executors.newFixedThreadPool(
+                this.parallelism * maxConcurrentPlans, Thread.ofPlatform().name("route-planner-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public RoutePlanDto plan(RoutePlanRequestDto request) {
+        Duration timeBudget = validate(request);
+        List<PlanningOrderDto> orders = request.getOrders();
+        Set<Long> retailPointIds = new HashSet<>();
+        Set<Long> orderIds = new HashSet<>();
+        for (PlanningOrderDto order : orders) {
+            retailPointIds.add(order.getPickupRetailPointId());
+            retailPointIds.add(order.getDropRetailPointId());
+            orderIds.add(order.getOrderId());
+        }
+        RouteReferences references =
+                referenceResolver.resolveIds(Set.copyOf(request.getVehicleIds()), retailPointIds, orderIds);
+        List<Vehicle> vehicles = request.getVehicleIds().stream().map(references::vehicle).toList();
+
+        PlanningProblem problem = toProblem(request, vehicles, references);
+        if (!runningPlans.tryAcquire()) {
+            throw new ServiceUnavailableException("Route planning is busy, retry later");
+        }
+        PlanningSolution solution;
+        try {
+            solution = RoutePlanner.solve(problem, timeBudget, parallelism, executor, SEARCH_SEED);
+        } finally {
+            runningPlans.release();
+        }
+        return toPlan(request, vehicles, references, problem, solution);
+    }
+
+    private Duration validate(RoutePlanRequestDto request) {
+        if (!request.getPlanningEnd().isAfter(request.getPlanningStart())) {
+            throw new BadRequestException("Planning end must be after planning start");
+        }
+        if (request.getVehicleIds().isEmpty()) {
+            throw new BadRequestException("Planning must contain at least one vehicle");
+        }
+        if (request.getOrders().isEmpty()) {
+            throw new BadRequestException("Planning must contain at least one order");
+        }
+        if (request.getOrders().size() > maxOrders) {
+            throw new BadRequestException(
+                    String.format("Planning must not contain more than %d orders", maxOrders));
+        }
+        Set<Long> vehicleIds = new HashSet<>();
+        for (Long vehicleId : request.getVehicleIds()) {
+            if (!vehicleIds.add(vehicleId)) {
+                throw new BadRequestException(String.format("Vehicle %d is listed more than once", vehicleId));
+            }
+        }
+        Set<Long> orderIds = new HashSet<>();
+        for (PlanningOrderDto order : request.getOrders()) {
+            if (!orderIds.add(order.getOrderId())) {
+                throw new BadRequestException(
+                        String.format("Order %d is listed more than once", order.getOrderId()));
+            }
+            requireWindow(order.getPickupFrom(), order.getPickupTo(), "Pickup", order.getOrderId());
+            requireWindow(order.getDropFrom(), order.getDropTo(), "Drop", order.getOrderId());
+        }
+        Long timeBudgetMillis = request.getTimeBudgetMillis();
+        if (timeBudgetMillis == null) {
+            return defaultTimeBudget;
+        }
+        if (timeBudgetMillis <= 0 || timeBudgetMillis > maxTimeBudget.toMillis()) {
+            throw new BadRequestException(
+                    String.format("Time budget must be between 1 and %d ms", maxTimeBudget.toMillis()));
+        }
+        return Duration.ofMillis(timeBudgetMillis);
+    }
+
+    private static void requireWindow(
+            @Nullable LocalDateTime from, @Nullable LocalDateTime to, String stop, Long orderId) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new BadRequestException(
+                    String.format("%s window of order %d ends before it starts", stop, orderId));
+        }
+    }
+
+    private PlanningProblem toProblem(
+            RoutePlanRequestDto request, List<Vehicle> vehicles, RouteReferences references) {
+        LocalDateTime start = request.getPlanningStart();
+        double horizon = secondsBetween(start, request.getPlanningEnd());
+        List<PlanningOrderDto> orders = request.getOrders();
+        int stopCount = orders.size() * 2;
+        double[] longitudes = new double[stopCount];
+        double[] latitudes = new double[stopCount];
+        double[] readyAt = new double[stopCount];
+        double[] dueAt = new double[stopCount];
+        double[] weights = new double[orders.size()];
+        double[] volumes = new double[orders.size()];
+        for (int index = 0; index < orders.size(); index++) {
+            PlanningOrderDto planned = orders.get(index);
+            Order order = references.order(planned.getOrderId());
+            weights[index] = order.getWeightInKg().doubleValue();
+            volumes[index] = order.getVolumeInCubicMeters().doubleValue();
+
+            int pickup = PlanningProblem.pickup(index);
+            RetailPoint pickupPoint = references.retailPoint(planned.getPickupRetailPointId());
+            longitudes[pickup] = pickupPoint.getLocation().getX();
+            latitudes[pickup] = pickupPoint.getLocation().getY();
+            readyAt[pickup] = windowStart(start, planned.getPickupFrom());
+            dueAt[pickup] = windowEnd(start, planned.getPickupTo(), horizon);
+
+            int drop = PlanningProblem.drop(index);
+            RetailPoint dropPoint = references.retailPoint(planned.getDropRetailPointId());
+            longitudes[drop] = dropPoint.getLocation().getX();
+            latitudes[drop] = dropPoint.getLocation().getY();
+            readyAt[drop] = windowStart(start, planned.getDropFrom());
+            dueAt[drop] = windowEnd(start, planned.getDropTo(), horizon);
+        }
+        double[] weightCapacities = new double[vehicles.size()];
+        double[] volumeCapacities = new double[vehicles.size()];
+        for (int index = 0; index < vehicles.size(); index++) {
+            Vehicle vehicle = vehicles.get(index);
+            weightCapacities[index] = vehicle.getTonnageInTons().doubleValue() * KILOGRAMS_PER_TON;
+            volumeCapacities[index] = vehicle.getBodyHeightInMeters()
+                    .multiply(vehicle.getBodyWidthInMeters())
+                    .multiply(vehicle.getBodyLengthInCubicMeters())
+                    .doubleValue();
+        }
+        return new PlanningProblem(
+                longitudes,
+                latitudes,
+                readyAt,
+                dueAt,
+                weights,
+                volumes,
+                weightCapacities,
+                volumeCapacities,
+                horizon,
+                stopDuration.toMillis() / 1000.0,
+                metersPerSecond);
+    }
+
+    private RoutePlanDto toPlan(
+            RoutePlanRequestDto request,
+            List<Vehicle> vehicles,
+            RouteReferences references,
+            PlanningProblem problem,
+            PlanningSolution solution) {
+        List<PlanningOrderDto> orders = request.getOrders();
+        List<PlannedRouteDto> routes = new ArrayList<>();
+        BigDecimal totalMileage = BigDecimal.ZERO;
+        for (int index = 0; index < vehicles.size(); index++) {
+            int[] stops = solution.routes()[index];
+            if (stops.length == 0) {
+                continue;
+            }
+            double[] starts = problem.serviceStarts(stops);
+            double[] longitudes = new double[stops.length];
+            double[] latitudes = new double[stops.length];
+            List<SaveRoutePointDto> routePoints = new ArrayList<>();
+            for (int position = 0; position < stops.length; position++) {
+                int stop = stops[position];
+                PlanningOrderDto order = orders.get(PlanningProblem.orderOf(stop));
+                boolean pickup = PlanningProblem.isPickup(stop);
+                Long retailPointId = pickup ? order.getPickupRetailPointId() : order.getDropRetailPointId();
+                RetailPoint retailPoint = references.retailPoint(retailPointId);
+                longitudes[position] = retailPoint.getLocation().getX();
+                latitudes[position] = retailPoint.getLocation().getY();
+                addStop(
+                        routePoints,
+                        retailPointId,
+                        pickup ? OperationType.LOAD : OperationType.UNLOAD,
+                        order.getOrderId(),
+                        at(request.getPlanningStart(), starts[position]),
+                        at(request.getPlanningStart(), starts[position] + problem.stopSeconds()));
+            }
+            BigDecimal mileage = RouteMileageCalculator.ofPath(longitudes, latitudes, stops.length);
+            totalMileage = totalMileage.add(mileage);
+            routes.add(new PlannedRouteDto(
+                    vehicles.get(index).getId(),
+                    routePoints.getFirst().getPlannedStartTime(),
+                    routePoints.getLast().getPlannedEndTime(),
+                    mileage,
+                    routePoints));
+        }
+        List<Long> unassignedOrderIds = new ArrayList<>();
+        for (int order : solution.unassignedOrders()) {
+            unassignedOrderIds.add(orders.get(order).getOrderId());
+        }
+        return new RoutePlanDto(routes, unassignedOrderIds, totalMileage, solution.iterations());
+    }
+
+    /** Appends a stop, merging it into the previous route point when both serve the same retail point. */
+    private static void addStop(
+            List<SaveRoutePointDto> routePoints,
+            Long retailPointId,
+            OperationType operationType,
+            Long orderId,
+            LocalDateTime startTime,
+            LocalDateTime endTime) {
+        if (!routePoints.isEmpty()) {
+            SaveRoutePointDto previous = routePoints.getLast();
+            if (previous.getRetailPointId().equals(retailPointId) && previous.getOperationType() == operationType) {
+                previous.getOrderIds().add(orderId);
+                previous.setPlannedEndTime(endTime);
+                return;
+            }
+        }
+        SaveRoutePointDto routePoint = new SaveRoutePointDto();
+        routePoint.setRetailPointId(retailPointId);
+        routePoint.setOperationType(operationType);
+        routePoint.setOrderIds(new ArrayList<>(List.of(orderId)));
+        routePoint.setPlannedStartTime(startTime);
+        routePoint.setPlannedEndTime(endTime);
+        routePoint.setOrderNumber((long) routePoints.size());
+        routePoints.add(routePoint);
+    }
+
+    private static double windowStart(LocalDateTime start, @Nullable LocalDateTime from) {
+        return from == null ? 0 : Math.max(0, secondsBetween(start, from));
+    }
+
+    private static double windowEnd(LocalDateTime start, @Nullable LocalDateTime to, double horizon) {
+        return to == null ? horizon : Math.min(horizon, secondsBetween(start, to));
+    }
+
+    private static double secondsBetween(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).toMillis() / 1000.0;
+    }
+
+    private static LocalDateTime at(LocalDateTime start, double seconds) {
+        return start.plusSeconds(Math.round(seconds));
+    }
+}
@@ -0,0 +1,104 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.RoutePoint;
+import com.rendaxx.labs.dtos.SaveRoutePointDto;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+
+/** Assigns only differing properties, so untouched points stay clean and keep their versions. */
+final class RoutePointReconciliation {
+
+    private RoutePointReconciliation() {}
+
+    /** Current points must be loaded with their orders; points left out are deleted as orphans. */
+    static List<RoutePoint> reconcile(Route route, List<SaveRoutePointDto> commands, RouteReferences references) {
+        Map<Long, RoutePoint> current = new LinkedHashMap<>();
+        for (RoutePoint routePoint : route.getRoutePoints()) {
+            current.put(Objects.requireNonNull(routePoint.getId()), routePoint);
+        }
+        Set<Integer> orderNumbers = new HashSet<>();
+        List<RoutePoint> reconciled = new ArrayList<>(commands.size());
+        for (SaveRoutePointDto command : commands) {
+            RoutePoint routePoint = matched(route, current, command.getId());
+            int orderNumber = Math.toIntExact(command.getOrderNumber());
+            if (!orderNumbers.add(orderNumber)) {
+                throw new BadRequestException(
+                        String.format("Order number %d is used by more than one route point", orderNumber));
+            }
+            apply(routePoint, command, orderNumber, references);
+            reconciled.add(routePoint);
+        }
+        reconciled.sort(Comparator.comparingInt(RoutePoint::getOrderNumber));
+        if (!sameInOrder(route.getRoutePoints(), reconciled)) {
+            route.getRoutePoints().clear();
+            route.getRoutePoints().addAll(reconciled);
+        }
+        return reconciled;
+    }
+
+    private static RoutePoint matched(Route route, Map<Long, RoutePoint> current, @Nullable Long id) {
+        if (id == null) {
+            return RoutePoint.builder().route(route).build();
+        }
+        @Nullable RoutePoint routePoint = current.remove(id);
+        if (routePoint == null) {
+            throw new BadRequestException(String.format("Route point %d is not on route %s", id, route.getId()));
+        }
+        return routePoint;
+    }
+
+    private static void apply(
+            RoutePoint routePoint, SaveRoutePointDto command, int orderNumber, RouteReferences references) {
+        RetailPoint retailPoint = references.retailPoint(command.getRetailPointId());
+        if (routePoint.getRetailPoint() != retailPoint) {
+            routePoint.setRetailPoint(retailPoint);
+        }
+        if (routePoint.getOperationType() != command.getOperationType()) {
+            routePoint.setOperationType(command.getOperationType());
+        }
+        if (!command.getPlannedStartTime().equals(routePoint.getPlannedStartTime())) {
+            routePoint.setPlannedStartTime(command.getPlannedStartTime());
+        }
+        if (!command.getPlannedEndTime().equals(routePoint.getPlannedEndTime())) {
+            routePoint.setPlannedEndTime(command.getPlannedEndTime());
+        }
+        if (!Objects.equals(routePoint.getOrderNumber(), orderNumber)) {
+            routePoint.setOrderNumber(orderNumber);
+        }
+        Set<Order> orders = references.orders(command.getOrderIds());
+        if (!routePoint.getOrders().equals(orders)) {
+            routePoint.getOrders().retainAll(orders);
+            routePoint.getOrders().addAll(orders);
+        }
+    }
+
+    private static boolean sameInOrder(Collection<RoutePoint> current, List<RoutePoint> reconciled) {
+        if (current.size() != reconciled.size()) {
+            return false;
+        }
+        Map<RoutePoint, Integer> positions = new IdentityHashMap<>();
+        int position = 0;
+        for (RoutePoint routePoint : current) {
+            positions.put(routePoint, position++);
+        }
+        for (int i = 0; i < reconciled.size(); i++) {
+            if (!Objects.equals(positions.get(reconciled.get(i)), i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
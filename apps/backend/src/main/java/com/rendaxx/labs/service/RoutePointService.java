@@ -1,9 +1,15 @@
 package com.rendaxx.labs.service;
 
+import com.rendaxx.labs.domain.OperationType;
 import com.rendaxx.labs.domain.Order;
 import com.rendaxx.labs.domain.RetailPoint;
 import com.rendaxx.labs.domain.Route;
 import com.rendaxx.labs.domain.RoutePoint;
+import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
+import com.rendaxx.labs.dtos.PatchRoutePointDto;
+import com.rendaxx.labs.dtos.PeriodMode;
 import com.rendaxx.labs.dtos.RetailPointDto;
 import com.rendaxx.labs.dtos.RoutePointDto;
 import com.rendaxx.labs.dtos.SaveRoutePointDto;
@@ -11,22 +17,22 @@ import com.rendaxx.labs.events.EntityChangePublisher;
 import com.rendaxx.labs.events.EntityChangeType;
 import com.rendaxx.labs.exceptions.BadRequestException;
 import com.rendaxx.labs.exceptions.NotFoundException;
+import com.rendaxx.labs.exceptions.PreconditionFailedException;
 import com.rendaxx.labs.mappers.RetailPointMapper;
 import com.rendaxx.labs.mappers.RoutePointMapper;
-import com.rendaxx.labs.repository.OrderRepository;
-import com.rendaxx.labs.repository.RetailPointRepository;
+import com.rendaxx.labs.repository.RoutePointJdbcRepository;
 import com.rendaxx.labs.repository.RoutePointRepository;
 import com.rendaxx.labs.repository.RouteRepository;
 import com.rendaxx.labs.repository.support.RepositoryGuard;
 import com.rendaxx.labs.repository.view.RetailPointView;
 import com.rendaxx.labs.repository.view.RoutePointView;
-import com.rendaxx.labs.service.specification.EqualitySpecificationBuilder;
+import com.rendaxx.labs.service.paging.SpecificationPager;
 import jakarta.annotation.Nullable;
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,10 +40,7 @@ import java.util.Set;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -49,22 +52,28 @@ public class RoutePointService {
 
     RoutePointMapper mapper;
     RoutePointRepository repository;
+    RoutePointJdbcRepository routePointJdbcRepository;
     RetailPointMapper retailPointMapper;
 
     RouteService routeService;
+    RouteMileageService routeMileageService;
     RouteRepository routeRepository;
-    RetailPointRepository retailPointRepository;
-    OrderRepository orderRepository;
+    RouteReferenceResolver referenceResolver;
     EntityChangePublisher changePublisher;
-    EqualitySpecificationBuilder specificationBuilder;
+    SpecificationPager pager;
     RepositoryGuard repositoryGuard;
     Clock clock;
 
-    private static final String DESTINATION = "/topic/route-points";
+    public static final String DESTINATION = "/topic/route-points";
+
+    private static final int FETCH_CHUNK_SIZE = 1000;
 
     public RoutePointDto create(SaveRoutePointDto command) {
         ensureRouteAssociation(command, null);
+        incrementRouteVersion(Objects.requireNonNull(command.getRouteId()));
         RoutePoint routePoint = save(command, new RoutePoint());
+        requireCargoFits(routePoint.getRoute());
+        routeMileageService.recompute(Set.of(Objects.requireNonNull(routePoint.getRoute().getId())));
         RoutePointDto dto = repositoryGuard.execute(() -> repository
                 .findViewById(Objects.requireNonNull(routePoint.getId()))
                 .map(mapper::toDto)
@@ -81,18 +90,34 @@ public class RoutePointService {
     }
 
     @Transactional(readOnly = true)
-    public Page<RoutePointDto> getAll(Pageable pageable, Map<String, String> filters) {
-        Specification<RoutePoint> specification = specificationBuilder.build(filters);
-        Page<RoutePointView> routePoints = repositoryGuard.execute(() ->
-                repository.findBy(specification, q -> q.as(RoutePointView.class).page(pageable)));
-        return routePoints.map(mapper::toDto);
+    public PageDto<RoutePointDto> getAll(PageQueryDto pageQuery, Map<String, String> filters) {
+        PageDto<RoutePoint> result =
+                repositoryGuard.execute(() -> pager.find(RoutePoint.class, filters, pageQuery));
+        return result.map(mapper::toDto);
     }
 
-    public RoutePointDto update(Long id, SaveRoutePointDto command) {
-        RoutePoint routePoint = repositoryGuard.execute(
-                () -> repository.findById(id).orElseThrow(() -> new NotFoundException(RoutePoint.class, id)));
+    @Transactional(readOnly = true)
+    public List<RoutePointDto> getWithinPeriod(PeriodMode mode, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        routeService.validatePeriod(periodStart, periodEnd);
+        List<Long> ids = repositoryGuard.execute(
+                () -> routePointJdbcRepository.findIdsWithinPeriod(mode, periodStart, periodEnd));
+        List<RoutePointDto> routePoints = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size()));
+            repositoryGuard.execute(() -> repository.findAllWithDetailsByIdIn(chunk)).stream()
+                    .map(mapper::toDto)
+                    .forEach(routePoints::add);
+        }
+        return routePoints;
+    }
+
+    public RoutePointDto update(Long id, SaveRoutePointDto command, @Nullable Long expectedVersion) {
+        RoutePoint routePoint = findForUpdate(id, expectedVersion);
+        incrementRouteVersion(Objects.requireNonNull(routePoint.getRoute().getId()));
         ensureRouteAssociation(command, routePoint.getRoute());
         RoutePoint savedRoutePoint = save(command, routePoint);
+        requireCargoFits(savedRoutePoint.getRoute());
+        routeMileageService.recompute(Set.of(Objects.requireNonNull(savedRoutePoint.getRoute().getId())));
         RoutePointDto dto = repositoryGuard.execute(() -> repository
                 .findViewById(id)
                 .map(mapper::toDto)
@@ -102,13 +127,66 @@ public class RoutePointService {
         return dto;
     }
 
+    /** Mileage is recomputed only when the patch moves the point. */
+    public RoutePointDto patch(Long id, PatchRoutePointDto patch, @Nullable Long expectedVersion) {
+        @Nullable Long retailPointId = MergePatch.required(patch.getRetailPointId(), "retailPointId");
+        @Nullable OperationType operationType = MergePatch.required(patch.getOperationType(), "operationType");
+        @Nullable List<Long> orderIds = MergePatch.required(patch.getOrderIds(), "orderIds");
+        @Nullable LocalDateTime plannedStartTime = MergePatch.required(patch.getPlannedStartTime(), "plannedStartTime");
+        @Nullable LocalDateTime plannedEndTime = MergePatch.required(patch.getPlannedEndTime(), "plannedEndTime");
+        @Nullable Integer orderNumber = MergePatch.required(patch.getOrderNumber(), "orderNumber");
+        RoutePoint routePoint = findForUpdate(id, expectedVersion);
+        incrementRouteVersion(Objects.requireNonNull(routePoint.getRoute().getId()));
+        if (retailPointId != null || orderIds != null) {
+            RouteReferences references = referenceResolver.resolveIds(
+                    Set.of(),
+                    retailPointId == null ? Set.of() : Set.of(retailPointId),
+                    orderIds == null ? Set.of() : Set.copyOf(orderIds));
+            if (retailPointId != null) {
+                routePoint.setRetailPoint(references.retailPoint(retailPointId));
+            }
+            if (orderIds != null) {
+                routePoint.setOrders(references.orders(orderIds));
+            }
+        }
+        if (operationType != null) {
+            routePoint.setOperationType(operationType);
+        }
+        if (plannedStartTime != null) {
+            routePoint.setPlannedStartTime(plannedStartTime);
+        }
+        if (plannedEndTime != null) {
+            routePoint.setPlannedEndTime(plannedEndTime);
+        }
+        if (orderNumber != null) {
+            routePoint.setOrderNumber(orderNumber);
+        }
+        repositoryGuard.execute(repository::flush);
+        if (operationType != null || orderIds != null || orderNumber != null) {
+            requireCargoFits(routePoint.getRoute());
+        }
+        if (retailPointId != null || orderNumber != null) {
+            routeMileageService.recompute(Set.of(Objects.requireNonNull(routePoint.getRoute().getId())));
+        }
+        RoutePointDto dto = repositoryGuard.execute(() -> repository
+                .findViewById(id)
+                .map(mapper::toDto)
+                .orElseThrow(() -> new NotFoundException(RoutePoint.class, id)));
+        changePublisher.publish(DESTINATION, id, dto, EntityChangeType.UPDATED);
+        return dto;
+    }
+
     public void delete(Long id) {
         RoutePoint routePoint = repositoryGuard.execute(
                 () -> repository.findById(id).orElseThrow(() -> new NotFoundException(RoutePoint.class, id)));
         Long routePointId = Objects.requireNonNull(routePoint.getId());
-        routePoint.getRoute().getRoutePoints().removeIf(rp -> Objects.equals(rp.getId(), routePointId));
-        routeService.recalculateRoutePointOrderNumber(routePoint.getRoute());
-        repositoryGuard.execute(() -> repository.delete(routePoint));
+        incrementRouteVersion(Objects.requireNonNull(routePoint.getRoute().getId()));
+        routeService.flushWithDeferredOrderNumbers(() -> {
+            routePoint.getRoute().getRoutePoints().removeIf(rp -> Objects.equals(rp.getId(), routePointId));
+            routeService.recalculateRoutePointOrderNumber(routePoint.getRoute());
+            repositoryGuard.execute(() -> repository.delete(routePoint));
+        });
+        routeMileageService.recompute(Set.of(Objects.requireNonNull(routePoint.getRoute().getId())));
         changePublisher.publish(DESTINATION, routePointId, EntityChangeType.DELETED);
     }
 
@@ -125,15 +203,40 @@ public class RoutePointService {
         return retailPointMapper.toDtoFromView(retailPoints);
     }
 
+    private RoutePoint findForUpdate(Long id, @Nullable Long expectedVersion) {
+        RoutePoint routePoint = repositoryGuard.execute(
+                () -> repository.findById(id).orElseThrow(() -> new NotFoundException(RoutePoint.class, id)));
+        if (expectedVersion != null && !expectedVersion.equals(routePoint.getVersion())) {
+            throw new PreconditionFailedException(RoutePoint.class, id);
+        }
+        return routePoint;
+    }
+
+    /** Bumps the route version under its lock, so an If-Match on the route taken before the change fails. */
+    private void incrementRouteVersion(Long routeId) {
+        repositoryGuard.execute(() -> routeRepository
+                .findByIdForVersionIncrement(routeId)
+                .orElseThrow(() -> new NotFoundException(Route.class, routeId)));
+    }
+
+    /** Reads the route points back after the flush, so the changed one is checked and a rejection rolls it back. */
+    private void requireCargoFits(Route route) {
+        List<RoutePoint> routePoints = repositoryGuard.execute(
+                () -> repository.findAllWithOrdersByRouteIdIn(List.of(Objects.requireNonNull(route.getId()))));
+        @Nullable Vehicle vehicle = route.getVehicle();
+        if (vehicle != null) {
+            VehicleCapacity.requireNotOverloaded(vehicle, routePoints);
+        }
+        TemperatureRanges.requireCompatible(routePoints);
+    }
+
     private RoutePoint save(SaveRoutePointDto command, RoutePoint routePoint) {
         Route route = resolveRoute(command, routePoint.getRoute());
-        RetailPoint retailPoint = repositoryGuard.execute(() -> retailPointRepository
-                .findById(command.getRetailPointId())
-                .orElseThrow(() -> new NotFoundException(RetailPoint.class, command.getRetailPointId())));
-        Set<Order> orders =
-                new HashSet<>(repositoryGuard.execute(() -> orderRepository.findAllById(command.getOrderIds())));
+        RouteReferences references = referenceResolver.resolveRoutePoints(List.of(command));
+        RetailPoint retailPoint = references.retailPoint(command.getRetailPointId());
+        Set<Order> orders = references.orders(command.getOrderIds());
         mapper.update(routePoint, command, route, retailPoint, orders);
-        return repositoryGuard.execute(() -> repository.save(routePoint));
+        return repositoryGuard.execute(() -> repository.saveAndFlush(routePoint));
     }
 
     private void ensureRouteAssociation(SaveRoutePointDto command, @Nullable Route existingRoute) {
@@ -147,7 +250,7 @@ public class RoutePointService {
         Route fallbackRoute = Route.builder()
                 .plannedStartTime(defaultTime(command.getPlannedStartTime()))
                 .plannedEndTime(defaultTime(command.getPlannedEndTime(), command.getPlannedStartTime()))
-                .mileageInKm(BigDecimal.valueOf(1L))
+                .mileageInKm(BigDecimal.ZERO)
                 .build();
         Route persisted = repositoryGuard.execute(() -> routeRepository.save(fallbackRoute));
         command.setRouteId(persisted.getId());
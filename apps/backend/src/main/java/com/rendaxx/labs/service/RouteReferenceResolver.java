@@ -0,0 +1,87 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.dtos.SaveRouteDto;
+import com.rendaxx.labs.dtos.SaveRoutePointDto;
+import com.rendaxx.labs.repository.OrderRepository;
+import com.rendaxx.labs.repository.RetailPointRepository;
+import com.rendaxx.labs.repository.VehicleRepository;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RouteReferenceResolver {
+
+    VehicleRepository vehicleRepository;
+    RetailPointRepository retailPointRepository;
+    OrderRepository orderRepository;
+    RepositoryGuard repositoryGuard;
+
+    public RouteReferences resolve(Collection<SaveRouteDto> commands) {
+        Set<Long> vehicleIds = new HashSet<>();
+        List<SaveRoutePointDto> routePoints = new ArrayList<>();
+        for (SaveRouteDto command : commands) {
+            addIfPresent(vehicleIds, command.getVehicleId());
+            routePoints.addAll(command.getRoutePoints());
+        }
+        return load(vehicleIds, routePoints);
+    }
+
+    public RouteReferences resolveRoutePoints(Collection<SaveRoutePointDto> routePoints) {
+        return load(Set.of(), routePoints);
+    }
+
+    private RouteReferences load(Set<Long> vehicleIds, Collection<SaveRoutePointDto> routePoints) {
+        Set<Long> retailPointIds = new HashSet<>();
+        Set<Long> orderIds = new HashSet<>();
+        for (SaveRoutePointDto routePoint : routePoints) {
+            addIfPresent(retailPointIds, routePoint.getRetailPointId());
+            if (routePoint.getOrderIds() != null) {
+                routePoint.getOrderIds().forEach(orderId -> addIfPresent(orderIds, orderId));
+            }
+        }
+        return resolveIds(vehicleIds, retailPointIds, orderIds);
+    }
+
+    public RouteReferences resolveIds(Set<Long> vehicleIds, Set<Long> retailPointIds, Set<Long> orderIds) {
+        Map<Long, Vehicle> vehicles = findAllById(vehicleRepository, vehicleIds, Vehicle::getId);
+        Map<Long, RetailPoint> retailPoints = findAllById(retailPointRepository, retailPointIds, RetailPoint::getId);
+        Map<Long, Order> orders = findAllById(orderRepository, orderIds, Order::getId);
+        return new RouteReferences(vehicles, retailPoints, orders);
+    }
+
+    private <T> Map<Long, T> findAllById(
+            JpaRepository<T, Long> repository, Set<Long> ids, Function<T, @Nullable Long> idExtractor) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<T> entities = repositoryGuard.execute(() -> repository.findAllById(ids));
+        return entities.stream()
+                .collect(Collectors.toMap(
+                        entity -> Objects.requireNonNull(idExtractor.apply(entity)), Function.identity()));
+    }
+
+    private static void addIfPresent(Set<Long> ids, @Nullable Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.exceptions.NotFoundException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RouteReferences {
+
+    Map<Long, Vehicle> vehicles;
+    Map<Long, RetailPoint> retailPoints;
+    Map<Long, Order> orders;
+
+    public Vehicle vehicle(Long vehicleId) {
+        Vehicle vehicle = vehicles.get(vehicleId);
+        if (vehicle == null) {
+            throw new NotFoundException(Vehicle.class, vehicleId);
+        }
+        return vehicle;
+    }
+
+    public RetailPoint retailPoint(Long retailPointId) {
+        RetailPoint retailPoint = retailPoints.get(retailPointId);
+        if (retailPoint == null) {
+            throw new NotFoundException(RetailPoint.class, retailPointId);
+        }
+        return retailPoint;
+    }
+
+    public Order order(Long orderId) {
+        Order order = orders.get(orderId);
+        if (order == null) {
+            throw new NotFoundException(Order.class, orderId);
+        }
+        return order;
+    }
+
+    public Set<Order> orders(List<Long> orderIds) {
+        Set<Order> resolved = new HashSet<>();
+        for (Long orderId : orderIds) {
+            resolved.add(order(orderId));
+        }
+        return resolved;
+    }
+}
@@ -1,45 +1,53 @@
 package com.rendaxx.labs.service;
 
-import com.rendaxx.labs.domain.Order;
-import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.OperationType;
 import com.rendaxx.labs.domain.Route;
 import com.rendaxx.labs.domain.RoutePoint;
 import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.dtos.DriverDto;
+import com.rendaxx.labs.dtos.OrderDto;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
+import com.rendaxx.labs.dtos.PatchRouteDto;
+import com.rendaxx.labs.dtos.PeriodMode;
 import com.rendaxx.labs.dtos.RouteDto;
+import com.rendaxx.labs.dtos.RoutePointDto;
+import com.rendaxx.labs.dtos.RouteSequenceOptimizationDto;
 import com.rendaxx.labs.dtos.SaveRouteDto;
-import com.rendaxx.labs.dtos.SaveRoutePointDto;
+import com.rendaxx.labs.dtos.VehicleDto;
 import com.rendaxx.labs.events.EntityChangePublisher;
 import com.rendaxx.labs.events.EntityChangeType;
 import com.rendaxx.labs.exceptions.BadRequestException;
 import com.rendaxx.labs.exceptions.NotFoundException;
+import com.rendaxx.labs.exceptions.PreconditionFailedException;
 import com.rendaxx.labs.mappers.RouteMapper;
-import com.rendaxx.labs.mappers.RoutePointMapper;
-import com.rendaxx.labs.repository.OrderRepository;
-import com.rendaxx.labs.repository.RetailPointRepository;
+import com.rendaxx.labs.repository.RouteJdbcRepository;
+import com.rendaxx.labs.repository.RoutePointJdbcRepository;
 import com.rendaxx.labs.repository.RoutePointRepository;
 import com.rendaxx.labs.repository.RouteRepository;
-import com.rendaxx.labs.repository.VehicleRepository;
 import com.rendaxx.labs.repository.support.RepositoryGuard;
-import com.rendaxx.labs.repository.view.RouteView;
-import com.rendaxx.labs.service.specification.EqualitySpecificationBuilder;
+import com.rendaxx.labs.service.paging.SpecificationPager;
+import com.rendaxx.labs.service.planning.RouteSequenceOptimizer;
+import com.rendaxx.labs.service.spatial.Geodesic;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.jspecify.annotations.Nullable;
+import org.locationtech.jts.geom.Point;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -51,17 +59,19 @@ public class RouteService {
     private static final int MILEAGE_SCALE = 3;
 
     RouteMapper mapper;
-    RoutePointMapper routePointMapper;
     RouteRepository repository;
     RoutePointRepository routePointRepository;
-    VehicleRepository vehicleRepository;
-    RetailPointRepository retailPointRepository;
-    OrderRepository orderRepository;
+    RouteJdbcRepository routeJdbcRepository;
+    RoutePointJdbcRepository routePointJdbcRepository;
+    RouteReferenceResolver referenceResolver;
+    RouteGraphLoader routeGraphLoader;
+    VehicleBookingService vehicleBookingService;
     EntityChangePublisher changePublisher;
-    EqualitySpecificationBuilder specificationBuilder;
+    SpecificationPager pager;
     RepositoryGuard repositoryGuard;
+    EntityDtoCache dtoCache;
 
-    private static final String DESTINATION = "/topic/routes";
+    public static final String DESTINATION = "/topic/routes";
 
     public RouteDto create(SaveRouteDto command) {
         Route route = save(command, new Route());
@@ -73,25 +83,29 @@ public class RouteService {
         return dto;
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public RouteDto getById(Long id) {
-        return repositoryGuard.execute(() -> repository
-                .findViewById(id)
-                .map(mapper::toDto)
-                .orElseThrow(() -> new NotFoundException(Route.class, id)));
+        return dtoCache.get(
+                DESTINATION,
+                id,
+                () -> repositoryGuard.execute(() -> repository
+                        .findViewById(id)
+                        .map(mapper::toDto)
+                        .orElseThrow(() -> new NotFoundException(Route.class, id))),
+                RouteService::embeddedEntities);
     }
 
     @Transactional(readOnly = true)
-    public Page<RouteDto> getAll(Pageable pageable, Map<String, String> filters) {
-        Specification<Route> specification = specificationBuilder.build(filters);
-        Page<RouteView> result = repositoryGuard.execute(() ->
-                repository.findBy(specification, q -> q.as(RouteView.class).page(pageable)));
+    public PageDto<RouteDto> getAll(PageQueryDto pageQuery, Map<String, String> filters) {
+        PageDto<Route> result =
+                repositoryGuard.execute(() -> pager.find(Route.class, filters, pageQuery));
+        routeGraphLoader.loadGraph(result.getContent());
         return result.map(mapper::toDto);
     }
 
-    public RouteDto update(Long id, SaveRouteDto command) {
-        Route route = repositoryGuard.execute(
-                () -> repository.findById(id).orElseThrow(() -> new NotFoundException(Route.class, id)));
+    public RouteDto update(Long id, SaveRouteDto command, @Nullable Long expectedVersion) {
+        Route route = findForUpdate(id, expectedVersion);
+        routeGraphLoader.loadGraph(List.of(route));
         Route savedRoute = save(command, route);
         RouteDto dto = repositoryGuard.execute(() -> repository
                 .findViewById(id)
@@ -101,6 +115,36 @@ public class RouteService {
         return dto;
     }
 
+    /** Writes only the route row; route points are read only to check the capacity of a new vehicle. */
+    public RouteDto patch(Long id, PatchRouteDto patch, @Nullable Long expectedVersion) {
+        @Nullable Long vehicleId = MergePatch.required(patch.getVehicleId(), "vehicleId");
+        @Nullable LocalDateTime plannedStartTime = MergePatch.required(patch.getPlannedStartTime(), "plannedStartTime");
+        @Nullable LocalDateTime plannedEndTime = MergePatch.required(patch.getPlannedEndTime(), "plannedEndTime");
+        Route route = findForUpdate(id, expectedVersion);
+        if (vehicleId != null) {
+            Vehicle vehicle = referenceResolver.resolveIds(Set.of(vehicleId), Set.of(), Set.of()).vehicle(vehicleId);
+            List<RoutePoint> routePoints =
+                    repositoryGuard.execute(() -> routePointRepository.findAllWithOrdersByRouteIdIn(List.of(id)));
+            VehicleCapacity.requireNotOverloaded(vehicle, routePoints);
+            route.setVehicle(vehicle);
+        }
+        if (plannedStartTime != null) {
+            route.setPlannedStartTime(plannedStartTime);
+        }
+        if (plannedEndTime != null) {
+            route.setPlannedEndTime(plannedEndTime);
+        }
+        if (vehicleId != null || plannedStartTime != null || plannedEndTime != null) {
+            vehicleBookingService.requireAvailable(route);
+        }
+        RouteDto dto = repositoryGuard.execute(() -> repository
+                .findViewById(id)
+                .map(mapper::toDto)
+                .orElseThrow(() -> new NotFoundException(Route.class, id)));
+        changePublisher.publish(DESTINATION, id, dto, EntityChangeType.UPDATED);
+        return dto;
+    }
+
     public void delete(Long id) {
         Route route = repositoryGuard.execute(
                 () -> repository.findById(id).orElseThrow(() -> new NotFoundException(Route.class, id)));
@@ -122,69 +166,167 @@ public class RouteService {
     }
 
     @Transactional(readOnly = true)
-    public List<RouteDto> getWithinPeriod(LocalDateTime periodStart, LocalDateTime periodEnd) {
+    public List<RouteDto> getWithinPeriod(PeriodMode mode, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        validatePeriod(periodStart, periodEnd);
+        List<Long> ids = repositoryGuard.execute(
+                () -> routeJdbcRepository.findIdsWithinPeriod(mode, periodStart, periodEnd));
+        return mapper.toDto(routeGraphLoader.loadGraphByIds(ids));
+    }
+
+    public void validatePeriod(LocalDateTime periodStart, LocalDateTime periodEnd) {
         if (periodStart.isAfter(periodEnd)) {
             throw new BadRequestException("Period start must not be after period end");
         }
-        List<RouteView> routes =
-                repositoryGuard.execute(() -> repository.findWithinPeriodWithDetailsView(periodStart, periodEnd));
-        return mapper.toDtoFromView(routes);
     }
 
     @Transactional(readOnly = true)
     public List<RouteDto> getByRetailPointId(Long retailPointId) {
-        List<RouteView> routes = repositoryGuard.execute(() -> repository.findAllByRetailPointIdView(retailPointId));
-        return mapper.toDtoFromView(routes);
+        List<Route> routes = repositoryGuard.execute(() -> repository.findAllByRetailPointId(retailPointId));
+        return mapper.toDto(routeGraphLoader.loadGraph(routes));
     }
 
-    private Route save(SaveRouteDto command, Route route) {
-        Vehicle vehicle = resolveVehicle(command.getVehicleId());
-        List<RoutePoint> routePoints = mapRoutePoints(command, route);
-        mapper.update(route, command, routePoints, vehicle);
-        return repositoryGuard.execute(() -> repository.save(route));
+    /** Saving rewrites order numbers and mileage but keeps planned times. */
+    public RouteSequenceOptimizationDto optimizeSequence(Long id, boolean persist) {
+        Route route = repositoryGuard.execute(
+                () -> repository.findById(id).orElseThrow(() -> new NotFoundException(Route.class, id)));
+        List<RoutePoint> current = route.getRoutePoints().stream()
+                .sorted(Comparator.comparingInt(RoutePoint::getOrderNumber))
+                .toList();
+        int[][] precedence = loadingPrecedence(current);
+        int[] initial = IntStream.range(0, current.size()).toArray();
+        int[] sequence =
+                RouteSequenceOptimizer.optimize(distanceMatrix(current), precedence[0], precedence[1], initial);
+        List<RoutePoint> optimized = Arrays.stream(sequence).mapToObj(current::get).toList();
+        BigDecimal originalMileage = RouteMileageCalculator.ofOrderedRoutePoints(current);
+        BigDecimal optimizedMileage = RouteMileageCalculator.ofOrderedRoutePoints(optimized);
+        @Nullable Vehicle vehicle = route.getVehicle();
+        boolean persisted = persist && !optimized.equals(current);
+        if (persisted) {
+            renumber(route, optimized);
+            if (vehicle != null) {
+                VehicleCapacity.requireNotOverloaded(vehicle, optimized);
+            }
+            TemperatureRanges.requireCompatible(optimized);
+            route.setMileageInKm(optimizedMileage);
+            RouteDto dto = repositoryGuard.execute(() -> repository
+                    .findViewById(id)
+                    .map(mapper::toDto)
+                    .orElseThrow(() -> new NotFoundException(Route.class, id)));
+            changePublisher.publish(DESTINATION, id, dto, EntityChangeType.UPDATED);
+        }
+        return new RouteSequenceOptimizationDto(
+                id,
+                optimized.stream().map(RoutePoint::getId).toList(),
+                originalMileage,
+                optimizedMileage,
+                originalMileage.subtract(optimizedMileage),
+                persisted);
     }
 
-    private Vehicle resolveVehicle(Long vehicleId) {
-        return repositoryGuard.execute(() -> vehicleRepository
-                .findById(vehicleId)
-                .orElseThrow(() -> new NotFoundException(Vehicle.class, vehicleId)));
+    private Route findForUpdate(Long id, @Nullable Long expectedVersion) {
+        Route route = repositoryGuard.execute(
+                () -> repository.findByIdForUpdate(id).orElseThrow(() -> new NotFoundException(Route.class, id)));
+        if (expectedVersion != null && !expectedVersion.equals(route.getVersion())) {
+            throw new PreconditionFailedException(Route.class, id);
+        }
+        return route;
     }
 
-    private List<RoutePoint> mapRoutePoints(SaveRouteDto command, Route route) {
-        List<SaveRoutePointDto> routePointsDto = command.getRoutePoints();
-        if (routePointsDto.isEmpty()) {
-            return List.of();
+    /** Existing routes must have their graph loaded; only changed route points are written. */
+    private Route save(SaveRouteDto command, Route route) {
+        RouteReferences references = referenceResolver.resolve(List.of(command));
+        Vehicle vehicle = references.vehicle(command.getVehicleId());
+        List<RoutePoint> routePoints =
+                RoutePointReconciliation.reconcile(route, command.getRoutePoints(), references);
+        mapper.update(route, command, vehicle);
+        VehicleCapacity.requireNotOverloaded(vehicle, routePoints);
+        TemperatureRanges.requireCompatible(routePoints);
+        vehicleBookingService.requireAvailable(route);
+        route.setMileageInKm(RouteMileageCalculator.ofRoutePoints(routePoints));
+        flushWithDeferredOrderNumbers(() -> {
+            if (route.getId() == null) {
+                repositoryGuard.execute(() -> repository.save(route));
+            }
+        });
+        return route;
+    }
+
+    private static double[] distanceMatrix(List<RoutePoint> routePoints) {
+        int size = routePoints.size();
+        double[] distances = new double[size * size];
+        for (int i = 0; i < size; i++) {
+            Point from = routePoints.get(i).getRetailPoint().getLocation();
+            for (int j = i + 1; j < size; j++) {
+                Point to = routePoints.get(j).getRetailPoint().getLocation();
+                double meters = Geodesic.distanceMeters(from.getX(), from.getY(), to.getX(), to.getY());
+                distances[i * size + j] = meters;
+                distances[j * size + i] = meters;
+            }
         }
+        return distances;
+    }
 
-        List<Long> existingIds = routePointsDto.stream()
-                .map(SaveRoutePointDto::getId)
-                .filter(Objects::nonNull)
-                .toList();
-        Map<Long, RoutePoint> routePointsById =
-                repositoryGuard.execute(() -> routePointRepository.findAllById(existingIds)).stream()
-                        .collect(Collectors.toMap(RoutePoint::getId, Function.identity()));
-
-        List<RoutePoint> routePoints = new ArrayList<>();
-        for (SaveRoutePointDto routePointDto : routePointsDto) {
-            RoutePoint routePoint = routePointsById.getOrDefault(routePointDto.getId(), new RoutePoint());
-            RetailPoint retailPoint = resolveRetailPoint(routePointDto.getRetailPointId());
-            Set<Order> orders = resolveOrders(routePointDto.getOrderIds());
-            routePointMapper.update(routePoint, routePointDto, route, retailPoint, orders);
-            routePoints.add(routePoint);
+    /** Pairs of positions where the first loads an order that the second unloads. */
+    private static int[][] loadingPrecedence(List<RoutePoint> routePoints) {
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < routePoints.size(); i++) {
+            RoutePoint loading = routePoints.get(i);
+            if (loading.getOperationType() != OperationType.LOAD) {
+                continue;
+            }
+            for (int j = 0; j < routePoints.size(); j++) {
+                RoutePoint unloading = routePoints.get(j);
+                if (unloading.getOperationType() == OperationType.UNLOAD
+                        && !Collections.disjoint(loading.getOrders(), unloading.getOrders())) {
+                    pairs.add(new int[] {i, j});
+                }
+            }
         }
-        return routePoints;
+        int[][] precedence = new int[2][pairs.size()];
+        for (int k = 0; k < pairs.size(); k++) {
+            precedence[0][k] = pairs.get(k)[0];
+            precedence[1][k] = pairs.get(k)[1];
+        }
+        return precedence;
+    }
+
+    /** Defers the order-number check to the end of the flush, so route points can trade positions. */
+    public void flushWithDeferredOrderNumbers(Runnable writes) {
+        repositoryGuard.execute(routePointJdbcRepository::deferOrderNumberCheck);
+        writes.run();
+        repositoryGuard.execute(routePointRepository::flush);
+        repositoryGuard.execute(routePointJdbcRepository::checkOrderNumbers);
     }
 
-    private RetailPoint resolveRetailPoint(Long retailPointId) {
-        return repositoryGuard.execute(() -> retailPointRepository
-                .findById(retailPointId)
-                .orElseThrow(() -> new NotFoundException(RetailPoint.class, retailPointId)));
+    /** Saves the route points in the given order, in one pass of updates. */
+    private void renumber(Route route, List<RoutePoint> ordered) {
+        flushWithDeferredOrderNumbers(() -> {
+            for (int i = 0; i < ordered.size(); i++) {
+                ordered.get(i).setOrderNumber(i);
+            }
+            route.getRoutePoints().clear();
+            route.getRoutePoints().addAll(ordered);
+        });
     }
 
-    private Set<Order> resolveOrders(List<Long> orderIds) {
-        if (orderIds.isEmpty()) {
-            return Set.of();
+    /** Entities embedded in the route DTO, whose changes make a cached copy of it stale. */
+    private static List<EntityDtoCache.Key> embeddedEntities(RouteDto route) {
+        List<EntityDtoCache.Key> keys = new ArrayList<>();
+        @Nullable VehicleDto vehicle = route.getVehicle();
+        if (vehicle != null) {
+            keys.add(new EntityDtoCache.Key(VehicleService.DESTINATION, vehicle.getId()));
+            @Nullable DriverDto driver = vehicle.getDriver();
+            if (driver != null) {
+                keys.add(new EntityDtoCache.Key(DriverService.DESTINATION, driver.getId()));
+            }
+        }
+        for (RoutePointDto routePoint : route.getRoutePoints()) {
+            keys.add(new EntityDtoCache.Key(RoutePointService.DESTINATION, routePoint.getId()));
+            keys.add(new EntityDtoCache.Key(RetailPointService.DESTINATION, routePoint.getRetailPoint().getId()));
+            for (OrderDto order : routePoint.getOrders()) {
+                keys.add(new EntityDtoCache.Key(OrderService.DESTINATION, order.getId()));
+            }
         }
-        return new HashSet<>(repositoryGuard.execute(() -> orderRepository.findAllById(orderIds)));
+        return keys;
     }
 }
@@ -0,0 +1,44 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.dtos.RouteTemperatureDto;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import com.rendaxx.labs.exceptions.NotFoundException;
+import com.rendaxx.labs.repository.RouteRepository;
+import com.rendaxx.labs.repository.RouteTemperatureJdbcRepository;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Saving already rejects conflicts, so the ones found here come from later changes of points or orders. */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Transactional(readOnly = true)
+public class RouteTemperatureService {
+
+    RouteRepository repository;
+    RouteTemperatureJdbcRepository temperatureRepository;
+    RouteGraphLoader routeGraphLoader;
+    RepositoryGuard repositoryGuard;
+
+    public RouteTemperatureDto getByRouteId(Long id) {
+        Route route = repositoryGuard.execute(
+                () -> repository.findById(id).orElseThrow(() -> new NotFoundException(Route.class, id)));
+        routeGraphLoader.loadGraph(List.of(route));
+        return TemperatureRanges.of(id, route.getRoutePoints());
+    }
+
+    public List<RouteTemperatureDto> findConflicts(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("Day range start must not be after its end");
+        }
+        return repositoryGuard.execute(() -> temperatureRepository.findConflicts(from, to));
+    }
+}
@@ -0,0 +1,102 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RoutePoint;
+import com.rendaxx.labs.dtos.RoutePointTemperatureDto;
+import com.rendaxx.labs.dtos.RouteTemperatureDto;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.jspecify.annotations.Nullable;
+
+/** Range from the highest minimum to the lowest maximum of the orders on board; empty when they conflict. */
+final class TemperatureRanges {
+
+    private TemperatureRanges() {}
+
+    static RouteTemperatureDto of(Long routeId, Collection<RoutePoint> routePoints) {
+        OnBoardOrders onBoard = OnBoardOrders.of(routePoints);
+        @Nullable Integer min = null;
+        @Nullable Integer max = null;
+        for (int index = 0; index < onBoard.orderCount(); index++) {
+            min = higher(min, onBoard.order(index).getMinTemperature());
+            max = lower(max, onBoard.order(index).getMaxTemperature());
+        }
+        List<RoutePointTemperatureDto> ranges = routePointRanges(onBoard);
+        boolean compatible = ranges.stream().allMatch(RoutePointTemperatureDto::getCompatible);
+        return new RouteTemperatureDto(routeId, min, max, compatible, ranges);
+    }
+
+    /** Rejects a route on which orders needing incompatible temperatures are on board together. */
+    static void requireCompatible(Collection<RoutePoint> routePoints) {
+        for (RoutePointTemperatureDto range : routePointRanges(OnBoardOrders.of(routePoints))) {
+            if (!range.getCompatible()) {
+                throw new BadRequestException(String.format(
+                        "Orders on board at route point %d need at least %d and at most %d degrees",
+                        range.getOrderNumber(),
+                        Objects.requireNonNull(range.getMinTemperature()),
+                        Objects.requireNonNull(range.getMaxTemperature())));
+            }
+        }
+    }
+
+    private static List<RoutePointTemperatureDto> routePointRanges(OnBoardOrders onBoard) {
+        List<RoutePoint> ordered = onBoard.routePoints();
+        List<List<Order>> boarding = new ArrayList<>(ordered.size());
+        List<List<Order>> leaving = new ArrayList<>(ordered.size());
+        for (int position = 0; position < ordered.size(); position++) {
+            boarding.add(new ArrayList<>());
+            leaving.add(new ArrayList<>());
+        }
+        for (int index = 0; index < onBoard.orderCount(); index++) {
+            Order order = onBoard.order(index);
+            if (order.getMinTemperature() != null || order.getMaxTemperature() != null) {
+                onBoard.forEachRun(index, (from, to) -> {
+                    boarding.get(from).add(order);
+                    leaving.get(to).add(order);
+                });
+            }
+        }
+
+        TreeMap<Integer, Integer> minimums = new TreeMap<>();
+        TreeMap<Integer, Integer> maximums = new TreeMap<>();
+        List<RoutePointTemperatureDto> ranges = new ArrayList<>(ordered.size());
+        for (int position = 0; position < ordered.size(); position++) {
+            for (Order order : boarding.get(position)) {
+                change(minimums, order.getMinTemperature(), 1);
+                change(maximums, order.getMaxTemperature(), 1);
+            }
+            @Nullable Integer min = minimums.isEmpty() ? null : minimums.lastKey();
+            @Nullable Integer max = maximums.isEmpty() ? null : maximums.firstKey();
+            RoutePoint routePoint = ordered.get(position);
+            ranges.add(new RoutePointTemperatureDto(
+                    routePoint.getId(), routePoint.getOrderNumber(), min, max, isCompatible(min, max)));
+            for (Order order : leaving.get(position)) {
+                change(minimums, order.getMinTemperature(), -1);
+                change(maximums, order.getMaxTemperature(), -1);
+            }
+        }
+        return ranges;
+    }
+
+    private static boolean isCompatible(@Nullable Integer min, @Nullable Integer max) {
+        return min == null || max == null || min <= max;
+    }
+
+    private static @Nullable Integer higher(@Nullable Integer current, @Nullable Integer candidate) {
+        return current == null || (candidate != null && candidate > current) ? candidate : current;
+    }
+
+    private static @Nullable Integer lower(@Nullable Integer current, @Nullable Integer candidate) {
+        return current == null || (candidate != null && candidate < current) ? candidate : current;
+    }
+
+    private static void change(TreeMap<Integer, Integer> counts, @Nullable Integer temperature, int delta) {
+        if (temperature != null) {
+            counts.merge(temperature, delta, (count, step) -> count + step == 0 ? null : count + step);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.dtos.VehicleBookingConflictDto;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import com.rendaxx.labs.repository.RouteBookingJdbcRepository;
+import com.rendaxx.labs.repository.RouteBookingJdbcRepository.RouteBooking;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Checks lock the vehicles until the transaction ends, so concurrent saves cannot book one twice. */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Transactional
+public class VehicleBookingService {
+
+    RouteBookingJdbcRepository repository;
+    RepositoryGuard repositoryGuard;
+
+    /** Rejects the route when its vehicle is on another stored route during its window. */
+    public void requireAvailable(Route route) {
+        @Nullable String conflict = findDoubleBookings(List.of(route)).get(0);
+        if (conflict != null) {
+            throw new BadRequestException(conflict);
+        }
+    }
+
+    /** Reasons keyed by list position; earlier routes of the list count as booked. */
+    public Map<Integer, String> findDoubleBookings(List<Route> routes) {
+        List<Integer> positions = new ArrayList<>();
+        List<RouteBooking> candidates = new ArrayList<>();
+        for (int position = 0; position < routes.size(); position++) {
+            Route route = routes.get(position);
+            @Nullable Vehicle vehicle = route.getVehicle();
+            if (vehicle != null && route.getPlannedStartTime().isBefore(route.getPlannedEndTime())) {
+                positions.add(position);
+                candidates.add(new RouteBooking(
+                        route.getId(),
+                        Objects.requireNonNull(vehicle.getId()),
+                        route.getPlannedStartTime(),
+                        route.getPlannedEndTime()));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Map.of();
+        }
+        TreeSet<Long> vehicleIds = new TreeSet<>();
+        candidates.forEach(candidate -> vehicleIds.add(candidate.vehicleId()));
+        repositoryGuard.execute(() -> repository.lockVehicles(vehicleIds));
+        Map<Integer, RouteBooking> stored = repositoryGuard.execute(() -> repository.findOverlapping(candidates));
+
+        Map<Integer, String> conflicts = new HashMap<>();
+        Map<Long, TreeMap<LocalDateTime, LocalDateTime>> booked = new HashMap<>();
+        for (int index = 0; index < candidates.size(); index++) {
+            RouteBooking candidate = candidates.get(index);
+            String gosNumber = Objects.requireNonNull(routes.get(positions.get(index)).getVehicle())
+                    .getGosNumber();
+            @Nullable RouteBooking overlapping = stored.get(index);
+            if (overlapping != null) {
+                conflicts.put(
+                        positions.get(index),
+                        String.format(
+                                "Vehicle %s is already on route %d from %s to %s",
+                                gosNumber,
+                                overlapping.routeId(),
+                                overlapping.plannedStartTime(),
+                                overlapping.plannedEndTime()));
+                continue;
+            }
+            TreeMap<LocalDateTime, LocalDateTime> windows =
+                    booked.computeIfAbsent(candidate.vehicleId(), vehicleId -> new TreeMap<>());
+            Map.@Nullable Entry<LocalDateTime, LocalDateTime> previous =
+                    windows.lowerEntry(candidate.plannedEndTime());
+            if (previous != null && previous.getValue().isAfter(candidate.plannedStartTime())) {
+                conflicts.put(
+                        positions.get(index),
+                        String.format(
+                                "Vehicle %s is already on another route of the batch from %s to %s",
+                                gosNumber,
+                                previous.getKey(),
+                                previous.getValue()));
+                continue;
+            }
+            windows.put(candidate.plannedStartTime(), candidate.plannedEndTime());
+        }
+        return conflicts;
+    }
+
+    /** Sweeps routes by vehicle and start, comparing each only with the routes still under way. */
+    @Transactional(readOnly = true)
+    public List<VehicleBookingConflictDto> findConflicts(LocalDateTime periodStart, LocalDateTime periodEnd) {
+        if (periodStart.isAfter(periodEnd)) {
+            throw new BadRequestException("Period start must not be after period end");
+        }
+        ConflictSweep sweep = new ConflictSweep();
+        repositoryGuard.execute(() -> repository.forEachBookingWithin(periodStart, periodEnd, sweep));
+        return sweep.conflicts;
+    }
+
+    private static final class ConflictSweep implements RouteBookingJdbcRepository.BookingConsumer {
+
+        private static final Comparator<RouteBooking> BY_START = Comparator.comparing(RouteBooking::plannedStartTime)
+                .thenComparing(RouteBooking::routeId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        private final List<VehicleBookingConflictDto> conflicts = new ArrayList<>();
+        private final PriorityQueue<RouteBooking> underWay =
+                new PriorityQueue<>(Comparator.comparing(RouteBooking::plannedEndTime));
+        private long vehicleId = -1;
+
+        @Override
+        public void accept(RouteBooking booking) {
+            if (booking.vehicleId() != vehicleId) {
+                vehicleId = booking.vehicleId();
+                underWay.clear();
+            }
+            if (!booking.plannedStartTime().isBefore(booking.plannedEndTime())) {
+                return;
+            }
+            while (!underWay.isEmpty() && !underWay.peek().plannedEndTime().isAfter(booking.plannedStartTime())) {
+                underWay.poll();
+            }
+            underWay.stream().sorted(BY_START).forEach(earlier -> {
+                LocalDateTime overlapEnd = earlier.plannedEndTime().isBefore(booking.plannedEndTime())
+                        ? earlier.plannedEndTime()
+                        : booking.plannedEndTime();
+                conflicts.add(new VehicleBookingConflictDto(
+                        vehicleId, earlier.routeId(), booking.routeId(), booking.plannedStartTime(), overlapEnd));
+            });
+            underWay.add(booking);
+        }
+    }
+}
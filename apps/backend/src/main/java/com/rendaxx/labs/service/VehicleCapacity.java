@@ -0,0 +1,113 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RoutePoint;
+import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/** Rounds orders up and vehicles down to whole grams and liters, so capacity checks never pass wrongly. */
+final class VehicleCapacity {
+
+    private static final int GRAMS_PER_KILOGRAM_EXPONENT = 3;
+    private static final int GRAMS_PER_TON_EXPONENT = 6;
+    private static final int LITERS_PER_CUBIC_METER_EXPONENT = 3;
+
+    private VehicleCapacity() {}
+
+    static long weightGrams(Order order) {
+        return order.getWeightInKg()
+                .movePointRight(GRAMS_PER_KILOGRAM_EXPONENT)
+                .setScale(0, RoundingMode.CEILING)
+                .longValueExact();
+    }
+
+    static long volumeLiters(Order order) {
+        return order.getVolumeInCubicMeters()
+                .movePointRight(LITERS_PER_CUBIC_METER_EXPONENT)
+                .setScale(0, RoundingMode.CEILING)
+                .longValueExact();
+    }
+
+    static long weightCapacityGrams(Vehicle vehicle) {
+        return vehicle.getTonnageInTons()
+                .movePointRight(GRAMS_PER_TON_EXPONENT)
+                .setScale(0, RoundingMode.FLOOR)
+                .longValueExact();
+    }
+
+    static long volumeCapacityLiters(Vehicle vehicle) {
+        return vehicle.getBodyHeightInMeters()
+                .multiply(vehicle.getBodyWidthInMeters())
+                .multiply(vehicle.getBodyLengthInCubicMeters())
+                .movePointRight(LITERS_PER_CUBIC_METER_EXPONENT)
+                .setScale(0, RoundingMode.FLOOR)
+                .longValueExact();
+    }
+
+    static BigDecimal kilograms(long grams) {
+        return BigDecimal.valueOf(grams, GRAMS_PER_KILOGRAM_EXPONENT);
+    }
+
+    static BigDecimal cubicMeters(long liters) {
+        return BigDecimal.valueOf(liters, LITERS_PER_CUBIC_METER_EXPONENT);
+    }
+
+    static void requireNotOverloaded(Vehicle vehicle, Collection<RoutePoint> routePoints) {
+        @Nullable String overload = overload(vehicle, OnBoardOrders.of(routePoints));
+        if (overload != null) {
+            throw new BadRequestException(overload);
+        }
+    }
+
+    /** Describes the first route point at which the vehicle is overloaded, or returns null when it never is. */
+    private static @Nullable String overload(Vehicle vehicle, OnBoardOrders onBoard) {
+        List<RoutePoint> ordered = onBoard.routePoints();
+        int size = ordered.size();
+        long[] weightChanges = new long[size + 1];
+        long[] volumeChanges = new long[size + 1];
+        for (int index = 0; index < onBoard.orderCount(); index++) {
+            long weight = weightGrams(onBoard.order(index));
+            long volume = volumeLiters(onBoard.order(index));
+            onBoard.forEachRun(index, (from, to) -> addOnBoard(weightChanges, volumeChanges, from, to, weight, volume));
+        }
+
+        long weightCapacity = weightCapacityGrams(vehicle);
+        long volumeCapacity = volumeCapacityLiters(vehicle);
+        long weight = 0;
+        long volume = 0;
+        for (int position = 0; position < size; position++) {
+            weight += weightChanges[position];
+            volume += volumeChanges[position];
+            if (weight > weightCapacity) {
+                return String.format(
+                        "Vehicle %s carries %s kg at route point %d, more than its %s kg",
+                        vehicle.getGosNumber(),
+                        kilograms(weight).toPlainString(),
+                        ordered.get(position).getOrderNumber(),
+                        kilograms(weightCapacity).toPlainString());
+            }
+            if (volume > volumeCapacity) {
+                return String.format(
+                        "Vehicle %s carries %s m3 at route point %d, more than its %s m3",
+                        vehicle.getGosNumber(),
+                        cubicMeters(volume).toPlainString(),
+                        ordered.get(position).getOrderNumber(),
+                        cubicMeters(volumeCapacity).toPlainString());
+            }
+        }
+        return null;
+    }
+
+    private static void addOnBoard(
+            long[] weightChanges, long[] volumeChanges, int from, int to, long weight, long volume) {
+        weightChanges[from] += weight;
+        weightChanges[to + 1] -= weight;
+        volumeChanges[from] += volume;
+        volumeChanges[to + 1] -= volume;
+    }
+}
@@ -2,26 +2,29 @@ package com.rendaxx.labs.service;
 
 import com.rendaxx.labs.domain.Driver;
 import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.dtos.DriverDto;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
 import com.rendaxx.labs.dtos.SaveVehicleDto;
 import com.rendaxx.labs.dtos.VehicleDto;
 import com.rendaxx.labs.events.EntityChangePublisher;
 import com.rendaxx.labs.events.EntityChangeType;
 import com.rendaxx.labs.exceptions.NotFoundException;
+import com.rendaxx.labs.exceptions.PreconditionFailedException;
 import com.rendaxx.labs.mappers.VehicleMapper;
 import com.rendaxx.labs.repository.DriverRepository;
 import com.rendaxx.labs.repository.VehicleRepository;
 import com.rendaxx.labs.repository.support.RepositoryGuard;
-import com.rendaxx.labs.repository.view.VehicleView;
-import com.rendaxx.labs.service.specification.EqualitySpecificationBuilder;
+import com.rendaxx.labs.service.paging.SpecificationPager;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -34,10 +37,11 @@ public class VehicleService {
     VehicleRepository repository;
     DriverRepository driverRepository;
     EntityChangePublisher changePublisher;
-    EqualitySpecificationBuilder specificationBuilder;
+    SpecificationPager pager;
     RepositoryGuard repositoryGuard;
+    EntityDtoCache dtoCache;
 
-    private static final String DESTINATION = "/topic/vehicles";
+    public static final String DESTINATION = "/topic/vehicles";
 
     public VehicleDto create(SaveVehicleDto command) {
         Vehicle vehicle = save(command, new Vehicle());
@@ -49,27 +53,31 @@ public class VehicleService {
         return dto;
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public VehicleDto getById(Long id) {
-        return repositoryGuard.execute(() -> repository
-                .findViewById(id)
-                .map(mapper::toDto)
-                .orElseThrow(() -> new NotFoundException(Vehicle.class, id)));
+        return dtoCache.get(
+                DESTINATION,
+                id,
+                () -> repositoryGuard.execute(() -> repository
+                        .findViewById(id)
+                        .map(mapper::toDto)
+                        .orElseThrow(() -> new NotFoundException(Vehicle.class, id))),
+                VehicleService::embeddedEntities);
     }
 
     @Transactional(readOnly = true)
-    public Page<VehicleDto> getAll(Pageable pageable, Map<String, String> filters) {
-        Specification<Vehicle> specification = specificationBuilder.build(filters);
-
-        return repositoryGuard
-                .execute(() -> repository.findBy(
-                        specification, q -> q.as(VehicleView.class).page(pageable)))
-                .map(mapper::toDto);
+    public PageDto<VehicleDto> getAll(PageQueryDto pageQuery, Map<String, String> filters) {
+        PageDto<Vehicle> result =
+                repositoryGuard.execute(() -> pager.find(Vehicle.class, filters, pageQuery));
+        return result.map(mapper::toDto);
     }
 
-    public VehicleDto update(Long id, SaveVehicleDto command) {
+    public VehicleDto update(Long id, SaveVehicleDto command, @Nullable Long expectedVersion) {
         Vehicle vehicle = repositoryGuard.execute(
                 () -> repository.findById(id).orElseThrow(() -> new NotFoundException(Vehicle.class, id)));
+        if (expectedVersion != null && !expectedVersion.equals(vehicle.getVersion())) {
+            throw new PreconditionFailedException(Vehicle.class, id);
+        }
         Vehicle savedVehicle = save(command, vehicle);
         VehicleDto dto = repositoryGuard.execute(() -> repository
                 .findViewById(id)
@@ -94,4 +102,9 @@ public class VehicleService {
         mapper.update(vehicle, command, driver);
         return repositoryGuard.execute(() -> repository.save(vehicle));
     }
+
+    private static List<EntityDtoCache.Key> embeddedEntities(VehicleDto vehicle) {
+        @Nullable DriverDto driver = vehicle.getDriver();
+        return driver == null ? List.of() : List.of(new EntityDtoCache.Key(DriverService.DESTINATION, driver.getId()));
+    }
 }
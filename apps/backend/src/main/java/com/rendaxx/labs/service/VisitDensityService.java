@@ -0,0 +1,117 @@
+package com.rendaxx.labs.service;
+
+import com.rendaxx.labs.domain.OperationType;
+import com.rendaxx.labs.dtos.GridShape;
+import com.rendaxx.labs.dtos.VisitDensityCellDto;
+import com.rendaxx.labs.dtos.VisitDensityGridDto;
+import com.rendaxx.labs.events.EntityChangedEvent;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import com.rendaxx.labs.repository.VisitDensityJdbcRepository;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/** Cached grids are cleared on committed route changes and expire after {@code cache-ttl}. */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class VisitDensityService {
+
+    private static final Set<String> SOURCE_DESTINATIONS =
+            Set.of(RouteService.DESTINATION, RoutePointService.DESTINATION, RetailPointService.DESTINATION);
+
+    VisitDensityJdbcRepository repository;
+    RepositoryGuard repositoryGuard;
+    Clock clock;
+    Duration cacheTtl;
+    Map<Key, Entry> cache;
+    AtomicLong generation = new AtomicLong();
+
+    public VisitDensityService(
+            VisitDensityJdbcRepository repository,
+            RepositoryGuard repositoryGuard,
+            Clock clock,
+            @Value("${labs.route-points.density.cache-max-entries:64}") int cacheMaxEntries,
+            @Value("${labs.route-points.density.cache-ttl:PT5M}") Duration cacheTtl) {
+        this.repository = repository;
+        this.repositoryGuard = repositoryGuard;
+        this.clock = clock;
+        this.cacheTtl = cacheTtl;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > cacheMaxEntries;
+            }
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public VisitDensityGridDto getGrid(
+            GridShape shape,
+            int cellSizeMeters,
+            @Nullable LocalDateTime from,
+            @Nullable LocalDateTime to,
+            @Nullable OperationType operationType) {
+        if (cellSizeMeters <= 0) {
+            throw new BadRequestException("Cell size must be positive");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("Period start must be before its end");
+        }
+        Key key = new Key(shape, cellSizeMeters, from, to, operationType);
+        Instant now = clock.instant();
+        synchronized (cache) {
+            Entry cached = cache.get(key);
+            if (cached != null && now.isBefore(cached.expiresAt())) {
+                return cached.grid();
+            }
+        }
+        long computedAt = generation.get();
+        List<VisitDensityCellDto> cells = repositoryGuard.execute(
+                () -> repository.findCells(shape, cellSizeMeters, from, to, operationType));
+        VisitDensityGridDto grid = new VisitDensityGridDto(shape, cellSizeMeters, List.copyOf(cells));
+        synchronized (cache) {
+            if (generation.get() == computedAt) {
+                cache.put(key, new Entry(grid, now.plus(cacheTtl)));
+            }
+        }
+        return grid;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEntityChanged(EntityChangedEvent<?> event) {
+        if (SOURCE_DESTINATIONS.contains(event.destination())) {
+            evictAll();
+        }
+    }
+
+    public void evictAll() {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.clear();
+        }
+    }
+
+    private record Key(
+            GridShape shape,
+            int cellSizeMeters,
+            @Nullable LocalDateTime from,
+            @Nullable LocalDateTime to,
+            @Nullable OperationType operationType) {}
+
+    private record Entry(VisitDensityGridDto grid, Instant expiresAt) {}
+}
@@ -0,0 +1,49 @@
+package com.rendaxx.labs.service.packing;
+
+import java.util.Arrays;
+
+/** Tournament tree keeping the largest remaining weight and volume below each node. */
+final class FirstFitIndex {
+
+    private final int leaves;
+    private final long[] weights;
+    private final long[] volumes;
+
+    FirstFitIndex(int size) {
+        int leaves = 1;
+        while (leaves < size) {
+            leaves <<= 1;
+        }
+        this.leaves = leaves;
+        this.weights = new long[leaves * 2];
+        this.volumes = new long[leaves * 2];
+        Arrays.fill(weights, -1);
+        Arrays.fill(volumes, -1);
+    }
+
+    void set(int slot, long weight, long volume) {
+        int node = slot + leaves;
+        weights[node] = weight;
+        volumes[node] = volume;
+        for (node >>= 1; node > 0; node >>= 1) {
+            weights[node] = Math.max(weights[node * 2], weights[node * 2 + 1]);
+            volumes[node] = Math.max(volumes[node * 2], volumes[node * 2 + 1]);
+        }
+    }
+
+    /** First slot with at least the given weight and volume left, or -1. */
+    int firstFit(long weight, long volume) {
+        return find(1, weight, volume);
+    }
+
+    private int find(int node, long weight, long volume) {
+        if (weights[node] < weight || volumes[node] < volume) {
+            return -1;
+        }
+        if (node >= leaves) {
+            return node - leaves;
+        }
+        int left = find(node * 2, weight, volume);
+        return left >= 0 ? left : find(node * 2 + 1, weight, volume);
+    }
+}
@@ -0,0 +1,150 @@
+package com.rendaxx.labs.service.packing;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/** Sizes put weight and volume on one scale as shares of the largest capacities in the fleet. */
+public final class PackingProblem {
+
+    private final long[] orderWeights;
+    private final long[] orderVolumes;
+    private final long[] weightCapacities;
+    private final long[] volumeCapacities;
+    private final double[] orderSizes;
+    private final boolean[] packable;
+    private final int[] vehiclesBySize;
+    private final int lowerBound;
+
+    /** Creates an instance; order arrays are indexed by order and capacity arrays by vehicle. */
+    public PackingProblem(
+            long[] orderWeights, long[] orderVolumes, long[] weightCapacities, long[] volumeCapacities) {
+        if (orderVolumes.length != orderWeights.length || volumeCapacities.length != weightCapacities.length) {
+            throw new IllegalArgumentException("Packing arrays have inconsistent lengths");
+        }
+        this.orderWeights = orderWeights;
+        this.orderVolumes = orderVolumes;
+        this.weightCapacities = weightCapacities;
+        this.volumeCapacities = volumeCapacities;
+        double maxWeight = Math.max(1, Arrays.stream(weightCapacities).max().orElse(1));
+        double maxVolume = Math.max(1, Arrays.stream(volumeCapacities).max().orElse(1));
+        this.orderSizes = new double[orderWeights.length];
+        for (int order = 0; order < orderWeights.length; order++) {
+            orderSizes[order] = Math.max(orderWeights[order] / maxWeight, orderVolumes[order] / maxVolume);
+        }
+        this.vehiclesBySize = IntStream.range(0, weightCapacities.length)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(vehicle ->
+                                weightCapacities[vehicle] / maxWeight + volumeCapacities[vehicle] / maxVolume)
+                        .reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.packable = findPackable();
+        this.lowerBound = computeLowerBound();
+    }
+
+    public int orderCount() {
+        return orderWeights.length;
+    }
+
+    public int vehicleCount() {
+        return weightCapacities.length;
+    }
+
+    long weight(int order) {
+        return orderWeights[order];
+    }
+
+    long volume(int order) {
+        return orderVolumes[order];
+    }
+
+    long weightCapacity(int vehicle) {
+        return weightCapacities[vehicle];
+    }
+
+    long volumeCapacity(int vehicle) {
+        return volumeCapacities[vehicle];
+    }
+
+    double size(int order) {
+        return orderSizes[order];
+    }
+
+    boolean isPackable(int order) {
+        return packable[order];
+    }
+
+    /** Vehicle at the given rank when ordered from the largest to the smallest. */
+    int vehicleBySize(int rank) {
+        return vehiclesBySize[rank];
+    }
+
+    /** Vehicles needed if loads could be split freely: no packing uses fewer. */
+    public int lowerBound() {
+        return lowerBound;
+    }
+
+    /** An order is packable when some vehicle has at least its weight and its volume. */
+    private boolean[] findPackable() {
+        int vehicleCount = weightCapacities.length;
+        Integer[] byWeight = IntStream.range(0, vehicleCount).boxed().toArray(Integer[]::new);
+        Arrays.sort(byWeight, Comparator.comparingLong((Integer vehicle) -> weightCapacities[vehicle]).reversed());
+        long[] weights = new long[vehicleCount];
+        long[] maxVolumes = new long[vehicleCount];
+        for (int rank = 0; rank < vehicleCount; rank++) {
+            weights[rank] = weightCapacities[byWeight[rank]];
+            long volume = volumeCapacities[byWeight[rank]];
+            maxVolumes[rank] = rank == 0 ? volume : Math.max(maxVolumes[rank - 1], volume);
+        }
+        boolean[] result = new boolean[orderWeights.length];
+        for (int order = 0; order < orderWeights.length; order++) {
+            int heavy = lastAtLeast(weights, orderWeights[order]);
+            result[order] = heavy >= 0 && maxVolumes[heavy] >= orderVolumes[order];
+        }
+        return result;
+    }
+
+    /** Index of the last of the descending values that is at least {@code value}, or -1. */
+    private static int lastAtLeast(long[] descending, long value) {
+        int low = 0;
+        int high = descending.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (descending[middle] >= value) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private int computeLowerBound() {
+        long weight = 0;
+        long volume = 0;
+        for (int order = 0; order < orderWeights.length; order++) {
+            if (packable[order]) {
+                weight += orderWeights[order];
+                volume += orderVolumes[order];
+            }
+        }
+        return Math.max(vehiclesToHold(weightCapacities, weight), vehiclesToHold(volumeCapacities, volume));
+    }
+
+    private static int vehiclesToHold(long[] capacities, long total) {
+        long[] descending = Arrays.stream(capacities)
+                .boxed()
+                .sorted(Comparator.reverseOrder())
+                .mapToLong(Long::longValue)
+                .toArray();
+        long held = 0;
+        int count = 0;
+        while (held < total && count < descending.length) {
+            held += descending[count++];
+        }
+        return count;
+    }
+}
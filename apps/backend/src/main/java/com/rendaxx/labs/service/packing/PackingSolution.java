@@ -0,0 +1,4 @@
+package com.rendaxx.labs.service.packing;
+
+/** Vehicle of every order, {@code -1} for orders left out. */
+public record PackingSolution(int[] vehicleOfOrder, int vehicleCount, int lowerBound, long iterations) {}
@@ -0,0 +1,230 @@
+package com.rendaxx.labs.service.packing;
+
+import java.util.Arrays;
+
+/** Intrusive linked lists make every move constant time; cost prefers uneven fills, easier to clear. */
+final class PackingState {
+
+    private final PackingProblem problem;
+    private final int unassigned;
+    private final int rejected;
+    private final int[] listOf;
+    private final int[] next;
+    private final int[] previous;
+    private final int[] heads;
+    private final int[] counts;
+    private final long[] weightLoads;
+    private final long[] volumeLoads;
+    private final int[] used;
+    private final int[] usedIndex;
+    private int usedCount;
+    private double fillSquares;
+
+    PackingState(PackingProblem problem) {
+        int vehicleCount = problem.vehicleCount();
+        int orderCount = problem.orderCount();
+        this.problem = problem;
+        this.unassigned = vehicleCount;
+        this.rejected = vehicleCount + 1;
+        this.listOf = new int[orderCount];
+        this.next = new int[orderCount];
+        this.previous = new int[orderCount];
+        this.heads = new int[vehicleCount + 2];
+        this.counts = new int[vehicleCount + 2];
+        this.weightLoads = new long[vehicleCount];
+        this.volumeLoads = new long[vehicleCount];
+        this.used = new int[vehicleCount];
+        this.usedIndex = new int[vehicleCount];
+        Arrays.fill(heads, -1);
+        Arrays.fill(usedIndex, -1);
+        for (int order = orderCount - 1; order >= 0; order--) {
+            attach(order, problem.isPackable(order) ? unassigned : rejected);
+        }
+    }
+
+    PackingState copy() {
+        PackingState copy = new PackingState(problem);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /** Overwrites this state with {@code source}, which must belong to the same problem. */
+    void copyFrom(PackingState source) {
+        System.arraycopy(source.listOf, 0, listOf, 0, listOf.length);
+        System.arraycopy(source.next, 0, next, 0, next.length);
+        System.arraycopy(source.previous, 0, previous, 0, previous.length);
+        System.arraycopy(source.heads, 0, heads, 0, heads.length);
+        System.arraycopy(source.counts, 0, counts, 0, counts.length);
+        System.arraycopy(source.weightLoads, 0, weightLoads, 0, weightLoads.length);
+        System.arraycopy(source.volumeLoads, 0, volumeLoads, 0, volumeLoads.length);
+        System.arraycopy(source.used, 0, used, 0, used.length);
+        System.arraycopy(source.usedIndex, 0, usedIndex, 0, usedIndex.length);
+        usedCount = source.usedCount;
+        fillSquares = source.fillSquares;
+    }
+
+    double cost() {
+        return counts[unassigned] * (problem.vehicleCount() + 1.0) + usedCount - fillSquares / (usedCount + 1);
+    }
+
+    /** Whether every packable order is loaded into no more vehicles than the lower bound. */
+    boolean reachesLowerBound() {
+        return counts[unassigned] == 0 && usedCount <= problem.lowerBound();
+    }
+
+    int usedCount() {
+        return usedCount;
+    }
+
+    int usedVehicle(int index) {
+        return used[index];
+    }
+
+    /** List index standing for "not loaded" in {@link #move} and {@link #vehicleOf}. */
+    int unassigned() {
+        return unassigned;
+    }
+
+    int orderCount(int vehicle) {
+        return counts[vehicle];
+    }
+
+    /** First order of a vehicle, or of {@link #unassigned()}; -1 when there is none. */
+    int firstOrder(int list) {
+        return heads[list];
+    }
+
+    int nextOrder(int order) {
+        return next[order];
+    }
+
+    /** Vehicle of the order, or {@link #unassigned()} and above when it is not loaded. */
+    int vehicleOf(int order) {
+        return listOf[order];
+    }
+
+    long weightLoad(int vehicle) {
+        return weightLoads[vehicle];
+    }
+
+    long volumeLoad(int vehicle) {
+        return volumeLoads[vehicle];
+    }
+
+    double fill(int vehicle) {
+        return fill(weightLoads[vehicle], volumeLoads[vehicle], vehicle);
+    }
+
+    boolean fits(int order, int vehicle) {
+        return weightLoads[vehicle] + problem.weight(order) <= problem.weightCapacity(vehicle)
+                && volumeLoads[vehicle] + problem.volume(order) <= problem.volumeCapacity(vehicle);
+    }
+
+    /** Whether the order fits into the vehicle of {@code loaded} once {@code loaded} is taken out. */
+    boolean fitsInstead(int order, int loaded) {
+        int vehicle = listOf[loaded];
+        return weightLoads[vehicle] - problem.weight(loaded) + problem.weight(order) <= problem.weightCapacity(vehicle)
+                && volumeLoads[vehicle] - problem.volume(loaded) + problem.volume(order)
+                        <= problem.volumeCapacity(vehicle);
+    }
+
+    double fillInstead(int order, int loaded) {
+        int vehicle = listOf[loaded];
+        return fill(
+                weightLoads[vehicle] - problem.weight(loaded) + problem.weight(order),
+                volumeLoads[vehicle] - problem.volume(loaded) + problem.volume(order),
+                vehicle);
+    }
+
+    /** The used vehicle that the order leaves fullest, or -1 when it fits none. */
+    int bestUsedFit(int order) {
+        int best = -1;
+        double bestFill = -1;
+        for (int index = 0; index < usedCount; index++) {
+            int vehicle = used[index];
+            if (fits(order, vehicle)) {
+                double fill = fill(
+                        weightLoads[vehicle] + problem.weight(order),
+                        volumeLoads[vehicle] + problem.volume(order),
+                        vehicle);
+                if (fill > bestFill) {
+                    best = vehicle;
+                    bestFill = fill;
+                }
+            }
+        }
+        return best;
+    }
+
+    /** The largest unused vehicle that can take the order, or -1. */
+    int largestUnusedFit(int order) {
+        for (int rank = 0; rank < problem.vehicleCount(); rank++) {
+            int vehicle = problem.vehicleBySize(rank);
+            if (usedIndex[vehicle] < 0 && fits(order, vehicle)) {
+                return vehicle;
+            }
+        }
+        return -1;
+    }
+
+    /** Moves the order to a vehicle or to {@link #unassigned()}. */
+    void move(int order, int list) {
+        if (listOf[order] != list) {
+            detach(order);
+            attach(order, list);
+        }
+    }
+
+    private void attach(int order, int list) {
+        listOf[order] = list;
+        previous[order] = -1;
+        next[order] = heads[list];
+        if (heads[list] >= 0) {
+            previous[heads[list]] = order;
+        }
+        heads[list] = order;
+        counts[list]++;
+        if (list < unassigned) {
+            changeLoad(list, problem.weight(order), problem.volume(order));
+        }
+    }
+
+    private void detach(int order) {
+        int list = listOf[order];
+        if (previous[order] >= 0) {
+            next[previous[order]] = next[order];
+        } else {
+            heads[list] = next[order];
+        }
+        if (next[order] >= 0) {
+            previous[next[order]] = previous[order];
+        }
+        counts[list]--;
+        if (list < unassigned) {
+            changeLoad(list, -problem.weight(order), -problem.volume(order));
+        }
+    }
+
+    private void changeLoad(int vehicle, long weight, long volume) {
+        double before = fill(vehicle);
+        weightLoads[vehicle] += weight;
+        volumeLoads[vehicle] += volume;
+        double after = fill(vehicle);
+        fillSquares += after * after - before * before;
+        boolean empty = counts[vehicle] == 0;
+        if (!empty && usedIndex[vehicle] < 0) {
+            usedIndex[vehicle] = usedCount;
+            used[usedCount++] = vehicle;
+        } else if (empty && usedIndex[vehicle] >= 0) {
+            int last = used[--usedCount];
+            used[usedIndex[vehicle]] = last;
+            usedIndex[last] = usedIndex[vehicle];
+            usedIndex[vehicle] = -1;
+        }
+    }
+
+    private double fill(long weight, long volume, int vehicle) {
+        return Math.max(
+                (double) weight / problem.weightCapacity(vehicle), (double) volume / problem.volumeCapacity(vehicle));
+    }
+}
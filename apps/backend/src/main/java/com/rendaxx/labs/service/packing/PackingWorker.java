@@ -0,0 +1,197 @@
+package com.rendaxx.labs.service.packing;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/** One thread of the search run by {@link VehiclePacker}, which empties nearly empty vehicles in place. */
+final class PackingWorker implements Callable<Long> {
+
+    private static final int MAX_EMPTIED = 3;
+    private static final int MAX_SCATTERED = 8;
+    private static final int MAX_RETRIED = 16;
+    private static final int SAMPLE_SIZE = 3;
+    private static final int SWAP_SAMPLE_SIZE = 16;
+    private static final int MAX_SWAPS = 64;
+    private static final int SYNC_INTERVAL = 64;
+    private static final double SIZE_NOISE = 0.2;
+    private static final double TOLERANCE = 1e-9;
+
+    private final PackingProblem problem;
+    private final VehiclePacker.SharedBest shared;
+    private final long deadline;
+    private final SplittableRandom random;
+    private final PackingState state;
+    private final int[] pool;
+    private final double[] poolSizes;
+    private final int[] journalOrders;
+    private final int[] journalLists;
+    private int poolSize;
+    private int journalSize;
+
+    PackingWorker(PackingProblem problem, VehiclePacker.SharedBest shared, long deadline, long seed) {
+        this.problem = problem;
+        this.shared = shared;
+        this.deadline = deadline;
+        this.random = new SplittableRandom(seed);
+        this.state = shared.get().copy();
+        this.pool = new int[problem.orderCount() + MAX_SWAPS];
+        this.poolSizes = new double[problem.orderCount() + MAX_SWAPS];
+        this.journalOrders = new int[(problem.orderCount() + MAX_SWAPS) * 2];
+        this.journalLists = new int[(problem.orderCount() + MAX_SWAPS) * 2];
+    }
+
+    @Override
+    public Long call() {
+        double cost = state.cost();
+        long iterations = 0;
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            poolSize = 0;
+            journalSize = 0;
+            ruin();
+            recreate();
+            iterations++;
+
+            double candidate = state.cost();
+            if (candidate <= cost + TOLERANCE) {
+                cost = candidate;
+            } else {
+                undo();
+            }
+            if (iterations % SYNC_INTERVAL == 0) {
+                cost = synchronize(cost);
+                if (state.reachesLowerBound()) {
+                    break;
+                }
+            }
+        }
+        synchronize(cost);
+        return iterations;
+    }
+
+    private double synchronize(double cost) {
+        PackingState best = shared.get();
+        double bestCost = best.cost();
+        if (cost < bestCost) {
+            shared.offer(state.copy());
+            return cost;
+        }
+        if (bestCost < cost) {
+            state.copyFrom(best);
+            return bestCost;
+        }
+        return cost;
+    }
+
+    private void ruin() {
+        int order = state.firstOrder(state.unassigned());
+        while (order >= 0 && poolSize < MAX_RETRIED) {
+            pool[poolSize++] = order;
+            order = state.nextOrder(order);
+        }
+        int emptied = 1 + random.nextInt(MAX_EMPTIED);
+        for (int i = 0; i < emptied && state.usedCount() > 0; i++) {
+            int vehicle = emptiestOfSample();
+            while (state.firstOrder(vehicle) >= 0) {
+                unload(state.firstOrder(vehicle));
+            }
+        }
+        int scattered = random.nextInt(MAX_SCATTERED + 1);
+        for (int i = 0; i < scattered && state.usedCount() > 0; i++) {
+            int vehicle = state.usedVehicle(random.nextInt(state.usedCount()));
+            order = state.firstOrder(vehicle);
+            for (int skip = random.nextInt(state.orderCount(vehicle)); skip > 0; skip--) {
+                order = state.nextOrder(order);
+            }
+            unload(order);
+        }
+    }
+
+    private void recreate() {
+        for (int i = 0; i < poolSize; i++) {
+            poolSizes[i] = problem.size(pool[i]) * (1 + SIZE_NOISE * random.nextDouble());
+        }
+        sortPoolBySizeDescending();
+        int swaps = 0;
+        for (int i = 0; i < poolSize; i++) {
+            int order = pool[i];
+            int vehicle = state.bestUsedFit(order);
+            if (vehicle < 0 && swaps < MAX_SWAPS) {
+                int replaced = smallerToReplace(order);
+                if (replaced >= 0) {
+                    vehicle = state.vehicleOf(replaced);
+                    unload(replaced);
+                    swaps++;
+                }
+            }
+            if (vehicle < 0) {
+                vehicle = state.largestUnusedFit(order);
+            }
+            if (vehicle >= 0) {
+                journal(order);
+                state.move(order, vehicle);
+            }
+        }
+    }
+
+    private void unload(int order) {
+        journal(order);
+        state.move(order, state.unassigned());
+        pool[poolSize++] = order;
+    }
+
+    private void journal(int order) {
+        journalOrders[journalSize] = order;
+        journalLists[journalSize++] = state.vehicleOf(order);
+    }
+
+    private void undo() {
+        for (int i = journalSize - 1; i >= 0; i--) {
+            state.move(journalOrders[i], journalLists[i]);
+        }
+    }
+
+    /** Smaller order in a sampled vehicle that the order could replace, leaving it fullest; -1 if none. */
+    private int smallerToReplace(int order) {
+        int best = -1;
+        double bestFill = -1;
+        for (int i = 0; i < SWAP_SAMPLE_SIZE && state.usedCount() > 0; i++) {
+            int vehicle = state.usedVehicle(random.nextInt(state.usedCount()));
+            for (int loaded = state.firstOrder(vehicle); loaded >= 0; loaded = state.nextOrder(loaded)) {
+                if (problem.size(loaded) < problem.size(order) && state.fitsInstead(order, loaded)) {
+                    double fill = state.fillInstead(order, loaded);
+                    if (fill > bestFill) {
+                        best = loaded;
+                        bestFill = fill;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private int emptiestOfSample() {
+        int emptiest = state.usedVehicle(random.nextInt(state.usedCount()));
+        for (int i = 1; i < SAMPLE_SIZE; i++) {
+            int vehicle = state.usedVehicle(random.nextInt(state.usedCount()));
+            if (state.fill(vehicle) < state.fill(emptiest)) {
+                emptiest = vehicle;
+            }
+        }
+        return emptiest;
+    }
+
+    /** Insertion sort; pools hold a few dozen orders. */
+    private void sortPoolBySizeDescending() {
+        for (int i = 1; i < poolSize; i++) {
+            int order = pool[i];
+            double size = poolSizes[i];
+            int j = i - 1;
+            for (; j >= 0 && poolSizes[j] < size; j--) {
+                pool[j + 1] = pool[j];
+                poolSizes[j + 1] = poolSizes[j];
+            }
+            pool[j + 1] = order;
+            poolSizes[j + 1] = size;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.rendaxx.labs.service.packing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/** First-fit-decreasing packing improved by parallel workers until the budget or the lower bound. */
+public final class VehiclePacker {
+
+    private VehiclePacker() {}
+
+    public static PackingSolution pack(
+            PackingProblem problem, Duration timeBudget, int parallelism, ExecutorService executor, long seed) {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        PackingState initial = firstFitDecreasing(problem);
+        SharedBest shared = new SharedBest(initial);
+        long iterations = 0;
+        if (!initial.reachesLowerBound() && initial.usedCount() > 0 && System.nanoTime() < deadline) {
+            List<Future<Long>> workers = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(executor.submit(new PackingWorker(problem, shared, deadline, seed + i)));
+            }
+            iterations = await(workers);
+        }
+        return toSolution(problem, shared.get(), iterations);
+    }
+
+    private static PackingState firstFitDecreasing(PackingProblem problem) {
+        PackingState state = new PackingState(problem);
+        FirstFitIndex index = new FirstFitIndex(problem.vehicleCount());
+        for (int rank = 0; rank < problem.vehicleCount(); rank++) {
+            int vehicle = problem.vehicleBySize(rank);
+            index.set(rank, problem.weightCapacity(vehicle), problem.volumeCapacity(vehicle));
+        }
+        int[] orders = IntStream.range(0, problem.orderCount())
+                .filter(problem::isPackable)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(problem::size).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        for (int order : orders) {
+            int rank = index.firstFit(problem.weight(order), problem.volume(order));
+            if (rank < 0) {
+                continue;
+            }
+            int vehicle = problem.vehicleBySize(rank);
+            state.move(order, vehicle);
+            index.set(
+                    rank,
+                    problem.weightCapacity(vehicle) - state.weightLoad(vehicle),
+                    problem.volumeCapacity(vehicle) - state.volumeLoad(vehicle));
+        }
+        return state;
+    }
+
+    private static long await(List<Future<Long>> workers) {
+        long iterations = 0;
+        try {
+            for (Future<Long> worker : workers) {
+                iterations += worker.get();
+            }
+        } catch (InterruptedException ex) {
+            workers.forEach(worker -> worker.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Vehicle packing was interrupted", ex);
+        } catch (ExecutionException ex) {
+            workers.forEach(worker -> worker.cancel(true));
+            throw new IllegalStateException("Vehicle packing failed", ex.getCause());
+        }
+        return iterations;
+    }
+
+    private static PackingSolution toSolution(PackingProblem problem, PackingState state, long iterations) {
+        int[] vehicleOfOrder = new int[problem.orderCount()];
+        for (int order = 0; order < vehicleOfOrder.length; order++) {
+            int vehicle = state.vehicleOf(order);
+            vehicleOfOrder[order] = vehicle < state.unassigned() ? vehicle : -1;
+        }
+        return new PackingSolution(vehicleOfOrder, state.usedCount(), problem.lowerBound(), iterations);
+    }
+
+    /** Best packing found so far by any worker; published states are never changed afterwards. */
+    static final class SharedBest {
+
+        private PackingState best;
+
+        SharedBest(PackingState initial) {
+            this.best = initial.copy();
+        }
+
+        synchronized PackingState get() {
+            return best;
+        }
+
+        synchronized void offer(PackingState candidate) {
+            if (candidate.cost() < best.cost()) {
+                best = candidate;
+            }
+        }
+    }
+}
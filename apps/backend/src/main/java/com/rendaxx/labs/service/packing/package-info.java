@@ -0,0 +1,4 @@
+@NullMarked
+package com.rendaxx.labs.service.packing;
+
+import org.jspecify.annotations.NullMarked;
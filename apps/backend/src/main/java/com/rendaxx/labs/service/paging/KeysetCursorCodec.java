@@ -0,0 +1,128 @@
+package com.rendaxx.labs.service.paging;
+
+import com.rendaxx.labs.exceptions.BadRequestException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
+
+/** Opaque cursors carrying their sort, so a cursor replayed against another sort is rejected. */
+final class KeysetCursorCodec {
+
+    private static final String SEPARATOR = ".";
+    private static final String NULL_VALUE = "~";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private static final Map<Class<?>, Function<String, Object>> PARSERS = Map.ofEntries(
+            Map.entry(String.class, value -> value),
+            Map.entry(Long.class, Long::valueOf),
+            Map.entry(long.class, Long::valueOf),
+            Map.entry(Integer.class, Integer::valueOf),
+            Map.entry(int.class, Integer::valueOf),
+            Map.entry(Short.class, Short::valueOf),
+            Map.entry(short.class, Short::valueOf),
+            Map.entry(Double.class, Double::valueOf),
+            Map.entry(double.class, Double::valueOf),
+            Map.entry(Float.class, Float::valueOf),
+            Map.entry(float.class, Float::valueOf),
+            Map.entry(Boolean.class, Boolean::valueOf),
+            Map.entry(boolean.class, Boolean::valueOf),
+            Map.entry(BigDecimal.class, BigDecimal::new),
+            Map.entry(LocalDateTime.class, LocalDateTime::parse),
+            Map.entry(LocalDate.class, LocalDate::parse),
+            Map.entry(LocalTime.class, LocalTime::parse),
+            Map.entry(OffsetDateTime.class, OffsetDateTime::parse),
+            Map.entry(Instant.class, Instant::parse),
+            Map.entry(UUID.class, UUID::fromString));
+
+    private KeysetCursorCodec() {}
+
+    static boolean supports(Class<?> type) {
+        return type.isEnum() || PARSERS.containsKey(type);
+    }
+
+    static String encode(Sort sort, List<@Nullable Object> values) {
+        StringJoiner joiner = new StringJoiner(SEPARATOR);
+        joiner.add(encodeSegment(signature(sort)));
+        for (Object value : values) {
+            joiner.add(value == null ? NULL_VALUE : encodeSegment(format(value)));
+        }
+        return encodeSegment(joiner.toString());
+    }
+
+    static List<@Nullable String> decode(String cursor, Sort sort) {
+        String[] segments;
+        String signature;
+        try {
+            segments = decodeSegment(cursor).split("\\" + SEPARATOR, -1);
+            signature = decodeSegment(segments[0]);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+        if (segments.length != sort.toList().size() + 1 || !signature.equals(signature(sort))) {
+            throw new BadRequestException("Cursor does not match the requested sort");
+        }
+        List<@Nullable String> values = new ArrayList<>();
+        for (int i = 1; i < segments.length; i++) {
+            try {
+                values.add(NULL_VALUE.equals(segments[i]) ? null : decodeSegment(segments[i]));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Invalid cursor", ex);
+            }
+        }
+        return values;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object parse(String value, Class<?> type) {
+        Function<String, Object> parser =
+                type.isEnum() ? raw -> Enum.valueOf((Class<? extends Enum>) type, raw) : PARSERS.get(type);
+        if (parser == null) {
+            throw new BadRequestException(
+                    "Sort values of type " + type.getSimpleName() + " cannot be used with a cursor");
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+    }
+
+    private static String format(Object value) {
+        if (value instanceof Enum<?> enumValue) {
+            return enumValue.name();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+
+    private static String signature(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + "," + order.getDirection().name().toLowerCase())
+                .collect(Collectors.joining(";"));
+    }
+
+    private static String encodeSegment(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeSegment(String value) {
+        return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,84 @@
+package com.rendaxx.labs.service.paging;
+
+import com.rendaxx.labs.repository.StatisticsJdbcRepository;
+import com.rendaxx.labs.service.specification.EqualitySpecificationBuilder;
+import jakarta.persistence.Column;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/** Estimates totals for unfiltered requests and equality filters on own columns; nothing otherwise. */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RowCountEstimator {
+
+    private static final String ID = "id";
+
+    StatisticsJdbcRepository statisticsRepository;
+    EqualitySpecificationBuilder specificationBuilder;
+
+    public OptionalLong estimate(Class<?> domainType, Map<String, String> filters) {
+        Table table = domainType.getAnnotation(Table.class);
+        if (table == null || !StringUtils.hasText(table.name())) {
+            return OptionalLong.empty();
+        }
+        Map<String, String> columnValues = new LinkedHashMap<>();
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            if (!StringUtils.hasText(filter.getValue())) {
+                continue;
+            }
+            String column = resolveColumn(domainType, specificationBuilder.attributePath(filter.getKey()));
+            if (column == null) {
+                return OptionalLong.empty();
+            }
+            columnValues.put(column, filter.getValue());
+        }
+        if (columnValues.isEmpty()) {
+            return statisticsRepository.estimateRowCount(table.name());
+        }
+        return statisticsRepository.estimateRowCount(table.name(), columnValues);
+    }
+
+    private static @Nullable String resolveColumn(Class<?> domainType, List<String> attributePath) {
+        if (attributePath.isEmpty() || attributePath.size() > 2) {
+            return null;
+        }
+        Field field = ReflectionUtils.findField(domainType, attributePath.getFirst());
+        if (field == null || Collection.class.isAssignableFrom(field.getType())) {
+            return null;
+        }
+        boolean association = field.isAnnotationPresent(ManyToOne.class);
+        if (attributePath.size() == 1) {
+            if (association) {
+                return null;
+            }
+            Column column = field.getAnnotation(Column.class);
+            return column != null && StringUtils.hasText(column.name()) ? column.name() : snakeCase(field.getName());
+        }
+        if (!association || !ID.equals(attributePath.get(1))) {
+            return null;
+        }
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        return joinColumn != null && StringUtils.hasText(joinColumn.name())
+                ? joinColumn.name()
+                : snakeCase(field.getName()) + "_" + ID;
+    }
+
+    private static String snakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
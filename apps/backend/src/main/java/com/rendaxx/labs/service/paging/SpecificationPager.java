@@ -0,0 +1,331 @@
+package com.rendaxx.labs.service.paging;
+
+import com.rendaxx.labs.dtos.CountStrategy;
+import com.rendaxx.labs.dtos.PageDto;
+import com.rendaxx.labs.dtos.PageQueryDto;
+import com.rendaxx.labs.exceptions.BadRequestException;
+import com.rendaxx.labs.service.specification.EqualitySpecificationBuilder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.ToLongFunction;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.core.PropertyPath;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+/** Runs filtered list queries by offset or keyset, fetching one extra row to detect a next page. */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SpecificationPager {
+
+    private static final String ID = "id";
+
+    EntityManager entityManager;
+    EqualitySpecificationBuilder specificationBuilder;
+    RowCountEstimator rowCountEstimator;
+
+    public <T> PageDto<T> find(Class<T> domainType, Map<String, String> filters, PageQueryDto pageQuery) {
+        return find(domainType, null, filters, pageQuery);
+    }
+
+    /** Statistics cannot account for the {@code constraint}, so estimates fall back to exact counts. */
+    public <T> PageDto<T> find(
+            Class<T> domainType,
+            @Nullable Specification<T> constraint,
+            Map<String, String> filters,
+            PageQueryDto pageQuery) {
+        Specification<T> filterSpecification = specificationBuilder.build(filters);
+        Specification<T> specification =
+                constraint == null ? filterSpecification : filterSpecification.and(constraint);
+        Pageable pageable = pageQuery.getPageable();
+        String cursor = pageQuery.getCursor();
+        Sort sort = withIdTieBreaker(pageable.getSort());
+        int size = pageable.getPageSize();
+        long offset = cursor == null ? pageable.getOffset() : 0;
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(domainType);
+        Root<T> root = query.from(domainType);
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = specification.toPredicate(root, query, criteriaBuilder);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (cursor != null) {
+            predicates.add(keysetPredicate(root, criteriaBuilder, sort, KeysetCursorCodec.decode(cursor, sort)));
+        }
+        query.select(root)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        TypedQuery<T> typedQuery = entityManager
+                .createQuery(query)
+                .setFirstResult(Math.toIntExact(Math.min(offset, Integer.MAX_VALUE)))
+                .setMaxResults(size + 1);
+        List<T> rows = typedQuery.getResultList();
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+
+        Long knownTotal = cursor == null && !hasNext && (!content.isEmpty() || offset == 0)
+                ? offset + content.size()
+                : null;
+        long minimumTotal = offset + content.size() + (hasNext ? 1 : 0);
+        Total total = total(
+                domainType,
+                specification,
+                constraint == null ? filters : null,
+                pageQuery.getCountStrategy(),
+                knownTotal,
+                minimumTotal);
+        Integer totalPages = total.elements() == null ? null : (int) Math.ceil((double) total.elements() / size);
+        String nextCursor = hasNext ? cursorAfter(content.getLast(), sort) : null;
+
+        return new PageDto<>(
+                content,
+                cursor == null ? pageable.getPageNumber() : 0,
+                size,
+                pageable.getSort(),
+                total.elements(),
+                totalPages,
+                cursor == null && offset == 0,
+                !hasNext,
+                content.isEmpty(),
+                hasNext,
+                nextCursor,
+                total.strategy());
+    }
+
+    public boolean canPage(Class<?> domainType, Map<String, String> filters, PageQueryDto pageQuery) {
+        return !specificationBuilder.constrains(domainType, filters) && isIdOrder(pageQuery);
+    }
+
+    /** Pages rows held in memory, sorted by id, with the same cursors {@link #find} hands out. */
+    public <T> PageDto<T> page(List<T> rowsById, ToLongFunction<T> idOf, PageQueryDto pageQuery) {
+        if (!isIdOrder(pageQuery)) {
+            throw new IllegalArgumentException("Rows in memory can only be paged in id order");
+        }
+        Pageable pageable = pageQuery.getPageable();
+        String cursor = pageQuery.getCursor();
+        Sort sort = withIdTieBreaker(pageable.getSort());
+        boolean descending = sort.toList().getFirst().isDescending();
+        List<T> ordered = descending ? rowsById.reversed() : rowsById;
+        int size = pageable.getPageSize();
+
+        int from = 0;
+        if (cursor == null) {
+            from = Math.toIntExact(Math.min(pageable.getOffset(), ordered.size()));
+        } else {
+            String rawId = KeysetCursorCodec.decode(cursor, sort).getFirst();
+            if (rawId == null) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            long afterId = (Long) KeysetCursorCodec.parse(rawId, Long.class);
+            while (from < ordered.size()
+                    && (descending
+                            ? idOf.applyAsLong(ordered.get(from)) >= afterId
+                            : idOf.applyAsLong(ordered.get(from)) <= afterId)) {
+                from++;
+            }
+        }
+        int to = Math.toIntExact(Math.min((long) from + size, ordered.size()));
+        List<T> content = new ArrayList<>(ordered.subList(from, to));
+        boolean hasNext = to < ordered.size();
+
+        boolean counted = pageQuery.getCountStrategy() != CountStrategy.NONE;
+        Long totalElements = counted ? (long) ordered.size() : null;
+        Integer totalPages = counted ? (int) Math.ceil((double) ordered.size() / size) : null;
+        String nextCursor = hasNext
+                ? KeysetCursorCodec.encode(sort, List.of(idOf.applyAsLong(content.getLast())))
+                : null;
+
+        return new PageDto<>(
+                content,
+                cursor == null ? pageable.getPageNumber() : 0,
+                size,
+                pageable.getSort(),
+                totalElements,
+                totalPages,
+                cursor == null && pageable.getOffset() == 0,
+                !hasNext,
+                content.isEmpty(),
+                hasNext,
+                nextCursor,
+                counted ? CountStrategy.EXACT : CountStrategy.NONE);
+    }
+
+    private static boolean isIdOrder(PageQueryDto pageQuery) {
+        return pageQuery.getPageable().getSort().stream().allMatch(order -> ID.equals(order.getProperty()));
+    }
+
+    /** Totals the page reveals are exact; estimates never drop below the rows already seen. */
+    private <T> Total total(
+            Class<T> domainType,
+            Specification<T> specification,
+            @Nullable Map<String, String> filters,
+            CountStrategy strategy,
+            @Nullable Long knownTotal,
+            long minimumTotal) {
+        if (strategy == CountStrategy.NONE) {
+            return new Total(null, CountStrategy.NONE);
+        }
+        if (knownTotal != null) {
+            return new Total(knownTotal, CountStrategy.EXACT);
+        }
+        if (strategy == CountStrategy.ESTIMATE && filters != null) {
+            OptionalLong estimate = rowCountEstimator.estimate(domainType, filters);
+            if (estimate.isPresent()) {
+                return new Total(Math.max(estimate.getAsLong(), minimumTotal), CountStrategy.ESTIMATE);
+            }
+        }
+        return new Total(count(domainType, specification), CountStrategy.EXACT);
+    }
+
+    private <T> long count(Class<T> domainType, Specification<T> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<T> root = query.from(domainType);
+        Predicate filter = specification.toPredicate(root, query, criteriaBuilder);
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.select(query.isDistinct() ? criteriaBuilder.countDistinct(root) : criteriaBuilder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /** Expands {@code (a, id) > (:a, :id)}, which JPA criteria lack, keeping {@code a >= :a} as index bound. */
+    private Predicate keysetPredicate(
+            Root<?> root, CriteriaBuilder criteriaBuilder, Sort sort, List<@Nullable String> rawValues) {
+        List<Sort.Order> orders = sort.toList();
+        List<Path<?>> paths = new ArrayList<>();
+        List<@Nullable Object> values = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Path<?> path = keyPath(root, orders.get(i).getProperty());
+            String rawValue = rawValues.get(i);
+            paths.add(path);
+            values.add(rawValue == null ? null : KeysetCursorCodec.parse(rawValue, path.getJavaType()));
+        }
+
+        int last = orders.size() - 1;
+        Predicate predicate = after(criteriaBuilder, paths.get(last), values.get(last), orders.get(last));
+        for (int i = last - 1; i >= 0; i--) {
+            Path<?> path = paths.get(i);
+            Object value = values.get(i);
+            Predicate tie = value == null ? criteriaBuilder.isNull(path) : criteriaBuilder.equal(path, value);
+            predicate = criteriaBuilder.or(
+                    after(criteriaBuilder, path, value, orders.get(i)), criteriaBuilder.and(tie, predicate));
+        }
+
+        Object leadingValue = values.getFirst();
+        if (last == 0 || leadingValue == null) {
+            return predicate;
+        }
+        Path<?> leadingPath = paths.getFirst();
+        Predicate bound = orders.getFirst().isAscending()
+                ? compare(criteriaBuilder, leadingPath, leadingValue, true, true)
+                : compare(criteriaBuilder, leadingPath, leadingValue, false, true);
+        if (orders.getFirst().isAscending() && isNullable(leadingPath)) {
+            bound = criteriaBuilder.or(bound, criteriaBuilder.isNull(leadingPath));
+        }
+        return criteriaBuilder.and(bound, predicate);
+    }
+
+    private Predicate after(CriteriaBuilder criteriaBuilder, Path<?> path, @Nullable Object value, Sort.Order order) {
+        if (value == null) {
+            return order.isAscending() ? criteriaBuilder.disjunction() : criteriaBuilder.isNotNull(path);
+        }
+        Predicate strict = compare(criteriaBuilder, path, value, order.isAscending(), false);
+        if (order.isAscending() && isNullable(path)) {
+            return criteriaBuilder.or(strict, criteriaBuilder.isNull(path));
+        }
+        return strict;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate compare(
+            CriteriaBuilder criteriaBuilder, Path<?> path, Object value, boolean greater, boolean inclusive) {
+        Expression<Comparable> expression = (Expression<Comparable>) path;
+        Comparable comparable = (Comparable) value;
+        if (greater) {
+            return inclusive
+                    ? criteriaBuilder.greaterThanOrEqualTo(expression, comparable)
+                    : criteriaBuilder.greaterThan(expression, comparable);
+        }
+        return inclusive
+                ? criteriaBuilder.lessThanOrEqualTo(expression, comparable)
+                : criteriaBuilder.lessThan(expression, comparable);
+    }
+
+    private static Path<?> keyPath(Root<?> root, String property) {
+        PropertyPath propertyPath = PropertyPath.from(property, root.getJavaType());
+        if (propertyPath.hasNext()) {
+            throw new BadRequestException(
+                    "Cursor pagination supports only top-level sort properties, got '" + property + "'");
+        }
+        Path<?> path = root.get(propertyPath.getSegment());
+        if (!(path.getModel() instanceof SingularAttribute<?, ?>) || !KeysetCursorCodec.supports(path.getJavaType())) {
+            throw new BadRequestException("Sort property '" + property + "' cannot be used with a cursor");
+        }
+        return path;
+    }
+
+    private static boolean isNullable(Path<?> path) {
+        return !(path.getModel() instanceof SingularAttribute<?, ?> attribute)
+                || (attribute.isOptional() && !attribute.isId());
+    }
+
+    private static @Nullable String cursorAfter(Object entity, Sort sort) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        List<@Nullable Object> values = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (order.getProperty().contains(".")) {
+                return null;
+            }
+            Object value;
+            try {
+                value = wrapper.getPropertyValue(order.getProperty());
+            } catch (BeansException ex) {
+                return null;
+            }
+            if (value != null && !KeysetCursorCodec.supports(value.getClass())) {
+                return null;
+            }
+            values.add(value);
+        }
+        return KeysetCursorCodec.encode(sort, values);
+    }
+
+    private static Sort withIdTieBreaker(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order);
+            if (ID.equals(order.getProperty())) {
+                return Sort.by(orders);
+            }
+        }
+        orders.add(Sort.Order.asc(ID));
+        return Sort.by(orders);
+    }
+
+    private record Total(@Nullable Long elements, CountStrategy strategy) {}
+}
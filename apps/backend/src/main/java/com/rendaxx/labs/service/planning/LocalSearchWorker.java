@@ -0,0 +1,204 @@
+package com.rendaxx.labs.service.planning;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/** One thread of the ruin-and-recreate search run by {@link RoutePlanner}. */
+final class LocalSearchWorker implements Callable<Long> {
+
+    private static final int MIN_RUIN = 2;
+    private static final int MAX_RUIN = 24;
+    private static final int RELATED_SAMPLE_FACTOR = 8;
+    private static final int SYNC_INTERVAL = 64;
+    private static final double INITIAL_THRESHOLD = 0.02;
+
+    private final PlanningProblem problem;
+    private final RoutePlanner.SharedBest shared;
+    private final long startedAt;
+    private final long deadline;
+    private final int candidateRoutes;
+    private final SplittableRandom random;
+
+    LocalSearchWorker(
+            PlanningProblem problem,
+            RoutePlanner.SharedBest shared,
+            long deadline,
+            int candidateRoutes,
+            long seed) {
+        this.problem = problem;
+        this.shared = shared;
+        this.startedAt = System.nanoTime();
+        this.deadline = deadline;
+        this.candidateRoutes = candidateRoutes;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public Long call() {
+        PlanningState best = shared.get();
+        PlanningState current = best;
+        long iterations = 0;
+        for (long now = System.nanoTime();
+                now < deadline && !Thread.currentThread().isInterrupted();
+                now = System.nanoTime()) {
+            PlanningState candidate = current.copy();
+            int[] removed = ruin(candidate);
+            recreate(candidate, removed);
+            iterations++;
+
+            double threshold = INITIAL_THRESHOLD * best.distance() * (deadline - now) / (deadline - startedAt);
+            if (candidate.cost() < best.cost()) {
+                best = candidate;
+                shared.offer(candidate.copy());
+            }
+            if (candidate.cost() <= best.cost() + threshold) {
+                current = candidate;
+            }
+            if (iterations % SYNC_INTERVAL == 0) {
+                PlanningState global = shared.get();
+                if (global.cost() < best.cost()) {
+                    best = global;
+                    current = global;
+                }
+            }
+        }
+        return iterations;
+    }
+
+    private int[] ruin(PlanningState state) {
+        int assigned = problem.orderCount() - state.unassignedCount();
+        if (assigned == 0) {
+            return new int[0];
+        }
+        int count = Math.min(assigned, MIN_RUIN + random.nextInt(MAX_RUIN - MIN_RUIN + 1));
+        int[] removed = switch (random.nextInt(3)) {
+            case 0 -> relatedOrders(state, count);
+            case 1 -> randomOrders(state, count);
+            default -> routeOrders(state, count * 2);
+        };
+        for (int order : removed) {
+            state.remove(order);
+        }
+        return removed;
+    }
+
+    private void recreate(PlanningState state, int[] removed) {
+        int[] unassigned = state.unassignedOrders();
+        int extra = Math.min(unassigned.length - removed.length, Math.max(removed.length, MIN_RUIN));
+        int[] orders = Arrays.copyOf(removed, removed.length + Math.max(extra, 0));
+        int next = removed.length;
+        shuffle(unassigned, unassigned.length);
+        for (int i = 0; i < unassigned.length && next < orders.length; i++) {
+            if (!contains(removed, unassigned[i])) {
+                orders[next++] = unassigned[i];
+            }
+        }
+        shuffle(orders, next);
+        for (int i = 0; i < next; i++) {
+            state.insertCheapest(orders[i], candidateRoutes);
+        }
+    }
+
+    /** The seed order and the orders whose pickup and drop lie closest to its own. */
+    private int[] relatedOrders(PlanningState state, int count) {
+        int seed = randomAssignedOrder(state);
+        int sampleSize = Math.min(problem.orderCount(), count * RELATED_SAMPLE_FACTOR);
+        int[] sample = new int[sampleSize];
+        double[] relatedness = new double[sampleSize];
+        int sampled = 0;
+        for (int attempt = 0; attempt < sampleSize * 2 && sampled < sampleSize; attempt++) {
+            int order = random.nextInt(problem.orderCount());
+            if (order == seed || !state.isAssigned(order) || contains(sample, sampled, order)) {
+                continue;
+            }
+            sample[sampled] = order;
+            relatedness[sampled] =
+                    problem.distance(PlanningProblem.pickup(seed), PlanningProblem.pickup(order))
+                            + problem.distance(PlanningProblem.drop(seed), PlanningProblem.drop(order));
+            sampled++;
+        }
+        int[] removed = new int[Math.min(count, sampled + 1)];
+        removed[0] = seed;
+        for (int i = 1; i < removed.length; i++) {
+            int closest = i - 1;
+            for (int j = i; j < sampled; j++) {
+                if (relatedness[j] < relatedness[closest]) {
+                    closest = j;
+                }
+            }
+            swap(sample, relatedness, i - 1, closest);
+            removed[i] = sample[i - 1];
+        }
+        return removed;
+    }
+
+    private int[] randomOrders(PlanningState state, int count) {
+        int[] removed = new int[count];
+        int taken = 0;
+        while (taken < count) {
+            int order = randomAssignedOrder(state);
+            if (!contains(removed, taken, order)) {
+                removed[taken++] = order;
+            }
+        }
+        return removed;
+    }
+
+    /** Orders of a random used route, up to {@code limit} of them. */
+    private int[] routeOrders(PlanningState state, int limit) {
+        int vehicle = random.nextInt(state.routeCount());
+        while (state.route(vehicle).isEmpty()) {
+            vehicle = (vehicle + 1) % state.routeCount();
+        }
+        PlanningRoute route = state.route(vehicle);
+        int[] removed = new int[Math.min(limit, route.size() / 2)];
+        int taken = 0;
+        for (int position = 0; position < route.size() && taken < removed.length; position++) {
+            int stop = route.stop(position);
+            if (PlanningProblem.isPickup(stop)) {
+                removed[taken++] = PlanningProblem.orderOf(stop);
+            }
+        }
+        return removed;
+    }
+
+    private int randomAssignedOrder(PlanningState state) {
+        int order = random.nextInt(problem.orderCount());
+        while (!state.isAssigned(order)) {
+            order = (order + 1) % problem.orderCount();
+        }
+        return order;
+    }
+
+    private void shuffle(int[] values, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private static void swap(int[] orders, double[] keys, int i, int j) {
+        int order = orders[i];
+        orders[i] = orders[j];
+        orders[j] = order;
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        return contains(values, values.length, value);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
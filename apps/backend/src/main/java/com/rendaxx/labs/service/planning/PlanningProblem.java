@@ -0,0 +1,163 @@
+package com.rendaxx.labs.service.planning;
+
+/** Pickup-and-delivery instance: order {@code o} has pickup stop {@code 2 * o} and drop stop {@code 2 * o + 1}. */
+public final class PlanningProblem {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.7714150598;
+
+    private final int orderCount;
+    private final int vehicleCount;
+    private final double[] coordinates;
+    private final double[] readyAt;
+    private final double[] dueAt;
+    private final double[] orderWeights;
+    private final double[] orderVolumes;
+    private final double[] weightCapacities;
+    private final double[] volumeCapacities;
+    private final double horizonSeconds;
+    private final double stopSeconds;
+    private final double metersPerSecond;
+
+    public PlanningProblem(
+            double[] longitudes,
+            double[] latitudes,
+            double[] readyAt,
+            double[] dueAt,
+            double[] orderWeights,
+            double[] orderVolumes,
+            double[] weightCapacities,
+            double[] volumeCapacities,
+            double horizonSeconds,
+            double stopSeconds,
+            double metersPerSecond) {
+        int stopCount = orderWeights.length * 2;
+        if (longitudes.length != stopCount
+                || latitudes.length != stopCount
+                || readyAt.length != stopCount
+                || dueAt.length != stopCount
+                || orderVolumes.length != orderWeights.length
+                || volumeCapacities.length != weightCapacities.length) {
+            throw new IllegalArgumentException("Planning arrays have inconsistent lengths");
+        }
+        if (metersPerSecond <= 0) {
+            throw new IllegalArgumentException("Speed must be positive");
+        }
+        this.orderCount = orderWeights.length;
+        this.vehicleCount = weightCapacities.length;
+        this.coordinates = new double[stopCount * 3];
+        for (int stop = 0; stop < stopCount; stop++) {
+            double lambda = Math.toRadians(longitudes[stop]);
+            double phi = Math.toRadians(latitudes[stop]);
+            double cosPhi = Math.cos(phi);
+            coordinates[stop * 3] = cosPhi * Math.cos(lambda);
+            coordinates[stop * 3 + 1] = cosPhi * Math.sin(lambda);
+            coordinates[stop * 3 + 2] = Math.sin(phi);
+        }
+        this.readyAt = readyAt.clone();
+        this.dueAt = dueAt.clone();
+        this.orderWeights = orderWeights.clone();
+        this.orderVolumes = orderVolumes.clone();
+        this.weightCapacities = weightCapacities.clone();
+        this.volumeCapacities = volumeCapacities.clone();
+        this.horizonSeconds = horizonSeconds;
+        this.stopSeconds = stopSeconds;
+        this.metersPerSecond = metersPerSecond;
+    }
+
+    public int orderCount() {
+        return orderCount;
+    }
+
+    public int vehicleCount() {
+        return vehicleCount;
+    }
+
+    public static int pickup(int order) {
+        return order * 2;
+    }
+
+    public static int drop(int order) {
+        return order * 2 + 1;
+    }
+
+    public static boolean isPickup(int stop) {
+        return (stop & 1) == 0;
+    }
+
+    public static int orderOf(int stop) {
+        return stop >> 1;
+    }
+
+    public double stopSeconds() {
+        return stopSeconds;
+    }
+
+    /** Start times of the stops of a route served in the given order; feasibility is not checked. */
+    public double[] serviceStarts(int[] route) {
+        double[] starts = new double[route.length];
+        double departure = 0;
+        for (int i = 0; i < route.length; i++) {
+            double arrival = i == 0 ? 0 : departure + travelSeconds(route[i - 1], route[i]);
+            starts[i] = Math.max(arrival, readyAt[route[i]]);
+            departure = starts[i] + stopSeconds;
+        }
+        return starts;
+    }
+
+    double distance(int from, int to) {
+        double dx = coordinates[from * 3] - coordinates[to * 3];
+        double dy = coordinates[from * 3 + 1] - coordinates[to * 3 + 1];
+        double dz = coordinates[from * 3 + 2] - coordinates[to * 3 + 2];
+        double halfChord = Math.sqrt(dx * dx + dy * dy + dz * dz) / 2;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, halfChord));
+    }
+
+    double travelSeconds(double meters) {
+        return meters / metersPerSecond;
+    }
+
+    double travelSeconds(int from, int to) {
+        return travelSeconds(distance(from, to));
+    }
+
+    /** Cosine of the angle between the stop and the given direction, which need not be normalised. */
+    double cosine(int stop, double x, double y, double z) {
+        double length = Math.sqrt(x * x + y * y + z * z);
+        if (length == 0) {
+            return -1;
+        }
+        return (coordinates[stop * 3] * x + coordinates[stop * 3 + 1] * y + coordinates[stop * 3 + 2] * z) / length;
+    }
+
+    double coordinate(int stop, int axis) {
+        return coordinates[stop * 3 + axis];
+    }
+
+    double readyAt(int stop) {
+        return readyAt[stop];
+    }
+
+    double dueAt(int stop) {
+        return dueAt[stop];
+    }
+
+    double horizonSeconds() {
+        return horizonSeconds;
+    }
+
+    double weight(int order) {
+        return orderWeights[order];
+    }
+
+    double volume(int order) {
+        return orderVolumes[order];
+    }
+
+    double weightCapacity(int vehicle) {
+        return weightCapacities[vehicle];
+    }
+
+    double volumeCapacity(int vehicle) {
+        return volumeCapacities[vehicle];
+    }
+}
@@ -0,0 +1,246 @@
+package com.rendaxx.labs.service.planning;
+
+/** Stop sequence of one vehicle with the time slack needed to price insertions without re-simulating it. */
+final class PlanningRoute {
+
+    private static final double EPSILON = 1e-6;
+
+    private final PlanningProblem problem;
+    private final int vehicle;
+    private int[] stops;
+    private double distance;
+    private double[] edges;
+    private double[] starts;
+    private double[] departures;
+    private double[] slacks;
+    private double[] weights;
+    private double[] volumes;
+    private double sumX;
+    private double sumY;
+    private double sumZ;
+
+    PlanningRoute(PlanningProblem problem, int vehicle) {
+        this.problem = problem;
+        this.vehicle = vehicle;
+        this.stops = new int[0];
+        refresh();
+    }
+
+    private PlanningRoute(PlanningRoute source) {
+        this.problem = source.problem;
+        this.vehicle = source.vehicle;
+        this.stops = source.stops;
+        this.distance = source.distance;
+        this.edges = source.edges;
+        this.starts = source.starts;
+        this.departures = source.departures;
+        this.slacks = source.slacks;
+        this.weights = source.weights;
+        this.volumes = source.volumes;
+        this.sumX = source.sumX;
+        this.sumY = source.sumY;
+        this.sumZ = source.sumZ;
+    }
+
+    /** Copy that can be changed independently; arrays are replaced, never written, on change. */
+    PlanningRoute copy() {
+        return new PlanningRoute(this);
+    }
+
+    int vehicle() {
+        return vehicle;
+    }
+
+    int size() {
+        return stops.length;
+    }
+
+    boolean isEmpty() {
+        return stops.length == 0;
+    }
+
+    int stop(int position) {
+        return stops[position];
+    }
+
+    int[] stops() {
+        return stops.clone();
+    }
+
+    double distance() {
+        return distance;
+    }
+
+    /** Cosine between the stop and the mean direction of the route's stops; -2 for an empty route. */
+    double closeness(int stop) {
+        return isEmpty() ? -2 : problem.cosine(stop, sumX, sumY, sumZ);
+    }
+
+    /** Cheapest feasible positions adding less than {@code limit}, or infinity when none qualifies. */
+    double cheapestInsertion(int order, double limit, int[] positions) {
+        double weight = problem.weight(order);
+        double volume = problem.volume(order);
+        double weightCapacity = problem.weightCapacity(vehicle) + EPSILON;
+        double volumeCapacity = problem.volumeCapacity(vehicle) + EPSILON;
+        if (weight > weightCapacity || volume > volumeCapacity) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int pickup = PlanningProblem.pickup(order);
+        int drop = PlanningProblem.drop(order);
+        int size = stops.length;
+        double pickupToDrop = problem.distance(pickup, drop);
+        double[] pickupDistances = new double[size];
+        double[] dropDistances = new double[size];
+        for (int k = 0; k < size; k++) {
+            pickupDistances[k] = problem.distance(stops[k], pickup);
+            dropDistances[k] = problem.distance(stops[k], drop);
+        }
+
+        double best = limit;
+        boolean found = false;
+        for (int at = 0; at <= size; at++) {
+            double weightBefore = at == 0 ? 0 : weights[at - 1];
+            double volumeBefore = at == 0 ? 0 : volumes[at - 1];
+            if (weightBefore + weight > weightCapacity || volumeBefore + volume > volumeCapacity) {
+                continue;
+            }
+            double pickupArrival = at == 0 ? 0 : departures[at - 1] + problem.travelSeconds(pickupDistances[at - 1]);
+            double pickupStart = Math.max(pickupArrival, problem.readyAt(pickup));
+            if (pickupStart > problem.dueAt(pickup) + EPSILON) {
+                continue;
+            }
+            double pickupDeparture = pickupStart + problem.stopSeconds();
+            double enter = at == 0 ? 0 : pickupDistances[at - 1];
+            double replaced = at > 0 && at < size ? edges[at] : 0;
+
+            double dropStart = Math.max(pickupDeparture + problem.travelSeconds(pickupToDrop), problem.readyAt(drop));
+            if (dropStart <= problem.dueAt(drop) + EPSILON) {
+                double leave = at < size ? dropDistances[at] : 0;
+                double cost = enter + pickupToDrop + leave - replaced;
+                if (cost < best && fitsBefore(at, dropStart + problem.stopSeconds(), leave)) {
+                    best = cost;
+                    found = true;
+                    positions[0] = at;
+                    positions[1] = at;
+                }
+            }
+            if (at == size) {
+                continue;
+            }
+
+            double pickupCost = enter + pickupDistances[at] - replaced;
+            double previousDeparture = pickupDeparture;
+            for (int k = at; k < size && pickupCost < best; k++) {
+                if (weights[k] + weight > weightCapacity || volumes[k] + volume > volumeCapacity) {
+                    break;
+                }
+                double travel = problem.travelSeconds(k == at ? pickupDistances[at] : edges[k]);
+                double start = Math.max(previousDeparture + travel, problem.readyAt(stops[k]));
+                if (start > problem.dueAt(stops[k]) + EPSILON) {
+                    break;
+                }
+                previousDeparture = start + problem.stopSeconds();
+                int dropAt = k + 1;
+                dropStart = Math.max(
+                        previousDeparture + problem.travelSeconds(dropDistances[k]), problem.readyAt(drop));
+                if (dropStart > problem.dueAt(drop) + EPSILON) {
+                    continue;
+                }
+                double leave = dropAt < size ? dropDistances[dropAt] : 0;
+                double cost = pickupCost + dropDistances[k] + leave - (dropAt < size ? edges[dropAt] : 0);
+                if (cost < best && fitsBefore(dropAt, dropStart + problem.stopSeconds(), leave)) {
+                    best = cost;
+                    found = true;
+                    positions[0] = at;
+                    positions[1] = dropAt;
+                }
+            }
+        }
+        return found ? best : Double.POSITIVE_INFINITY;
+    }
+
+    /** Inserts the order at positions returned by {@link #cheapestInsertion}. */
+    void insert(int order, int pickupAt, int dropAt) {
+        int size = stops.length;
+        int[] inserted = new int[size + 2];
+        int next = 0;
+        for (int position = 0; position <= size; position++) {
+            if (position == pickupAt) {
+                inserted[next++] = PlanningProblem.pickup(order);
+            }
+            if (position == dropAt) {
+                inserted[next++] = PlanningProblem.drop(order);
+            }
+            if (position < size) {
+                inserted[next++] = stops[position];
+            }
+        }
+        stops = inserted;
+        refresh();
+    }
+
+    void remove(int order) {
+        int[] remaining = new int[stops.length - 2];
+        int next = 0;
+        for (int stop : stops) {
+            if (PlanningProblem.orderOf(stop) != order) {
+                remaining[next++] = stop;
+            }
+        }
+        stops = remaining;
+        refresh();
+    }
+
+    /** Whether the stops from {@code position} on stay feasible after the given departure and distance. */
+    private boolean fitsBefore(int position, double departure, double meters) {
+        if (position == stops.length) {
+            return departure <= problem.horizonSeconds() + EPSILON;
+        }
+        double start = Math.max(departure + problem.travelSeconds(meters), problem.readyAt(stops[position]));
+        return start - starts[position] <= slacks[position] + EPSILON;
+    }
+
+    private void refresh() {
+        int size = stops.length;
+        edges = new double[size];
+        starts = new double[size];
+        departures = new double[size];
+        slacks = new double[size];
+        weights = new double[size];
+        volumes = new double[size];
+        distance = 0;
+        sumX = 0;
+        sumY = 0;
+        sumZ = 0;
+        double departure = 0;
+        double weight = 0;
+        double volume = 0;
+        for (int k = 0; k < size; k++) {
+            int stop = stops[k];
+            edges[k] = k == 0 ? 0 : problem.distance(stops[k - 1], stop);
+            distance += edges[k];
+            double arrival = k == 0 ? 0 : departure + problem.travelSeconds(edges[k]);
+            starts[k] = Math.max(arrival, problem.readyAt(stop));
+            departure = starts[k] + problem.stopSeconds();
+            departures[k] = departure;
+            int order = PlanningProblem.orderOf(stop);
+            double sign = PlanningProblem.isPickup(stop) ? 1 : -1;
+            weight += sign * problem.weight(order);
+            volume += sign * problem.volume(order);
+            weights[k] = weight;
+            volumes[k] = volume;
+            sumX += problem.coordinate(stop, 0);
+            sumY += problem.coordinate(stop, 1);
+            sumZ += problem.coordinate(stop, 2);
+        }
+        for (int k = size - 1; k >= 0; k--) {
+            double own = problem.dueAt(stops[k]) - starts[k];
+            if (k == size - 1) {
+                slacks[k] = Math.min(own, problem.horizonSeconds() - departures[k]);
+            } else {
+                double waiting = starts[k + 1] - departures[k] - problem.travelSeconds(edges[k + 1]);
+                slacks[k] = Math.min(own, waiting + slacks[k + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.rendaxx.labs.service.planning;
+
+/** Stops of every vehicle, empty for unused ones, and the orders no vehicle could serve. */
+public record PlanningSolution(int[][] routes, int[] unassignedOrders, double distanceMeters, long iterations) {}
@@ -0,0 +1,164 @@
+package com.rendaxx.labs.service.planning;
+
+import java.util.Arrays;
+
+/** Assignment of orders to routes; copies share routes until one of them changes a route. */
+final class PlanningState {
+
+    /** Cost of leaving an order unserved, in metres; far above any detour that could serve it. */
+    static final double UNASSIGNED_PENALTY_METERS = 1e9;
+
+    private final PlanningRoute[] routes;
+    private final boolean[] owned;
+    private final int[] routeOfOrder;
+    private boolean ownsAny;
+    private int unassignedCount;
+    private double distance;
+
+    PlanningState(PlanningProblem problem) {
+        this.routes = new PlanningRoute[problem.vehicleCount()];
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            routes[vehicle] = new PlanningRoute(problem, vehicle);
+        }
+        this.owned = new boolean[routes.length];
+        this.routeOfOrder = new int[problem.orderCount()];
+        Arrays.fill(routeOfOrder, -1);
+        this.unassignedCount = problem.orderCount();
+    }
+
+    private PlanningState(PlanningState source) {
+        this.routes = source.routes.clone();
+        this.owned = new boolean[routes.length];
+        this.routeOfOrder = source.routeOfOrder.clone();
+        this.unassignedCount = source.unassignedCount;
+        this.distance = source.distance;
+    }
+
+    /** Independent copy. Both this state and the copy copy a shared route before changing it. */
+    PlanningState copy() {
+        if (ownsAny) {
+            Arrays.fill(owned, false);
+            ownsAny = false;
+        }
+        return new PlanningState(this);
+    }
+
+    double cost() {
+        return distance + unassignedCount * UNASSIGNED_PENALTY_METERS;
+    }
+
+    double distance() {
+        return distance;
+    }
+
+    int unassignedCount() {
+        return unassignedCount;
+    }
+
+    int routeCount() {
+        return routes.length;
+    }
+
+    PlanningRoute route(int vehicle) {
+        return routes[vehicle];
+    }
+
+    boolean isAssigned(int order) {
+        return routeOfOrder[order] >= 0;
+    }
+
+    int[] unassignedOrders() {
+        int[] unassigned = new int[unassignedCount];
+        int next = 0;
+        for (int order = 0; order < routeOfOrder.length; order++) {
+            if (routeOfOrder[order] < 0) {
+                unassigned[next++] = order;
+            }
+        }
+        return unassigned;
+    }
+
+    void remove(int order) {
+        int vehicle = routeOfOrder[order];
+        if (vehicle < 0) {
+            return;
+        }
+        PlanningRoute route = mutableRoute(vehicle);
+        distance -= route.distance();
+        route.remove(order);
+        distance += route.distance();
+        routeOfOrder[order] = -1;
+        unassignedCount++;
+    }
+
+    /** Inserts the order at its cheapest position among the closest routes; false when none is feasible. */
+    boolean insertCheapest(int order, int candidateRoutes) {
+        int pickup = PlanningProblem.pickup(order);
+        int[] candidates = new int[candidateRoutes];
+        double[] closeness = new double[candidateRoutes];
+        int candidateCount = 0;
+        int[] positions = new int[2];
+        int bestVehicle = -1;
+        int bestPickupAt = 0;
+        int bestDropAt = 0;
+        double best = Double.POSITIVE_INFINITY;
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            PlanningRoute route = routes[vehicle];
+            if (route.isEmpty()) {
+                if (bestVehicle >= 0) {
+                    continue;
+                }
+                double cost = route.cheapestInsertion(order, best, positions);
+                if (cost < best) {
+                    best = cost;
+                    bestVehicle = vehicle;
+                    bestPickupAt = positions[0];
+                    bestDropAt = positions[1];
+                }
+                continue;
+            }
+            double score = route.closeness(pickup);
+            if (candidateCount < candidateRoutes) {
+                candidateCount++;
+            } else if (score <= closeness[candidateCount - 1]) {
+                continue;
+            }
+            int slot = candidateCount - 1;
+            while (slot > 0 && closeness[slot - 1] < score) {
+                candidates[slot] = candidates[slot - 1];
+                closeness[slot] = closeness[slot - 1];
+                slot--;
+            }
+            candidates[slot] = vehicle;
+            closeness[slot] = score;
+        }
+        for (int i = 0; i < candidateCount; i++) {
+            double cost = routes[candidates[i]].cheapestInsertion(order, best, positions);
+            if (cost < best) {
+                best = cost;
+                bestVehicle = candidates[i];
+                bestPickupAt = positions[0];
+                bestDropAt = positions[1];
+            }
+        }
+        if (bestVehicle < 0) {
+            return false;
+        }
+        PlanningRoute route = mutableRoute(bestVehicle);
+        distance -= route.distance();
+        route.insert(order, bestPickupAt, bestDropAt);
+        distance += route.distance();
+        routeOfOrder[order] = bestVehicle;
+        unassignedCount--;
+        return true;
+    }
+
+    private PlanningRoute mutableRoute(int vehicle) {
+        if (!owned[vehicle]) {
+            routes[vehicle] = routes[vehicle].copy();
+            owned[vehicle] = true;
+            ownsAny = true;
+        }
+        return routes[vehicle];
+    }
+}
@@ -0,0 +1,95 @@
+package com.rendaxx.labs.service.planning;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/** Ruin-and-recreate heuristic for the capacitated pickup-and-delivery problem with time windows. */
+public final class RoutePlanner {
+
+    private static final int CANDIDATE_ROUTES = 8;
+
+    private RoutePlanner() {}
+
+    /** Plans within the time budget; workers exchange improvements, so a seed does not fix the plan. */
+    public static PlanningSolution solve(
+            PlanningProblem problem, Duration timeBudget, int parallelism, ExecutorService executor, long seed) {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        PlanningState initial = construct(problem);
+        SharedBest shared = new SharedBest(initial);
+        long iterations = 0;
+        if (problem.orderCount() > 0 && problem.vehicleCount() > 0 && System.nanoTime() < deadline) {
+            List<Future<Long>> workers = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(executor.submit(
+                        new LocalSearchWorker(problem, shared, deadline, CANDIDATE_ROUTES, seed + i)));
+            }
+            iterations = await(workers);
+        }
+        return toSolution(shared.get(), iterations);
+    }
+
+    private static PlanningState construct(PlanningProblem problem) {
+        PlanningState state = new PlanningState(problem);
+        int[] orders = IntStream.range(0, problem.orderCount())
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(order -> problem.readyAt(PlanningProblem.pickup(order)))
+                        .thenComparingDouble(order -> problem.dueAt(PlanningProblem.drop(order))))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        for (int order : orders) {
+            state.insertCheapest(order, CANDIDATE_ROUTES);
+        }
+        return state;
+    }
+
+    private static long await(List<Future<Long>> workers) {
+        long iterations = 0;
+        try {
+            for (Future<Long> worker : workers) {
+                iterations += worker.get();
+            }
+        } catch (InterruptedException ex) {
+            workers.forEach(worker -> worker.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Route planning was interrupted", ex);
+        } catch (ExecutionException ex) {
+            workers.forEach(worker -> worker.cancel(true));
+            throw new IllegalStateException("Route planning failed", ex.getCause());
+        }
+        return iterations;
+    }
+
+    private static PlanningSolution toSolution(PlanningState state, long iterations) {
+        int[][] routes = new int[state.routeCount()][];
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            routes[vehicle] = state.route(vehicle).stops();
+        }
+        return new PlanningSolution(routes, state.unassignedOrders(), state.distance(), iterations);
+    }
+
+    /** Best plan found so far by any worker; published states are never changed afterwards. */
+    static final class SharedBest {
+
+        private PlanningState best;
+
+        SharedBest(PlanningState initial) {
+            this.best = initial.copy();
+        }
+
+        synchronized PlanningState get() {
+            return best;
+        }
+
+        synchronized void offer(PlanningState candidate) {
+            if (candidate.cost() < best.cost()) {
+                best = candidate;
+            }
+        }
+    }
+}
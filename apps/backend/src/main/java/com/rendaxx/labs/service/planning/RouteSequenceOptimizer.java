@@ -0,0 +1,190 @@
+package com.rendaxx.labs.service.planning;
+
+/** 2-opt and Or-opt over an open path, skipping moves that break a precedence pair. */
+public final class RouteSequenceOptimizer {
+
+    private static final double MIN_GAIN = 1e-7;
+    private static final int MAX_SEGMENT_LENGTH = 3;
+
+    private final int size;
+    private final double[] distances;
+    private final int[] precedenceFrom;
+    private final int[] precedenceTo;
+    private final int[] sequence;
+    private final int[] positions;
+    private final int[] latestPredecessor;
+    private final int[] earliestSuccessor;
+    private final int[] buffer;
+
+    private RouteSequenceOptimizer(double[] distances, int[] precedenceFrom, int[] precedenceTo, int[] initial) {
+        this.size = initial.length;
+        this.distances = distances;
+        this.precedenceFrom = precedenceFrom;
+        this.precedenceTo = precedenceTo;
+        this.sequence = new int[size];
+        this.positions = new int[size];
+        this.latestPredecessor = new int[size];
+        this.earliestSuccessor = new int[size];
+        this.buffer = new int[size];
+    }
+
+    /** Repairs an {@code initial} order that breaks a precedence pair; throws when the pairs form a cycle. */
+    public static int[] optimize(double[] distances, int[] precedenceFrom, int[] precedenceTo, int[] initial) {
+        RouteSequenceOptimizer optimizer = new RouteSequenceOptimizer(distances, precedenceFrom, precedenceTo, initial);
+        optimizer.start(initial);
+        optimizer.improve();
+        return optimizer.sequence.clone();
+    }
+
+    /** Length of the open path through the stops in the given order, in the units of the matrix. */
+    public static double length(double[] distances, int[] order) {
+        int size = order.length;
+        double length = 0;
+        for (int k = 1; k < size; k++) {
+            length += distances[order[k - 1] * size + order[k]];
+        }
+        return length;
+    }
+
+    private void start(int[] initial) {
+        int[] pending = new int[size];
+        for (int k = 0; k < precedenceTo.length; k++) {
+            pending[precedenceTo[k]]++;
+        }
+        boolean[] placed = new boolean[size];
+        for (int next = 0; next < size; next++) {
+            int chosen = -1;
+            for (int k = 0; k < size && chosen < 0; k++) {
+                if (!placed[initial[k]] && pending[initial[k]] == 0) {
+                    chosen = initial[k];
+                }
+            }
+            if (chosen < 0) {
+                throw new IllegalArgumentException("Precedence pairs form a cycle");
+            }
+            placed[chosen] = true;
+            sequence[next] = chosen;
+            for (int k = 0; k < precedenceFrom.length; k++) {
+                if (precedenceFrom[k] == chosen) {
+                    pending[precedenceTo[k]]--;
+                }
+            }
+        }
+        refresh();
+    }
+
+    private void improve() {
+        boolean improved = true;
+        while (improved) {
+            improved = twoOpt() || orOpt();
+        }
+    }
+
+    /** Reverses the first section {@code [i..j]} whose reversal shortens the path. */
+    private boolean twoOpt() {
+        for (int i = 0; i < size - 1; i++) {
+            int before = i == 0 ? -1 : sequence[i - 1];
+            int first = sequence[i];
+            double removedBefore = distance(before, first);
+            for (int j = i + 1; j < size; j++) {
+                if (latestPredecessor[j] >= i) {
+                    break;
+                }
+                int last = sequence[j];
+                int after = j == size - 1 ? -1 : sequence[j + 1];
+                double delta = distance(before, last) + distance(first, after) - removedBefore - distance(last, after);
+                if (delta < -MIN_GAIN) {
+                    reverse(i, j);
+                    refresh();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Moves the first section of up to three stops whose relocation shortens the path. */
+    private boolean orOpt() {
+        for (int length = 1; length <= MAX_SEGMENT_LENGTH; length++) {
+            for (int i = 0; i + length <= size; i++) {
+                int end = i + length - 1;
+                int first = sequence[i];
+                int last = sequence[end];
+                int before = i == 0 ? -1 : sequence[i - 1];
+                int after = end == size - 1 ? -1 : sequence[end + 1];
+                double removed = distance(before, first) + distance(last, after) - distance(before, after);
+                int maxPredecessor = -1;
+                int minSuccessor = size;
+                for (int k = i; k <= end; k++) {
+                    maxPredecessor = Math.max(maxPredecessor, latestPredecessor[k]);
+                    minSuccessor = Math.min(minSuccessor, earliestSuccessor[k]);
+                }
+                for (int gap = end + 2; gap <= size && minSuccessor >= gap; gap++) {
+                    if (tryMove(i, end, gap, removed)) {
+                        return true;
+                    }
+                }
+                for (int gap = i - 1; gap >= 0 && maxPredecessor < gap; gap--) {
+                    if (tryMove(i, end, gap, removed)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Moves {@code [i..end]} in front of the stop now at {@code gap} if that shortens the path. */
+    private boolean tryMove(int i, int end, int gap, double removed) {
+        int previous = gap == 0 ? -1 : sequence[gap - 1];
+        int next = gap == size ? -1 : sequence[gap];
+        double added = distance(previous, sequence[i]) + distance(sequence[end], next) - distance(previous, next);
+        if (added - removed >= -MIN_GAIN) {
+            return false;
+        }
+        move(i, end, gap);
+        refresh();
+        return true;
+    }
+
+    private double distance(int from, int to) {
+        return from < 0 || to < 0 ? 0 : distances[from * size + to];
+    }
+
+    private void reverse(int i, int j) {
+        for (int left = i, right = j; left < right; left++, right--) {
+            int stop = sequence[left];
+            sequence[left] = sequence[right];
+            sequence[right] = stop;
+        }
+    }
+
+    private void move(int i, int end, int gap) {
+        int next = 0;
+        for (int k = 0; k <= size; k++) {
+            if (k == gap) {
+                for (int s = i; s <= end; s++) {
+                    buffer[next++] = sequence[s];
+                }
+            }
+            if (k < size && (k < i || k > end)) {
+                buffer[next++] = sequence[k];
+            }
+        }
+        System.arraycopy(buffer, 0, sequence, 0, size);
+    }
+
+    private void refresh() {
+        for (int k = 0; k < size; k++) {
+            positions[sequence[k]] = k;
+            latestPredecessor[k] = -1;
+            earliestSuccessor[k] = size;
+        }
+        for (int k = 0; k < precedenceFrom.length; k++) {
+            int from = positions[precedenceFrom[k]];
+            int to = positions[precedenceTo[k]];
+            latestPredecessor[to] = Math.max(latestPredecessor[to], from);
+            earliestSuccessor[from] = Math.min(earliestSuccessor[from], to);
+        }
+    }
+}
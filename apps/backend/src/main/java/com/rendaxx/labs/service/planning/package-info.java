@@ -0,0 +1,4 @@
+@NullMarked
+package com.rendaxx.labs.service.planning;
+
+import org.jspecify.annotations.NullMarked;
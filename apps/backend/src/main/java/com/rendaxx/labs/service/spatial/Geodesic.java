@@ -0,0 +1,93 @@
+package com.rendaxx.labs.service.spatial;
+
+/** Vincenty distances on WGS 84, matching PostGIS geography; near-antipodal pairs fall back to the sphere. */
+public final class Geodesic {
+
+    private static final double SEMI_MAJOR_AXIS = 6_378_137.0;
+    private static final double FLATTENING = 1 / 298.257223563;
+    private static final double SEMI_MINOR_AXIS = SEMI_MAJOR_AXIS * (1 - FLATTENING);
+    private static final double CONVERGENCE = 1e-12;
+    private static final int MAX_ITERATIONS = 200;
+
+    private Geodesic() {}
+
+    public static double pathLengthMeters(double[] longitudes, double[] latitudes, int count) {
+        double length = 0;
+        for (int i = 1; i < count; i++) {
+            length += distanceMeters(longitudes[i - 1], latitudes[i - 1], longitudes[i], latitudes[i]);
+        }
+        return length;
+    }
+
+    public static double distanceMeters(double longitude1, double latitude1, double longitude2, double latitude2) {
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        if (deltaLongitude > Math.PI) {
+            deltaLongitude -= 2 * Math.PI;
+        } else if (deltaLongitude < -Math.PI) {
+            deltaLongitude += 2 * Math.PI;
+        }
+        double reducedLatitude1 = Math.atan((1 - FLATTENING) * Math.tan(Math.toRadians(latitude1)));
+        double reducedLatitude2 = Math.atan((1 - FLATTENING) * Math.tan(Math.toRadians(latitude2)));
+        double sinU1 = Math.sin(reducedLatitude1);
+        double cosU1 = Math.cos(reducedLatitude1);
+        double sinU2 = Math.sin(reducedLatitude2);
+        double cosU2 = Math.cos(reducedLatitude2);
+
+        double lambda = deltaLongitude;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double sinLambda = Math.sin(lambda);
+            double cosLambda = Math.cos(lambda);
+            double crossTerm = cosU1 * sinU2 - sinU1 * cosU2 * cosLambda;
+            double sinSigma = Math.sqrt(cosU2 * sinLambda * cosU2 * sinLambda + crossTerm * crossTerm);
+            if (sinSigma == 0) {
+                return 0;
+            }
+            double cosSigma = sinU1 * sinU2 + cosU1 * cosU2 * cosLambda;
+            double sigma = Math.atan2(sinSigma, cosSigma);
+            double sinAlpha = cosU1 * cosU2 * sinLambda / sinSigma;
+            double cosSquaredAlpha = 1 - sinAlpha * sinAlpha;
+            double cos2SigmaM = cosSquaredAlpha != 0 ? cosSigma - 2 * sinU1 * sinU2 / cosSquaredAlpha : 0;
+            double c = FLATTENING / 16 * cosSquaredAlpha * (4 + FLATTENING * (4 - 3 * cosSquaredAlpha));
+            double previousLambda = lambda;
+            lambda = deltaLongitude
+                    + (1 - c)
+                            * FLATTENING
+                            * sinAlpha
+                            * (sigma
+                                    + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+            if (Math.abs(lambda - previousLambda) < CONVERGENCE) {
+                return ellipsoidalDistance(sinSigma, cosSigma, sigma, cosSquaredAlpha, cos2SigmaM);
+            }
+        }
+        return sphericalDistance(longitude1, latitude1, longitude2, latitude2);
+    }
+
+    private static double ellipsoidalDistance(
+            double sinSigma, double cosSigma, double sigma, double cosSquaredAlpha, double cos2SigmaM) {
+        double uSquared = cosSquaredAlpha
+                * (SEMI_MAJOR_AXIS * SEMI_MAJOR_AXIS - SEMI_MINOR_AXIS * SEMI_MINOR_AXIS)
+                / (SEMI_MINOR_AXIS * SEMI_MINOR_AXIS);
+        double a = 1 + uSquared / 16384 * (4096 + uSquared * (-768 + uSquared * (320 - 175 * uSquared)));
+        double b = uSquared / 1024 * (256 + uSquared * (-128 + uSquared * (74 - 47 * uSquared)));
+        double cos2SigmaMSquared = cos2SigmaM * cos2SigmaM;
+        double deltaSigma = b
+                * sinSigma
+                * (cos2SigmaM
+                        + b / 4
+                                * (cosSigma * (-1 + 2 * cos2SigmaMSquared)
+                                        - b / 6
+                                                * cos2SigmaM
+                                                * (-3 + 4 * sinSigma * sinSigma)
+                                                * (-3 + 4 * cos2SigmaMSquared)));
+        return SEMI_MINOR_AXIS * a * (sigma - deltaSigma);
+    }
+
+    private static double sphericalDistance(
+            double longitude1, double latitude1, double longitude2, double latitude2) {
+        double[] from = new double[3];
+        double[] to = new double[3];
+        SphericalKdTree.toUnitVector(longitude1, latitude1, from, 0);
+        SphericalKdTree.toUnitVector(longitude2, latitude2, to, 0);
+        return SphericalKdTree.squaredChordToMeters(SphericalKdTree.squaredChord(from, 0, to, 0));
+    }
+}
@@ -0,0 +1,221 @@
+package com.rendaxx.labs.service.spatial;
+
+import com.rendaxx.labs.dtos.NearestRetailPointDto;
+import com.rendaxx.labs.dtos.RetailPointDto;
+import com.rendaxx.labs.events.EntityChangeType;
+import com.rendaxx.labs.events.EntityChangedEvent;
+import com.rendaxx.labs.mappers.RetailPointMapper;
+import com.rendaxx.labs.repository.RetailPointRepository;
+import com.rendaxx.labs.repository.support.RepositoryGuard;
+import com.rendaxx.labs.service.RetailPointService;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/** Immutable tree snapshot plus an overlay of changed points, swapped whole so lookups never block. */
+@Component
+@ConditionalOnProperty(name = "labs.retail-points.proximity.source", havingValue = "memory")
+public class RetailPointSpatialIndex {
+
+    private static final int DISTANCE_SCALE = 3;
+
+    private final RetailPointRepository repository;
+    private final RetailPointMapper mapper;
+    private final RepositoryGuard repositoryGuard;
+    private final int rebuildThreshold;
+
+    private final Object writeLock = new Object();
+    private volatile @Nullable State state;
+
+    public RetailPointSpatialIndex(
+            RetailPointRepository repository,
+            RetailPointMapper mapper,
+            RepositoryGuard repositoryGuard,
+            @Value("${labs.retail-points.proximity.rebuild-threshold:256}") int rebuildThreshold) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.repositoryGuard = repositoryGuard;
+        this.rebuildThreshold = rebuildThreshold;
+    }
+
+    public boolean isReady() {
+        return state != null;
+    }
+
+    public @Nullable RetailPointDto find(Long id) {
+        State current = state;
+        return current == null ? null : current.find(id);
+    }
+
+    public List<NearestRetailPointDto> nearest(RetailPointDto origin, int limit, @Nullable Double maxDistanceMeters) {
+        State current = loaded();
+        double maxSquaredChord = maxDistanceMeters == null
+                ? Double.POSITIVE_INFINITY
+                : SphericalKdTree.metersToSquaredChord(maxDistanceMeters);
+        SphericalKdTree.Neighbours neighbours = new SphericalKdTree.Neighbours(limit, maxSquaredChord);
+        long originId = origin.getId();
+        double longitude = origin.getLocation().getLongitude();
+        double latitude = origin.getLocation().getLatitude();
+
+        current.tree().nearest(
+                longitude, latitude, neighbours, id -> id == originId || current.stale().contains(id));
+        double[] target = new double[3];
+        double[] candidate = new double[3];
+        SphericalKdTree.toUnitVector(longitude, latitude, target, 0);
+        for (RetailPointDto changed : current.changed().values()) {
+            if (changed.getId() == originId) {
+                continue;
+            }
+            SphericalKdTree.toUnitVector(
+                    changed.getLocation().getLongitude(), changed.getLocation().getLatitude(), candidate, 0);
+            neighbours.offer(changed.getId(), SphericalKdTree.squaredChord(target, 0, candidate, 0));
+        }
+
+        long[] ids = new long[neighbours.size()];
+        double[] squaredChords = new double[neighbours.size()];
+        neighbours.drainSorted(ids, squaredChords);
+        List<NearestRetailPointDto> result = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            @Nullable RetailPointDto retailPoint = current.find(ids[i]);
+            if (retailPoint != null) {
+                result.add(new NearestRetailPointDto(retailPoint, toMeters(squaredChords[i])));
+            }
+        }
+        return result;
+    }
+
+    public List<RetailPointDto> withinRadius(double longitude, double latitude, double radiusMeters) {
+        State current = loaded();
+        double maxSquaredChord = SphericalKdTree.metersToSquaredChord(radiusMeters);
+        List<Long> ids = new ArrayList<>();
+        current.tree().within(longitude, latitude, maxSquaredChord, ids::add, current.stale()::contains);
+        double[] target = new double[3];
+        double[] candidate = new double[3];
+        SphericalKdTree.toUnitVector(longitude, latitude, target, 0);
+        for (RetailPointDto changed : current.changed().values()) {
+            SphericalKdTree.toUnitVector(
+                    changed.getLocation().getLongitude(), changed.getLocation().getLatitude(), candidate, 0);
+            if (SphericalKdTree.squaredChord(target, 0, candidate, 0) <= maxSquaredChord) {
+                ids.add(changed.getId());
+            }
+        }
+
+        ids.sort(null);
+        List<RetailPointDto> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            @Nullable RetailPointDto retailPoint = current.find(id);
+            if (retailPoint != null) {
+                result.add(retailPoint);
+            }
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${labs.retail-points.proximity.reload-interval:PT10M}",
+            fixedDelayString = "${labs.retail-points.proximity.reload-interval:PT10M}")
+    public void reload() {
+        synchronized (writeLock) {
+            List<RetailPointDto> retailPoints = repositoryGuard.execute(() -> repository.findAll()).stream()
+                    .map(mapper::toDto)
+                    .toList();
+            state = snapshot(retailPoints);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEntityChanged(EntityChangedEvent<?> event) {
+        if (!RetailPointService.DESTINATION.equals(event.destination())) {
+            return;
+        }
+        synchronized (writeLock) {
+            State current = state;
+            if (current == null) {
+                return;
+            }
+            Long id = event.entityId();
+            Map<Long, RetailPointDto> changed = new HashMap<>(current.changed());
+            Set<Long> stale = new HashSet<>(current.stale());
+            if (event.changeType() == EntityChangeType.DELETED) {
+                changed.remove(id);
+            } else if (event.payload() instanceof RetailPointDto retailPoint) {
+                changed.put(id, retailPoint);
+            } else {
+                return;
+            }
+            stale.add(id);
+            State next = new State(current.tree(), current.retailPointsById(), Map.copyOf(changed), Set.copyOf(stale));
+            state = stale.size() > rebuildThreshold ? snapshot(next.retailPoints()) : next;
+        }
+    }
+
+    private State loaded() {
+        State current = state;
+        if (current == null) {
+            throw new IllegalStateException("Retail point spatial index is not loaded");
+        }
+        return current;
+    }
+
+    private static State snapshot(List<RetailPointDto> retailPoints) {
+        int size = retailPoints.size();
+        long[] ids = new long[size];
+        double[] longitudes = new double[size];
+        double[] latitudes = new double[size];
+        Map<Long, RetailPointDto> retailPointsById = HashMap.newHashMap(size);
+        for (int i = 0; i < size; i++) {
+            RetailPointDto retailPoint = retailPoints.get(i);
+            ids[i] = retailPoint.getId();
+            longitudes[i] = retailPoint.getLocation().getLongitude();
+            latitudes[i] = retailPoint.getLocation().getLatitude();
+            retailPointsById.put(retailPoint.getId(), retailPoint);
+        }
+        return new State(SphericalKdTree.build(ids, longitudes, latitudes), retailPointsById, Map.of(), Set.of());
+    }
+
+    private static BigDecimal toMeters(double squaredChord) {
+        return BigDecimal.valueOf(SphericalKdTree.squaredChordToMeters(squaredChord))
+                .setScale(DISTANCE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /** {@code changed} overrides and {@code stale} hides points of the tree loaded at the last rebuild. */
+    private record State(
+            SphericalKdTree tree,
+            Map<Long, RetailPointDto> retailPointsById,
+            Map<Long, RetailPointDto> changed,
+            Set<Long> stale) {
+
+        @Nullable RetailPointDto find(Long id) {
+            @Nullable RetailPointDto retailPoint = changed.get(id);
+            if (retailPoint != null || stale.contains(id)) {
+                return retailPoint;
+            }
+            return retailPointsById.get(id);
+        }
+
+        List<RetailPointDto> retailPoints() {
+            List<RetailPointDto> retailPoints = new ArrayList<>(changed.values());
+            for (RetailPointDto retailPoint : retailPointsById.values()) {
+                if (!stale.contains(retailPoint.getId())) {
+                    retailPoints.add(retailPoint);
+                }
+            }
+            return retailPoints;
+        }
+    }
+}
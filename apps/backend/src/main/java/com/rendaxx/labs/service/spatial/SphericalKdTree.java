@@ -0,0 +1,268 @@
+package com.rendaxx.labs.service.spatial;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/** 3-d tree over unit vectors: chord distance grows with great-circle distance, so pruning stays exact. */
+final class SphericalKdTree {
+
+    /** Mean Earth radius used by PostGIS for spherical geography distances. */
+    static final double EARTH_RADIUS_METERS = 6_371_008.7714150598;
+
+    private final long[] ids;
+    private final double[] coordinates;
+
+    private SphericalKdTree(long[] ids, double[] coordinates) {
+        this.ids = ids;
+        this.coordinates = coordinates;
+    }
+
+    static SphericalKdTree build(long[] ids, double[] longitudes, double[] latitudes) {
+        int size = ids.length;
+        long[] treeIds = ids.clone();
+        double[] treeCoordinates = new double[size * 3];
+        for (int i = 0; i < size; i++) {
+            toUnitVector(longitudes[i], latitudes[i], treeCoordinates, i * 3);
+        }
+        SphericalKdTree tree = new SphericalKdTree(treeIds, treeCoordinates);
+        tree.arrange(0, size, 0);
+        return tree;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    void nearest(double longitude, double latitude, Neighbours neighbours, LongPredicate excluded) {
+        double[] target = new double[3];
+        toUnitVector(longitude, latitude, target, 0);
+        search(0, ids.length, 0, target, neighbours, excluded);
+    }
+
+    void within(
+            double longitude, double latitude, double maxSquaredChord, LongConsumer consumer, LongPredicate excluded) {
+        double[] target = new double[3];
+        toUnitVector(longitude, latitude, target, 0);
+        collect(0, ids.length, 0, target, maxSquaredChord, consumer, excluded);
+    }
+
+    static void toUnitVector(double longitude, double latitude, double[] target, int offset) {
+        double lambda = Math.toRadians(longitude);
+        double phi = Math.toRadians(latitude);
+        double cosPhi = Math.cos(phi);
+        target[offset] = cosPhi * Math.cos(lambda);
+        target[offset + 1] = cosPhi * Math.sin(lambda);
+        target[offset + 2] = Math.sin(phi);
+    }
+
+    static double squaredChord(double[] a, int aOffset, double[] b, int bOffset) {
+        double dx = a[aOffset] - b[bOffset];
+        double dy = a[aOffset + 1] - b[bOffset + 1];
+        double dz = a[aOffset + 2] - b[bOffset + 2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    static double squaredChordToMeters(double squaredChord) {
+        double halfChord = Math.min(1.0, Math.sqrt(squaredChord) / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(halfChord);
+    }
+
+    static double metersToSquaredChord(double meters) {
+        double angle = Math.min(Math.PI, meters / EARTH_RADIUS_METERS);
+        double chord = 2 * Math.sin(angle / 2);
+        return chord * chord;
+    }
+
+    private void search(int lo, int hi, int depth, double[] target, Neighbours neighbours, LongPredicate excluded) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        long id = ids[mid];
+        if (!excluded.test(id)) {
+            neighbours.offer(id, squaredChord(coordinates, mid * 3, target, 0));
+        }
+        int axis = depth % 3;
+        double difference = target[axis] - coordinates[mid * 3 + axis];
+        if (difference < 0) {
+            search(lo, mid, depth + 1, target, neighbours, excluded);
+            if (difference * difference <= neighbours.bound()) {
+                search(mid + 1, hi, depth + 1, target, neighbours, excluded);
+            }
+        } else {
+            search(mid + 1, hi, depth + 1, target, neighbours, excluded);
+            if (difference * difference <= neighbours.bound()) {
+                search(lo, mid, depth + 1, target, neighbours, excluded);
+            }
+        }
+    }
+
+    private void collect(
+            int lo,
+            int hi,
+            int depth,
+            double[] target,
+            double maxSquaredChord,
+            LongConsumer consumer,
+            LongPredicate excluded) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        long id = ids[mid];
+        if (!excluded.test(id) && squaredChord(coordinates, mid * 3, target, 0) <= maxSquaredChord) {
+            consumer.accept(id);
+        }
+        int axis = depth % 3;
+        double difference = target[axis] - coordinates[mid * 3 + axis];
+        boolean nearPlane = difference * difference <= maxSquaredChord;
+        if (difference < 0 || nearPlane) {
+            collect(lo, mid, depth + 1, target, maxSquaredChord, consumer, excluded);
+        }
+        if (difference >= 0 || nearPlane) {
+            collect(mid + 1, hi, depth + 1, target, maxSquaredChord, consumer, excluded);
+        }
+    }
+
+    private void arrange(int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, depth % 3);
+        arrange(lo, mid, depth + 1);
+        arrange(mid + 1, hi, depth + 1);
+    }
+
+    /** Hoare quickselect: places the {@code k}-th smallest coordinate on {@code axis} at {@code k}. */
+    private void select(int left, int right, int k, int axis) {
+        while (right > left) {
+            double pivot = coordinates[((left + right) >>> 1) * 3 + axis];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (coordinates[i * 3 + axis] < pivot) {
+                    i++;
+                }
+                while (coordinates[j * 3 + axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        long id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+        for (int axis = 0; axis < 3; axis++) {
+            double coordinate = coordinates[i * 3 + axis];
+            coordinates[i * 3 + axis] = coordinates[j * 3 + axis];
+            coordinates[j * 3 + axis] = coordinate;
+        }
+    }
+
+    /** Bounded max-heap ordered by chord then id, so ties resolve like the SQL query. */
+    static final class Neighbours {
+
+        private final int capacity;
+        private final double maxSquaredChord;
+        private final long[] heapIds;
+        private final double[] heapDistances;
+        private int size;
+
+        Neighbours(int capacity, double maxSquaredChord) {
+            this.capacity = capacity;
+            this.maxSquaredChord = maxSquaredChord;
+            this.heapIds = new long[capacity];
+            this.heapDistances = new double[capacity];
+        }
+
+        double bound() {
+            return size < capacity ? maxSquaredChord : Math.min(maxSquaredChord, heapDistances[0]);
+        }
+
+        void offer(long id, double squaredChord) {
+            if (squaredChord > maxSquaredChord) {
+                return;
+            }
+            if (size < capacity) {
+                heapIds[size] = id;
+                heapDistances[size] = squaredChord;
+                siftUp(size++);
+            } else if (capacity > 0 && isCloser(squaredChord, id, heapDistances[0], heapIds[0])) {
+                heapIds[0] = id;
+                heapDistances[0] = squaredChord;
+                siftDown(0);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        /** Drains the heap into arrays sorted from nearest to farthest. */
+        void drainSorted(long[] idsOut, double[] squaredChordsOut) {
+            for (int i = size - 1; i >= 0; i--) {
+                idsOut[i] = heapIds[0];
+                squaredChordsOut[i] = heapDistances[0];
+                size--;
+                heapIds[0] = heapIds[size];
+                heapDistances[0] = heapDistances[size];
+                siftDown(0);
+            }
+        }
+
+        private static boolean isCloser(double distance, long id, double otherDistance, long otherId) {
+            return distance < otherDistance || (distance == otherDistance && id < otherId);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!isCloser(heapDistances[parent], heapIds[parent], heapDistances[index], heapIds[index])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int largest = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (isCloser(heapDistances[largest], heapIds[largest], heapDistances[child], heapIds[child])) {
+                        largest = child;
+                    }
+                }
+                if (largest == index) {
+                    return;
+                }
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long id = heapIds[i];
+            heapIds[i] = heapIds[j];
+            heapIds[j] = id;
+            double distance = heapDistances[i];
+            heapDistances[i] = heapDistances[j];
+            heapDistances[j] = distance;
+        }
+    }
+}
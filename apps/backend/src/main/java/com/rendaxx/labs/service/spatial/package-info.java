@@ -0,0 +1,4 @@
+@NullMarked
+package com.rendaxx.labs.service.spatial;
+
+import org.jspecify.annotations.NullMarked;
@@ -27,7 +27,7 @@ import org.springframework.util.StringUtils;
 @RequiredArgsConstructor
 public class EqualitySpecificationBuilder {
 
-    private static final Set<String> RESERVED_PARAMETERS = Set.of("page", "size", "sort");
+    private static final Set<String> RESERVED_PARAMETERS = Set.of("page", "size", "sort", "cursor", "countStrategy");
 
     private final ConversionService conversionService;
 
@@ -54,6 +54,12 @@ public class EqualitySpecificationBuilder {
         };
     }
 
+    public boolean constrains(Class<?> domainType, @Nullable Map<String, String> rawFilters) {
+        return sanitize(rawFilters).keySet().stream()
+                .map(this::attributePath)
+                .anyMatch(parts -> !parts.isEmpty() && findField(domainType, parts.get(0)) != null);
+    }
+
     private Map<String, String> sanitize(@Nullable Map<String, String> filters) {
         if (filters == null || filters.isEmpty()) {
             return Collections.emptyMap();
@@ -74,14 +80,10 @@ public class EqualitySpecificationBuilder {
         return key.startsWith("sort");
     }
 
-    private @Nullable Path<?> resolvePath(Root<?> root, String key) {
-        if (!StringUtils.hasText(key)) {
-            return null;
-        }
-
-        String[] rawParts = key.split("\\.");
+    /** Expands {@code xxxId} shortcuts, e.g. {@code vehicleId} becomes {@code [vehicle, id]}. */
+    public List<String> attributePath(String key) {
         List<String> parts = new ArrayList<>();
-        for (String p : rawParts) {
+        for (String p : key.split("\\.")) {
             if (StringUtils.hasText(p) && p.endsWith("Id") && !p.equals("id")) {
                 parts.add(p.substring(0, p.length() - 2));
                 parts.add("id");
@@ -89,6 +91,15 @@ public class EqualitySpecificationBuilder {
                 parts.add(p);
             }
         }
+        return parts;
+    }
+
+    private @Nullable Path<?> resolvePath(Root<?> root, String key) {
+        if (!StringUtils.hasText(key)) {
+            return null;
+        }
+
+        List<String> parts = attributePath(key);
 
         Path<?> path = root;
         From<?, ?> currentFrom = root;
@@ -0,0 +1,68 @@
+package com.rendaxx.labs.service.specification;
+
+import com.rendaxx.labs.repository.support.SpatialFunctionContributor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.locationtech.jts.geom.Geometry;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class SpatialSpecifications {
+
+    private static final double MIN_LONGITUDE = -180;
+    private static final double MAX_LONGITUDE = 180;
+
+    private SpatialSpecifications() {}
+
+    /** A box whose west edge lies east of its east edge is split at the antimeridian. */
+    public static <T> Specification<T> withinBox(
+            String attribute, double west, double south, double east, double north) {
+        return (root, query, criteriaBuilder) -> {
+            Path<?> location = root.get(attribute);
+            if (west <= east) {
+                return envelope(criteriaBuilder, location, west, south, east, north);
+            }
+            return criteriaBuilder.or(
+                    envelope(criteriaBuilder, location, west, south, MAX_LONGITUDE, north),
+                    envelope(criteriaBuilder, location, MIN_LONGITUDE, south, east, north));
+        };
+    }
+
+    public static <T> Specification<T> withinGeometry(String attribute, Geometry geometry) {
+        String wkt = geometry.toText();
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(criteriaBuilder.function(
+                SpatialFunctionContributor.LOCATION_IN_GEOMETRY,
+                Boolean.class,
+                root.get(attribute),
+                criteriaBuilder.literal(wkt)));
+    }
+
+    public static <T> Specification<T> withinRadius(
+            String attribute, double longitude, double latitude, double radiusMeters) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(criteriaBuilder.function(
+                SpatialFunctionContributor.LOCATION_WITHIN_METERS,
+                Boolean.class,
+                root.get(attribute),
+                criteriaBuilder.literal(longitude),
+                criteriaBuilder.literal(latitude),
+                criteriaBuilder.literal(radiusMeters)));
+    }
+
+    private static Predicate envelope(
+            CriteriaBuilder criteriaBuilder,
+            Expression<?> location,
+            double west,
+            double south,
+            double east,
+            double north) {
+        return criteriaBuilder.isTrue(criteriaBuilder.function(
+                SpatialFunctionContributor.LOCATION_IN_ENVELOPE,
+                Boolean.class,
+                location,
+                criteriaBuilder.literal(west),
+                criteriaBuilder.literal(south),
+                criteriaBuilder.literal(east),
+                criteriaBuilder.literal(north)));
+    }
+}
@@ -0,0 +1,9 @@
+-- Route points trade positions when a route is reordered. A deferrable constraint lets the new
+-- order numbers be written in one pass of batched updates and checked once they are all in place,
+-- instead of moving every point out of the way first. It stays immediate unless a transaction
+-- defers it, and its unique index still serves lookups by route and position.
+ALTER TABLE route_points DROP CONSTRAINT uk_route_points_route_order;
+
+ALTER TABLE route_points
+    ADD CONSTRAINT uk_route_points_route_order UNIQUE (route_id, order_number)
+    DEFERRABLE INITIALLY IMMEDIATE;
@@ -0,0 +1,75 @@
+-- Every route write used to update the single route_mileage_totals row, so concurrent writes queued
+-- on its lock. Totals are now summed from the by-day rows, which already cover every route.
+DROP TABLE route_mileage_totals;
+DROP INDEX idx_routes_mileage;
+
+-- Removing the current minimum or maximum only marks the extremes stale; readers resolve stale
+-- extremes from routes and a scheduled refresh stores them again.
+ALTER TABLE route_mileage_by_vehicle ADD COLUMN extremes_stale BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE route_mileage_by_day ADD COLUMN extremes_stale BOOLEAN NOT NULL DEFAULT false;
+
+CREATE OR REPLACE FUNCTION route_mileage_add(p_vehicle_id BIGINT, p_day DATE, p_mileage NUMERIC) RETURNS VOID AS $$
+BEGIN
+    IF p_vehicle_id IS NOT NULL THEN
+        INSERT INTO route_mileage_by_vehicle AS s
+            (vehicle_id, route_count, mileage_sum_in_km, mileage_min_in_km, mileage_max_in_km)
+        VALUES (p_vehicle_id, 1, p_mileage, p_mileage, p_mileage)
+        ON CONFLICT (vehicle_id) DO UPDATE
+        SET route_count = s.route_count + 1,
+            mileage_sum_in_km = s.mileage_sum_in_km + p_mileage,
+            mileage_min_in_km = LEAST(s.mileage_min_in_km, p_mileage),
+            mileage_max_in_km = GREATEST(s.mileage_max_in_km, p_mileage);
+    END IF;
+
+    INSERT INTO route_mileage_by_day AS s
+        (day, route_count, mileage_sum_in_km, mileage_min_in_km, mileage_max_in_km)
+    VALUES (p_day, 1, p_mileage, p_mileage, p_mileage)
+    ON CONFLICT (day) DO UPDATE
+    SET route_count = s.route_count + 1,
+        mileage_sum_in_km = s.mileage_sum_in_km + p_mileage,
+        mileage_min_in_km = LEAST(s.mileage_min_in_km, p_mileage),
+        mileage_max_in_km = GREATEST(s.mileage_max_in_km, p_mileage);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION route_mileage_remove(p_vehicle_id BIGINT, p_day DATE, p_mileage NUMERIC) RETURNS VOID AS $$
+BEGIN
+    IF p_vehicle_id IS NOT NULL THEN
+        UPDATE route_mileage_by_vehicle
+        SET route_count = route_count - 1,
+            mileage_sum_in_km = mileage_sum_in_km - p_mileage,
+            extremes_stale = extremes_stale OR p_mileage <= mileage_min_in_km OR p_mileage >= mileage_max_in_km
+        WHERE vehicle_id = p_vehicle_id;
+        DELETE FROM route_mileage_by_vehicle WHERE vehicle_id = p_vehicle_id AND route_count = 0;
+    END IF;
+
+    UPDATE route_mileage_by_day
+    SET route_count = route_count - 1,
+        mileage_sum_in_km = mileage_sum_in_km - p_mileage,
+        extremes_stale = extremes_stale OR p_mileage <= mileage_min_in_km OR p_mileage >= mileage_max_in_km
+    WHERE day = p_day;
+    DELETE FROM route_mileage_by_day WHERE day = p_day AND route_count = 0;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE VIEW route_mileage_by_vehicle_current AS
+SELECT s.vehicle_id, s.route_count, s.mileage_sum_in_km,
+    CASE WHEN s.extremes_stale THEN e.mileage_min_in_km ELSE s.mileage_min_in_km END AS mileage_min_in_km,
+    CASE WHEN s.extremes_stale THEN e.mileage_max_in_km ELSE s.mileage_max_in_km END AS mileage_max_in_km
+FROM route_mileage_by_vehicle s
+LEFT JOIN LATERAL (
+    SELECT min(r.mileage_in_km) AS mileage_min_in_km, max(r.mileage_in_km) AS mileage_max_in_km
+    FROM routes r
+    WHERE s.extremes_stale AND r.vehicle_id = s.vehicle_id
+) e ON true;
+
+CREATE VIEW route_mileage_by_day_current AS
+SELECT s.day, s.route_count, s.mileage_sum_in_km,
+    CASE WHEN s.extremes_stale THEN e.mileage_min_in_km ELSE s.mileage_min_in_km END AS mileage_min_in_km,
+    CASE WHEN s.extremes_stale THEN e.mileage_max_in_km ELSE s.mileage_max_in_km END AS mileage_max_in_km
+FROM route_mileage_by_day s
+LEFT JOIN LATERAL (
+    SELECT min(r.mileage_in_km) AS mileage_min_in_km, max(r.mileage_in_km) AS mileage_max_in_km
+    FROM routes r
+    WHERE s.extremes_stale AND r.planned_start_time >= s.day AND r.planned_start_time < s.day + 1
+) e ON true;
@@ -0,0 +1,155 @@
+CREATE TABLE route_mileage_totals (
+    id SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    route_count BIGINT NOT NULL DEFAULT 0 CHECK (route_count >= 0),
+    mileage_sum_in_km NUMERIC(20, 3) NOT NULL DEFAULT 0,
+    mileage_min_in_km NUMERIC(12, 3),
+    mileage_max_in_km NUMERIC(12, 3)
+);
+
+CREATE TABLE route_mileage_by_vehicle (
+    vehicle_id BIGINT PRIMARY KEY,
+    route_count BIGINT NOT NULL CHECK (route_count > 0),
+    mileage_sum_in_km NUMERIC(20, 3) NOT NULL,
+    mileage_min_in_km NUMERIC(12, 3) NOT NULL,
+    mileage_max_in_km NUMERIC(12, 3) NOT NULL
+);
+
+CREATE TABLE route_mileage_by_day (
+    day DATE PRIMARY KEY,
+    route_count BIGINT NOT NULL CHECK (route_count > 0),
+    mileage_sum_in_km NUMERIC(20, 3) NOT NULL,
+    mileage_min_in_km NUMERIC(12, 3) NOT NULL,
+    mileage_max_in_km NUMERIC(12, 3) NOT NULL
+);
+
+-- Min and max are recomputed only when the removed value was the current extreme; these indexes
+-- keep that lookup a single index probe per scope.
+CREATE INDEX idx_routes_mileage ON routes (mileage_in_km);
+CREATE INDEX idx_routes_vehicle_mileage ON routes (vehicle_id, mileage_in_km);
+
+CREATE FUNCTION route_mileage_add(p_vehicle_id BIGINT, p_day DATE, p_mileage NUMERIC) RETURNS VOID AS $$
+BEGIN
+    UPDATE route_mileage_totals
+    SET route_count = route_count + 1,
+        mileage_sum_in_km = mileage_sum_in_km + p_mileage,
+        mileage_min_in_km = LEAST(mileage_min_in_km, p_mileage),
+        mileage_max_in_km = GREATEST(mileage_max_in_km, p_mileage)
+    WHERE id = 1;
+
+    IF p_vehicle_id IS NOT NULL THEN
+        INSERT INTO route_mileage_by_vehicle AS s
+            (vehicle_id, route_count, mileage_sum_in_km, mileage_min_in_km, mileage_max_in_km)
+        VALUES (p_vehicle_id, 1, p_mileage, p_mileage, p_mileage)
+        ON CONFLICT (vehicle_id) DO UPDATE
+        SET route_count = s.route_count + 1,
+            mileage_sum_in_km = s.mileage_sum_in_km + p_mileage,
+            mileage_min_in_km = LEAST(s.mileage_min_in_km, p_mileage),
+            mileage_max_in_km = GREATEST(s.mileage_max_in_km, p_mileage);
+    END IF;
+
+    INSERT INTO route_mileage_by_day AS s
+        (day, route_count, mileage_sum_in_km, mileage_min_in_km, mileage_max_in_km)
+    VALUES (p_day, 1, p_mileage, p_mileage, p_mileage)
+    ON CONFLICT (day) DO UPDATE
+    SET route_count = s.route_count + 1,
+        mileage_sum_in_km = s.mileage_sum_in_km + p_mileage,
+        mileage_min_in_km = LEAST(s.mileage_min_in_km, p_mileage),
+        mileage_max_in_km = GREATEST(s.mileage_max_in_km, p_mileage);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Runs from AFTER triggers, so the removed row is no longer visible when extremes are recomputed.
+CREATE FUNCTION route_mileage_remove(p_vehicle_id BIGINT, p_day DATE, p_mileage NUMERIC) RETURNS VOID AS $$
+DECLARE
+    stats RECORD;
+BEGIN
+    UPDATE route_mileage_totals
+    SET route_count = route_count - 1,
+        mileage_sum_in_km = mileage_sum_in_km - p_mileage
+    WHERE id = 1
+    RETURNING route_count, mileage_min_in_km, mileage_max_in_km INTO stats;
+
+    IF stats.route_count = 0 THEN
+        UPDATE route_mileage_totals
+        SET mileage_sum_in_km = 0, mileage_min_in_km = NULL, mileage_max_in_km = NULL
+        WHERE id = 1;
+    ELSIF p_mileage <= stats.mileage_min_in_km OR p_mileage >= stats.mileage_max_in_km THEN
+        UPDATE route_mileage_totals
+        SET mileage_min_in_km = (SELECT min(mileage_in_km) FROM routes),
+            mileage_max_in_km = (SELECT max(mileage_in_km) FROM routes)
+        WHERE id = 1;
+    END IF;
+
+    IF p_vehicle_id IS NOT NULL THEN
+        UPDATE route_mileage_by_vehicle
+        SET route_count = route_count - 1,
+            mileage_sum_in_km = mileage_sum_in_km - p_mileage
+        WHERE vehicle_id = p_vehicle_id
+        RETURNING route_count, mileage_min_in_km, mileage_max_in_km INTO stats;
+
+        IF FOUND AND stats.route_count = 0 THEN
+            DELETE FROM route_mileage_by_vehicle WHERE vehicle_id = p_vehicle_id;
+        ELSIF FOUND AND (p_mileage <= stats.mileage_min_in_km OR p_mileage >= stats.mileage_max_in_km) THEN
+            UPDATE route_mileage_by_vehicle
+            SET mileage_min_in_km = (SELECT min(mileage_in_km) FROM routes WHERE vehicle_id = p_vehicle_id),
+                mileage_max_in_km = (SELECT max(mileage_in_km) FROM routes WHERE vehicle_id = p_vehicle_id)
+            WHERE vehicle_id = p_vehicle_id;
+        END IF;
+    END IF;
+
+    UPDATE route_mileage_by_day
+    SET route_count = route_count - 1,
+        mileage_sum_in_km = mileage_sum_in_km - p_mileage
+    WHERE day = p_day
+    RETURNING route_count, mileage_min_in_km, mileage_max_in_km INTO stats;
+
+    IF FOUND AND stats.route_count = 0 THEN
+        DELETE FROM route_mileage_by_day WHERE day = p_day;
+    ELSIF FOUND AND (p_mileage <= stats.mileage_min_in_km OR p_mileage >= stats.mileage_max_in_km) THEN
+        UPDATE route_mileage_by_day
+        SET (mileage_min_in_km, mileage_max_in_km) = (
+            SELECT min(mileage_in_km), max(mileage_in_km) FROM routes
+            WHERE planned_start_time >= p_day AND planned_start_time < p_day + 1)
+        WHERE day = p_day;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION routes_maintain_mileage_stats() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM route_mileage_remove(OLD.vehicle_id, OLD.planned_start_time::date, OLD.mileage_in_km);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM route_mileage_add(NEW.vehicle_id, NEW.planned_start_time::date, NEW.mileage_in_km);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_routes_mileage_stats_insert_delete
+    AFTER INSERT OR DELETE ON routes
+    FOR EACH ROW EXECUTE FUNCTION routes_maintain_mileage_stats();
+
+CREATE TRIGGER trg_routes_mileage_stats_update
+    AFTER UPDATE OF vehicle_id, planned_start_time, mileage_in_km ON routes
+    FOR EACH ROW
+    WHEN (OLD.vehicle_id IS DISTINCT FROM NEW.vehicle_id
+        OR OLD.planned_start_time::date IS DISTINCT FROM NEW.planned_start_time::date
+        OR OLD.mileage_in_km IS DISTINCT FROM NEW.mileage_in_km)
+    EXECUTE FUNCTION routes_maintain_mileage_stats();
+
+INSERT INTO route_mileage_totals (id, route_count, mileage_sum_in_km, mileage_min_in_km, mileage_max_in_km)
+SELECT 1, count(*), coalesce(sum(mileage_in_km), 0), min(mileage_in_km), max(mileage_in_km)
+FROM routes;
+
+INSERT INTO route_mileage_by_vehicle (vehicle_id, route_count, mileage_sum_in_km, mileage_min_in_km, mileage_max_in_km)
+SELECT vehicle_id, count(*), sum(mileage_in_km), min(mileage_in_km), max(mileage_in_km)
+FROM routes
+WHERE vehicle_id IS NOT NULL
+GROUP BY vehicle_id;
+
+INSERT INTO route_mileage_by_day (day, route_count, mileage_sum_in_km, mileage_min_in_km, mileage_max_in_km)
+SELECT planned_start_time::date, count(*), sum(mileage_in_km), min(mileage_in_km), max(mileage_in_km)
+FROM routes
+GROUP BY planned_start_time::date;
@@ -0,0 +1,53 @@
+CREATE TABLE retail_point_visit_counts (
+    retail_point_id BIGINT PRIMARY KEY,
+    visit_count BIGINT NOT NULL CHECK (visit_count > 0),
+    CONSTRAINT fk_retail_point_visit_counts_retail_point FOREIGN KEY (retail_point_id)
+        REFERENCES retail_points (id) ON UPDATE CASCADE ON DELETE CASCADE
+);
+
+-- Serves the top-N query as an index scan in (visit_count desc, retail_point_id asc) order.
+CREATE INDEX idx_retail_point_visit_counts_top ON retail_point_visit_counts (visit_count DESC, retail_point_id);
+
+CREATE FUNCTION retail_point_visit_count_add(p_retail_point_id BIGINT, p_delta BIGINT) RETURNS VOID AS $$
+BEGIN
+    IF p_delta > 0 THEN
+        INSERT INTO retail_point_visit_counts AS c (retail_point_id, visit_count)
+        VALUES (p_retail_point_id, p_delta)
+        ON CONFLICT (retail_point_id) DO UPDATE SET visit_count = c.visit_count + p_delta;
+    ELSE
+        UPDATE retail_point_visit_counts
+        SET visit_count = visit_count + p_delta
+        WHERE retail_point_id = p_retail_point_id AND visit_count > -p_delta;
+        IF NOT FOUND THEN
+            DELETE FROM retail_point_visit_counts WHERE retail_point_id = p_retail_point_id;
+        END IF;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION route_points_maintain_visit_counts() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM retail_point_visit_count_add(OLD.retail_point_id, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM retail_point_visit_count_add(NEW.retail_point_id, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_route_points_visit_counts_insert_delete
+    AFTER INSERT OR DELETE ON route_points
+    FOR EACH ROW EXECUTE FUNCTION route_points_maintain_visit_counts();
+
+CREATE TRIGGER trg_route_points_visit_counts_update
+    AFTER UPDATE OF retail_point_id ON route_points
+    FOR EACH ROW
+    WHEN (OLD.retail_point_id IS DISTINCT FROM NEW.retail_point_id)
+    EXECUTE FUNCTION route_points_maintain_visit_counts();
+
+INSERT INTO retail_point_visit_counts (retail_point_id, visit_count)
+SELECT retail_point_id, count(*)
+FROM route_points
+GROUP BY retail_point_id;
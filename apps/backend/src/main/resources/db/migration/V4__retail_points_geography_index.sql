@@ -0,0 +1,3 @@
+-- Geography distance operators (<->, ST_DWithin) on retail point locations can only use an index
+-- built on the same expression; the existing geometry index measures in degrees.
+CREATE INDEX idx_retail_points_location_geography ON retail_points USING GIST ((location::geography));
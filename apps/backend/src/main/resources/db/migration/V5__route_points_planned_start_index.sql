@@ -0,0 +1,4 @@
+-- Period-filtered visit aggregations read only these columns, so they can be answered with an
+-- index-only scan instead of reading every route point.
+CREATE INDEX idx_route_points_planned_start ON route_points (planned_start_time)
+    INCLUDE (retail_point_id, operation_type);
@@ -0,0 +1,30 @@
+-- Mileage is now the geodesic length through the route's retail points, which is zero for a route
+-- with fewer than two distinct stops.
+ALTER TABLE routes DROP CONSTRAINT routes_mileage_in_km_check;
+ALTER TABLE routes ADD CONSTRAINT routes_mileage_in_km_check CHECK (mileage_in_km >= 0);
+
+-- Bulk recomputation sets labs.defer_route_mileage_stats for its own transactions and rebuilds the
+-- summary tables once at the end, so parallel chunks do not serialize on the totals row.
+DROP TRIGGER trg_routes_mileage_stats_update ON routes;
+
+CREATE TRIGGER trg_routes_mileage_stats_update
+    AFTER UPDATE OF vehicle_id, planned_start_time, mileage_in_km ON routes
+    FOR EACH ROW
+    WHEN ((OLD.vehicle_id IS DISTINCT FROM NEW.vehicle_id
+        OR OLD.planned_start_time::date IS DISTINCT FROM NEW.planned_start_time::date
+        OR OLD.mileage_in_km IS DISTINCT FROM NEW.mileage_in_km)
+        AND current_setting('labs.defer_route_mileage_stats', true) IS DISTINCT FROM 'on')
+    EXECUTE FUNCTION routes_maintain_mileage_stats();
+
+-- Progress of bulk mileage recomputation. Every route with id <= last_route_id has been processed,
+-- so a job that did not complete resumes from there.
+CREATE TABLE route_mileage_recompute_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(16) NOT NULL CHECK (status IN ('RUNNING', 'FAILED', 'COMPLETED')),
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    last_route_id BIGINT NOT NULL DEFAULT 0,
+    max_route_id BIGINT NOT NULL,
+    processed_routes BIGINT NOT NULL DEFAULT 0,
+    updated_routes BIGINT NOT NULL DEFAULT 0
+);
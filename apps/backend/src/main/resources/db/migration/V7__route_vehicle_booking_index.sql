@@ -0,0 +1,7 @@
+-- Vehicle double-booking checks look for routes of a vehicle whose planned window overlaps another
+-- one, and conflict reports scan every window overlapping a period. A GiST index over the window as
+-- a half-open tsrange serves both; btree_gist lets it include the vehicle id.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX idx_routes_planned_period_vehicle ON routes
+    USING GIST (tsrange(planned_start_time, planned_end_time), vehicle_id);
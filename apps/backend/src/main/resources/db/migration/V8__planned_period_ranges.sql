@@ -0,0 +1,17 @@
+-- Period queries ask for routes and route points contained in, overlapping or starting within a
+-- window. Btree indexes on the start time only help with the last one, so the planned windows are
+-- stored as closed tsranges, which are never empty, and indexed with GiST. The vehicle booking index
+-- is rebuilt on the stored column so routes keep a single range index.
+ALTER TABLE routes
+    ADD COLUMN planned_period TSRANGE
+        GENERATED ALWAYS AS (tsrange(planned_start_time, planned_end_time, '[]')) STORED;
+
+ALTER TABLE route_points
+    ADD COLUMN planned_period TSRANGE
+        GENERATED ALWAYS AS (tsrange(planned_start_time, planned_end_time, '[]')) STORED;
+
+DROP INDEX idx_routes_planned_period_vehicle;
+
+CREATE INDEX idx_routes_planned_period_vehicle ON routes USING GIST (planned_period, vehicle_id);
+
+CREATE INDEX idx_route_points_planned_period ON route_points USING GIST (planned_period);
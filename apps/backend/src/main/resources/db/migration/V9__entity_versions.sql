@@ -0,0 +1,14 @@
+-- Entity versions back optimistic locking and the ETags of single resources and list pages. A
+-- constant default keeps the column addition a catalog-only change, and rows inserted in bulk
+-- outside of JPA start at the same version JPA would give them.
+ALTER TABLE drivers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE vehicles ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE retail_points ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE routes ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE route_points ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,80 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.dtos.OrderConsolidationDto;
+import com.rendaxx.labs.dtos.OrderConsolidationRequestDto;
+import com.rendaxx.labs.dtos.VehicleLoadDto;
+import com.rendaxx.labs.service.OrderConsolidationService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Consolidates synthetic batches of increasing size: random orders of up to a ton and two cubic
+ * meters into a mixed fleet of three, five and ten-ton vehicles, more than enough to carry them,
+ * within the time budget and a fixed overhead. Excluded from {@code test}; run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class OrderConsolidationBenchmarkTest extends IntegrationTest {
+
+    private static final long TIME_BUDGET_MILLIS = 10_000;
+    private static final Duration OVERHEAD = Duration.ofSeconds(5);
+    private static final int ORDERS_PER_VEHICLE = 10;
+
+    private static final String SEED_ORDERS_SQL =
+            """
+            insert into orders (goods_type, volume_in_cubic_meters, weight_in_kg)
+            select 'DRY', 0.1 + random() * 1.9, 20 + random() * 980
+            from generate_series(1, ?) as i
+            """;
+
+    private static final String SEED_VEHICLES_SQL =
+            """
+            insert into vehicles (gos_number, tonnage_in_tons, body_height_in_meters, body_width_in_meters,
+                body_length_in_cubic_meters)
+            select 'BENCH-' || i, (array[3, 5, 10])[i % 3 + 1], 2.5, 2, (array[6, 12, 16])[i % 3 + 1]
+            from generate_series(1, ?) as i
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderConsolidationService orderConsolidationService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 50_000})
+    void consolidatesSyntheticBatch(int orderCount) {
+        int vehicleCount = Math.max(1, orderCount / ORDERS_PER_VEHICLE);
+        jdbcTemplate.update(SEED_ORDERS_SQL, orderCount);
+        jdbcTemplate.update(SEED_VEHICLES_SQL, vehicleCount);
+        List<Long> orderIds = jdbcTemplate.queryForList("select id from orders order by id", Long.class);
+
+        OrderConsolidationRequestDto request = new OrderConsolidationRequestDto();
+        request.setOrderIds(List.of());
+        request.setVehicleIds(List.of());
+        request.setTimeBudgetMillis(TIME_BUDGET_MILLIS);
+
+        long started = System.nanoTime();
+        OrderConsolidationDto consolidation = orderConsolidationService.consolidate(request);
+        long elapsedNanos = System.nanoTime() - started;
+
+        List<Long> loaded = new ArrayList<>();
+        for (VehicleLoadDto load : consolidation.getLoads()) {
+            assertThat(load.getWeightUtilization()).isLessThanOrEqualTo(1.0);
+            assertThat(load.getVolumeUtilization()).isLessThanOrEqualTo(1.0);
+            loaded.addAll(load.getOrderIds());
+        }
+        assertThat(loaded).containsExactlyInAnyOrderElementsOf(orderIds);
+        assertThat(consolidation.getVehicleCount()).isGreaterThanOrEqualTo(consolidation.getLowerBound());
+        assertThat(Duration.ofNanos(elapsedNanos)).isLessThan(Duration.ofMillis(TIME_BUDGET_MILLIS).plus(OVERHEAD));
+    }
+}
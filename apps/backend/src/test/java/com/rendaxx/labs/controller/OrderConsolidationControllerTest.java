@@ -0,0 +1,156 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.Vehicle;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class OrderConsolidationControllerTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 11, 3, 8, 0);
+
+    @Test
+    void packsOrdersIntoFewestVehiclesWithinCapacity() throws Exception {
+        Vehicle first = persistVehicle("1.00", "2.00");
+        Vehicle second = persistVehicle("1.00", "2.00");
+        Vehicle third = persistVehicle("1.00", "2.00");
+        List<Order> orders = List.of(
+                persistOrder("600.000", "0.500"),
+                persistOrder("500.000", "0.500"),
+                persistOrder("500.000", "0.500"),
+                persistOrder("400.000", "0.500"));
+
+        DocumentContext consolidation = consolidate(
+                orders.stream().map(Order::getId).toList(), List.of(first.getId(), second.getId(), third.getId()));
+
+        assertThat(consolidation.<Integer>read("$.vehicleCount")).isEqualTo(2);
+        assertThat(consolidation.<Integer>read("$.lowerBound")).isEqualTo(2);
+        assertThat(consolidation.<List<Object>>read("$.unassignedOrderIds")).isEmpty();
+        List<Map<String, Object>> loads = consolidation.read("$.loads");
+        assertThat(loads).hasSize(2);
+        for (Map<String, Object> load : loads) {
+            assertThat(((Number) load.get("weightInKg")).doubleValue()).isLessThanOrEqualTo(1000.0);
+            assertThat(((Number) load.get("weightUtilization")).doubleValue()).isLessThanOrEqualTo(1.0);
+            assertThat(((Number) load.get("volumeUtilization")).doubleValue()).isLessThanOrEqualTo(1.0);
+        }
+        List<Number> loaded = consolidation.read("$.loads[*].orderIds[*]");
+        assertThat(loaded)
+                .extracting(Number::longValue)
+                .containsExactlyInAnyOrderElementsOf(orders.stream().map(Order::getId).toList());
+    }
+
+    @Test
+    void packsByVolumeWhenBodyIsTheLimit() throws Exception {
+        Vehicle vehicle = persistVehicle("20.00", "1.00");
+        Vehicle another = persistVehicle("20.00", "1.00");
+        Order bulky = persistOrder("10.000", "6.000");
+        Order alsoBulky = persistOrder("10.000", "6.000");
+
+        DocumentContext consolidation =
+                consolidate(List.of(bulky.getId(), alsoBulky.getId()), List.of(vehicle.getId(), another.getId()));
+
+        assertThat(consolidation.<Integer>read("$.vehicleCount")).isEqualTo(2);
+        assertThat(consolidation.<List<Number>>read("$.loads[*].volumeInCubicMeters"))
+                .extracting(Number::doubleValue)
+                .containsExactly(6.0, 6.0);
+    }
+
+    @Test
+    void consolidatesOrdersNotOnRouteIntoWholeFleetByDefault() throws Exception {
+        Route route = testDataFactory.persistRoute(START, START.plusHours(8), new BigDecimal("10.000"));
+        Order free = persistOrder("100.000", "1.000");
+
+        DocumentContext consolidation = consolidate(List.of(), List.of());
+
+        assertThat(consolidation.<List<Number>>read("$.loads[*].orderIds[*]"))
+                .extracting(Number::longValue)
+                .containsExactly(free.getId());
+        assertThat(consolidation.<Integer>read("$.vehicleCount")).isEqualTo(1);
+        assertThat(consolidation.<Number>read("$.loads[0].vehicleId").longValue())
+                .isEqualTo(route.getVehicle().getId());
+    }
+
+    @Test
+    void leavesOrdersNoVehicleCanCarryUnassigned() throws Exception {
+        Vehicle vehicle = persistVehicle("1.00", "2.00");
+        Order tooHeavy = persistOrder("1500.000", "1.000");
+        Order light = persistOrder("100.000", "1.000");
+
+        mockMvc.perform(post("/api/orders/consolidate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson(List.of(tooHeavy.getId(), light.getId()), List.of(vehicle.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicleCount").value(1))
+                .andExpect(jsonPath("$.unassignedOrderIds[0]").value(tooHeavy.getId()))
+                .andExpect(jsonPath("$.loads[0].orderIds[0]").value(light.getId()));
+    }
+
+    @Test
+    void rejectsOrderListedTwice() throws Exception {
+        Vehicle vehicle = persistVehicle("1.00", "2.00");
+        Order order = persistOrder("100.000", "1.000");
+
+        mockMvc.perform(post("/api/orders/consolidate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson(List.of(order.getId(), order.getId()), List.of(vehicle.getId()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void returnsNotFoundForUnknownVehicle() throws Exception {
+        Order order = persistOrder("100.000", "1.000");
+
+        mockMvc.perform(post("/api/orders/consolidate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson(List.of(order.getId()), List.of(999_999L))))
+                .andExpect(status().isNotFound());
+    }
+
+    private DocumentContext consolidate(List<Long> orderIds, List<Long> vehicleIds) throws Exception {
+        String response = mockMvc.perform(post("/api/orders/consolidate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson(orderIds, vehicleIds)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.parse(response);
+    }
+
+    private static String requestJson(List<Long> orderIds, List<Long> vehicleIds) {
+        return JsonPath.parse(Map.of("orderIds", orderIds, "vehicleIds", vehicleIds, "timeBudgetMillis", 200))
+                .jsonString();
+    }
+
+    private Vehicle persistVehicle(String tonnage, String bodyLength) {
+        return vehicleRepository.save(Vehicle.builder()
+                .gosNumber("GOS-" + UUID.randomUUID())
+                .tonnageInTons(new BigDecimal(tonnage))
+                .bodyHeightInMeters(new BigDecimal("2.00"))
+                .bodyWidthInMeters(new BigDecimal("3.00"))
+                .bodyLengthInCubicMeters(new BigDecimal(bodyLength))
+                .build());
+    }
+
+    private Order persistOrder(String weightInKg, String volumeInCubicMeters) {
+        return orderRepository.save(Order.builder()
+                .goodsType("DRY")
+                .volumeInCubicMeters(new BigDecimal(volumeInCubicMeters))
+                .weightInKg(new BigDecimal(weightInKg))
+                .build());
+    }
+}
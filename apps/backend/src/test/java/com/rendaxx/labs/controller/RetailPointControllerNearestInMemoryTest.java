@@ -0,0 +1,197 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.controller.support.JdbcRowCounter;
+import com.rendaxx.labs.domain.PointType;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.service.spatial.RetailPointSpatialIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@TestPropertySource(properties = "labs.retail-points.proximity.source=memory")
+class RetailPointControllerNearestInMemoryTest extends IntegrationTest {
+
+    @Autowired
+    private RetailPointSpatialIndex spatialIndex;
+
+    @Autowired
+    private JdbcRowCounter rowCounter;
+
+    @BeforeEach
+    void reloadIndex() {
+        spatialIndex.reload();
+    }
+
+    @Test
+    void returnsNotFoundWhenOriginRetailPointDoesNotExist() throws Exception {
+        mockMvc.perform(get("/api/retail-points/{id}/nearest", 9999L).param("limit", "3"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void matchesDatabaseDistancesAndTieBreaks() throws Exception {
+        RetailPoint origin = testDataFactory.persistRetailPoint("Origin", 40.0, 60.0);
+        RetailPoint first = testDataFactory.persistRetailPoint("First", 40.0, 60.01);
+        RetailPoint second = testDataFactory.persistRetailPoint("Second", 40.0, 59.99);
+        testDataFactory.persistRetailPoint("Far", 41.0, 60.0);
+        spatialIndex.reload();
+
+        int smallerId = Math.min(first.getId().intValue(), second.getId().intValue());
+        int largerId = Math.max(first.getId().intValue(), second.getId().intValue());
+
+        mockMvc.perform(get("/api/retail-points/{id}/nearest", origin.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(smallerId, largerId)))
+                .andExpect(jsonPath("$[0].distanceMeters", closeTo(1111.95, 0.5)));
+    }
+
+    @Test
+    void excludesRetailPointsBeyondMaxDistance() throws Exception {
+        RetailPoint origin = testDataFactory.persistRetailPoint("Origin", 10.0, 50.0);
+        RetailPoint near = testDataFactory.persistRetailPoint("Near", 10.0, 50.01);
+        testDataFactory.persistRetailPoint("Far", 10.0, 50.1);
+        spatialIndex.reload();
+
+        mockMvc.perform(get("/api/retail-points/{id}/nearest", origin.getId())
+                        .param("limit", "5")
+                        .param("maxDistanceMeters", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(near.getId().intValue())));
+    }
+
+    @Test
+    void followsRetailPointChangesMadeThroughTheApi() throws Exception {
+        RetailPoint origin = testDataFactory.persistRetailPoint("Origin", 20.0, 45.0);
+        RetailPoint far = testDataFactory.persistRetailPoint("Far", 20.0, 45.5);
+        spatialIndex.reload();
+
+        long created = createRetailPoint(20.0, 45.1);
+        mockMvc.perform(get("/api/retail-points/{id}/nearest", origin.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains((int) created, far.getId().intValue())));
+
+        mockMvc.perform(put("/api/retail-points/{id}", far.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(retailPointJson(20.0, 45.01)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/retail-points/{id}/nearest", origin.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(far.getId().intValue(), (int) created)));
+
+        mockMvc.perform(delete("/api/retail-points/{id}", far.getId())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/retail-points/{id}/nearest", origin.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains((int) created)));
+    }
+
+    @Test
+    void answersLookupsWhileTheIndexReloads() throws Exception {
+        RetailPoint origin = testDataFactory.persistRetailPoint("Origin", 50.0, 40.0);
+        RetailPoint near = testDataFactory.persistRetailPoint("Near", 50.0, 40.01);
+        spatialIndex.reload();
+        Thread reloading = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 200; i++) {
+                spatialIndex.reload();
+            }
+        });
+
+        while (reloading.isAlive()) {
+            mockMvc.perform(get("/api/retail-points/{id}/nearest", origin.getId()).param("limit", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].id", contains(near.getId().intValue())));
+        }
+        reloading.join();
+    }
+
+    @Test
+    void pagesRetailPointsWithinRadiusFromMemory() throws Exception {
+        RetailPoint first = testDataFactory.persistRetailPoint("First", 30.0, 50.005);
+        RetailPoint second = testDataFactory.persistRetailPoint("Second", 30.0, 50.01);
+        testDataFactory.persistRetailPoint("Third", 30.0, 50.02);
+        spatialIndex.reload();
+        long created = createRetailPoint(29.995, 50.0);
+
+        rowCounter.reset();
+        String response = mockMvc.perform(withinRadius(30.0, 50.0, 1200).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(first.getId().intValue(), second.getId().intValue())))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String cursor = JsonPath.read(response, "$.nextCursor");
+        mockMvc.perform(withinRadius(30.0, 50.0, 1200).param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains((int) created)))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        assertThat(rowCounter.statements()).isZero();
+    }
+
+    @Test
+    void filtersRetailPointsWithinRadiusInTheDatabase() throws Exception {
+        testDataFactory.persistRetailPoint("Shop", 30.0, 50.005);
+        RetailPoint warehouse = testDataFactory.persistRetailPoint("Warehouse", 30.0, 50.01, PointType.WAREHOUSE);
+        spatialIndex.reload();
+
+        mockMvc.perform(withinRadius(30.0, 50.0, 1200).param("filter[type]", "WAREHOUSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(warehouse.getId().intValue())));
+    }
+
+    @Test
+    void measuresRadiusAlikeInMemoryAndInTheDatabase() throws Exception {
+        RetailPoint boundary = testDataFactory.persistRetailPoint("Boundary", 60.0, 50.01);
+        spatialIndex.reload();
+
+        mockMvc.perform(withinRadius(60.0, 50.0, 1112.1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(boundary.getId().intValue())));
+        mockMvc.perform(withinRadius(60.0, 50.0, 1112.1).param("filter[type]", "SHOP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(boundary.getId().intValue())));
+    }
+
+    private static MockHttpServletRequestBuilder withinRadius(double longitude, double latitude, double radiusMeters) {
+        return get("/api/retail-points/within-radius")
+                .param("longitude", String.valueOf(longitude))
+                .param("latitude", String.valueOf(latitude))
+                .param("radiusMeters", String.valueOf(radiusMeters));
+    }
+
+    private long createRetailPoint(double longitude, double latitude) throws Exception {
+        String response = mockMvc.perform(post("/api/retail-points")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(retailPointJson(longitude, latitude)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Number id = JsonPath.read(response, "$.id");
+        return id.longValue();
+    }
+
+    private static String retailPointJson(double longitude, double latitude) {
+        return """
+                {"name": "Retail", "address": "Address", "type": "SHOP", "timezone": "UTC",
+                 "location": {"longitude": %s, "latitude": %s}}
+                """
+                .formatted(longitude, latitude);
+    }
+}
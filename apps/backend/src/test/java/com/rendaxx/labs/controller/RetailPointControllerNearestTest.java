@@ -1,5 +1,6 @@
 package com.rendaxx.labs.controller;
 
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -89,6 +90,45 @@ class RetailPointControllerNearestTest extends IntegrationTest {
                 .andExpect(jsonPath("$[*].id", contains(smallerId, largerId)));
     }
 
+    @Test
+    void reportsSphericalDistanceInMetresAndSpheroidDistanceWhenReranked() throws Exception {
+        RetailPoint origin = persistRetailPoint(0.0, 0.0);
+        persistRetailPoint(0.0, 0.01);
+
+        mockMvc.perform(get("/api/retail-points/{id}/nearest", origin.getId()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].distanceMeters", closeTo(1111.95, 0.5)));
+
+        mockMvc.perform(get("/api/retail-points/{id}/nearest", origin.getId())
+                        .param("limit", "1")
+                        .param("rerank", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].distanceMeters", closeTo(1105.74, 0.5)));
+    }
+
+    @Test
+    void excludesRetailPointsBeyondMaxDistance() throws Exception {
+        RetailPoint origin = persistRetailPoint(10.0, 50.0);
+        RetailPoint near = persistRetailPoint(10.0, 50.01);
+        persistRetailPoint(10.0, 50.1);
+
+        mockMvc.perform(get("/api/retail-points/{id}/nearest", origin.getId())
+                        .param("limit", "5")
+                        .param("maxDistanceMeters", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(near.getId().intValue())));
+    }
+
+    @Test
+    void returnsBadRequestWhenMaxDistanceIsNotPositive() throws Exception {
+        RetailPoint origin = persistRetailPoint(10.0, 50.0);
+
+        mockMvc.perform(get("/api/retail-points/{id}/nearest", origin.getId())
+                        .param("limit", "5")
+                        .param("maxDistanceMeters", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     private RetailPoint persistRetailPoint(double longitude, double latitude) {
         RetailPoint point = RetailPoint.builder()
                 .name("Retail-" + longitude + "-" + latitude)
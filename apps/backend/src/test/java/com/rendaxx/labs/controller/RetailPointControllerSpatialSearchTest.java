@@ -0,0 +1,159 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.PointType;
+import com.rendaxx.labs.domain.RetailPoint;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+class RetailPointControllerSpatialSearchTest extends IntegrationTest {
+
+    private static final String TRIANGLE =
+            """
+            {"type": "Polygon", "coordinates": [[[0, 0], [2, 0], [0, 2], [0, 0]]]}
+            """;
+
+    @Test
+    void listsRetailPointsInsideBoxPageByPage() throws Exception {
+        RetailPoint first = testDataFactory.persistRetailPoint("First", 37.5, 55.5, PointType.SHOP);
+        RetailPoint second = testDataFactory.persistRetailPoint("Second", 37.6, 55.6, PointType.SHOP);
+        RetailPoint third = testDataFactory.persistRetailPoint("Third", 37.7, 55.7, PointType.SHOP);
+        testDataFactory.persistRetailPoint("Outside", 38.5, 55.6, PointType.SHOP);
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/retail-points/within-box")
+                    .param("west", "37.0")
+                    .param("south", "55.0")
+                    .param("east", "38.0")
+                    .param("north", "56.0")
+                    .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            List<Number> pageIds = JsonPath.read(response, "$.content[*].id");
+            pageIds.forEach(id -> ids.add(id.longValue()));
+            boolean hasNext = JsonPath.read(response, "$.hasNext");
+            cursor = hasNext ? JsonPath.read(response, "$.nextCursor") : null;
+        } while (cursor != null);
+
+        assertThat(ids).containsExactly(first.getId(), second.getId(), third.getId());
+    }
+
+    @Test
+    void appliesFiltersToBoxSearch() throws Exception {
+        testDataFactory.persistRetailPoint("Shop", 37.5, 55.5, PointType.SHOP);
+        RetailPoint warehouse = testDataFactory.persistRetailPoint("Warehouse", 37.6, 55.6, PointType.WAREHOUSE);
+
+        mockMvc.perform(get("/api/retail-points/within-box")
+                        .param("west", "37.0")
+                        .param("south", "55.0")
+                        .param("east", "38.0")
+                        .param("north", "56.0")
+                        .param("filter[type]", "WAREHOUSE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(warehouse.getId()));
+    }
+
+    @Test
+    void splitsBoxCrossingTheAntimeridian() throws Exception {
+        RetailPoint east = testDataFactory.persistRetailPoint("East", 179.5, 0.0, PointType.SHOP);
+        RetailPoint west = testDataFactory.persistRetailPoint("West", -179.5, 0.0, PointType.SHOP);
+        testDataFactory.persistRetailPoint("Meridian", 0.0, 0.0, PointType.SHOP);
+
+        mockMvc.perform(get("/api/retail-points/within-box")
+                        .param("west", "179.0")
+                        .param("south", "-1.0")
+                        .param("east", "-179.0")
+                        .param("north", "1.0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(
+                        "$.content[*].id", containsInAnyOrder(east.getId().intValue(), west.getId().intValue())));
+    }
+
+    @Test
+    void rejectsBoxWithSouthEdgeNorthOfNorthEdge() throws Exception {
+        mockMvc.perform(get("/api/retail-points/within-box")
+                        .param("west", "37.0")
+                        .param("south", "56.0")
+                        .param("east", "38.0")
+                        .param("north", "55.0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listsRetailPointsInsidePolygon() throws Exception {
+        RetailPoint inside = testDataFactory.persistRetailPoint("Inside", 0.5, 0.5, PointType.SHOP);
+        testDataFactory.persistRetailPoint("Outside", 1.5, 1.5, PointType.SHOP);
+
+        mockMvc.perform(post("/api/retail-points/within-polygon")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TRIANGLE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(inside.getId()));
+    }
+
+    @Test
+    void rejectsSelfIntersectingPolygon() throws Exception {
+        mockMvc.perform(post("/api/retail-points/within-polygon")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                                """
+                                {"type": "Polygon", "coordinates": [[[0, 0], [2, 2], [2, 0], [0, 2], [0, 0]]]}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsPolygonWithOpenRing() throws Exception {
+        mockMvc.perform(post("/api/retail-points/within-polygon")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                                """
+                                {"type": "Polygon", "coordinates": [[[0, 0], [2, 0], [2, 2], [0, 2]]]}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listsRetailPointsWithinRadiusInMetres() throws Exception {
+        RetailPoint near = testDataFactory.persistRetailPoint("Near", 0.0, 0.01, PointType.SHOP);
+        testDataFactory.persistRetailPoint("Far", 0.0, 0.02, PointType.SHOP);
+
+        mockMvc.perform(get("/api/retail-points/within-radius")
+                        .param("longitude", "0.0")
+                        .param("latitude", "0.0")
+                        .param("radiusMeters", "1200"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(near.getId()));
+    }
+
+    @Test
+    void rejectsNonPositiveRadius() throws Exception {
+        mockMvc.perform(get("/api/retail-points/within-radius")
+                        .param("longitude", "0.0")
+                        .param("latitude", "0.0")
+                        .param("radiusMeters", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
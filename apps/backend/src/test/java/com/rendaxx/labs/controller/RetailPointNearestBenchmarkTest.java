@@ -0,0 +1,86 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.dtos.NearestRetailPointDto;
+import com.rendaxx.labs.dtos.RetailPointDto;
+import com.rendaxx.labs.repository.view.RetailPointDistanceView;
+import com.rendaxx.labs.service.spatial.RetailPointSpatialIndex;
+import java.util.List;
+import java.util.Objects;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Compares the in-memory proximity index with the PostGIS KNN query on a seeded data set: both must
+ * return the same neighbours and the index must answer faster. Excluded from {@code test}; run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@TestPropertySource(properties = "labs.retail-points.proximity.source=memory")
+class RetailPointNearestBenchmarkTest extends IntegrationTest {
+
+    private static final int RETAIL_POINTS = 20_000;
+    private static final int QUERIES = 500;
+    private static final int WARMUP_QUERIES = 100;
+    private static final int LIMIT = 10;
+
+    private static final String SEED_SQL =
+            """
+            insert into retail_points (name, address, location, type, timezone)
+            select 'Retail-' || i, 'Address-' || i,
+                st_setsrid(st_makepoint(37.0 + random(), 55.5 + random() * 0.5), 4326), 'SHOP', 'UTC'
+            from generate_series(1, ?) as i
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetailPointSpatialIndex spatialIndex;
+
+    @Test
+    void comparesInMemoryIndexWithDatabaseKnn() {
+        jdbcTemplate.update(SEED_SQL, RETAIL_POINTS);
+        jdbcTemplate.execute("analyze retail_points");
+        spatialIndex.reload();
+
+        List<Long> origins = jdbcTemplate.queryForList(
+                "select id from retail_points order by md5(id::text) limit ?", Long.class, QUERIES);
+        for (Long origin : origins.subList(0, WARMUP_QUERIES)) {
+            memoryIds(origin);
+            databaseIds(origin);
+        }
+
+        long memoryNanos = 0;
+        long databaseNanos = 0;
+        for (Long origin : origins) {
+            long started = System.nanoTime();
+            List<Long> memory = memoryIds(origin);
+            memoryNanos += System.nanoTime() - started;
+            started = System.nanoTime();
+            List<Long> database = databaseIds(origin);
+            databaseNanos += System.nanoTime() - started;
+            assertThat(memory).as("nearest to %d", origin).isEqualTo(database);
+        }
+        assertThat(memoryNanos).isLessThan(databaseNanos);
+    }
+
+    private List<Long> memoryIds(Long origin) {
+        RetailPointDto retailPoint = Objects.requireNonNull(spatialIndex.find(origin));
+        return spatialIndex.nearest(retailPoint, LIMIT, null).stream()
+                .map(NearestRetailPointDto::getRetailPoint)
+                .map(RetailPointDto::getId)
+                .toList();
+    }
+
+    private List<Long> databaseIds(Long origin) {
+        return retailPointRepository.findNearestRetailPointDistances(origin, null, false, LIMIT, LIMIT).stream()
+                .map(RetailPointDistanceView::getId)
+                .toList();
+    }
+}
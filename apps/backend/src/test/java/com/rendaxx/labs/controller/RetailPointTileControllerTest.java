@@ -0,0 +1,128 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.service.RetailPointTileService;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RetailPointTileControllerTest extends IntegrationTest {
+
+    private static final String MOSCOW_TILE = "/api/tiles/retail-points/10/618/320.mvt";
+    private static final String SAINT_PETERSBURG_TILE = "/api/tiles/retail-points/10/598/297.mvt";
+
+    @Autowired
+    private RetailPointTileService retailPointTileService;
+
+    @BeforeEach
+    void clearCache() {
+        retailPointTileService.evictAll();
+    }
+
+    @Test
+    void rendersRetailPointsWithCachingHeaders() throws Exception {
+        testDataFactory.persistRetailPoint("Moscow", 37.5, 55.75);
+        testDataFactory.persistRetailPoint("Saint Petersburg", 30.3, 59.94);
+
+        MockHttpServletResponse response = fetch(MOSCOW_TILE);
+
+        assertThat(response.getContentType()).isEqualTo(RetailPointTileController.MEDIA_TYPE);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=60, must-revalidate");
+        assertThat(tileText(response)).contains("retail_points", "Moscow", "SHOP").doesNotContain("Saint Petersburg");
+    }
+
+    @Test
+    void returnsEmptyTileWithoutRetailPoints() throws Exception {
+        testDataFactory.persistRetailPoint("Moscow", 37.5, 55.75);
+
+        assertThat(fetch(SAINT_PETERSBURG_TILE).getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEtag() throws Exception {
+        testDataFactory.persistRetailPoint("Moscow", 37.5, 55.75);
+        String etag = fetch(MOSCOW_TILE).getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(MOSCOW_TILE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void evictsOnlyTilesAffectedByRetailPointChanges() throws Exception {
+        RetailPoint moscow = testDataFactory.persistRetailPoint("Moscow", 37.5, 55.75);
+        testDataFactory.persistRetailPoint("Saint Petersburg", 30.3, 59.94);
+        fetch(MOSCOW_TILE);
+        String saintPetersburgEtag = fetch(SAINT_PETERSBURG_TILE).getHeader(HttpHeaders.ETAG);
+
+        testDataFactory.persistRetailPoint("Neva", 30.35, 59.93);
+        mockMvc.perform(put("/api/retail-points/{id}", moscow.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(retailPointJson("Moscow City", 37.5, 55.75)))
+                .andExpect(status().isOk());
+
+        assertThat(tileText(fetch(MOSCOW_TILE))).contains("Moscow City");
+        mockMvc.perform(get(SAINT_PETERSBURG_TILE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, saintPetersburgEtag));
+    }
+
+    @Test
+    void evictsTilesAtOldAndNewLocationWhenRetailPointMoves() throws Exception {
+        RetailPoint moving = testDataFactory.persistRetailPoint("Moving", 37.5, 55.75);
+        testDataFactory.persistRetailPoint("Saint Petersburg", 30.3, 59.94);
+        fetch(MOSCOW_TILE);
+        fetch(SAINT_PETERSBURG_TILE);
+
+        mockMvc.perform(put("/api/retail-points/{id}", moving.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(retailPointJson("Moving", 30.31, 59.94)))
+                .andExpect(status().isOk());
+
+        assertThat(fetch(MOSCOW_TILE).getContentAsByteArray()).isEmpty();
+        assertThat(tileText(fetch(SAINT_PETERSBURG_TILE))).contains("Moving");
+
+        mockMvc.perform(delete("/api/retail-points/{id}", moving.getId())).andExpect(status().isNoContent());
+        assertThat(tileText(fetch(SAINT_PETERSBURG_TILE))).doesNotContain("Moving");
+    }
+
+    @Test
+    void rejectsTilesOutsideTheZoomLevel() throws Exception {
+        mockMvc.perform(get("/api/tiles/retail-points/0/1/0.mvt")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tiles/retail-points/2/0/4.mvt")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tiles/retail-points/23/0/0.mvt"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Zoom")));
+    }
+
+    private MockHttpServletResponse fetch(String tile) throws Exception {
+        return mockMvc.perform(get(tile)).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    private static String tileText(MockHttpServletResponse response) {
+        return new String(response.getContentAsByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    private static String retailPointJson(String name, double longitude, double latitude) {
+        return """
+                {"name": "%s", "address": "Address", "type": "SHOP", "timezone": "UTC",
+                 "location": {"longitude": %s, "latitude": %s}}
+                """
+                .formatted(name, longitude, latitude);
+    }
+}
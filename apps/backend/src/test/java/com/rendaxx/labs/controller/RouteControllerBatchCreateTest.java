@@ -0,0 +1,135 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Vehicle;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class RouteControllerBatchCreateTest extends IntegrationTest {
+
+    @Test
+    void createsAllValidRoutesAndReportsInvalidOnes() throws Exception {
+        Vehicle vehicle = testDataFactory.persistVehicle();
+        Vehicle another = testDataFactory.persistVehicle();
+        RetailPoint retailPoint = testDataFactory.persistRetailPoint();
+        Order order = testDataFactory.persistOrder();
+
+        String body = "["
+                + route(vehicle.getId(), retailPoint.getId(), order.getId(), "12.500")
+                + ","
+                + route(9999L, retailPoint.getId(), order.getId(), "7.000")
+                + ","
+                + route(vehicle.getId(), 9999L, order.getId(), "3.000")
+                + ","
+                + route(another.getId(), retailPoint.getId(), order.getId(), "4.250")
+                + "]";
+
+        mockMvc.perform(post("/api/routes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created.length()").value(2))
+                .andExpect(jsonPath("$.created[0].index").value(0))
+                .andExpect(jsonPath("$.created[1].index").value(3))
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Vehicle with id '9999' was not found"))
+                .andExpect(jsonPath("$.errors[1].index").value(2))
+                .andExpect(jsonPath("$.errors[1].message").value("RetailPoint with id '9999' was not found"));
+
+        assertThat(routeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void persistsRoutePointsWithOrders() throws Exception {
+        Vehicle vehicle = testDataFactory.persistVehicle();
+        RetailPoint retailPoint = testDataFactory.persistRetailPoint();
+        Order order = testDataFactory.persistOrder();
+
+        String response = mockMvc.perform(post("/api/routes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + route(vehicle.getId(), retailPoint.getId(), order.getId(), "12.500") + "]"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Number routeId = JsonPath.read(response, "$.created[0].id");
+
+        mockMvc.perform(get("/api/routes/{id}", routeId.longValue()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicle.id").value(vehicle.getId()))
+                .andExpect(jsonPath("$.mileageInKm").value(0.0))
+                .andExpect(jsonPath("$.routePoints.length()").value(1))
+                .andExpect(jsonPath("$.routePoints[0].retailPoint.id").value(retailPoint.getId()))
+                .andExpect(jsonPath("$.routePoints[0].orders[0].id").value(order.getId()));
+    }
+
+    @Test
+    void rejectsDuplicateOrderNumbersPerItem() throws Exception {
+        Vehicle vehicle = testDataFactory.persistVehicle();
+        RetailPoint retailPoint = testDataFactory.persistRetailPoint();
+
+        String body =
+                """
+                [{
+                  "vehicleId": %d,
+                  "creationTime": "2025-06-01T08:00:00",
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T11:00:00",
+                  "mileageInKm": 5.0,
+                  "routePoints": [%s, %s]
+                }]
+                """
+                        .formatted(
+                                vehicle.getId(),
+                                routePoint(retailPoint.getId(), null, 0),
+                                routePoint(retailPoint.getId(), null, 0));
+
+        mockMvc.perform(post("/api/routes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created.length()").value(0))
+                .andExpect(jsonPath("$.errors[0].message")
+                        .value("Route point order number '0' is used more than once"));
+
+        assertThat(routeRepository.count()).isZero();
+    }
+
+    private String route(Long vehicleId, Long retailPointId, Long orderId, String mileage) {
+        return """
+                {
+                  "vehicleId": %d,
+                  "creationTime": "2025-06-01T08:00:00",
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T11:00:00",
+                  "mileageInKm": %s,
+                  "routePoints": [%s]
+                }
+                """
+                .formatted(vehicleId, mileage, routePoint(retailPointId, orderId, 0));
+    }
+
+    private String routePoint(Long retailPointId, Long orderId, int orderNumber) {
+        return """
+                {
+                  "retailPointId": %d,
+                  "operationType": "LOAD",
+                  "orderIds": [%s],
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T10:00:00",
+                  "orderNumber": %d
+                }
+                """
+                .formatted(retailPointId, orderId != null ? orderId : "", orderNumber);
+    }
+}
@@ -0,0 +1,192 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.dtos.PatchRoutePointDto;
+import com.rendaxx.labs.service.RoutePointService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class RouteControllerConditionalRequestTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+    @Autowired
+    private RoutePointService routePointService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void answersNotModifiedUntilAnEmbeddedEntityChanges() throws Exception {
+        RetailPoint retailPoint = testDataFactory.persistRetailPoint();
+        Route route = testDataFactory.persistRouteWithRetailPoint(
+                retailPoint, START, START.plusHours(2), new BigDecimal("10.000"));
+        String tag = routeTag(route);
+        assertThat(tag).startsWith("\"");
+
+        mockMvc.perform(get("/api/routes/{id}", route.getId()).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, tag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/retail-points/{id}", retailPoint.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                                """
+                                {"name": "Renamed", "address": "Address", "type": "SHOP", "timezone": "UTC",
+                                 "location": {"longitude": 37.617494, "latitude": 55.755825}}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/routes/{id}", route.getId()).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints[0].retailPoint.name").value("Renamed"));
+        assertThat(routeTag(route)).isNotEqualTo(tag);
+    }
+
+    @Test
+    void tagsListPagesWeakly() throws Exception {
+        testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("10.000"));
+
+        String tag = mockMvc.perform(get("/api/routes"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(tag).startsWith("W/\"");
+
+        mockMvc.perform(get("/api/routes").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+
+        testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("10.000"));
+
+        mockMvc.perform(get("/api/routes").header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    void updatesOnlyWhenIfMatchNamesTheCurrentRepresentation() throws Exception {
+        Route route = testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("10.000"));
+        Vehicle vehicle = testDataFactory.persistVehicle();
+        String tag = routeTag(route);
+
+        mockMvc.perform(put("/api/routes/{id}", route.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"stale\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(vehicle, "2025-06-01T10:00:00")))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().string("If-Match does not match the current entity tag"));
+
+        String updatedTag = mockMvc.perform(put("/api/routes/{id}", route.getId())
+                        .header(HttpHeaders.IF_MATCH, tag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(vehicle, "2025-06-01T10:00:00")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.plannedStartTime").value("2025-06-01T10:00:00"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(updatedTag).isNotEqualTo(tag).isEqualTo(routeTag(route));
+
+        mockMvc.perform(put("/api/routes/{id}", route.getId())
+                        .header(HttpHeaders.IF_MATCH, tag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(vehicle, "2025-06-01T11:00:00")))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void rejectsRouteUpdateRacingARoutePointChange() throws Exception {
+        RetailPoint retailPoint = testDataFactory.persistRetailPoint();
+        Route route = testDataFactory.persistRouteWithRetailPoint(
+                retailPoint, START, START.plusHours(2), new BigDecimal("10.000"));
+        Long routePointId = route.getRoutePoints().get(0).getId();
+        Vehicle vehicle = testDataFactory.persistVehicle();
+        String tag = routeTag(route);
+        PatchRoutePointDto patch = new PatchRoutePointDto();
+        patch.setPlannedEndTime(JsonNullable.of(START.plusHours(1)));
+        CountDownLatch written = new CountDownLatch(1);
+        Thread routePointChange = Thread.ofVirtual()
+                .start(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    routePointService.patch(routePointId, patch, null);
+                    written.countDown();
+                    try {
+                        awaitLockWait();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        written.await();
+
+        mockMvc.perform(put("/api/routes/{id}", route.getId())
+                        .header(HttpHeaders.IF_MATCH, tag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(vehicle, "2025-06-01T10:00:00")))
+                .andExpect(status().isPreconditionFailed());
+        routePointChange.join();
+
+        mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints.length()").value(1))
+                .andExpect(jsonPath("$.routePoints[0].plannedEndTime").value("2025-06-01T10:00:00"));
+    }
+
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            Long waiting = jdbcTemplate.queryForObject(
+                    "select count(*) from pg_stat_activity where wait_event_type = 'Lock'", Long.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Route update did not wait for the route lock");
+    }
+
+    private String routeTag(Route route) throws Exception {
+        return mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    private static String route(Vehicle vehicle, String plannedStart) {
+        return """
+                {
+                  "vehicleId": %d,
+                  "creationTime": "2025-05-31T08:00:00",
+                  "plannedStartTime": "%s",
+                  "plannedEndTime": "2025-06-01T18:00:00",
+                  "mileageInKm": 0.0,
+                  "routePoints": []
+                }
+                """
+                .formatted(vehicle.getId(), plannedStart);
+    }
+}
@@ -0,0 +1,80 @@
+package com.rendaxx.labs.controller;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class RouteControllerCountStrategyTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 8, 1, 8, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void persistRoutes() {
+        for (int i = 0; i < 3; i++) {
+            testDataFactory.persistRoute(START.plusDays(i), START.plusDays(i).plusHours(4), new BigDecimal("10.000"));
+        }
+        jdbcTemplate.execute("analyze routes");
+    }
+
+    @Test
+    void countsExactlyByDefault() throws Exception {
+        mockMvc.perform(get("/api/routes").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.countStrategy").value("EXACT"))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2));
+    }
+
+    @Test
+    void skipsTotalsWhenCountStrategyIsNone() throws Exception {
+        mockMvc.perform(get("/api/routes").param("size", "2").param("countStrategy", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.countStrategy").value("NONE"))
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+    }
+
+    @Test
+    void estimatesUnfilteredTotalsFromTableStatistics() throws Exception {
+        mockMvc.perform(get("/api/routes").param("size", "1").param("countStrategy", "ESTIMATE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.countStrategy").value("ESTIMATE"))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    void estimatesSimplyFilteredTotalsFromPlanner() throws Exception {
+        mockMvc.perform(get("/api/routes")
+                        .param("size", "1")
+                        .param("countStrategy", "ESTIMATE")
+                        .param("filter[mileageInKm]", "10.000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.countStrategy").value("ESTIMATE"))
+                .andExpect(jsonPath("$.totalElements", greaterThanOrEqualTo(2)));
+    }
+
+    @Test
+    void fallsBackToExactCountForFiltersThatNeedJoins() throws Exception {
+        mockMvc.perform(get("/api/routes")
+                        .param("size", "1")
+                        .param("countStrategy", "ESTIMATE")
+                        .param("filter[routePoints.orderNumber]", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.countStrategy").value("EXACT"))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+}
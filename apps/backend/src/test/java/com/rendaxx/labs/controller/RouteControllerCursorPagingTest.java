@@ -0,0 +1,116 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.Route;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+class RouteControllerCursorPagingTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 7, 1, 8, 0);
+
+    @Test
+    void walksAllRoutesWithCursorInSortOrder() throws Exception {
+        Route first = persistRoute(START.plusDays(3), "10.000");
+        Route secondTie = persistRoute(START.plusDays(2), "10.000");
+        Route thirdTie = persistRoute(START.plusDays(2), "10.000");
+        Route fourth = persistRoute(START.plusDays(1), "10.000");
+        Route fifth = persistRoute(START, "10.000");
+
+        List<Long> ids = walk(request -> request.param("size", "2").param("sort", "plannedStartTime,desc"));
+
+        assertThat(ids)
+                .containsExactly(
+                        first.getId(), secondTie.getId(), thirdTie.getId(), fourth.getId(), fifth.getId());
+    }
+
+    @Test
+    void appliesFiltersOnEveryCursorPage() throws Exception {
+        Route matching1 = persistRoute(START, "10.000");
+        persistRoute(START.plusDays(1), "20.000");
+        Route matching2 = persistRoute(START.plusDays(2), "10.000");
+        Route matching3 = persistRoute(START.plusDays(3), "10.000");
+
+        List<Long> ids = walk(request -> request.param("size", "1")
+                .param("sort", "mileageInKm,asc", "plannedStartTime,asc")
+                .param("filter[mileageInKm]", "10.000"));
+
+        assertThat(ids).containsExactly(matching1.getId(), matching2.getId(), matching3.getId());
+    }
+
+    @Test
+    void rejectsCursorIssuedForAnotherSort() throws Exception {
+        persistRoute(START, "10.000");
+        persistRoute(START.plusDays(1), "10.000");
+        String response = mockMvc.perform(get("/api/routes").param("size", "1").param("sort", "id,asc"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String cursor = JsonPath.read(response, "$.nextCursor");
+
+        mockMvc.perform(get("/api/routes").param("cursor", cursor).param("sort", "plannedStartTime,asc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Cursor does not match the requested sort"));
+    }
+
+    @Test
+    void rejectsMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/routes").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid cursor"));
+    }
+
+    @Test
+    void offsetPagingStillReturnsTotals() throws Exception {
+        persistRoute(START, "10.000");
+        persistRoute(START.plusDays(1), "10.000");
+        persistRoute(START.plusDays(2), "10.000");
+
+        mockMvc.perform(get("/api/routes").param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.last").value(true));
+    }
+
+    private Route persistRoute(LocalDateTime plannedStart, String mileage) {
+        return testDataFactory.persistRoute(plannedStart, plannedStart.plusHours(4), new BigDecimal(mileage));
+    }
+
+    private List<Long> walk(UnaryOperator<MockHttpServletRequestBuilder> customizer) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = customizer.apply(get("/api/routes"));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            List<Number> pageIds = JsonPath.read(response, "$.content[*].id");
+            pageIds.forEach(id -> ids.add(id.longValue()));
+            boolean hasNext = JsonPath.read(response, "$.hasNext");
+            cursor = hasNext ? JsonPath.read(response, "$.nextCursor") : null;
+        } while (cursor != null);
+        return ids;
+    }
+}
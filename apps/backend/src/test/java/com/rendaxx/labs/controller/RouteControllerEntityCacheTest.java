@@ -0,0 +1,81 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Route;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class RouteControllerEntityCacheTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void servesRepeatedReadsFromCacheUntilAnEmbeddedRetailPointChanges() throws Exception {
+        RetailPoint retailPoint = testDataFactory.persistRetailPoint();
+        Route route = testDataFactory.persistRouteWithRetailPoint(
+                retailPoint, START, START.plusHours(2), new BigDecimal("10.000"));
+        double hits = routeHits();
+
+        mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints[0].retailPoint.name").value(retailPoint.getName()));
+        jdbcTemplate.update("update routes set mileage_in_km = 99 where id = ?", route.getId());
+        mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mileageInKm").value(10.0));
+        assertThat(routeHits()).isEqualTo(hits + 1);
+
+        mockMvc.perform(put("/api/retail-points/{id}", retailPoint.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                                """
+                                {"name": "Renamed", "address": "Address", "type": "SHOP", "timezone": "UTC",
+                                 "location": {"longitude": 37.617494, "latitude": 55.755825}}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints[0].retailPoint.name").value("Renamed"));
+        assertThat(routeHits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void evictsRouteWhenItsRoutePointIsDeleted() throws Exception {
+        Route route = testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("10.000"));
+        Long routePointId = route.getRoutePoints().get(0).getId();
+
+        mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints.length()").value(1));
+
+        mockMvc.perform(delete("/api/route-points/{id}", routePointId)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints.length()").value(0));
+    }
+
+    private double routeHits() {
+        return meterRegistry.counter("labs.entity-cache.gets", "entity", "routes", "result", "hit").count();
+    }
+}
@@ -1,5 +1,6 @@
 package com.rendaxx.labs.controller;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -67,6 +68,49 @@ class RouteControllerGetWithinPeriodTest extends IntegrationTest {
                                 innerRoute.getId().intValue())));
     }
 
+    @Test
+    void returnsRoutesOverlappingOrStartingWithinPeriod() throws Exception {
+        LocalDateTime periodStart = LocalDateTime.of(2025, 1, 2, 10, 0);
+        LocalDateTime periodEnd = LocalDateTime.of(2025, 1, 2, 12, 0);
+
+        Route inner = testDataFactory.persistRoute(
+                LocalDateTime.of(2025, 1, 2, 10, 30), LocalDateTime.of(2025, 1, 2, 11, 0), new BigDecimal("50.000"));
+        Route enclosing = testDataFactory.persistRoute(
+                LocalDateTime.of(2025, 1, 2, 8, 0), LocalDateTime.of(2025, 1, 2, 14, 0), new BigDecimal("20.000"));
+        Route endingAtStart = testDataFactory.persistRoute(
+                LocalDateTime.of(2025, 1, 2, 9, 0), periodStart, new BigDecimal("30.000"));
+        Route leavingLate = testDataFactory.persistRoute(
+                LocalDateTime.of(2025, 1, 2, 11, 30), periodEnd.plusMinutes(15), new BigDecimal("70.000"));
+        testDataFactory.persistRoute(periodEnd.plusMinutes(1), periodEnd.plusHours(1), new BigDecimal("10.000"));
+
+        mockMvc.perform(get("/api/routes/within-period")
+                        .param("periodStart", periodStart.toString())
+                        .param("periodEnd", periodEnd.toString())
+                        .param("mode", "OVERLAPPING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(
+                        "$[*].id",
+                        contains(
+                                inner.getId().intValue(),
+                                enclosing.getId().intValue(),
+                                endingAtStart.getId().intValue(),
+                                leavingLate.getId().intValue())));
+
+        mockMvc.perform(get("/api/routes/within-period")
+                        .param("periodStart", periodStart.toString())
+                        .param("periodEnd", periodEnd.toString())
+                        .param("mode", "STARTING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(inner.getId().intValue(), leavingLate.getId().intValue())));
+
+        mockMvc.perform(get("/api/routes/within-period")
+                        .param("periodStart", periodStart.toString())
+                        .param("periodEnd", periodEnd.toString())
+                        .param("mode", "CONTAINED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(inner.getId().intValue())));
+    }
+
     @Test
     void returnsBadRequestWhenPeriodStartAfterPeriodEnd() throws Exception {
         LocalDateTime periodEnd = LocalDateTime.of(2025, 1, 5, 10, 0);
@@ -0,0 +1,146 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Vehicle;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class RouteControllerLoadCapacityTest extends IntegrationTest {
+
+    private Vehicle vehicle;
+    private RetailPoint retailPoint;
+
+    @BeforeEach
+    void setUp() {
+        vehicle = testDataFactory.persistVehicle();
+        retailPoint = testDataFactory.persistRetailPoint();
+    }
+
+    @Test
+    void rejectsRouteCarryingMoreThanVehicleTonnage() throws Exception {
+        Order first = persistOrder("3000.000");
+        Order second = persistOrder("3000.000");
+
+        mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(
+                                routePoint("LOAD", first.getId(), 0),
+                                routePoint("LOAD", second.getId(), 1),
+                                routePoint("UNLOAD", first.getId(), 2),
+                                routePoint("UNLOAD", second.getId(), 3))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content()
+                        .string("Vehicle %s carries 6000.000 kg at route point 1, more than its 5000.000 kg"
+                                .formatted(vehicle.getGosNumber())));
+
+        assertThat(routeRepository.count()).isZero();
+    }
+
+    @Test
+    void acceptsOrdersCarriedOneAfterAnother() throws Exception {
+        Order first = persistOrder("3000.000");
+        Order second = persistOrder("3000.000");
+
+        mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(
+                                routePoint("LOAD", first.getId(), 0),
+                                routePoint("UNLOAD", first.getId(), 1),
+                                routePoint("LOAD", second.getId(), 2),
+                                routePoint("UNLOAD", second.getId(), 3))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void reportsOverloadedBatchItem() throws Exception {
+        Order heavy = persistOrder("6000.000");
+        Order light = persistOrder("100.000");
+
+        mockMvc.perform(post("/api/routes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + route(routePoint("LOAD", heavy.getId(), 0)) + ","
+                                + route(routePoint("LOAD", light.getId(), 0)) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created.length()").value(1))
+                .andExpect(jsonPath("$.created[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(0))
+                .andExpect(jsonPath("$.errors[0].message")
+                        .value("Vehicle %s carries 6000.000 kg at route point 0, more than its 5000.000 kg"
+                                .formatted(vehicle.getGosNumber())));
+    }
+
+    @Test
+    void rejectsRoutePointOverloadingVehicle() throws Exception {
+        Order first = persistOrder("3000.000");
+        Order second = persistOrder("3000.000");
+        String created = mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(routePoint("LOAD", first.getId(), 0))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Number routeId = JsonPath.read(created, "$.id");
+
+        mockMvc.perform(post("/api/route-points")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(routePoint("LOAD", second.getId(), 1)
+                                .replaceFirst("\\{", "{\"routeId\": " + routeId.longValue() + ",")))
+                .andExpect(status().isBadRequest())
+                .andExpect(content()
+                        .string("Vehicle %s carries 6000.000 kg at route point 1, more than its 5000.000 kg"
+                                .formatted(vehicle.getGosNumber())));
+
+        mockMvc.perform(get("/api/routes/{id}", routeId.longValue()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints.length()").value(1));
+    }
+
+    private Order persistOrder(String weightInKg) {
+        return orderRepository.save(Order.builder()
+                .goodsType("DRY")
+                .volumeInCubicMeters(new BigDecimal("1.000"))
+                .weightInKg(new BigDecimal(weightInKg))
+                .build());
+    }
+
+    private String route(String... routePoints) {
+        return """
+                {
+                  "vehicleId": %d,
+                  "creationTime": "2025-06-01T08:00:00",
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T17:00:00",
+                  "mileageInKm": 5.0,
+                  "routePoints": [%s]
+                }
+                """
+                .formatted(vehicle.getId(), String.join(",", routePoints));
+    }
+
+    private String routePoint(String operationType, Long orderId, int orderNumber) {
+        return """
+                {
+                  "retailPointId": %d,
+                  "operationType": "%s",
+                  "orderIds": [%d],
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T10:00:00",
+                  "orderNumber": %d
+                }
+                """
+                .formatted(retailPoint.getId(), operationType, orderId, orderNumber);
+    }
+}
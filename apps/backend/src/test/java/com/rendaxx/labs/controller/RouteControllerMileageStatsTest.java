@@ -0,0 +1,139 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.service.RouteMileageStatsService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class RouteControllerMileageStatsTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 9, 1, 8, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RouteMileageStatsService statsService;
+
+    @Test
+    void reportsEmptyStatsWhenNoRoutesExist() throws Exception {
+        mockMvc.perform(get("/api/routes/mileage-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routeCount").value(0))
+                .andExpect(jsonPath("$.totalMileageInKm").value(0.0))
+                .andExpect(jsonPath("$.averageMileageInKm").value(0.0))
+                .andExpect(jsonPath("$.minMileageInKm").doesNotExist());
+    }
+
+    @Test
+    void keepsTotalsCurrentAcrossCreateUpdateAndDelete() throws Exception {
+        Route shortest = testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("10.000"));
+        testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("20.000"));
+        Route longest = testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("30.000"));
+
+        jdbcTemplate.update(
+                "update routes set mileage_in_km = ? where id = ?", new BigDecimal("25.000"), longest.getId());
+        routeRepository.deleteById(shortest.getId());
+
+        mockMvc.perform(get("/api/routes/mileage-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routeCount").value(2))
+                .andExpect(jsonPath("$.totalMileageInKm").value(45.0))
+                .andExpect(jsonPath("$.minMileageInKm").value(20.0))
+                .andExpect(jsonPath("$.maxMileageInKm").value(25.0))
+                .andExpect(jsonPath("$.averageMileageInKm").value(22.5));
+        mockMvc.perform(get("/api/routes/average-mileage"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("22.5"));
+    }
+
+    @Test
+    void breaksStatsDownByVehicleAndDay() throws Exception {
+        Route first = testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("10.000"));
+        Route second = testDataFactory.persistRoute(
+                START.plusDays(1), START.plusDays(1).plusHours(2), new BigDecimal("30.000"));
+        Long vehicleId = Objects.requireNonNull(first.getVehicle()).getId();
+        jdbcTemplate.update(
+                "update routes set vehicle_id = ?, planned_start_time = ? where id = ?",
+                vehicleId,
+                START.plusHours(1),
+                second.getId());
+
+        mockMvc.perform(get("/api/routes/mileage-stats/by-vehicle"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].vehicleId").value(vehicleId))
+                .andExpect(jsonPath("$[0].stats.routeCount").value(2))
+                .andExpect(jsonPath("$[0].stats.averageMileageInKm").value(20.0));
+
+        mockMvc.perform(get("/api/routes/mileage-stats/by-day")
+                        .param("from", "2025-09-01")
+                        .param("to", "2025-09-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].day").value("2025-09-01"))
+                .andExpect(jsonPath("$[0].stats.minMileageInKm").value(10.0))
+                .andExpect(jsonPath("$[0].stats.maxMileageInKm").value(30.0));
+    }
+
+    @Test
+    void rejectsInvertedDayRange() throws Exception {
+        mockMvc.perform(get("/api/routes/mileage-stats/by-day")
+                        .param("from", "2025-09-02")
+                        .param("to", "2025-09-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void storesExtremesLeftStaleByRemovedRoutes() throws Exception {
+        testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("10.000"));
+        Route longest = testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("30.000"));
+        routeRepository.deleteById(longest.getId());
+
+        statsService.refreshStaleExtremes();
+
+        assertThat(jdbcTemplate.queryForObject(
+                        "select count(*) from route_mileage_by_day where extremes_stale", Long.class))
+                .isZero();
+        mockMvc.perform(get("/api/routes/mileage-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routeCount").value(1))
+                .andExpect(jsonPath("$.maxMileageInKm").value(10.0));
+        mockMvc.perform(post("/api/routes/mileage-stats/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(true));
+    }
+
+    @Test
+    void rebuildRepairsDriftedStats() throws Exception {
+        testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("10.000"));
+        jdbcTemplate.update("update route_mileage_by_vehicle set route_count = 5, mileage_max_in_km = 99");
+        jdbcTemplate.update("delete from route_mileage_by_day");
+
+        mockMvc.perform(post("/api/routes/mileage-stats/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(false))
+                .andExpect(jsonPath("$.mismatchedRows").value(2));
+
+        mockMvc.perform(post("/api/routes/mileage-stats/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(true))
+                .andExpect(jsonPath("$.mismatchedRows").value(0));
+        mockMvc.perform(get("/api/routes/mileage-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routeCount").value(1))
+                .andExpect(jsonPath("$.maxMileageInKm").value(10.0));
+    }
+}
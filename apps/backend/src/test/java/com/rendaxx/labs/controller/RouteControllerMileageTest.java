@@ -0,0 +1,338 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.OperationType;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.RoutePoint;
+import com.rendaxx.labs.domain.Vehicle;
+import com.rendaxx.labs.service.RouteMileageService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@TestPropertySource(properties = "labs.routes.mileage.recompute.chunk-size=2")
+class RouteControllerMileageTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 9, 0);
+    private static final BigDecimal STALE_MILEAGE = new BigDecimal("10.000");
+    private static final double KILOMETER_TOLERANCE = 0.0011;
+
+    private static final String POSTGIS_LENGTH_SQL =
+            """
+            select coalesce(st_length(st_makeline(p.location order by u.ord)::geography), 0) / 1000
+            from unnest(?::bigint[]) with ordinality as u(id, ord)
+            join retail_points p on p.id = u.id
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RouteMileageService routeMileageService;
+
+    private RetailPoint moscow;
+    private RetailPoint tver;
+    private RetailPoint saintPetersburg;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from route_mileage_recompute_jobs");
+        moscow = testDataFactory.persistRetailPoint("Moscow", 37.6175, 55.7558);
+        tver = testDataFactory.persistRetailPoint("Tver", 35.9006, 56.8587);
+        saintPetersburg = testDataFactory.persistRetailPoint("Saint Petersburg", 30.3141, 59.9386);
+    }
+
+    @Test
+    void computesMileageFromRoutePointsInVisitingOrder() throws Exception {
+        Vehicle vehicle = testDataFactory.persistVehicle();
+        String body =
+                """
+                {
+                  "vehicleId": %d,
+                  "creationTime": "2025-06-01T08:00:00",
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T21:00:00",
+                  "mileageInKm": 1.0,
+                  "routePoints": [%s, %s, %s]
+                }
+                """
+                        .formatted(
+                                vehicle.getId(),
+                                routePoint(saintPetersburg, 2),
+                                routePoint(moscow, 0),
+                                routePoint(tver, 1));
+
+        mockMvc.perform(post("/api/routes").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath(
+                        "$.mileageInKm",
+                        closeTo(postgisLengthKm(moscow, tver, saintPetersburg), KILOMETER_TOLERANCE)));
+    }
+
+    @Test
+    void recomputesMileageWhenRoutePointsChange() throws Exception {
+        Route route = persistRoute(moscow, tver);
+
+        String response = mockMvc.perform(post("/api/route-points")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(routePointForRoute(route, saintPetersburg, 2)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Number routePointId = JsonPath.read(response, "$.id");
+        assertThat(storedMileage(route))
+                .isCloseTo(postgisLengthKm(moscow, tver, saintPetersburg), within(KILOMETER_TOLERANCE));
+
+        mockMvc.perform(delete("/api/route-points/{id}", routePointId.longValue()))
+                .andExpect(status().isNoContent());
+        assertThat(storedMileage(route)).isCloseTo(postgisLengthKm(moscow, tver), within(KILOMETER_TOLERANCE));
+    }
+
+    @Test
+    void recomputesMileageWhenRetailPointMoves() throws Exception {
+        Route route = persistRoute(moscow, tver);
+
+        mockMvc.perform(put("/api/retail-points/{id}", tver.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                                """
+                                {"name": "Tver", "address": "Address", "type": "SHOP", "timezone": "UTC",
+                                 "location": {"longitude": 36.0, "latitude": 57.0}}
+                                """))
+                .andExpect(status().isOk());
+
+        assertThat(storedMileage(route)).isCloseTo(postgisLengthKm(moscow, tver), within(KILOMETER_TOLERANCE));
+        assertThat(storedMileage(route)).isNotCloseTo(STALE_MILEAGE.doubleValue(), within(1.0));
+    }
+
+    @Test
+    void bulkRecomputationUpdatesEveryRouteAndRebuildsStatistics() throws Exception {
+        Route first = persistRoute(moscow, tver);
+        Route second = persistRoute(tver, saintPetersburg);
+        Route third = persistRoute(moscow, tver, saintPetersburg);
+        Route fourth = persistRoute(moscow);
+        Route fifth = persistRoute(saintPetersburg, moscow);
+
+        mockMvc.perform(post("/api/routes/mileage/recompute"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.maxRouteId").value(fifth.getId()));
+        awaitCompletion();
+
+        mockMvc.perform(get("/api/routes/mileage/recompute"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.lastRouteId").value(fifth.getId()))
+                .andExpect(jsonPath("$.processedRoutes").value(5))
+                .andExpect(jsonPath("$.updatedRoutes").value(5));
+        assertThat(storedMileage(first)).isCloseTo(postgisLengthKm(moscow, tver), within(KILOMETER_TOLERANCE));
+        assertThat(storedMileage(second))
+                .isCloseTo(postgisLengthKm(tver, saintPetersburg), within(KILOMETER_TOLERANCE));
+        assertThat(storedMileage(third))
+                .isCloseTo(postgisLengthKm(moscow, tver, saintPetersburg), within(KILOMETER_TOLERANCE));
+        assertThat(storedMileage(fourth)).isZero();
+        assertThat(storedMileage(fifth))
+                .isCloseTo(postgisLengthKm(saintPetersburg, moscow), within(KILOMETER_TOLERANCE));
+
+        mockMvc.perform(post("/api/routes/mileage-stats/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(true));
+    }
+
+    @Test
+    void resumesUnfinishedRecomputationAfterItsLastProcessedRoute() throws Exception {
+        Route processed = persistRoute(moscow, tver);
+        Route pending = persistRoute(tver, saintPetersburg);
+        jdbcTemplate.update(
+                """
+                insert into route_mileage_recompute_jobs
+                    (status, started_at, last_route_id, max_route_id, processed_routes, updated_routes)
+                values ('FAILED', ?, ?, ?, 1, 1)
+                """,
+                START,
+                processed.getId(),
+                pending.getId());
+
+        mockMvc.perform(post("/api/routes/mileage/recompute")).andExpect(status().isAccepted());
+        awaitCompletion();
+
+        mockMvc.perform(get("/api/routes/mileage/recompute"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processedRoutes").value(2))
+                .andExpect(jsonPath("$.updatedRoutes").value(2));
+        assertThat(storedMileage(processed)).isEqualTo(STALE_MILEAGE.doubleValue());
+        assertThat(storedMileage(pending))
+                .isCloseTo(postgisLengthKm(tver, saintPetersburg), within(KILOMETER_TOLERANCE));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from route_mileage_recompute_jobs", Long.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void bulkRecomputationKeepsMileageWrittenByConcurrentRoutePointChange() throws Exception {
+        Route route = persistRoute(moscow, tver, saintPetersburg);
+        double shortened = postgisLengthKm(moscow, tver);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread routePointChange = Thread.ofVirtual()
+                .start(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.update(
+                            "delete from route_points where route_id = ? and order_number = 2", route.getId());
+                    jdbcTemplate.update(
+                            "update routes set mileage_in_km = ? where id = ?",
+                            BigDecimal.valueOf(shortened),
+                            route.getId());
+                    written.countDown();
+                    try {
+                        commit.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        written.await();
+
+        mockMvc.perform(post("/api/routes/mileage/recompute")).andExpect(status().isAccepted());
+        awaitLockWait();
+        commit.countDown();
+        routePointChange.join();
+        awaitCompletion();
+
+        assertThat(storedMileage(route)).isCloseTo(shortened, within(KILOMETER_TOLERANCE));
+    }
+
+    @Test
+    void rebuildsStatisticsOnStartupAfterUnfinishedRecomputation() throws Exception {
+        Route route = persistRoute(moscow, tver);
+        jdbcTemplate.update(
+                """
+                insert into route_mileage_recompute_jobs (status, started_at, last_route_id, max_route_id)
+                values ('RUNNING', ?, 0, ?)
+                """,
+                START,
+                route.getId());
+        jdbcTemplate.update("update route_mileage_by_day set route_count = route_count + 1");
+
+        routeMileageService.rebuildStatsAfterUnfinishedRecompute();
+
+        mockMvc.perform(post("/api/routes/mileage-stats/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(true));
+    }
+
+    @Test
+    void reportsMissingRecomputation() throws Exception {
+        mockMvc.perform(get("/api/routes/mileage/recompute")).andExpect(status().isNotFound());
+    }
+
+    private void awaitCompletion() throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            String status = jdbcTemplate.queryForObject(
+                    "select status from route_mileage_recompute_jobs order by id desc limit 1", String.class);
+            if (!"RUNNING".equals(status)) {
+                assertThat(status).isEqualTo("COMPLETED");
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Route mileage recomputation did not finish in time");
+    }
+
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            Long waiting = jdbcTemplate.queryForObject(
+                    "select count(*) from pg_stat_activity where wait_event_type = 'Lock'", Long.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Route mileage recomputation did not wait for the route lock");
+    }
+
+    private double storedMileage(Route route) {
+        BigDecimal mileage = jdbcTemplate.queryForObject(
+                "select mileage_in_km from routes where id = ?", BigDecimal.class, route.getId());
+        return mileage.doubleValue();
+    }
+
+    private double postgisLengthKm(RetailPoint... stops) {
+        Long[] ids = Arrays.stream(stops).map(RetailPoint::getId).toArray(Long[]::new);
+        return jdbcTemplate.queryForObject(POSTGIS_LENGTH_SQL, Double.class, (Object) ids);
+    }
+
+    private Route persistRoute(RetailPoint... stops) {
+        Route route = Route.builder()
+                .vehicle(testDataFactory.persistVehicle())
+                .creationTime(START.minusHours(1))
+                .plannedStartTime(START)
+                .plannedEndTime(START.plusHours(12))
+                .mileageInKm(STALE_MILEAGE)
+                .build();
+        for (int i = 0; i < stops.length; i++) {
+            route.getRoutePoints()
+                    .add(RoutePoint.builder()
+                            .route(route)
+                            .retailPoint(stops[i])
+                            .operationType(OperationType.LOAD)
+                            .plannedStartTime(START.plusHours(i))
+                            .plannedEndTime(START.plusHours(i + 1))
+                            .orderNumber(i)
+                            .build());
+        }
+        return routeRepository.save(route);
+    }
+
+    private static String routePoint(RetailPoint retailPoint, int orderNumber) {
+        return """
+                {
+                  "retailPointId": %d,
+                  "operationType": "LOAD",
+                  "orderIds": [],
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T10:00:00",
+                  "orderNumber": %d
+                }
+                """
+                .formatted(retailPoint.getId(), orderNumber);
+    }
+
+    private static String routePointForRoute(Route route, RetailPoint retailPoint, int orderNumber) {
+        return """
+                {
+                  "routeId": %d,
+                  "retailPointId": %d,
+                  "operationType": "UNLOAD",
+                  "orderIds": [],
+                  "plannedStartTime": "2025-06-01T18:00:00",
+                  "plannedEndTime": "2025-06-01T19:00:00",
+                  "orderNumber": %d
+                }
+                """
+                .formatted(route.getId(), retailPoint.getId(), orderNumber);
+    }
+}
@@ -0,0 +1,91 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.controller.support.JdbcRowCounter;
+import com.rendaxx.labs.domain.Route;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class RouteControllerPagingStatementTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 8, 1, 8, 0);
+    private static final int ROUTES = 3;
+    private static final int ROUTE_POINTS_PER_ROUTE = 3;
+    private static final int ORDERS_PER_ROUTE_POINT = 2;
+
+    @Autowired
+    private JdbcRowCounter rowCounter;
+
+    @Test
+    void pageCostsTheSameStatementsWhateverItsSize() throws Exception {
+        for (int i = 0; i < ROUTES; i++) {
+            testDataFactory.persistRouteWithOrders(
+                    START.plusDays(i), START.plusDays(i).plusHours(6), ROUTE_POINTS_PER_ROUTE, ORDERS_PER_ROUTE_POINT);
+        }
+
+        long singleRoute = statementsForPage(1, 1);
+        long wholeTable = statementsForPage(50, ROUTES);
+
+        assertThat(wholeTable).isEqualTo(singleRoute);
+    }
+
+    @Test
+    void pagesRoutesInSortOrderWithFiltersApplied() throws Exception {
+        Route first = persistRoute(START, "10.000");
+        persistRoute(START.plusDays(1), "20.000");
+        Route second = persistRoute(START.plusDays(2), "10.000");
+        Route third = persistRoute(START.plusDays(3), "10.000");
+
+        mockMvc.perform(get("/api/routes")
+                        .param("page", "0")
+                        .param("size", "2")
+                        .param("sort", "plannedStartTime,desc")
+                        .param("filter[mileageInKm]", "10.000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(third.getId()))
+                .andExpect(jsonPath("$.content[1].id").value(second.getId()))
+                .andExpect(jsonPath("$.content[1].routePoints.length()").value(1))
+                .andExpect(jsonPath("$.content[1].routePoints[0].orders.length()").value(1))
+                .andExpect(jsonPath("$.totalElements").value(3));
+
+        mockMvc.perform(get("/api/routes")
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("sort", "plannedStartTime,desc")
+                        .param("filter[mileageInKm]", "10.000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(first.getId()))
+                .andExpect(jsonPath("$.content[0].mileageInKm").value(10.0));
+    }
+
+    /**
+     * Statements issued for the first page. The total is not counted, since whether a count is
+     * needed depends on the page revealing the total rather than on its size.
+     */
+    private long statementsForPage(int size, int expectedRoutes) throws Exception {
+        rowCounter.reset();
+        mockMvc.perform(get("/api/routes")
+                        .param("size", String.valueOf(size))
+                        .param("sort", "plannedStartTime,desc")
+                        .param("filter[mileageInKm]", "10.000")
+                        .param("countStrategy", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(expectedRoutes))
+                .andExpect(jsonPath("$.content[0].routePoints.length()").value(ROUTE_POINTS_PER_ROUTE))
+                .andExpect(jsonPath("$.content[0].routePoints[0].orders.length()").value(ORDERS_PER_ROUTE_POINT));
+        return rowCounter.statements();
+    }
+
+    private Route persistRoute(LocalDateTime plannedStart, String mileage) {
+        return testDataFactory.persistRoute(plannedStart, plannedStart.plusHours(4), new BigDecimal(mileage));
+    }
+}
@@ -0,0 +1,92 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.controller.support.JdbcRowCounter;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.RoutePoint;
+import com.rendaxx.labs.domain.Vehicle;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class RouteControllerPatchTest extends IntegrationTest {
+
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 9, 0);
+    private static final int ROUTE_POINTS = 300;
+    private static final long STATEMENT_BUDGET = 10;
+
+    @Autowired
+    private JdbcRowCounter rowCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reassignsVehicleWithoutWritingRoutePoints() throws Exception {
+        Route route = testDataFactory.persistRouteWithOrders(START, START.plusHours(8), ROUTE_POINTS, 0);
+        Vehicle vehicle = testDataFactory.persistVehicle();
+        List<Long> versions = routePointVersions(route);
+
+        rowCounter.reset();
+        mockMvc.perform(patch("/api/routes/{id}", route.getId())
+                        .contentType(MERGE_PATCH)
+                        .content("{\"vehicleId\": %d}".formatted(vehicle.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.vehicle.id").value(vehicle.getId()))
+                .andExpect(jsonPath("$.plannedStartTime").value("2025-06-01T09:00:00"))
+                .andExpect(jsonPath("$.routePoints.length()").value(ROUTE_POINTS));
+
+        assertThat(rowCounter.statements()).isLessThanOrEqualTo(STATEMENT_BUDGET);
+        assertThat(routePointVersions(route)).isEqualTo(versions);
+    }
+
+    @Test
+    void rejectsNullForRequiredProperty() throws Exception {
+        Route route = testDataFactory.persistRoute(START, START.plusHours(2), new BigDecimal("10.000"));
+
+        mockMvc.perform(patch("/api/routes/{id}", route.getId())
+                        .contentType(MERGE_PATCH)
+                        .content("{\"plannedStartTime\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("plannedStartTime must not be null"));
+    }
+
+    @Test
+    void patchesOnlySuppliedRoutePointProperties() throws Exception {
+        RetailPoint retailPoint = testDataFactory.persistRetailPoint();
+        Route route = testDataFactory.persistRouteWithRetailPoint(
+                retailPoint, START, START.plusHours(2), new BigDecimal("10.000"));
+        RoutePoint routePoint = route.getRoutePoints().get(0);
+
+        mockMvc.perform(patch("/api/route-points/{id}", routePoint.getId())
+                        .contentType(MERGE_PATCH)
+                        .content("{\"plannedEndTime\": \"2025-06-01T12:00:00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.plannedEndTime").value("2025-06-01T12:00:00"))
+                .andExpect(jsonPath("$.plannedStartTime").value("2025-06-01T09:00:00"))
+                .andExpect(jsonPath("$.retailPoint.id").value(retailPoint.getId()))
+                .andExpect(jsonPath("$.operationType").value("LOAD"))
+                .andExpect(jsonPath("$.orders.length()").value(1))
+                .andExpect(jsonPath("$.orderNumber").value(0));
+    }
+
+    private List<Long> routePointVersions(Route route) {
+        return jdbcTemplate.queryForList(
+                "select version from route_points where route_id = ? order by id", Long.class, route.getId());
+    }
+}
@@ -0,0 +1,132 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.controller.support.JdbcRowCounter;
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Vehicle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+class RouteControllerReferenceResolutionTest extends IntegrationTest {
+
+    private static final String RETAIL_POINT_LOOKUP = "from retail_points ";
+    private static final String ORDER_LOOKUP = "from orders ";
+    private static final long UNKNOWN_ID = 999_999L;
+
+    @Autowired
+    private JdbcRowCounter rowCounter;
+
+    private List<RetailPoint> retailPoints;
+    private List<Order> orders;
+
+    @BeforeEach
+    void setUp() {
+        retailPoints = List.of(testDataFactory.persistRetailPoint(), testDataFactory.persistRetailPoint());
+        orders = List.of(
+                testDataFactory.persistOrder(), testDataFactory.persistOrder(), testDataFactory.persistOrder());
+    }
+
+    @Test
+    void looksUpRepeatedReferencesOnceWhateverTheRouteLength() throws Exception {
+        long[] shortRoute = lookupsForRouteOf(2);
+        long[] longRoute = lookupsForRouteOf(100);
+
+        assertThat(longRoute).containsExactly(shortRoute);
+        assertThat(longRoute[0]).isLessThanOrEqualTo(1);
+        assertThat(longRoute[1]).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void returnsNotFoundForUnknownRetailPoint() throws Exception {
+        Vehicle vehicle = testDataFactory.persistVehicle();
+        List<String> routePoints = new ArrayList<>(routePoints(3));
+        routePoints.add(routePoint(UNKNOWN_ID, orderIds(), 3));
+
+        mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(vehicle, routePoints)))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("RetailPoint with id '999999' was not found"));
+    }
+
+    @Test
+    void returnsNotFoundForUnknownOrder() throws Exception {
+        Vehicle vehicle = testDataFactory.persistVehicle();
+        List<String> routePoints = new ArrayList<>(routePoints(3));
+        routePoints.add(routePoint(retailPoints.get(0).getId(), orderIds() + ", " + UNKNOWN_ID, 3));
+
+        mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(vehicle, routePoints)))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Order with id '999999' was not found"));
+    }
+
+    /** Returns the retail point and order lookups issued to save a route of the given length. */
+    private long[] lookupsForRouteOf(int routePointCount) throws Exception {
+        Vehicle vehicle = testDataFactory.persistVehicle();
+        String body = route(vehicle, routePoints(routePointCount));
+
+        rowCounter.reset();
+        mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.routePoints.length()").value(routePointCount));
+        return new long[] {rowCounter.statements(RETAIL_POINT_LOOKUP), rowCounter.statements(ORDER_LOOKUP)};
+    }
+
+    /** Route points alternately loading and unloading every order, at the retail points in turn. */
+    private List<String> routePoints(int count) {
+        List<String> routePoints = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RetailPoint retailPoint = retailPoints.get(i % retailPoints.size());
+            routePoints.add(routePoint(retailPoint.getId(), orderIds(), i));
+        }
+        return routePoints;
+    }
+
+    private String orderIds() {
+        return orders.stream().map(order -> String.valueOf(order.getId())).collect(Collectors.joining(", "));
+    }
+
+    private static String routePoint(Long retailPointId, String orderIds, int orderNumber) {
+        return """
+                {
+                  "retailPointId": %d,
+                  "operationType": "%s",
+                  "orderIds": [%s],
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T10:00:00",
+                  "orderNumber": %d
+                }
+                """
+                .formatted(retailPointId, orderNumber % 2 == 0 ? "LOAD" : "UNLOAD", orderIds, orderNumber);
+    }
+
+    private static String route(Vehicle vehicle, List<String> routePoints) {
+        return """
+                {
+                  "vehicleId": %d,
+                  "creationTime": "2025-06-01T08:00:00",
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T17:00:00",
+                  "mileageInKm": 5.0,
+                  "routePoints": [%s]
+                }
+                """
+                .formatted(vehicle.getId(), String.join(",", routePoints));
+    }
+}
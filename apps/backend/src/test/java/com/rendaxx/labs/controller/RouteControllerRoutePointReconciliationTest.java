@@ -0,0 +1,131 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.controller.support.JdbcRowCounter;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.RoutePoint;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class RouteControllerRoutePointReconciliationTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 9, 0);
+    private static final LocalDateTime END = START.plusHours(8);
+    private static final int ROUTE_POINTS = 200;
+    private static final long STATEMENT_BUDGET = 15;
+
+    @Autowired
+    private JdbcRowCounter rowCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void writesOnlyTheEditedStopOfALongRoute() throws Exception {
+        Route route = testDataFactory.persistRouteWithOrders(START, END, ROUTE_POINTS, 0);
+        List<RoutePoint> routePoints = route.getRoutePoints();
+        mockMvc.perform(put("/api/routes/{id}", route.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(route, routePoints, END)))
+                .andExpect(status().isOk());
+        Map<Long, Long> versions = routePointVersions(route);
+
+        rowCounter.reset();
+        mockMvc.perform(put("/api/routes/{id}", route.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(route, routePoints, END.plusHours(1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints.length()").value(ROUTE_POINTS))
+                .andExpect(jsonPath("$.routePoints[0].plannedEndTime").value("2025-06-01T18:00:00"))
+                .andExpect(jsonPath("$.routePoints[1].plannedEndTime").value("2025-06-01T17:00:00"));
+
+        assertThat(rowCounter.statements()).isLessThanOrEqualTo(STATEMENT_BUDGET);
+        Map<Long, Long> changed = routePointVersions(route);
+        Long editedId = routePoints.get(0).getId();
+        assertThat(changed.get(editedId)).isEqualTo(versions.get(editedId) + 1);
+        changed.remove(editedId);
+        versions.remove(editedId);
+        assertThat(changed).isEqualTo(versions);
+    }
+
+    @Test
+    void swapsStopsInOnePass() throws Exception {
+        Route route = testDataFactory.persistRouteWithOrders(START, END, 3, 1);
+        List<RoutePoint> swapped = new ArrayList<>(route.getRoutePoints());
+        swapped.add(0, swapped.remove(2));
+
+        mockMvc.perform(put("/api/routes/{id}", route.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(route, swapped, END)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints[0].id").value(swapped.get(0).getId()))
+                .andExpect(jsonPath("$.routePoints[2].id").value(swapped.get(2).getId()))
+                .andExpect(jsonPath("$.routePoints[2].orderNumber").value(2));
+    }
+
+    @Test
+    void rejectsRepeatedOrderNumbers() throws Exception {
+        Route route = testDataFactory.persistRouteWithOrders(START, END, 2, 0);
+        List<RoutePoint> routePoints = route.getRoutePoints();
+        String body = route(route, routePoints, END).replace("\"orderNumber\": 1", "\"orderNumber\": 0");
+
+        mockMvc.perform(put("/api/routes/{id}", route.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Order number 0 is used by more than one route point"));
+    }
+
+    private Map<Long, Long> routePointVersions(Route route) {
+        return jdbcTemplate
+                .queryForList("select id, version from route_points where route_id = ?", route.getId())
+                .stream()
+                .collect(Collectors.toMap(
+                        row -> ((Number) row.get("id")).longValue(), row -> ((Number) row.get("version")).longValue()));
+    }
+
+    private static String route(Route route, List<RoutePoint> routePoints, LocalDateTime firstEnd) {
+        List<String> points = new ArrayList<>();
+        for (int i = 0; i < routePoints.size(); i++) {
+            RoutePoint routePoint = routePoints.get(i);
+            points.add(
+                    """
+                    {"id": %d, "retailPointId": %d, "operationType": "%s", "orderIds": [%s],
+                     "plannedStartTime": "%s", "plannedEndTime": "%s", "orderNumber": %d}
+                    """
+                            .formatted(
+                                    routePoint.getId(),
+                                    routePoint.getRetailPoint().getId(),
+                                    routePoint.getOperationType(),
+                                    routePoint.getOrders().stream()
+                                            .map(order -> String.valueOf(order.getId()))
+                                            .collect(Collectors.joining(", ")),
+                                    START,
+                                    i == 0 ? firstEnd : END,
+                                    i));
+        }
+        return """
+                {
+                  "vehicleId": %d,
+                  "creationTime": "2025-05-31T08:00:00",
+                  "plannedStartTime": "%s",
+                  "plannedEndTime": "%s",
+                  "routePoints": [%s]
+                }
+                """
+                .formatted(route.getVehicle().getId(), START, END.plusHours(1), String.join(", ", points));
+    }
+}
@@ -0,0 +1,80 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.controller.support.JdbcRowCounter;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Route;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class RouteControllerRowVolumeTest extends IntegrationTest {
+
+    private static final int ROUTE_POINTS_PER_ROUTE = 3;
+    private static final int ORDERS_PER_ROUTE_POINT = 4;
+    private static final String ROUTES_TABLE = "from routes ";
+
+    @Autowired
+    private JdbcRowCounter rowCounter;
+
+    @Test
+    void withinPeriodFetchesRowsLinearInResultSize() throws Exception {
+        LocalDateTime periodStart = LocalDateTime.of(2025, 5, 1, 0, 0);
+        LocalDateTime periodEnd = LocalDateTime.of(2025, 5, 8, 0, 0);
+        int routeCount = 4;
+        for (int i = 0; i < routeCount; i++) {
+            testDataFactory.persistRouteWithOrders(
+                    periodStart.plusDays(i),
+                    periodStart.plusDays(i).plusHours(6),
+                    ROUTE_POINTS_PER_ROUTE,
+                    ORDERS_PER_ROUTE_POINT);
+        }
+
+        rowCounter.reset();
+        mockMvc.perform(get("/api/routes/within-period")
+                        .param("periodStart", periodStart.toString())
+                        .param("periodEnd", periodEnd.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(routeCount))
+                .andExpect(jsonPath("$[0].routePoints.length()").value(ROUTE_POINTS_PER_ROUTE))
+                .andExpect(jsonPath("$[0].routePoints[0].orders.length()").value(ORDERS_PER_ROUTE_POINT));
+
+        assertThat(rowCounter.rows()).isLessThanOrEqualTo(expectedRowBudget(routeCount));
+        assertThat(rowCounter.rows(ROUTES_TABLE)).isLessThanOrEqualTo(expectedRouteRowBudget(routeCount));
+    }
+
+    @Test
+    void byRetailPointFetchesRowsLinearInResultSize() throws Exception {
+        LocalDateTime plannedStart = LocalDateTime.of(2025, 5, 1, 8, 0);
+        Route route = testDataFactory.persistRouteWithOrders(
+                plannedStart, plannedStart.plusHours(6), ROUTE_POINTS_PER_ROUTE, ORDERS_PER_ROUTE_POINT);
+        RetailPoint retailPoint = route.getRoutePoints().get(0).getRetailPoint();
+
+        rowCounter.reset();
+        mockMvc.perform(get("/api/routes/retail-point/{retailPointId}", retailPoint.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].routePoints.length()").value(ROUTE_POINTS_PER_ROUTE));
+
+        assertThat(rowCounter.rows()).isLessThanOrEqualTo(expectedRowBudget(1));
+        assertThat(rowCounter.rows(ROUTES_TABLE)).isLessThanOrEqualTo(expectedRouteRowBudget(1));
+    }
+
+    private static long expectedRowBudget(int routeCount) {
+        long routePoints = (long) routeCount * ROUTE_POINTS_PER_ROUTE;
+        return routeCount + routePoints + routePoints * ORDERS_PER_ROUTE_POINT;
+    }
+
+    /**
+     * Rows that carry route columns: a lookup row per route and a row per route point at most. A
+     * single join fetch of the whole graph repeats the route columns on every order row instead.
+     */
+    private static long expectedRouteRowBudget(int routeCount) {
+        return (long) routeCount * (1 + ROUTE_POINTS_PER_ROUTE);
+    }
+}
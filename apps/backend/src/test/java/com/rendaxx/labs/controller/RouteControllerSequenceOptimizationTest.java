@@ -0,0 +1,221 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.OperationType;
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.RoutePoint;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RouteControllerSequenceOptimizationTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 9, 0);
+    private static final BigDecimal STALE_MILEAGE = new BigDecimal("10.000");
+    private static final double KILOMETER_TOLERANCE = 0.0011;
+
+    private RetailPoint west;
+    private RetailPoint middle;
+    private RetailPoint east;
+
+    @BeforeEach
+    void setUp() {
+        west = testDataFactory.persistRetailPoint("West", 37.0, 55.75);
+        middle = testDataFactory.persistRetailPoint("Middle", 37.5, 55.75);
+        east = testDataFactory.persistRetailPoint("East", 38.0, 55.75);
+    }
+
+    @Test
+    void shortensZigZagRouteWithoutSavingIt() throws Exception {
+        Route route = persistRoute(
+                stop(west, OperationType.VISIT), stop(east, OperationType.VISIT), stop(middle, OperationType.VISIT));
+        List<Long> ids = routePointIds(route);
+
+        DocumentContext result = optimize(route, false);
+
+        assertThat(result.<List<Number>>read("$.routePointIds"))
+                .extracting(Number::longValue)
+                .containsExactly(ids.get(0), ids.get(2), ids.get(1));
+        double original = result.<Number>read("$.originalMileageInKm").doubleValue();
+        double optimized = result.<Number>read("$.optimizedMileageInKm").doubleValue();
+        assertThat(optimized).isLessThan(original);
+        assertThat(result.<Number>read("$.savedKm").doubleValue())
+                .isCloseTo(original - optimized, within(KILOMETER_TOLERANCE));
+        assertThat(result.<Boolean>read("$.persisted")).isFalse();
+        mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mileageInKm").value(STALE_MILEAGE.doubleValue()))
+                .andExpect(jsonPath("$.routePoints[1].id").value(ids.get(1)));
+    }
+
+    @Test
+    void keepsLoadingBeforeUnloading() throws Exception {
+        Order order = testDataFactory.persistOrder();
+        Route route = persistRoute(
+                stop(west, OperationType.UNLOAD, order),
+                stop(middle, OperationType.VISIT),
+                stop(east, OperationType.LOAD, order));
+        List<Long> ids = routePointIds(route);
+
+        DocumentContext result = optimize(route, false);
+
+        assertThat(result.<List<Number>>read("$.routePointIds"))
+                .extracting(Number::longValue)
+                .containsExactly(ids.get(2), ids.get(1), ids.get(0));
+    }
+
+    @Test
+    void rewritesOrderNumbersAndMileageWhenPersisted() throws Exception {
+        Route route = persistRoute(
+                stop(west, OperationType.VISIT), stop(east, OperationType.VISIT), stop(middle, OperationType.VISIT));
+
+        DocumentContext result = optimize(route, true);
+
+        assertThat(result.<Boolean>read("$.persisted")).isTrue();
+        List<Number> optimizedIds = result.read("$.routePointIds");
+        String saved = mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mileageInKm").value(result.<Number>read("$.optimizedMileageInKm")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(JsonPath.<List<Number>>read(saved, "$.routePoints[*].id")).isEqualTo(optimizedIds);
+        assertThat(JsonPath.<List<Integer>>read(saved, "$.routePoints[*].orderNumber"))
+                .containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void leavesOptimalRouteUnchanged() throws Exception {
+        Route route = persistRoute(
+                stop(west, OperationType.VISIT), stop(middle, OperationType.VISIT), stop(east, OperationType.VISIT));
+
+        DocumentContext result = optimize(route, true);
+
+        assertThat(result.<List<Number>>read("$.routePointIds"))
+                .extracting(Number::longValue)
+                .containsExactlyElementsOf(routePointIds(route));
+        assertThat(result.<Number>read("$.savedKm").doubleValue()).isZero();
+        assertThat(result.<Boolean>read("$.persisted")).isFalse();
+    }
+
+    @Test
+    void rejectsSavingOptimizedOrderThatOverloadsVehicle() throws Exception {
+        Order first = persistOrder("3000.000");
+        Order second = persistOrder("3000.000");
+        Route route = persistRoute(
+                stop(west, OperationType.LOAD, first),
+                stop(east, OperationType.UNLOAD, first),
+                stop(west, OperationType.LOAD, second),
+                stop(east, OperationType.UNLOAD, second));
+        List<Long> ids = routePointIds(route);
+
+        mockMvc.perform(post("/api/routes/{id}/optimize-sequence", route.getId())
+                        .param("persist", "true"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("carries 6000.000 kg at route point 1")));
+        mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mileageInKm").value(STALE_MILEAGE.doubleValue()))
+                .andExpect(jsonPath("$.routePoints[1].id").value(ids.get(1)));
+    }
+
+    @Test
+    void rejectsSavingOptimizedOrderThatCarriesIncompatibleOrdersTogether() throws Exception {
+        Order frozen = persistOrder("100.000", -25, -18);
+        Order chilled = persistOrder("100.000", 2, 6);
+        Route route = persistRoute(
+                stop(west, OperationType.LOAD, frozen),
+                stop(east, OperationType.UNLOAD, frozen),
+                stop(west, OperationType.LOAD, chilled),
+                stop(east, OperationType.UNLOAD, chilled));
+        List<Long> ids = routePointIds(route);
+
+        mockMvc.perform(post("/api/routes/{id}/optimize-sequence", route.getId())
+                        .param("persist", "true"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content()
+                        .string("Orders on board at route point 1 need at least 2 and at most -18 degrees"));
+        mockMvc.perform(get("/api/routes/{id}", route.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routePoints[1].id").value(ids.get(1)));
+    }
+
+    @Test
+    void returnsNotFoundForUnknownRoute() throws Exception {
+        mockMvc.perform(post("/api/routes/{id}/optimize-sequence", 999_999L)).andExpect(status().isNotFound());
+    }
+
+    private DocumentContext optimize(Route route, boolean persist) throws Exception {
+        String response = mockMvc.perform(post("/api/routes/{id}/optimize-sequence", route.getId())
+                        .param("persist", String.valueOf(persist)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routeId").value(route.getId()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.parse(response);
+    }
+
+    private static List<Long> routePointIds(Route route) {
+        return route.getRoutePoints().stream().map(RoutePoint::getId).toList();
+    }
+
+    private static RoutePoint stop(RetailPoint retailPoint, OperationType operationType, Order... orders) {
+        RoutePoint routePoint = RoutePoint.builder()
+                .retailPoint(retailPoint)
+                .operationType(operationType)
+                .plannedStartTime(START)
+                .plannedEndTime(START.plusHours(1))
+                .orderNumber(0)
+                .build();
+        routePoint.getOrders().addAll(Set.of(orders));
+        return routePoint;
+    }
+
+    private Route persistRoute(RoutePoint... stops) {
+        Route route = Route.builder()
+                .vehicle(testDataFactory.persistVehicle())
+                .creationTime(START.minusHours(1))
+                .plannedStartTime(START)
+                .plannedEndTime(START.plusHours(12))
+                .mileageInKm(STALE_MILEAGE)
+                .build();
+        for (int i = 0; i < stops.length; i++) {
+            stops[i].setRoute(route);
+            stops[i].setOrderNumber(i);
+            route.getRoutePoints().add(stops[i]);
+        }
+        return routeRepository.save(route);
+    }
+
+    private Order persistOrder(String weightInKg) {
+        return persistOrder(weightInKg, null, null);
+    }
+
+    private Order persistOrder(String weightInKg, @Nullable Integer minTemperature, @Nullable Integer maxTemperature) {
+        return orderRepository.save(Order.builder()
+                .goodsType("DRY")
+                .minTemperature(minTemperature)
+                .maxTemperature(maxTemperature)
+                .volumeInCubicMeters(new BigDecimal("1.000"))
+                .weightInKg(new BigDecimal(weightInKg))
+                .build());
+    }
+}
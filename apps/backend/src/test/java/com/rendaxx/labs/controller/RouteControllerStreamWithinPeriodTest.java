@@ -0,0 +1,65 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.Route;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+class RouteControllerStreamWithinPeriodTest extends IntegrationTest {
+
+    private static final int ROUTE_POINTS_PER_ROUTE = 2;
+    private static final int ORDERS_PER_ROUTE_POINT = 2;
+
+    @Test
+    void streamsOneRoutePerLineInIdOrder() throws Exception {
+        LocalDateTime periodStart = LocalDateTime.of(2025, 6, 1, 0, 0);
+        LocalDateTime periodEnd = LocalDateTime.of(2025, 6, 8, 0, 0);
+        Route first = testDataFactory.persistRouteWithOrders(
+                periodStart.plusHours(1), periodStart.plusHours(5), ROUTE_POINTS_PER_ROUTE, ORDERS_PER_ROUTE_POINT);
+        Route second = testDataFactory.persistRouteWithOrders(
+                periodStart.plusDays(1), periodStart.plusDays(1).plusHours(5), ROUTE_POINTS_PER_ROUTE, 1);
+        testDataFactory.persistRoute(periodEnd.plusHours(1), periodEnd.plusHours(2), new BigDecimal("15.000"));
+
+        MvcResult started = mockMvc.perform(get("/api/routes/within-period/stream")
+                        .param("periodStart", periodStart.toString())
+                        .param("periodEnd", periodEnd.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(JsonPath.<Integer>read(lines.get(0), "$.id")).isEqualTo(first.getId().intValue());
+        assertThat(JsonPath.<Integer>read(lines.get(1), "$.id")).isEqualTo(second.getId().intValue());
+        assertThat(JsonPath.<List<Object>>read(lines.get(0), "$.routePoints")).hasSize(ROUTE_POINTS_PER_ROUTE);
+        assertThat(JsonPath.<List<Object>>read(lines.get(0), "$.routePoints[0].orders"))
+                .hasSize(ORDERS_PER_ROUTE_POINT);
+    }
+
+    @Test
+    void returnsBadRequestBeforeStreamingWhenPeriodStartAfterPeriodEnd() throws Exception {
+        LocalDateTime periodEnd = LocalDateTime.of(2025, 6, 5, 10, 0);
+
+        mockMvc.perform(get("/api/routes/within-period/stream")
+                        .param("periodStart", periodEnd.plusHours(1).toString())
+                        .param("periodEnd", periodEnd.toString()))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Period start must not be after period end"));
+    }
+}
@@ -0,0 +1,207 @@
+package com.rendaxx.labs.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Vehicle;
+import java.math.BigDecimal;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class RouteControllerTemperatureTest extends IntegrationTest {
+
+    private Vehicle vehicle;
+    private RetailPoint retailPoint;
+
+    @BeforeEach
+    void setUp() {
+        vehicle = testDataFactory.persistVehicle();
+        retailPoint = testDataFactory.persistRetailPoint();
+    }
+
+    @Test
+    void intersectsTemperaturesOfOrdersOnBoard() throws Exception {
+        Order frozen = persistOrder(-25, -18);
+        Order chilled = persistOrder(2, 6);
+        Order dry = persistOrder(null, null);
+
+        long routeId = createRoute(
+                routePoint("LOAD", 0, frozen),
+                routePoint("UNLOAD", 1, frozen),
+                routePoint("LOAD", 2, chilled, dry),
+                routePoint("UNLOAD", 3, chilled, dry));
+
+        mockMvc.perform(get("/api/routes/{id}/temperature", routeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routeId").value(routeId))
+                .andExpect(jsonPath("$.minTemperature").value(2))
+                .andExpect(jsonPath("$.maxTemperature").value(-18))
+                .andExpect(jsonPath("$.compatible").value(true))
+                .andExpect(jsonPath("$.routePoints.length()").value(4))
+                .andExpect(jsonPath("$.routePoints[1].orderNumber").value(1))
+                .andExpect(jsonPath("$.routePoints[1].minTemperature").value(-25))
+                .andExpect(jsonPath("$.routePoints[1].maxTemperature").value(-18))
+                .andExpect(jsonPath("$.routePoints[2].minTemperature").value(2))
+                .andExpect(jsonPath("$.routePoints[2].maxTemperature").value(6))
+                .andExpect(jsonPath("$.routePoints[2].compatible").value(true));
+    }
+
+    @Test
+    void rejectsRouteCarryingIncompatibleOrdersTogether() throws Exception {
+        Order frozen = persistOrder(-25, -18);
+        Order chilled = persistOrder(2, 6);
+
+        mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(
+                                routePoint("LOAD", 0, frozen),
+                                routePoint("LOAD", 1, chilled),
+                                routePoint("UNLOAD", 2, frozen),
+                                routePoint("UNLOAD", 3, chilled))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content()
+                        .string("Orders on board at route point 1 need at least 2 and at most -18 degrees"));
+    }
+
+    @Test
+    void rejectsRoutePointPatchLoadingIncompatibleOrdersTogether() throws Exception {
+        Order frozen = persistOrder(-25, -18);
+        Order chilled = persistOrder(2, 6);
+        long routeId = createRoute(
+                routePoint("LOAD", 0, frozen),
+                routePoint("UNLOAD", 1, frozen),
+                routePoint("LOAD", 2, chilled),
+                routePoint("UNLOAD", 3, chilled));
+        String route = mockMvc.perform(get("/api/routes/{id}", routeId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long routePointId = JsonPath.<Number>read(route, "$.routePoints[0].id").longValue();
+
+        mockMvc.perform(patch("/api/route-points/{id}", routePointId)
+                        .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                        .content("{\"orderIds\": [%d, %d]}".formatted(frozen.getId(), chilled.getId())))
+                .andExpect(status().isBadRequest())
+                .andExpect(content()
+                        .string("Orders on board at route point 0 need at least 2 and at most -18 degrees"));
+
+        mockMvc.perform(get("/api/routes/{id}/temperature", routeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.compatible").value(true));
+    }
+
+    @Test
+    void findsRoutesWhoseOrdersBecameIncompatible() throws Exception {
+        Order frozen = persistOrder(-25, -18);
+        Order chilled = persistOrder(null, 6);
+        long conflicting = createRoute(
+                routePoint("LOAD", 0, frozen, chilled),
+                routePoint("UNLOAD", 1, frozen),
+                routePoint("UNLOAD", 2, chilled));
+        vehicle = testDataFactory.persistVehicle();
+        createRoute(routePoint("LOAD", 0, persistOrder(2, 6)), routePoint("UNLOAD", 1, persistOrder(0, 4)));
+
+        chilled.setMinTemperature(2);
+        orderRepository.save(chilled);
+
+        mockMvc.perform(get("/api/routes/temperature-conflicts")
+                        .param("from", "2025-06-01")
+                        .param("to", "2025-06-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].routeId").value(conflicting))
+                .andExpect(jsonPath("$[0].minTemperature").value(2))
+                .andExpect(jsonPath("$[0].maxTemperature").value(-18))
+                .andExpect(jsonPath("$[0].compatible").value(false))
+                .andExpect(jsonPath("$[0].routePoints.length()").value(2))
+                .andExpect(jsonPath("$[0].routePoints[0].orderNumber").value(0))
+                .andExpect(jsonPath("$[0].routePoints[1].orderNumber").value(1))
+                .andExpect(jsonPath("$[0].routePoints[1].minTemperature").value(2))
+                .andExpect(jsonPath("$[0].routePoints[1].maxTemperature").value(-18));
+
+        mockMvc.perform(get("/api/routes/temperature-conflicts").param("from", "2025-06-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/routes/{id}/temperature", conflicting))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.compatible").value(false))
+                .andExpect(jsonPath("$.routePoints[2].compatible").value(true));
+    }
+
+    @Test
+    void rejectsReversedDayRange() throws Exception {
+        mockMvc.perform(get("/api/routes/temperature-conflicts")
+                        .param("from", "2025-06-02")
+                        .param("to", "2025-06-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void returnsNotFoundForUnknownRoute() throws Exception {
+        mockMvc.perform(get("/api/routes/{id}/temperature", 999_999L)).andExpect(status().isNotFound());
+    }
+
+    private long createRoute(String... routePoints) throws Exception {
+        String response = mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(routePoints)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.<Number>read(response, "$.id").longValue();
+    }
+
+    private Order persistOrder(@Nullable Integer minTemperature, @Nullable Integer maxTemperature) {
+        return orderRepository.save(Order.builder()
+                .goodsType("FOOD")
+                .minTemperature(minTemperature)
+                .maxTemperature(maxTemperature)
+                .volumeInCubicMeters(new BigDecimal("1.000"))
+                .weightInKg(new BigDecimal("100.000"))
+                .build());
+    }
+
+    private String route(String... routePoints) {
+        return """
+                {
+                  "vehicleId": %d,
+                  "creationTime": "2025-06-01T08:00:00",
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T17:00:00",
+                  "mileageInKm": 5.0,
+                  "routePoints": [%s]
+                }
+                """
+                .formatted(vehicle.getId(), String.join(",", routePoints));
+    }
+
+    private String routePoint(String operationType, int orderNumber, Order... orders) {
+        StringBuilder orderIds = new StringBuilder();
+        for (Order order : orders) {
+            orderIds.append(orderIds.isEmpty() ? "" : ",").append(order.getId());
+        }
+        return """
+                {
+                  "retailPointId": %d,
+                  "operationType": "%s",
+                  "orderIds": [%s],
+                  "plannedStartTime": "2025-06-01T09:00:00",
+                  "plannedEndTime": "2025-06-01T10:00:00",
+                  "orderNumber": %d
+                }
+                """
+                .formatted(retailPoint.getId(), operationType, orderIds, orderNumber);
+    }
+}
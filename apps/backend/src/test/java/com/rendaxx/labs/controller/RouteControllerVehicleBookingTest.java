@@ -0,0 +1,166 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.domain.Vehicle;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class RouteControllerVehicleBookingTest extends IntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() {
+        vehicle = testDataFactory.persistVehicle();
+    }
+
+    @Test
+    void rejectsRouteOverlappingAnotherRouteOfItsVehicle() throws Exception {
+        long existing = createRoute(vehicle, "2025-06-01T09:00:00", "2025-06-01T17:00:00");
+
+        mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(vehicle, "2025-06-01T16:00:00", "2025-06-01T20:00:00")))
+                .andExpect(status().isBadRequest())
+                .andExpect(content()
+                        .string("Vehicle %s is already on route %d from 2025-06-01T09:00 to 2025-06-01T17:00"
+                                .formatted(vehicle.getGosNumber(), existing)));
+
+        assertThat(routeRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void acceptsBackToBackRoutesAndOverlapsOfOtherVehicles() throws Exception {
+        createRoute(vehicle, "2025-06-01T09:00:00", "2025-06-01T17:00:00");
+        createRoute(vehicle, "2025-06-01T17:00:00", "2025-06-01T20:00:00");
+        createRoute(testDataFactory.persistVehicle(), "2025-06-01T10:00:00", "2025-06-01T12:00:00");
+
+        assertThat(routeRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void updatedRouteDoesNotConflictWithItself() throws Exception {
+        long id = createRoute(vehicle, "2025-06-01T09:00:00", "2025-06-01T17:00:00");
+
+        mockMvc.perform(put("/api/routes/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(vehicle, "2025-06-01T10:00:00", "2025-06-01T18:00:00")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.plannedEndTime").value("2025-06-01T18:00:00"));
+    }
+
+    @Test
+    void reportsBatchItemsOverlappingStoredOrEarlierRoutes() throws Exception {
+        long existing = createRoute(vehicle, "2025-06-01T09:00:00", "2025-06-01T12:00:00");
+
+        mockMvc.perform(post("/api/routes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + route(vehicle, "2025-06-01T11:00:00", "2025-06-01T13:00:00")
+                                + "," + route(vehicle, "2025-06-01T12:00:00", "2025-06-01T15:00:00")
+                                + "," + route(vehicle, "2025-06-01T14:00:00", "2025-06-01T16:00:00")
+                                + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created.length()").value(1))
+                .andExpect(jsonPath("$.created[0].index").value(1))
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(0))
+                .andExpect(jsonPath("$.errors[0].message")
+                        .value("Vehicle %s is already on route %d from 2025-06-01T09:00 to 2025-06-01T12:00"
+                                .formatted(vehicle.getGosNumber(), existing)))
+                .andExpect(jsonPath("$.errors[1].index").value(2))
+                .andExpect(jsonPath("$.errors[1].message")
+                        .value("Vehicle %s is already on another route of the batch from %s to %s"
+                                .formatted(vehicle.getGosNumber(), "2025-06-01T12:00", "2025-06-01T15:00")));
+    }
+
+    @Test
+    void findsOverlappingRoutesStoredBeforeTheCheck() throws Exception {
+        Route first = persistRoute("2025-06-01T09:00:00", "2025-06-01T17:00:00");
+        Route second = persistRoute("2025-06-01T12:00:00", "2025-06-01T14:00:00");
+        Route third = persistRoute("2025-06-01T13:00:00", "2025-06-01T19:00:00");
+        persistRoute("2025-06-01T19:00:00", "2025-06-01T21:00:00");
+        testDataFactory.persistRoute(
+                LocalDateTime.parse("2025-06-01T10:00:00"), LocalDateTime.parse("2025-06-01T11:00:00"), BigDecimal.ONE);
+
+        mockMvc.perform(get("/api/routes/vehicle-conflicts")
+                        .param("periodStart", "2025-06-01T00:00:00")
+                        .param("periodEnd", "2025-06-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].vehicleId").value(vehicle.getId()))
+                .andExpect(jsonPath("$[0].routeId").value(first.getId()))
+                .andExpect(jsonPath("$[0].conflictingRouteId").value(second.getId()))
+                .andExpect(jsonPath("$[0].overlapStart").value("2025-06-01T12:00:00"))
+                .andExpect(jsonPath("$[0].overlapEnd").value("2025-06-01T14:00:00"))
+                .andExpect(jsonPath("$[1].conflictingRouteId").value(third.getId()))
+                .andExpect(jsonPath("$[2].routeId").value(second.getId()))
+                .andExpect(jsonPath("$[2].conflictingRouteId").value(third.getId()))
+                .andExpect(jsonPath("$[2].overlapStart").value("2025-06-01T13:00:00"))
+                .andExpect(jsonPath("$[2].overlapEnd").value("2025-06-01T14:00:00"));
+
+        mockMvc.perform(get("/api/routes/vehicle-conflicts")
+                        .param("periodStart", "2025-06-01T19:00:00")
+                        .param("periodEnd", "2025-06-01T22:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void rejectsReversedPeriod() throws Exception {
+        mockMvc.perform(get("/api/routes/vehicle-conflicts")
+                        .param("periodStart", "2025-06-02T00:00:00")
+                        .param("periodEnd", "2025-06-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Period start must not be after period end"));
+    }
+
+    private Route persistRoute(String plannedStart, String plannedEnd) {
+        Route route = testDataFactory.persistRoute(
+                LocalDateTime.parse(plannedStart), LocalDateTime.parse(plannedEnd), BigDecimal.ONE);
+        jdbcTemplate.update("update routes set vehicle_id = ? where id = ?", vehicle.getId(), route.getId());
+        return route;
+    }
+
+    private long createRoute(Vehicle routeVehicle, String plannedStart, String plannedEnd) throws Exception {
+        String response = mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route(routeVehicle, plannedStart, plannedEnd)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonPath.<Number>read(response, "$.id").longValue();
+    }
+
+    private String route(Vehicle routeVehicle, String plannedStart, String plannedEnd) {
+        return """
+                {
+                  "vehicleId": %d,
+                  "creationTime": "2025-05-31T08:00:00",
+                  "plannedStartTime": "%s",
+                  "plannedEndTime": "%s",
+                  "mileageInKm": 0.0,
+                  "routePoints": []
+                }
+                """
+                .formatted(routeVehicle.getId(), plannedStart, plannedEnd);
+    }
+}
@@ -0,0 +1,106 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.OperationType;
+import com.rendaxx.labs.dtos.PlannedRouteDto;
+import com.rendaxx.labs.dtos.PlanningOrderDto;
+import com.rendaxx.labs.dtos.RoutePlanDto;
+import com.rendaxx.labs.dtos.RoutePlanRequestDto;
+import com.rendaxx.labs.dtos.SaveRoutePointDto;
+import com.rendaxx.labs.service.RoutePlanningService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Plans synthetic instances of increasing size: random pickups and drops around Moscow, one
+ * five-ton vehicle per ten orders and an eight-hour window, which must be planned within the time
+ * budget and a fixed overhead. Excluded from {@code test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class RoutePlanningBenchmarkTest extends IntegrationTest {
+
+    private static final long TIME_BUDGET_MILLIS = 10_000;
+    private static final Duration OVERHEAD = Duration.ofSeconds(5);
+    private static final int ORDERS_PER_VEHICLE = 10;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 11, 3, 8, 0);
+
+    private static final String SEED_RETAIL_POINTS_SQL =
+            """
+            insert into retail_points (name, address, location, type, timezone)
+            select 'Retail-' || i, 'Address-' || i,
+                st_setsrid(st_makepoint(37.0 + random(), 55.5 + random() * 0.5), 4326), 'SHOP', 'UTC'
+            from generate_series(1, ?) as i
+            """;
+
+    private static final String SEED_ORDERS_SQL =
+            """
+            insert into orders (goods_type, volume_in_cubic_meters, weight_in_kg)
+            select 'DRY', 0.5 + random() * 2, 50 + random() * 450
+            from generate_series(1, ?) as i
+            """;
+
+    private static final String SEED_VEHICLES_SQL =
+            """
+            insert into vehicles (gos_number, tonnage_in_tons, body_height_in_meters, body_width_in_meters,
+                body_length_in_cubic_meters)
+            select 'BENCH-' || i, 5, 2.5, 2, 12
+            from generate_series(1, ?) as i
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoutePlanningService routePlanningService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1_000, 10_000})
+    void plansSyntheticInstance(int orderCount) {
+        int vehicleCount = Math.max(1, orderCount / ORDERS_PER_VEHICLE);
+        jdbcTemplate.update(SEED_RETAIL_POINTS_SQL, orderCount * 2);
+        jdbcTemplate.update(SEED_ORDERS_SQL, orderCount);
+        jdbcTemplate.update(SEED_VEHICLES_SQL, vehicleCount);
+        List<Long> retailPointIds = jdbcTemplate.queryForList("select id from retail_points order by id", Long.class);
+        List<Long> orderIds = jdbcTemplate.queryForList("select id from orders order by id", Long.class);
+
+        RoutePlanRequestDto request = new RoutePlanRequestDto();
+        request.setVehicleIds(jdbcTemplate.queryForList("select id from vehicles order by id", Long.class));
+        request.setPlanningStart(START);
+        request.setPlanningEnd(START.plusHours(8));
+        request.setTimeBudgetMillis(TIME_BUDGET_MILLIS);
+        List<PlanningOrderDto> orders = new ArrayList<>();
+        for (int i = 0; i < orderCount; i++) {
+            PlanningOrderDto order = new PlanningOrderDto();
+            order.setOrderId(orderIds.get(i));
+            order.setPickupRetailPointId(retailPointIds.get(i * 2));
+            order.setDropRetailPointId(retailPointIds.get(i * 2 + 1));
+            orders.add(order);
+        }
+        request.setOrders(orders);
+
+        long started = System.nanoTime();
+        RoutePlanDto plan = routePlanningService.plan(request);
+        long elapsedNanos = System.nanoTime() - started;
+
+        List<Long> loaded = new ArrayList<>();
+        for (PlannedRouteDto route : plan.getRoutes()) {
+            for (SaveRoutePointDto routePoint : route.getRoutePoints()) {
+                if (routePoint.getOperationType() == OperationType.LOAD) {
+                    loaded.addAll(routePoint.getOrderIds());
+                }
+            }
+        }
+        loaded.addAll(plan.getUnassignedOrderIds());
+        assertThat(loaded).containsExactlyInAnyOrderElementsOf(orderIds);
+        assertThat(Duration.ofNanos(elapsedNanos)).isLessThan(Duration.ofMillis(TIME_BUDGET_MILLIS).plus(OVERHEAD));
+    }
+}
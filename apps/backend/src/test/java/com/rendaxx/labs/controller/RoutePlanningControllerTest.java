@@ -0,0 +1,282 @@
+package com.rendaxx.labs.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.Order;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Vehicle;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+class RoutePlanningControllerTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 11, 3, 8, 0);
+    private static final LocalDateTime END = START.plusHours(10);
+
+    private RetailPoint warehouse;
+    private RetailPoint north;
+    private RetailPoint south;
+
+    @BeforeEach
+    void setUp() {
+        warehouse = testDataFactory.persistRetailPoint("Warehouse", 37.6175, 55.7558);
+        north = testDataFactory.persistRetailPoint("North", 37.6200, 55.8300);
+        south = testDataFactory.persistRetailPoint("South", 37.6100, 55.6800);
+    }
+
+    @Test
+    void plansEveryOrderWithPickupBeforeDropWithinCapacity() throws Exception {
+        Vehicle small = persistVehicle("0.05");
+        Vehicle large = persistVehicle("5.00");
+        Order heavy = persistOrder("400.000");
+        Order light = persistOrder("10.000");
+        Order another = persistOrder("20.000");
+
+        String response = plan(
+                List.of(small.getId(), large.getId()),
+                List.of(
+                        planningOrder(heavy, warehouse, north),
+                        planningOrder(light, warehouse, south),
+                        planningOrder(another, north, south)));
+
+        DocumentContext plan = JsonPath.parse(response);
+        assertThat(plan.<List<Object>>read("$.unassignedOrderIds")).isEmpty();
+        List<Map<String, Object>> routes = plan.read("$.routes");
+        for (Map<String, Object> route : routes) {
+            List<Number> loaded = JsonPath.read(route, "$.routePoints[?(@.operationType == 'LOAD')].orderIds[*]");
+            List<Number> dropped = JsonPath.read(route, "$.routePoints[?(@.operationType == 'UNLOAD')].orderIds[*]");
+            assertThat(loaded).containsExactlyInAnyOrderElementsOf(dropped);
+            List<Number> orderNumbers = JsonPath.read(route, "$.routePoints[*].orderNumber");
+            for (Number orderId : dropped) {
+                int loadedAt = indexOf(route, "LOAD", orderId.longValue());
+                int droppedAt = indexOf(route, "UNLOAD", orderId.longValue());
+                assertThat(orderNumbers.get(loadedAt).intValue())
+                        .isLessThan(orderNumbers.get(droppedAt).intValue());
+            }
+        }
+        Map<String, Object> heavyRoute = routes.stream()
+                .filter(route -> JsonPath.<List<Number>>read(route, "$.routePoints[*].orderIds[*]").stream()
+                        .anyMatch(id -> id.longValue() == heavy.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(((Number) heavyRoute.get("vehicleId")).longValue()).isEqualTo(large.getId());
+        List<Number> planned = plan.read("$.routes[*].routePoints[*].orderIds[*]");
+        assertThat(planned).extracting(Number::longValue)
+                .containsExactlyInAnyOrder(
+                        heavy.getId(), heavy.getId(), light.getId(), light.getId(), another.getId(), another.getId());
+    }
+
+    @Test
+    void startsStopsInsideTheirTimeWindows() throws Exception {
+        Vehicle vehicle = persistVehicle("5.00");
+        Order order = persistOrder("10.000");
+        Map<String, Object> planningOrder = planningOrder(order, warehouse, north);
+        planningOrder.put("pickupFrom", START.plusHours(2).toString());
+        planningOrder.put("dropFrom", START.plusHours(5).toString());
+        planningOrder.put("dropTo", START.plusHours(6).toString());
+
+        String response = plan(List.of(vehicle.getId()), List.of(planningOrder));
+
+        assertThat(timeAt(response, "$.routes[0].routePoints[0].plannedStartTime")).isEqualTo(START.plusHours(2));
+        assertThat(timeAt(response, "$.routes[0].routePoints[1].plannedStartTime")).isEqualTo(START.plusHours(5));
+        assertThat(timeAt(response, "$.routes[0].plannedEndTime"))
+                .isEqualTo(START.plusHours(5).plusMinutes(15));
+    }
+
+    @Test
+    void leavesOrdersNoVehicleCanServeUnassigned() throws Exception {
+        Vehicle vehicle = persistVehicle("0.05");
+        Order tooHeavy = persistOrder("400.000");
+        Order tooLate = persistOrder("10.000");
+        Map<String, Object> late = planningOrder(tooLate, warehouse, north);
+        late.put("pickupFrom", END.plusHours(1).toString());
+
+        mockMvc.perform(post("/api/routes/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson(
+                                List.of(vehicle.getId()), List.of(planningOrder(tooHeavy, warehouse, north), late))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routes.length()").value(0))
+                .andExpect(jsonPath("$.unassignedOrderIds.length()").value(2))
+                .andExpect(jsonPath("$.totalMileageInKm").value(0.0));
+    }
+
+    @Test
+    void proposedRouteCanBeSaved() throws Exception {
+        Vehicle vehicle = persistVehicle("5.00");
+        Order first = persistOrder("10.000");
+        Order second = persistOrder("10.000");
+
+        String response = plan(
+                List.of(vehicle.getId()),
+                List.of(planningOrder(first, warehouse, north), planningOrder(second, warehouse, south)));
+        DocumentContext route = JsonPath.parse(JsonPath.<Map<String, Object>>read(response, "$.routes[0]"));
+        double mileage = route.<Number>read("$.mileageInKm").doubleValue();
+        int routePoints = route.<Integer>read("$.routePoints.length()");
+        route.delete("$.mileageInKm").put("$", "creationTime", START.minusDays(1).toString());
+
+        mockMvc.perform(post("/api/routes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(route.jsonString()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.routePoints.length()").value(routePoints))
+                .andExpect(jsonPath("$.mileageInKm").value(mileage));
+    }
+
+    @Test
+    void rejectsPlanningWindowEndingBeforeItStarts() throws Exception {
+        Vehicle vehicle = persistVehicle("5.00");
+        Order order = persistOrder("10.000");
+
+        mockMvc.perform(post("/api/routes/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson(
+                                List.of(vehicle.getId()), List.of(planningOrder(order, warehouse, north)), END, START)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsOrderListedTwice() throws Exception {
+        Vehicle vehicle = persistVehicle("5.00");
+        Order order = persistOrder("10.000");
+
+        mockMvc.perform(post("/api/routes/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson(
+                                List.of(vehicle.getId()),
+                                List.of(planningOrder(order, warehouse, north), planningOrder(order, north, south)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void returnsNotFoundForUnknownVehicle() throws Exception {
+        Order order = persistOrder("10.000");
+
+        mockMvc.perform(post("/api/routes/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson(List.of(999_999L), List.of(planningOrder(order, warehouse, north)))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsPlanWhileAnotherOneIsRunning() throws Exception {
+        Vehicle vehicle = persistVehicle("5.00");
+        List<Map<String, Object>> orders = List.of(planningOrder(persistOrder("10.000"), warehouse, north));
+        String longPlan = requestJson(List.of(vehicle.getId()), orders, START, END, 3_000);
+        Thread running = Thread.ofVirtual().start(() -> {
+            try {
+                mockMvc.perform(post("/api/routes/plan")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(longPlan))
+                        .andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        boolean rejected = false;
+        while (!rejected && running.isAlive()) {
+            int status = mockMvc.perform(post("/api/routes/plan")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(requestJson(List.of(vehicle.getId()), orders)))
+                    .andReturn()
+                    .getResponse()
+                    .getStatus();
+            rejected = status == HttpStatus.SERVICE_UNAVAILABLE.value();
+        }
+        running.join();
+
+        assertThat(rejected).isTrue();
+        plan(List.of(vehicle.getId()), orders);
+    }
+
+    private String plan(List<Long> vehicleIds, List<Map<String, Object>> orders) throws Exception {
+        return mockMvc.perform(post("/api/routes/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson(vehicleIds, orders)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private static String requestJson(List<Long> vehicleIds, List<Map<String, Object>> orders) {
+        return requestJson(vehicleIds, orders, START, END);
+    }
+
+    private static String requestJson(
+            List<Long> vehicleIds, List<Map<String, Object>> orders, LocalDateTime start, LocalDateTime end) {
+        return requestJson(vehicleIds, orders, start, end, 200);
+    }
+
+    private static String requestJson(
+            List<Long> vehicleIds,
+            List<Map<String, Object>> orders,
+            LocalDateTime start,
+            LocalDateTime end,
+            long timeBudgetMillis) {
+        return JsonPath.parse(Map.of(
+                        "vehicleIds", vehicleIds,
+                        "orders", orders,
+                        "planningStart", start.toString(),
+                        "planningEnd", end.toString(),
+                        "timeBudgetMillis", timeBudgetMillis))
+                .jsonString();
+    }
+
+    private static Map<String, Object> planningOrder(Order order, RetailPoint pickup, RetailPoint drop) {
+        Map<String, Object> planningOrder = new HashMap<>();
+        planningOrder.put("orderId", order.getId());
+        planningOrder.put("pickupRetailPointId", pickup.getId());
+        planningOrder.put("dropRetailPointId", drop.getId());
+        return planningOrder;
+    }
+
+    private static LocalDateTime timeAt(String response, String path) {
+        return LocalDateTime.parse(JsonPath.<String>read(response, path));
+    }
+
+    private static int indexOf(Map<String, Object> route, String operationType, long orderId) {
+        List<Map<String, Object>> routePoints = JsonPath.read(route, "$.routePoints");
+        for (int i = 0; i < routePoints.size(); i++) {
+            List<Number> orderIds = JsonPath.read(routePoints.get(i), "$.orderIds");
+            if (operationType.equals(routePoints.get(i).get("operationType"))
+                    && orderIds.stream().anyMatch(id -> id.longValue() == orderId)) {
+                return i;
+            }
+        }
+        throw new AssertionError("Order " + orderId + " has no " + operationType + " point");
+    }
+
+    private Vehicle persistVehicle(String tonnage) {
+        return vehicleRepository.save(Vehicle.builder()
+                .gosNumber("GOS-" + UUID.randomUUID())
+                .tonnageInTons(new BigDecimal(tonnage))
+                .bodyHeightInMeters(new BigDecimal("2.50"))
+                .bodyWidthInMeters(new BigDecimal("2.00"))
+                .bodyLengthInCubicMeters(new BigDecimal("12.00"))
+                .build());
+    }
+
+    private Order persistOrder(String weightInKg) {
+        return orderRepository.save(Order.builder()
+                .goodsType("DRY")
+                .volumeInCubicMeters(new BigDecimal("1.000"))
+                .weightInKg(new BigDecimal(weightInKg))
+                .build());
+    }
+}
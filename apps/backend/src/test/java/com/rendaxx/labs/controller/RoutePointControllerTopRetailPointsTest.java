@@ -1,5 +1,6 @@
 package com.rendaxx.labs.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -7,12 +8,22 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.rendaxx.labs.controller.support.IntegrationTest;
 import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.service.RetailPointVisitCountReconciler;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 class RoutePointControllerTopRetailPointsTest extends IntegrationTest {
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetailPointVisitCountReconciler visitCountReconciler;
+
     @Test
     void returnsEmptyListWhenNoRoutePointsExist() throws Exception {
         mockMvc.perform(get("/api/route-points/top-retail-points").param("limit", "5"))
@@ -58,6 +69,46 @@ class RoutePointControllerTopRetailPointsTest extends IntegrationTest {
                         contains(first.getId().intValue(), second.getId().intValue())));
     }
 
+    @Test
+    void followsRoutePointsMovedBetweenRetailPointsAndDeletedRoutes() throws Exception {
+        RetailPoint first = testDataFactory.persistRetailPoint();
+        RetailPoint second = testDataFactory.persistRetailPoint();
+        createVisits(first, 2, LocalDateTime.of(2025, 10, 1, 9, 0));
+        Route moved = testDataFactory.persistRouteWithRetailPoint(
+                second, LocalDateTime.of(2025, 10, 5, 9, 0), LocalDateTime.of(2025, 10, 5, 10, 0), BigDecimal.TEN);
+
+        jdbcTemplate.update(
+                "update route_points set retail_point_id = ? where route_id = ?", first.getId(), moved.getId());
+
+        mockMvc.perform(get("/api/route-points/top-retail-points").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(first.getId().intValue())));
+
+        routeRepository.deleteById(moved.getId());
+        createVisits(second, 3, LocalDateTime.of(2025, 10, 10, 9, 0));
+
+        mockMvc.perform(get("/api/route-points/top-retail-points").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(second.getId().intValue(), first.getId().intValue())));
+    }
+
+    @Test
+    void reconciliationRepairsDriftedCounters() throws Exception {
+        RetailPoint first = testDataFactory.persistRetailPoint();
+        RetailPoint second = testDataFactory.persistRetailPoint();
+        createVisits(first, 2, LocalDateTime.of(2025, 11, 1, 9, 0));
+        createVisits(second, 1, LocalDateTime.of(2025, 11, 10, 9, 0));
+        jdbcTemplate.update(
+                "update retail_point_visit_counts set visit_count = 10 where retail_point_id = ?", second.getId());
+
+        assertThat(visitCountReconciler.reconcile()).isEqualTo(1);
+        assertThat(visitCountReconciler.reconcile()).isZero();
+
+        mockMvc.perform(get("/api/route-points/top-retail-points").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(first.getId().intValue(), second.getId().intValue())));
+    }
+
     private void createVisits(RetailPoint retailPoint, int count, LocalDateTime startTime) {
         for (int i = 0; i < count; i++) {
             LocalDateTime plannedStart = startTime.plusDays(i);
@@ -0,0 +1,133 @@
+package com.rendaxx.labs.controller;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.RetailPoint;
+import com.rendaxx.labs.domain.Route;
+import com.rendaxx.labs.service.VisitDensityService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class RoutePointControllerVisitDensityTest extends IntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 11, 3, 8, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VisitDensityService visitDensityService;
+
+    @BeforeEach
+    void clearCache() {
+        visitDensityService.evictAll();
+    }
+
+    @Test
+    void countsVisitsPerSquareCell() throws Exception {
+        RetailPoint moscowCenter = testDataFactory.persistRetailPoint("Moscow Center", 37.61, 55.75);
+        RetailPoint moscowNorth = testDataFactory.persistRetailPoint("Moscow North", 37.62, 55.76);
+        RetailPoint saintPetersburg = testDataFactory.persistRetailPoint("Saint Petersburg", 30.3, 59.94);
+        persistVisit(moscowCenter, START);
+        persistVisit(moscowCenter, START.plusDays(1));
+        persistVisit(moscowNorth, START);
+        persistVisit(saintPetersburg, START);
+
+        mockMvc.perform(get("/api/route-points/density")
+                        .param("cellSizeMeters", "100000")
+                        .param("shape", "SQUARE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shape").value("SQUARE"))
+                .andExpect(jsonPath("$.cellSizeMeters").value(100000))
+                .andExpect(jsonPath("$.cells.length()").value(2))
+                .andExpect(jsonPath("$.cells[0].column").value(33))
+                .andExpect(jsonPath("$.cells[0].row").value(83))
+                .andExpect(jsonPath("$.cells[0].visitCount").value(1))
+                .andExpect(jsonPath("$.cells[1].column").value(41))
+                .andExpect(jsonPath("$.cells[1].row").value(75))
+                .andExpect(jsonPath("$.cells[1].visitCount").value(3));
+    }
+
+    @Test
+    void countsVisitsPerHexagonCellByDefault() throws Exception {
+        RetailPoint moscow = testDataFactory.persistRetailPoint("Moscow", 37.61, 55.75);
+        RetailPoint saintPetersburg = testDataFactory.persistRetailPoint("Saint Petersburg", 30.3, 59.94);
+        persistVisit(moscow, START);
+        persistVisit(moscow, START.plusDays(1));
+        persistVisit(saintPetersburg, START);
+
+        mockMvc.perform(get("/api/route-points/density").param("cellSizeMeters", "50000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shape").value("HEXAGON"))
+                .andExpect(jsonPath("$.cells[*].visitCount", containsInAnyOrder(2, 1)));
+    }
+
+    @Test
+    void filtersVisitsByPeriodAndOperationType() throws Exception {
+        RetailPoint moscow = testDataFactory.persistRetailPoint("Moscow", 37.61, 55.75);
+        persistVisit(moscow, START);
+        persistVisit(moscow, START.plusDays(1));
+        Route unloading = persistVisit(moscow, START.plusDays(2));
+        persistVisit(moscow, START.plusDays(10));
+        jdbcTemplate.update(
+                "update route_points set operation_type = 'UNLOAD' where route_id = ?", unloading.getId());
+
+        mockMvc.perform(get("/api/route-points/density")
+                        .param("cellSizeMeters", "100000")
+                        .param("from", START.plusDays(1).toString())
+                        .param("to", START.plusDays(10).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cells[0].visitCount").value(2));
+
+        mockMvc.perform(get("/api/route-points/density")
+                        .param("cellSizeMeters", "100000")
+                        .param("operationType", "UNLOAD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cells.length()").value(1))
+                .andExpect(jsonPath("$.cells[0].visitCount").value(1));
+    }
+
+    @Test
+    void servesCachedGridUntilRoutesChange() throws Exception {
+        RetailPoint moscow = testDataFactory.persistRetailPoint("Moscow", 37.61, 55.75);
+        Route route = persistVisit(moscow, START);
+
+        mockMvc.perform(get("/api/route-points/density").param("cellSizeMeters", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cells[0].visitCount").value(1));
+
+        persistVisit(moscow, START.plusDays(1));
+        persistVisit(moscow, START.plusDays(2));
+        mockMvc.perform(get("/api/route-points/density").param("cellSizeMeters", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cells[0].visitCount").value(1));
+
+        mockMvc.perform(delete("/api/routes/{id}", route.getId())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/route-points/density").param("cellSizeMeters", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cells[0].visitCount").value(2));
+    }
+
+    @Test
+    void rejectsEmptyPeriod() throws Exception {
+        mockMvc.perform(get("/api/route-points/density")
+                        .param("cellSizeMeters", "100000")
+                        .param("from", START.toString())
+                        .param("to", START.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Route persistVisit(RetailPoint retailPoint, LocalDateTime plannedStart) {
+        return testDataFactory.persistRouteWithRetailPoint(
+                retailPoint, plannedStart, plannedStart.plusHours(2), new BigDecimal("10.000"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.rendaxx.labs.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.rendaxx.labs.controller.support.IntegrationTest;
+import com.rendaxx.labs.domain.Route;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class RoutePointControllerWithinPeriodTest extends IntegrationTest {
+
+    private static final LocalDateTime PERIOD_START = LocalDateTime.of(2025, 4, 7, 10, 0);
+    private static final LocalDateTime PERIOD_END = LocalDateTime.of(2025, 4, 7, 12, 0);
+
+    @Test
+    void matchesRoutePointWindowsByMode() throws Exception {
+        Route route = testDataFactory.persistRouteWithRepeatedRetailPoint(
+                testDataFactory.persistRetailPoint(),
+                LocalDateTime.of(2025, 4, 7, 9, 30),
+                LocalDateTime.of(2025, 4, 7, 10, 15),
+                LocalDateTime.of(2025, 4, 7, 10, 45),
+                LocalDateTime.of(2025, 4, 7, 11, 30),
+                new BigDecimal("15.000"));
+        Route later =
+                testDataFactory.persistRoute(PERIOD_END.plusHours(1), PERIOD_END.plusHours(2), new BigDecimal("5.000"));
+
+        mockMvc.perform(get("/api/route-points/within-period")
+                        .param("periodStart", PERIOD_START.toString())
+                        .param("periodEnd", PERIOD_END.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].routeId").value(route.getId()))
+                .andExpect(jsonPath("$[0].orderNumber").value(1))
+                .andExpect(jsonPath("$[0].retailPoint.id").exists())
+                .andExpect(jsonPath("$[0].orders.length()").value(1));
+
+        mockMvc.perform(get("/api/route-points/within-period")
+                        .param("periodStart", PERIOD_START.toString())
+                        .param("periodEnd", PERIOD_END.toString())
+                        .param("mode", "OVERLAPPING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].orderNumber").value(0))
+                .andExpect(jsonPath("$[1].orderNumber").value(1));
+
+        mockMvc.perform(get("/api/route-points/within-period")
+                        .param("periodStart", PERIOD_START.toString())
+                        .param("periodEnd", PERIOD_END.plusHours(1).toString())
+                        .param("mode", "STARTING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].orderNumber").value(1))
+                .andExpect(jsonPath("$[1].routeId").value(later.getId()));
+    }
+
+    @Test
+    void returnsBadRequestWhenPeriodStartAfterPeriodEnd() throws Exception {
+        mockMvc.perform(get("/api/route-points/within-period")
+                        .param("periodStart", PERIOD_END.toString())
+                        .param("periodEnd", PERIOD_START.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Period start must not be after period end"));
+    }
+}
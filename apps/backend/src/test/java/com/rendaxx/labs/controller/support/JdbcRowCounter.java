@@ -0,0 +1,114 @@
+package com.rendaxx.labs.controller.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+public class JdbcRowCounter implements BeanPostProcessor {
+
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong statements = new AtomicLong();
+    private final Map<String, AtomicLong> rowsBySql = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> statementsBySql = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, "");
+        }
+        return bean;
+    }
+
+    public void reset() {
+        rows.set(0);
+        statements.set(0);
+        rowsBySql.clear();
+        statementsBySql.clear();
+    }
+
+    public long rows() {
+        return rows.get();
+    }
+
+    public long statements() {
+        return statements.get();
+    }
+
+    /**
+     * Returns the rows read from statements whose SQL contains the fragment, ignoring case and
+     * treating any run of whitespace as a single space.
+     */
+    public long rows(String sqlFragment) {
+        return matching(rowsBySql, sqlFragment);
+    }
+
+    /** Returns the statements executed whose SQL contains the fragment, matched as in {@link #rows(String)}. */
+    public long statements(String sqlFragment) {
+        return matching(statementsBySql, sqlFragment);
+    }
+
+    private static long matching(Map<String, AtomicLong> countsBySql, String sqlFragment) {
+        String fragment = normalized(sqlFragment);
+        return countsBySql.entrySet().stream()
+                .filter(entry -> normalized(entry.getKey()).contains(fragment))
+                .mapToLong(entry -> entry.getValue().get())
+                .sum();
+    }
+
+    private static String normalized(String sql) {
+        return sql.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private <T> T proxy(Class<T> type, T target, String sql) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (p, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+            if (target instanceof ResultSet && "next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                rows.incrementAndGet();
+                rowsBySql.computeIfAbsent(sql, key -> new AtomicLong()).incrementAndGet();
+            }
+            boolean sqlArgument = args != null && args.length > 0 && args[0] instanceof String;
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                statements.incrementAndGet();
+                statementsBySql
+                        .computeIfAbsent(sqlArgument ? (String) args[0] : sql, key -> new AtomicLong())
+                        .incrementAndGet();
+            }
+            return "unwrap".equals(method.getName()) ? result : wrap(result, sqlArgument ? (String) args[0] : sql);
+        });
+        return type.cast(proxy);
+    }
+
+    private Object wrap(Object result, String sql) {
+        if (result instanceof Connection connection) {
+            return proxy(Connection.class, connection, sql);
+        }
+        if (result instanceof CallableStatement statement) {
+            return proxy(CallableStatement.class, statement, sql);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, sql);
+        }
+        if (result instanceof Statement statement) {
+            return proxy(Statement.class, statement, sql);
+        }
+        if (result instanceof ResultSet resultSet) {
+            return proxy(ResultSet.class, resultSet, sql);
+        }
+        return result;
+    }
+}
@@ -2,6 +2,9 @@ package com.rendaxx.labs.controller.support;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.rendaxx.labs.api.v1.model.CountStrategyApiDto;
+import com.rendaxx.labs.dtos.CountStrategy;
+import com.rendaxx.labs.dtos.PageQueryDto;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -57,4 +60,27 @@ class PageRequestFactoryTest {
         assertThat(orders.get(1).getProperty()).isEqualTo("createdAt");
         assertThat(orders.get(1).getDirection()).isEqualTo(Sort.Direction.ASC);
     }
+
+    @Test
+    void clampsSizeToMaxSizeButKeepsRequestedPage() {
+        Pageable pageable = factory.build(5000, 5000, null);
+
+        assertThat(pageable.getPageSize()).isEqualTo(1000);
+        assertThat(pageable.getPageNumber()).isEqualTo(5000);
+    }
+
+    @Test
+    void ignoresBlankCursor() {
+        PageQueryDto pageQuery = factory.build(0, 10, null, "  ", null);
+
+        assertThat(pageQuery.getCursor()).isNull();
+        assertThat(pageQuery.getPageable().getPageSize()).isEqualTo(10);
+    }
+
+    @Test
+    void defaultsToExactCountStrategy() {
+        assertThat(factory.build(0, 10, null, null, null).getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+        assertThat(factory.build(0, 10, null, null, CountStrategyApiDto.NONE).getCountStrategy())
+                .isEqualTo(CountStrategy.NONE);
+    }
 }
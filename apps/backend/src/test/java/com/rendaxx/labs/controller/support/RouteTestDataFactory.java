@@ -92,10 +92,62 @@ public class RouteTestDataFactory {
         return routeRepository.save(route);
     }
 
+    public Route persistRouteWithOrders(
+            LocalDateTime plannedStart, LocalDateTime plannedEnd, int routePointCount, int ordersPerRoutePoint) {
+        Vehicle vehicle = vehicleRepository.save(newVehicle());
+
+        Route route = Route.builder()
+                .vehicle(vehicle)
+                .creationTime(plannedStart.minusHours(1))
+                .plannedStartTime(plannedStart)
+                .plannedEndTime(plannedEnd)
+                .mileageInKm(new BigDecimal("10.000"))
+                .build();
+
+        for (int i = 0; i < routePointCount; i++) {
+            RoutePoint routePoint = RoutePoint.builder()
+                    .route(route)
+                    .retailPoint(retailPointRepository.save(buildRetailPoint()))
+                    .operationType(OperationType.LOAD)
+                    .plannedStartTime(plannedStart)
+                    .plannedEndTime(plannedEnd)
+                    .orderNumber(i)
+                    .build();
+            for (int j = 0; j < ordersPerRoutePoint; j++) {
+                routePoint.getOrders().add(buildOrder());
+            }
+            route.getRoutePoints().add(routePoint);
+        }
+
+        return routeRepository.save(route);
+    }
+
     public RetailPoint persistRetailPoint() {
         return retailPointRepository.save(buildRetailPoint());
     }
 
+    public RetailPoint persistRetailPoint(String name, double longitude, double latitude) {
+        return persistRetailPoint(name, longitude, latitude, PointType.SHOP);
+    }
+
+    public RetailPoint persistRetailPoint(String name, double longitude, double latitude, PointType type) {
+        return retailPointRepository.save(RetailPoint.builder()
+                .name(name)
+                .address("Address-" + name)
+                .location(createPoint(longitude, latitude))
+                .type(type)
+                .timezone("UTC")
+                .build());
+    }
+
+    public Vehicle persistVehicle() {
+        return vehicleRepository.save(newVehicle());
+    }
+
+    public Order persistOrder() {
+        return orderRepository.save(buildOrder());
+    }
+
     public Route persistRouteWithRepeatedRetailPoint(
             RetailPoint retailPoint,
             LocalDateTime firstStart,
@@ -35,7 +35,9 @@ const defaultMeta: PageMetadata = {
   sort: [],
   first: true,
   last: true,
-  empty: true
+  empty: true,
+  hasNext: false,
+  countStrategy: 'EXACT'
 };
 
 interface EntityChange<T> {
@@ -298,6 +300,7 @@ export function RetailPointsPage() {
                   <li key={point.id} className="rounded-md border border-border px-3 py-2">
                     <div className="font-medium">{point.name ?? `Точка #${point.id}`}</div>
                     <div className="text-xs text-muted-foreground">{point.address}</div>
+                    <div className="text-xs text-muted-foreground">{formatDistance(point.distanceMeters)}</div>
                   </li>
                 ))
               ) : (
@@ -381,6 +384,10 @@ export function RetailPointsPage() {
   );
 }
 
+function formatDistance(distanceMeters: number): string {
+  return distanceMeters >= 1000 ? `${(distanceMeters / 1000).toFixed(2)} км` : `${distanceMeters.toFixed(0)} м`;
+}
+
 const pointTypeLabels: Record<PointType, string> = {
   [PointType.SHOP]: 'Магазин',
   [PointType.WAREHOUSE]: 'Склад',
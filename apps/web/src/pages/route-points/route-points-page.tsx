@@ -30,7 +30,9 @@ const defaultMeta: PageMetadata = {
   sort: [],
   first: true,
   last: true,
-  empty: true
+  empty: true,
+  hasNext: false,
+  countStrategy: 'EXACT'
 };
 
 interface EntityChange<T> {
@@ -32,7 +32,9 @@ const defaultMeta: PageMetadata = {
   sort: [],
   first: true,
   last: true,
-  empty: true
+  empty: true,
+  hasNext: false,
+  countStrategy: 'EXACT'
 };
 
 export function RoutesPage() {
@@ -24,7 +24,9 @@ const defaultMeta: PageMetadata = {
   sort: [],
   first: true,
   last: true,
-  empty: true
+  empty: true,
+  hasNext: false,
+  countStrategy: 'EXACT'
 };
 
 interface EntityChange<T> {
@@ -4,6 +4,8 @@ interface QueryParams {
   page?: number;
   size?: number;
   sort?: string[];
+  cursor?: string;
+  countStrategy?: string;
   filter?: Record<string, string>;
 }
 
@@ -17,6 +19,14 @@ export function buildQueryParams(params: PageRequest): QueryParams {
     query.sort = params.sort.map(formatSortOption);
   }
 
+  if (params.cursor) {
+    query.cursor = params.cursor;
+  }
+
+  if (params.countStrategy) {
+    query.countStrategy = params.countStrategy;
+  }
+
   if (params.filter) {
     const entries = Object.entries(params.filter).filter(([, value]) => value !== undefined && value !== '');
     if (entries.length > 0) {
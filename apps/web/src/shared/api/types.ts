@@ -2,6 +2,8 @@ export interface PageRequest {
   page: number;
   size: number;
   sort?: SortOption[];
+  cursor?: string;
+  countStrategy?: CountStrategy;
   filter?: Record<string, string | number | undefined>;
 }
 
@@ -10,15 +12,20 @@ export interface SortOption {
   order: 'asc' | 'desc';
 }
 
+export type CountStrategy = 'EXACT' | 'NONE' | 'ESTIMATE';
+
 export interface PageMetadata {
   page: number;
   size: number;
-  totalElements: number;
-  totalPages: number;
+  totalElements?: number;
+  totalPages?: number;
   sort: string[];
   first: boolean;
   last: boolean;
   empty: boolean;
+  hasNext: boolean;
+  nextCursor?: string;
+  countStrategy: CountStrategy;
 }
 
 export interface PageResult<T> {
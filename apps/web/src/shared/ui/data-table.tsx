@@ -26,6 +26,7 @@ export interface DataTableProps<TData> {
 const sizes = [10, 20, 50, 100];
 
 export function DataTable<TData>({ data, columns, meta, state, handlers, isLoading, isFetching, emptyState }: DataTableProps<TData>) {
+  const totalPages = meta.totalPages ?? (meta.hasNext ? state.page + 2 : state.page + 1);
   const table = useReactTable({
     data,
     columns,
@@ -104,7 +105,7 @@ export function DataTable<TData>({ data, columns, meta, state, handlers, isLoadi
 
       <div className="flex flex-col gap-3 sm:flex-row sm:items-center sm:justify-between">
           <div className="flex items-center gap-2 text-sm text-muted-foreground">
-            Страница {Math.min(state.page + 1, Math.max(meta.totalPages, 1))} из {Math.max(meta.totalPages, 1)} · Всего записей: {meta.totalElements}
+            Страница {Math.min(state.page + 1, Math.max(totalPages, 1))} из {Math.max(totalPages, 1)} · Всего записей: {meta.totalElements ?? '—'}
           {isFetching ? <span className="ml-2 text-xs text-muted-foreground">Обновление…</span> : null}
         </div>
         <div className="flex flex-wrap items-center gap-2">
@@ -145,8 +146,8 @@ export function DataTable<TData>({ data, columns, meta, state, handlers, isLoadi
               type="button"
               variant="ghost"
               size="sm"
-              disabled={state.page >= meta.totalPages - 1 || meta.totalPages === 0}
-              onClick={() => handlers.onPageChange(Math.min(state.page + 1, Math.max(meta.totalPages - 1, 0)))}
+              disabled={!meta.hasNext}
+              onClick={() => handlers.onPageChange(Math.min(state.page + 1, Math.max(totalPages - 1, 0)))}
             >
               Вперёд ›
             </Button>
@@ -154,8 +155,8 @@ export function DataTable<TData>({ data, columns, meta, state, handlers, isLoadi
               type="button"
               variant="ghost"
               size="sm"
-              disabled={state.page >= meta.totalPages - 1 || meta.totalPages === 0}
-              onClick={() => handlers.onPageChange(Math.max(meta.totalPages - 1, 0))}
+              disabled={meta.totalPages === undefined || state.page >= meta.totalPages - 1 || meta.totalPages === 0}
+              onClick={() => handlers.onPageChange(Math.max(totalPages - 1, 0))}
             >
               Последняя »
             </Button>